@@ -0,0 +1,223 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.database.services.SQLBulkInsertService;
+import io.cloudslang.content.database.utils.SQLBindParameters;
+import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLRowReader;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.BooleanValues.FALSE;
+import static io.cloudslang.content.constants.OutputNames.*;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBDefaultValues.*;
+import static io.cloudslang.content.database.constants.DBInputNames.*;
+import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.BATCH_UPDATE_COUNTS;
+import static io.cloudslang.content.database.constants.DBOutputNames.UPDATE_COUNT;
+import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlBulkInsertInputs;
+import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
+import static io.cloudslang.content.utils.NumberUtilities.toInteger;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+import static org.apache.commons.lang3.StringUtils.isNoneEmpty;
+
+public class SQLBulkInsert {
+
+    /**
+     * @param dbServerName              The hostname or ip address of the database server.
+     * @param dbType                    The type of database to connect to.
+     *                                  Valid values: Oracle, MSSQL, Sybase, Netcool, DB2, PostgreSQL and Custom.
+     * @param username                  The username to use when connecting to the database.
+     * @param password                  The password to use when connecting to the database.
+     * @param instance                  The name instance (for MSSQL Server). Leave it blank for default instance.
+     * @param dbPort                    The port to connect to.
+     *                                  Default values: Oracle: 1521, MSSQL: 1433, Sybase: 5000, Netcool: 4100, DB2: 50000, PostgreSQL: 5432.
+     * @param databaseName              The name of the database.
+     * @param authenticationType        The type of authentication used to access the database (applicable only to MSSQL type).
+     *                                  Default: sql
+     *                                  Values: sql, windows
+     * @param dbClass                   The classname of the JDBC driver to use.
+     *                                  Examples: "oracle.jdbc.driver.OracleDriver", "org.postgresql.Driver"
+     * @param dbURL                     The url required to load up the driver and make your connection.
+     *                                  Examples: "jdbc:oracle:drivertype:@database", "jdbc:postgresql://host:port/database"
+     * @param command                   The insert command, with a '?' placeholder for each column of a row.
+     *                                  Example: "INSERT INTO table_name (column1, column2) VALUES (?, ?)"
+     * @param rows                      The rows to insert.
+     *                                  Note: this is mutual exclusive with <rowsFileName>
+     * @param rowsFileName              The path of a file with the rows to insert, read as the rows are sent to the database.
+     *                                  Note: this is mutual exclusive with <rows>
+     * @param rowsFormat                The format of the rows. With csv each line is a row and the values are separated by "colDelimiter".
+     *                                  A value containing the delimiter, quotes or line breaks is enclosed in double quotes,
+     *                                  a double quote inside it is doubled.
+     *                                  With json the rows are a JSON array of rows, a row is an array of values or an object
+     *                                  whose values are taken in order.
+     *                                  Valid values: csv, json
+     *                                  Default value: csv
+     * @param columnTypes               A comma separated list of the column types, in placeholder order. Columns without a type are strings.
+     *                                  An empty value, except for a string column, and a JSON null are inserted as NULL.
+     *                                  Valid types: string, varchar, int, integer, long, bigint, double, decimal, numeric, boolean,
+     *                                  date (yyyy-mm-dd), time (hh:mm:ss), timestamp (yyyy-mm-dd hh:mm:ss[.f...])
+     *                                  Example: "int,string,date"
+     * @param colDelimiter              The delimiter of the values of a csv row.
+     *                                  Default value: ,
+     * @param batchSize                 The number of rows sent to the database in one batch. 0 sends all of the rows in one batch.
+     *                                  Default value: 1000
+     * @param commitInterval            The number of batches after which the transaction is committed. If a later batch fails,
+     *                                  the batches committed before it stay. 0 commits once, after the last batch.
+     *                                  Default value: 0
+     * @param trustAllRoots             Specifies whether to enable weak security over SSL/TSL. A certificate is trusted even if no trusted certification authority issued it.
+     *                                  Default value: false
+     *                                  Valid values: true, false
+     *                                  Note: If trustAllRoots is set to 'false', a trustStore and a trustStorePassword must be provided.
+     * @param trustStore                The pathname of the Java TrustStore file. This contains certificates from other parties that you expect to communicate with,
+     *                                  or from Certificate Authorities that you trust to identify other parties.
+     *                                  If the trustAllRoots input is set to 'true' this input is ignored.
+     * @param trustStorePassword        The password associated with the trustStore file.
+     * @param authLibraryPath           The path to the folder where sqljdbc_auth.dll is located. This path must be provided when using windows authentication.
+     *                                  Note: The sqljdbc_auth.dll can be found inside the sqljdbc driver. The driver can be downloaded from https://www.microsoft.com/en-us/download/details.aspx?id=11774.
+     *                                  The downloaded jar should be extracted and the library can be found in the 'auth' folder.
+     *                                  The path provided should be the path to the folder where the sqljdbc_auth.dll library is located, not the path to the file itself.
+     * @param timeout                   Seconds to wait before timing out the execution of a batch.
+     *                                  Default value: 120
+     * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
+     *                                  Default: db.pooling.enable=false
+     *                                  Example: db.pooling.enable=true
+     * @return The number of inserted rows and the number of rows inserted by each batch.
+     */
+    @Action(name = "SQL Bulk Insert",
+            outputs = {
+                    @Output(RETURN_CODE),
+                    @Output(RETURN_RESULT),
+                    @Output(UPDATE_COUNT),
+                    @Output(BATCH_UPDATE_COUNTS),
+                    @Output(EXCEPTION),
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = RETURN_CODE, value = FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(@Param(value = DB_SERVER_NAME, required = true) String dbServerName,
+                                       @Param(value = DB_TYPE) String dbType,
+                                       @Param(value = USERNAME) String username,
+                                       @Param(value = PASSWORD, encrypted = true) String password,
+                                       @Param(value = INSTANCE) String instance,
+                                       @Param(value = DB_PORT) String dbPort,
+                                       @Param(value = DATABASE_NAME, required = true) String databaseName,
+                                       @Param(value = AUTHENTICATION_TYPE) String authenticationType,
+                                       @Param(value = DB_CLASS) String dbClass,
+                                       @Param(value = DB_URL) String dbURL,
+                                       @Param(value = COMMAND, required = true) String command,
+                                       @Param(value = ROWS) String rows,
+                                       @Param(value = ROWS_FILE_NAME) String rowsFileName,
+                                       @Param(value = ROWS_FORMAT) String rowsFormat,
+                                       @Param(value = COLUMN_TYPES) String columnTypes,
+                                       @Param(value = COL_DELIMITER) String colDelimiter,
+                                       @Param(value = BATCH_SIZE) String batchSize,
+                                       @Param(value = COMMIT_INTERVAL) String commitInterval,
+                                       @Param(value = TRUST_ALL_ROOTS) String trustAllRoots,
+                                       @Param(value = TRUST_STORE) String trustStore,
+                                       @Param(value = TRUST_STORE_PASSWORD) String trustStorePassword,
+                                       @Param(value = AUTH_LIBRARY_PATH) String authLibraryPath,
+                                       @Param(value = TIMEOUT) String timeout,
+                                       @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties) {
+
+        dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
+        username = defaultIfEmpty(username, EMPTY);
+        password = defaultIfEmpty(password, EMPTY);
+        instance = defaultIfEmpty(instance, EMPTY);
+        authenticationType = defaultIfEmpty(authenticationType, AUTH_SQL);
+        rowsFormat = defaultIfEmpty(rowsFormat, SQLRowReader.CSV_FORMAT);
+        colDelimiter = defaultIfEmpty(colDelimiter, COMMA);
+        batchSize = defaultIfEmpty(batchSize, DEFAULT_BATCH_SIZE);
+        commitInterval = defaultIfEmpty(commitInterval, DEFAULT_COMMIT_INTERVAL);
+        trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
+        trustStore = defaultIfEmpty(trustStore, EMPTY);
+        trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
+        authLibraryPath = defaultIfEmpty(authLibraryPath, EMPTY);
+        timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
+
+        final List<String> preInputsValidation = validateSqlBulkInsertInputs(dbServerName, dbType, username, password, instance, dbPort,
+                databaseName, authenticationType, command, rows, rowsFileName, rowsFormat, columnTypes, trustAllRoots, trustStore,
+                trustStorePassword, timeout, batchSize, commitInterval, authLibraryPath);
+
+        if (!preInputsValidation.isEmpty()) {
+            return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
+        }
+
+        dbType = getDbType(dbType);
+        final SQLInputs sqlInputs = SQLInputs.builder()
+                .dbServer(dbServerName)
+                .dbType(dbType)
+                .username(username)
+                .password(password)
+                .instance(instance)
+                .dbPort(getOrDefaultDBPort(dbPort, dbType))
+                .dbName(defaultIfEmpty(databaseName, EMPTY))
+                .authenticationType(authenticationType)
+                .dbClass(getOrDefaultDBClass(dbClass, dbType))
+                .dbUrl(defaultIfEmpty(dbURL, EMPTY))
+                .sqlCommand(command)
+                .trustAllRoots(toBoolean(trustAllRoots))
+                .trustStore(trustStore)
+                .trustStorePassword(trustStorePassword)
+                .authLibraryPath(authLibraryPath)
+                .timeout(toInteger(timeout))
+                .databasePoolingProperties(getOrDefaultDBPoolingProperties(databasePoolingProperties, EMPTY))
+                .isNetcool(checkIsNetcool(dbType))
+                .batchSize(toInteger(batchSize))
+                .commitInterval(toInteger(commitInterval))
+                .build();
+
+        try {
+            final Reader reader = isNoneEmpty(rowsFileName) ?
+                    new InputStreamReader(new FileInputStream(rowsFileName), StandardCharsets.UTF_8) : new StringReader(rows);
+            try (final SQLRowReader rowReader = SQLRowReader.JSON_FORMAT.equalsIgnoreCase(rowsFormat) ?
+                    SQLRowReader.json(reader) : SQLRowReader.csv(reader, colDelimiter)) {
+                final String res = SQLBulkInsertService.executeBulkInsert(sqlInputs, rowReader,
+                        SQLBindParameters.parseTypes(columnTypes, COMMA));
+
+                final Map<String, String> result = getSuccessResultsMap(res);
+                result.put(UPDATE_COUNT, String.valueOf(sqlInputs.getIUpdateCount()));
+                result.put(BATCH_UPDATE_COUNTS, StringUtils.join(sqlInputs.getBatchUpdateCounts(), COMMA));
+                return result;
+            }
+        } catch (Exception e) {
+            return getFailureResultsMap(e);
+        }
+    }
+}
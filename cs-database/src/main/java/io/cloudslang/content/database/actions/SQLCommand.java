@@ -25,6 +25,7 @@ import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
 import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.database.services.SQLCommandService;
+import io.cloudslang.content.database.utils.SQLBindParameters;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.utils.StringUtilities;
 import org.apache.commons.lang3.StringUtils;
@@ -37,12 +38,14 @@ import static io.cloudslang.content.constants.OutputNames.*;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.AUTH_SQL;
+import static io.cloudslang.content.database.constants.DBDefaultValues.DEFAULT_BIND_PARAMETERS_DELIMITER;
 import static io.cloudslang.content.database.constants.DBDefaultValues.NEW_LINE;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
 import static io.cloudslang.content.database.constants.DBOutputNames.OUTPUT_TEXT;
 import static io.cloudslang.content.database.constants.DBOutputNames.UPDATE_COUNT;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateBindParametersInputs;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlCommandInputs;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
 import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
@@ -95,6 +98,18 @@ public class SQLCommand {
      * @param resultSetConcurrency      The result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param bindParameters            The values of the '?' placeholders of the command, bound in order through a prepared statement.
+     *                                  The values are not concatenated into the command text, so they need no escaping and the
+     *                                  database can reuse the plan of the command for other values.
+     *                                  Each item is "type:value", an item without a type is a string and "null:type" binds NULL.
+     *                                  An item whose text before the first ':' is not a type, like "10:30", is a string as well,
+     *                                  a string starting with a type and ':' is written as "string:value".
+     *                                  A boolean is true or false.
+     *                                  Valid types: string, varchar, int, integer, long, bigint, double, decimal, numeric, boolean,
+     *                                  date (yyyy-mm-dd), time (hh:mm:ss), timestamp (yyyy-mm-dd hh:mm:ss[.f...])
+     *                                  Example: "int:10,string:John,date:2017-01-31"
+     * @param bindParametersDelimiter   The delimiter of the "bindParameters" items.
+     *                                  Default value: ,
      * @return The return result of SQL command.
      */
     @Action(name = "SQL Command",
@@ -126,7 +141,9 @@ public class SQLCommand {
                                        @Param(value = AUTH_LIBRARY_PATH) String authLibraryPath,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = BIND_PARAMETERS) String bindParameters,
+                                       @Param(value = BIND_PARAMETERS_DELIMITER) String bindParametersDelimiter) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         username = defaultIfEmpty(username, EMPTY);
@@ -139,10 +156,12 @@ public class SQLCommand {
         trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
         authLibraryPath = defaultIfEmpty(authLibraryPath, EMPTY);
         instance = defaultIfEmpty(instance, EMPTY);
+        bindParametersDelimiter = defaultIfEmpty(bindParametersDelimiter, DEFAULT_BIND_PARAMETERS_DELIMITER);
 
         final List<String> preInputsValidation = validateSqlCommandInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, trustAllRoots, resultSetType, resultSetConcurrency, trustStore,
                 trustStorePassword, authLibraryPath);
+        preInputsValidation.addAll(validateBindParametersInputs(bindParameters, bindParametersDelimiter));
 
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
@@ -170,6 +189,7 @@ public class SQLCommand {
                     .resultSetType(getResultSetType(resultSetType))
                     .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                     .isNetcool(checkIsNetcool(dbType))
+                    .bindParameters(SQLBindParameters.parse(bindParameters, bindParametersDelimiter))
                     .build();
 
             String res = SQLCommandService.executeSqlCommand(sqlInputs);
@@ -0,0 +1,77 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.database.services.dbconnection.DBConnectionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.EXCEPTION;
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBOutputNames.POOL_COUNT;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+
+/**
+ * Reports the state of the connection pools opened by the SQL actions with "db.pooling.enable=true".
+ */
+public class SQLPoolDiagnostics {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * @return A JSON array with one object per pooled datasource, the pools are shared by all the SQL actions run by this worker.
+     * Each object has the "pool" (the database type and url), the "username", the number of "connections", of "busy" and
+     * "idle" connections, the number of threads waiting for a connection ("pending"), the "orphaned" connections, the
+     * "failedCheckouts" and "failedIdleTests" counts, the number of "checkouts" and the "averageCheckoutWaitMillis" and
+     * "maxCheckoutWaitMillis" they waited for a connection.
+     * "poolCount" is the number of pooled datasources.
+     */
+    @Action(name = "SQL Pool Diagnostics",
+            outputs = {
+                    @Output(RETURN_CODE),
+                    @Output(RETURN_RESULT),
+                    @Output(POOL_COUNT),
+                    @Output(EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = RETURN_CODE, value = FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute() {
+        try {
+            final List<Map<String, Object>> poolStatistics = DBConnectionManager.getInstance().getPoolStatistics();
+
+            final Map<String, String> result = getSuccessResultsMap(OBJECT_MAPPER.writeValueAsString(poolStatistics));
+            result.put(POOL_COUNT, String.valueOf(poolStatistics.size()));
+            return result;
+        } catch (Exception e) {
+            return getFailureResultsMap(e);
+        }
+    }
+}
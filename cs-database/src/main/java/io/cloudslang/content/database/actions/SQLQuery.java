@@ -28,11 +28,14 @@ import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.database.constants.DBReturnCodes;
 import io.cloudslang.content.database.services.SQLQueryService;
+import io.cloudslang.content.database.utils.SQLBindParameters;
+import io.cloudslang.content.database.utils.SQLCursor;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLSessionResource;
 import io.cloudslang.content.utils.BooleanUtilities;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,14 +45,20 @@ import static io.cloudslang.content.constants.BooleanValues.TRUE;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.*;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_QUERY_HANDLE;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
 import static io.cloudslang.content.database.constants.DBOutputNames.*;
 import static io.cloudslang.content.database.constants.DBResponseNames.HAS_MORE;
 import static io.cloudslang.content.database.constants.DBResponseNames.NO_MORE;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateBindParametersInputs;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryCursorInputs;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryInputs;
+import static io.cloudslang.content.database.utils.SQLUtils.getOrCreateQueryHandle;
+import static io.cloudslang.content.database.utils.SQLUtils.getQueryKey;
 import static io.cloudslang.content.database.utils.SQLUtils.getRowsFromGlobalSessionMap;
+import static io.cloudslang.content.database.utils.SQLUtils.removeQueryHandle;
 import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
 import static io.cloudslang.content.utils.NumberUtilities.toInteger;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
@@ -112,7 +121,33 @@ public class SQLQuery {
      * @param ignoreCase                If set to true the inputs' letters case will be ignored and converted to lowercase.
      *                                  Valid values: true, false
      *                                  Default value: true
-     * @return It contains the data of one row, separated by the "delimiter".
+     * @param useCursor                 If set to true the query result is not read at once. A forward only, read only cursor stays open
+     *                                  between the calls and the rows are read in pages of "fetchSize" rows. "resultSetType" and
+     *                                  "resultSetConcurrency" are ignored. "rowsLeft" only counts the rows left in the current page.
+     *                                  Valid values: true, false
+     *                                  Default value: false
+     * @param fetchSize                 The number of rows read from the database at a time when "useCursor" is true.
+     *                                  Default value: 1000
+     * @param cursorIdleTimeout         Seconds a cursor may stay unused before it is closed, when "useCursor" is true.
+     *                                  A cursor is also closed as soon as its last row has been read.
+     *                                  Default value: 300
+     * @param bindParameters            The values of the '?' placeholders of the command, bound in order through a prepared statement.
+     *                                  The values are not concatenated into the command text, so they need no escaping and the
+     *                                  database can reuse the plan of the command for other values.
+     *                                  Each item is "type:value", an item without a type is a string and "null:type" binds NULL.
+     *                                  An item whose text before the first ':' is not a type, like "10:30", is a string as well,
+     *                                  a string starting with a type and ':' is written as "string:value".
+     *                                  A boolean is true or false.
+     *                                  Valid types: string, varchar, int, integer, long, bigint, double, decimal, numeric, boolean,
+     *                                  date (yyyy-mm-dd), time (hh:mm:ss), timestamp (yyyy-mm-dd hh:mm:ss[.f...])
+     *                                  Example: "int:10,string:John,date:2017-01-31"
+     * @param bindParametersDelimiter   The delimiter of the "bindParameters" items.
+     *                                  Default value: ,
+     * @param queryHandle               The random "queryHandle" returned by the first call of the query. When set, the next row is
+     *                                  read straight from the state kept for that handle, the other inputs are neither validated nor used.
+     *                                  The call fails if the handle is unknown or its state has expired.
+     *                                  Optional
+     * @return It contains the data of one row, separated by the "delimiter", and the "queryHandle" of the query.
      */
     @Action(name = "SQL Query",
             outputs = {
@@ -121,7 +156,8 @@ public class SQLQuery {
                     @Output(EXCEPTION),
                     @Output(ROWS_LEFT),
                     @Output(COLUMN_NAMES),
-                    @Output(SQL_QUERY)
+                    @Output(SQL_QUERY),
+                    @Output(QUERY_HANDLE)
             },
             responses = {
                     @Response(text = HAS_MORE, field = RETURN_CODE, value = SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
@@ -150,68 +186,108 @@ public class SQLQuery {
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
                                        @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
                                        @Param(value = IGNORE_CASE) String ignoreCase,
+                                       @Param(value = USE_CURSOR) String useCursor,
+                                       @Param(value = FETCH_SIZE) String fetchSize,
+                                       @Param(value = CURSOR_IDLE_TIMEOUT) String cursorIdleTimeout,
+                                       @Param(value = BIND_PARAMETERS) String bindParameters,
+                                       @Param(value = BIND_PARAMETERS_DELIMITER) String bindParametersDelimiter,
+                                       @Param(value = QUERY_HANDLE) String queryHandle,
                                        @Param(value = GLOBAL_SESSION_OBJECT) GlobalSessionObject<Map<String, Object>> globalSessionObject) {
 
-        dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
-        username = defaultIfEmpty(username, EMPTY);
-        password = defaultIfEmpty(password, EMPTY);
-        instance = defaultIfEmpty(instance, EMPTY);
-        authenticationType = defaultIfEmpty(authenticationType, AUTH_SQL);
-        trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
-        trustStore = defaultIfEmpty(trustStore, EMPTY);
-        trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
-        timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
-        resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
-        resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
-        ignoreCase = defaultIfEmpty(ignoreCase, TRUE);
-
-        final List<String> preInputsValidation = validateSqlQueryInputs(dbServerName, dbType, username, password, instance, dbPort,
-                databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
-                timeout, resultSetType, resultSetConcurrency, ignoreCase, authLibraryPath);
-
-        if (!preInputsValidation.isEmpty()) {
-            return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
-        }
+        final SQLInputs sqlInputs;
+        final String aKey;
+        final boolean useCursorBool;
+        if (StringUtils.isNotEmpty(queryHandle)) {
+            //the handle leads straight to the state of the query, there are no inputs to validate nor a query to run
+            globalSessionObject = getOrDefaultGlobalSessionObj(globalSessionObject);
+            aKey = getQueryKey(globalSessionObject.get(), queryHandle);
+            if (aKey == null) {
+                final Map<String, String> failureMap = getFailureResultsMap(INVALID_QUERY_HANDLE);
+                failureMap.put(ROWS_LEFT, ZERO);
+                return failureMap;
+            }
+            sqlInputs = SQLInputs.builder()
+                    .sqlCommand(command)
+                    .build();
+            useCursorBool = globalSessionObject.get().get(aKey) instanceof SQLCursor;
+        } else {
+            dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
+            username = defaultIfEmpty(username, EMPTY);
+            password = defaultIfEmpty(password, EMPTY);
+            instance = defaultIfEmpty(instance, EMPTY);
+            authenticationType = defaultIfEmpty(authenticationType, AUTH_SQL);
+            trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
+            trustStore = defaultIfEmpty(trustStore, EMPTY);
+            trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
+            timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
+            resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
+            resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+            ignoreCase = defaultIfEmpty(ignoreCase, TRUE);
+            useCursor = defaultIfEmpty(useCursor, FALSE);
+            fetchSize = defaultIfEmpty(fetchSize, DEFAULT_FETCH_SIZE);
+            cursorIdleTimeout = defaultIfEmpty(cursorIdleTimeout, DEFAULT_CURSOR_IDLE_TIMEOUT);
+            bindParametersDelimiter = defaultIfEmpty(bindParametersDelimiter, DEFAULT_BIND_PARAMETERS_DELIMITER);
 
-        final boolean ignoreCaseBool = toBoolean(ignoreCase);
-        dbType = getDbType(dbType);
-
-        final SQLInputs sqlInputs = SQLInputs.builder()
-                .dbServer(dbServerName)
-                .dbType(dbType)
-                .username(username)
-                .password(password)
-                .instance(getOrLower(instance, ignoreCaseBool))
-                .dbPort(getOrDefaultDBPort(dbPort, dbType))
-                .dbName(getOrLower(defaultIfEmpty(databaseName, EMPTY), ignoreCaseBool))
-                .authenticationType(authenticationType)
-                .dbClass(getOrDefaultDBClass(dbClass, dbType))
-                .dbUrl(defaultIfEmpty(dbURL, EMPTY))
-                .sqlCommand(command)
-                .trustAllRoots(toBoolean(trustAllRoots))
-                .trustStore(trustStore)
-                .trustStorePassword(trustStorePassword)
-                .authLibraryPath(authLibraryPath)
-                .strDelim(delimiter)
-                .key(key)
-                .timeout(toInteger(timeout))
-                .databasePoolingProperties(getOrDefaultDBPoolingProperties(databasePoolingProperties, EMPTY))
-                .resultSetType(getResultSetTypeForDbType(resultSetType, dbType))
-                .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
-                .ignoreCase(ignoreCaseBool)
-                .isNetcool(checkIsNetcool(dbType))
-                .build();
+            final List<String> preInputsValidation = validateSqlQueryInputs(dbServerName, dbType, username, password, instance, dbPort,
+                    databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
+                    timeout, resultSetType, resultSetConcurrency, ignoreCase, authLibraryPath);
+            preInputsValidation.addAll(validateSqlQueryCursorInputs(useCursor, fetchSize, cursorIdleTimeout));
+            preInputsValidation.addAll(validateBindParametersInputs(bindParameters, bindParametersDelimiter));
 
+            if (!preInputsValidation.isEmpty()) {
+                return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
+            }
 
-        try {
+            final boolean ignoreCaseBool = toBoolean(ignoreCase);
+            dbType = getDbType(dbType);
 
-            final String aKey = getSqlKey(sqlInputs);
+            sqlInputs = SQLInputs.builder()
+                    .dbServer(dbServerName)
+                    .dbType(dbType)
+                    .username(username)
+                    .password(password)
+                    .instance(getOrLower(instance, ignoreCaseBool))
+                    .dbPort(getOrDefaultDBPort(dbPort, dbType))
+                    .dbName(getOrLower(defaultIfEmpty(databaseName, EMPTY), ignoreCaseBool))
+                    .authenticationType(authenticationType)
+                    .dbClass(getOrDefaultDBClass(dbClass, dbType))
+                    .dbUrl(defaultIfEmpty(dbURL, EMPTY))
+                    .sqlCommand(command)
+                    .trustAllRoots(toBoolean(trustAllRoots))
+                    .trustStore(trustStore)
+                    .trustStorePassword(trustStorePassword)
+                    .authLibraryPath(authLibraryPath)
+                    .strDelim(delimiter)
+                    .key(key)
+                    .timeout(toInteger(timeout))
+                    .databasePoolingProperties(getOrDefaultDBPoolingProperties(databasePoolingProperties, EMPTY))
+                    .resultSetType(getResultSetTypeForDbType(resultSetType, dbType))
+                    .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
+                    .ignoreCase(ignoreCaseBool)
+                    .isNetcool(checkIsNetcool(dbType))
+                    .fetchSize(toInteger(fetchSize))
+                    .cursorIdleTimeout(toInteger(cursorIdleTimeout))
+                    .bindParameters(SQLBindParameters.parse(bindParameters, bindParametersDelimiter))
+                    .build();
+            aKey = getSqlKey(sqlInputs);
+            useCursorBool = toBoolean(useCursor);
             globalSessionObject = getOrDefaultGlobalSessionObj(globalSessionObject);
+        }
 
+        try {
             final Map<String, Object> globalMap = globalSessionObject.get();
+            if (useCursorBool) {
+                final Map<String, String> result = executeWithCursor(sqlInputs, aKey, globalMap);
+                if (globalMap.containsKey(aKey)) {
+                    result.put(QUERY_HANDLE, getOrCreateQueryHandle(globalMap, aKey));
+                }
+                return result;
+            }
 
             if (globalMap.containsKey(aKey)) {
-                sqlInputs.setLRows(getRowsFromGlobalSessionMap(globalSessionObject, aKey));
+                final List<String> rows = getRowsFromGlobalSessionMap(globalSessionObject, aKey);
+                //the rows of an exhausted query are null
+                sqlInputs.setLRows(rows != null ? rows : new ArrayList<String>());
             } else {
                 SQLQueryService.executeSqlQuery(sqlInputs);
             }
@@ -236,6 +312,7 @@ public class SQLQuery {
 
                 globalMap.put(aKey, null);
             }
+            result.put(QUERY_HANDLE, getOrCreateQueryHandle(globalMap, aKey));
 
             return result;
         } catch (Exception e) {
@@ -244,4 +321,46 @@ public class SQLQuery {
             return failureMap;
         }
     }
+
+    /**
+     * Returns the next row of the cursor kept in the session map under the query key, opening the cursor on the first call.
+     * The session map only references the cursor, the cursor closes itself when it is exhausted or idle.
+     */
+    private Map<String, String> executeWithCursor(final SQLInputs sqlInputs, final String aKey, final Map<String, Object> globalMap) throws Exception {
+        SQLCursor cursor;
+        final Object sessionValue = globalMap.get(aKey);
+        if (sessionValue instanceof SQLCursor) {
+            cursor = (SQLCursor) sessionValue;
+        } else {
+            cursor = SQLQueryService.openCursor(sqlInputs);
+            globalMap.put(aKey, cursor);
+        }
+
+        final String row;
+        try {
+            row = cursor.nextRow();
+        } catch (Exception e) {
+            cursor.close();
+            globalMap.remove(aKey);
+            removeQueryHandle(globalMap, aKey);
+            throw e;
+        }
+
+        final Map<String, String> result;
+        if (row != null) {
+            result = getSuccessResultsMap(row);
+            result.put(COLUMN_NAMES, cursor.getColumnNames());
+            result.put(ROWS_LEFT, String.valueOf(cursor.getPageRowsLeft()));
+        } else {
+            result = new HashMap<>();
+            result.put(SQL_QUERY, sqlInputs.getSqlCommand());
+            result.put(RETURN_RESULT, NO_MORE);
+            result.put(ROWS_LEFT, ZERO);
+            result.put(RETURN_CODE, DBReturnCodes.NO_MORE);
+
+            globalMap.remove(aKey);
+            removeQueryHandle(globalMap, aKey);
+        }
+        return result;
+    }
 }
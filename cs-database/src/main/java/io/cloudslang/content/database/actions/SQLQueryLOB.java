@@ -35,6 +35,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +47,7 @@ import static io.cloudslang.content.constants.BooleanValues.FALSE;
 import static io.cloudslang.content.constants.ResponseNames.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.*;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_QUERY_HANDLE;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
 import static io.cloudslang.content.database.constants.DBOutputNames.*;
@@ -53,6 +55,8 @@ import static io.cloudslang.content.database.constants.DBResponseNames.HAS_MORE;
 import static io.cloudslang.content.database.constants.DBResponseNames.NO_MORE;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryLOBInputs;
+import static io.cloudslang.content.database.utils.SQLUtils.getOrCreateQueryHandle;
+import static io.cloudslang.content.database.utils.SQLUtils.getQueryKey;
 import static io.cloudslang.content.database.utils.SQLUtils.getRowsFromGlobalSessionMap;
 import static io.cloudslang.content.database.utils.SQLUtils.getStrColumns;
 import static io.cloudslang.content.utils.NumberUtilities.toInteger;
@@ -114,7 +118,18 @@ public class SQLQueryLOB {
      * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
-     * @return Returns the data of a row returned from query. It is delimited by <delimiter>.
+     * @param lobDestinationDirectory   The directory the CLOB and BLOB columns are streamed to, in a new subdirectory for each run
+     *                                  of the query, one file per row and column named row<rowNumber>_col<columnIndex>_<columnName>.txt
+     *                                  for CLOBs and row<rowNumber>_col<columnIndex>_<columnName>.bin for BLOBs. Existing files are never
+     *                                  overwritten. When set, each row is returned in a single call and holds the paths of its LOB files,
+     *                                  a null value is empty, instead of returning every CLOB in a separate call.
+     *                                  The directory is created if it does not exist.
+     *                                  Optional
+     * @param queryHandle               The random "queryHandle" returned by the first call of the query. When set, the next row or LOB
+     *                                  is read straight from the state kept for that handle, the other inputs are neither validated nor used.
+     *                                  The call fails if the handle is unknown or its state has expired.
+     *                                  Optional
+     * @return Returns the data of a row returned from query. It is delimited by <delimiter>. The "queryHandle" identifies the query.
      */
     @Action(name = "SQL Query LOB",
             outputs = {
@@ -123,6 +138,7 @@ public class SQLQueryLOB {
                     @Output(EXCEPTION),
                     @Output(ROWS_LEFT),
                     @Output(SQL_QUERY),
+                    @Output(QUERY_HANDLE),
                     @Output(COLUMN_NAMES)
             },
             responses = {
@@ -151,74 +167,91 @@ public class SQLQueryLOB {
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
                                        @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = LOB_DESTINATION_DIRECTORY) String lobDestinationDirectory,
+                                       @Param(value = QUERY_HANDLE) String queryHandle,
                                        @Param(value = GLOBAL_SESSION_OBJECT) GlobalSessionObject<Map<String, Object>> globalSessionObject) {
-        dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
-        username = defaultIfEmpty(username, EMPTY);
-        password = defaultIfEmpty(password, EMPTY);
-        instance = defaultIfEmpty(instance, EMPTY);
-        authenticationType = defaultIfEmpty(authenticationType, AUTH_SQL);
-        trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
-        trustStore = defaultIfEmpty(trustStore, EMPTY);
-        trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
-        timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
-
-        resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
-        resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
-
-        final List<String> preInputsValidation = validateSqlQueryLOBInputs(dbServerName, dbType, username, password, instance, dbPort,
-                databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
-                timeout, resultSetType, resultSetConcurrency, authLibraryPath);
-
-        if (!preInputsValidation.isEmpty()) {
-            return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
+        final SQLInputs sqlInputs;
+        final String aKey;
+        if (StringUtils.isNotEmpty(queryHandle)) {
+            //the handle leads straight to the state of the query, there are no inputs to validate nor a query to run
+            globalSessionObject = getOrDefaultGlobalSessionObj(globalSessionObject);
+            aKey = getQueryKey(globalSessionObject.get(), queryHandle);
+            if (aKey == null) {
+                final Map<String, String> failureMap = getFailureResultsMap(INVALID_QUERY_HANDLE);
+                failureMap.put(ROWS_LEFT, ZERO);
+                return failureMap;
+            }
+            sqlInputs = SQLInputs.builder()
+                    .sqlCommand(command)
+                    .build();
+        } else {
+            dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
+            username = defaultIfEmpty(username, EMPTY);
+            password = defaultIfEmpty(password, EMPTY);
+            instance = defaultIfEmpty(instance, EMPTY);
+            authenticationType = defaultIfEmpty(authenticationType, AUTH_SQL);
+            trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
+            trustStore = defaultIfEmpty(trustStore, EMPTY);
+            trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
+            timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
+
+            resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
+            resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+
+            final List<String> preInputsValidation = validateSqlQueryLOBInputs(dbServerName, dbType, username, password, instance, dbPort,
+                    databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
+                    timeout, resultSetType, resultSetConcurrency, authLibraryPath);
+
+            if (!preInputsValidation.isEmpty()) {
+                return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
+            }
+            dbType = getDbType(dbType);
+
+
+            sqlInputs = SQLInputs.builder()
+                    .dbServer(dbServerName)
+                    .dbType(dbType)
+                    .username(username)
+                    .password(password)
+                    .instance(getOrLower(instance, true))
+                    .dbPort(getOrDefaultDBPort(dbPort, dbType))
+                    .dbName(getOrLower(defaultIfEmpty(databaseName, EMPTY), true))
+                    .authenticationType(authenticationType)
+                    .dbClass(getOrDefaultDBClass(dbClass, dbType))
+                    .dbUrl(defaultIfEmpty(dbURL, EMPTY))
+                    .sqlCommand(command)
+                    .trustAllRoots(BooleanUtilities.toBoolean(trustAllRoots))
+                    .trustStore(trustStore)
+                    .trustStorePassword(defaultIfEmpty(trustStorePassword, EMPTY))
+                    .authLibraryPath(authLibraryPath)
+                    .strDelim(delimiter)
+                    .key(key)
+                    .timeout(toInteger(timeout))
+                    .databasePoolingProperties(getOrDefaultDBPoolingProperties(databasePoolingProperties, EMPTY))
+                    .resultSetType(getResultSetTypeForDbType(resultSetType, dbType))
+                    .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
+                    .ignoreCase(true)
+                    .isNetcool(checkIsNetcool(dbType))
+                    .lobDestinationDirectory(defaultIfEmpty(lobDestinationDirectory, EMPTY))
+                    .build();
+            aKey = SQLInputsUtils.getSqlKey(sqlInputs);
+            globalSessionObject = getOrDefaultGlobalSessionObj(globalSessionObject);
         }
-        dbType = getDbType(dbType);
-
-
-        final SQLInputs sqlInputs = SQLInputs.builder()
-                .dbServer(dbServerName)
-                .dbType(dbType)
-                .username(username)
-                .password(password)
-                .instance(getOrLower(instance, true))
-                .dbPort(getOrDefaultDBPort(dbPort, dbType))
-                .dbName(getOrLower(defaultIfEmpty(databaseName, EMPTY), true))
-                .authenticationType(authenticationType)
-                .dbClass(getOrDefaultDBClass(dbClass, dbType))
-                .dbUrl(defaultIfEmpty(dbURL, EMPTY))
-                .sqlCommand(command)
-                .trustAllRoots(BooleanUtilities.toBoolean(trustAllRoots))
-                .trustStore(trustStore)
-                .trustStorePassword(defaultIfEmpty(trustStorePassword, EMPTY))
-                .authLibraryPath(authLibraryPath)
-                .strDelim(delimiter)
-                .key(key)
-                .timeout(toInteger(timeout))
-                .databasePoolingProperties(getOrDefaultDBPoolingProperties(databasePoolingProperties, EMPTY))
-                .resultSetType(getResultSetTypeForDbType(resultSetType, dbType))
-                .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
-                .ignoreCase(true)
-                .isNetcool(checkIsNetcool(dbType))
-                .build();
 
         try {
-
-            final String aKey = SQLInputsUtils.getSqlKey(sqlInputs);
-
+            final Map<String, Object> sqlConnectionMap = globalSessionObject.get();
             final String strKeyCol = format(KEY_COLUMNS, aKey);
             final String strKeyFiles = format(KEY_FILES, aKey);
             final String strKeyNames = format(KEY_CLOB_NAMES, aKey);
             final String strKeySkip = format(KEY_SKIP, aKey);
 
-            globalSessionObject = getOrDefaultGlobalSessionObj(globalSessionObject);
-
-            final Map<String, Object> sqlConnectionMap = globalSessionObject.get();
-
             Map<String, String> result = new HashMap<>();
 
             if (sqlConnectionMap.containsKey(aKey)) {
 
-                sqlInputs.setLRows(getRowsFromGlobalSessionMap(globalSessionObject, aKey));
+                final List<String> rows = getRowsFromGlobalSessionMap(globalSessionObject, aKey);
+                //the rows of an exhausted query are null
+                sqlInputs.setLRows(rows != null ? rows : new ArrayList<String>());
                 sqlInputs.setStrColumns(getStrColumns(globalSessionObject, strKeyCol));
 
                 if (sqlConnectionMap.get(strKeyFiles) != null) {
@@ -298,6 +331,9 @@ public class SQLQueryLOB {
                     result.put(RETURN_CODE, DBReturnCodes.NO_MORE);
                 }
             }
+            if (sqlConnectionMap.containsKey(aKey)) {
+                result.put(QUERY_HANDLE, getOrCreateQueryHandle(sqlConnectionMap, aKey));
+            }
             globalSessionObject.setResource(new SQLSessionResource(sqlConnectionMap));
             return result;
         } catch (Exception e) {
@@ -0,0 +1,276 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.database.services.SQLQueryFanOutService;
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.BooleanValues.FALSE;
+import static io.cloudslang.content.constants.OtherValues.COMMA_DELIMITER;
+import static io.cloudslang.content.constants.OutputNames.*;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBDefaultValues.*;
+import static io.cloudslang.content.database.constants.DBExceptionValues.DUPLICATE_TARGET_NAME;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_TARGETS;
+import static io.cloudslang.content.database.constants.DBInputNames.*;
+import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.FAILURE_COUNT;
+import static io.cloudslang.content.database.constants.DBOutputNames.SUCCESS_COUNT;
+import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateFanOutInputs;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryAllRowsInputs;
+import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
+import static io.cloudslang.content.utils.NumberUtilities.toInteger;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+
+/**
+ * Runs the same query against several databases concurrently, as "SQL Query All Rows" would for each of them.
+ */
+public class SQLQueryMultipleDatabases {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * @param targets                   A JSON array with one object per database to query. The "dbServerName", "dbType", "username",
+     *                                  "password", "instance", "dbPort", "databaseName" and "dbURL" keys of an object override the
+     *                                  inputs with the same name for that database. The optional "name" key names its result, by default
+     *                                  the result is named by the "dbURL" or by dbServerName:dbPort/databaseName.
+     *                                  Example: [{"name": "eu", "dbServerName": "db-eu"}, {"name": "us", "dbServerName": "db-us", "password": "***"}]
+     * @param dbServerName              The hostname or ip address of the database server, for the targets without a "dbServerName".
+     * @param dbType                    The type of database to connect to
+     *                                  Valid values: Oracle, MSSQL, Sybase, Netcool, DB2, PostgreSQL and Custom.
+     *                                  Default value: Oracle
+     * @param username                  The username to use when connecting to the server.
+     * @param password                  The password to use when connecting to the server.
+     * @param instance                  The name instance of MSSQL Server. Leave it blank for default instance.
+     *                                  Example: MSSQLSERVER
+     * @param dbPort                    The port to connect to.
+     *                                  Valid values: Oracle: 1521, MSSQL: 1433, Sybase: 5000, Netcool: 4100, DB2: 50000, PostgreSQL: 5432.
+     * @param databaseName              The name of the database to connect to.
+     * @param authenticationType        The type of authentication used to access the database (applicable only to MSSQL type).
+     *                                  Default: sql
+     *                                  Values: sql, windows
+     * @param dbClass                   The classname of the JDBC driver to use.
+     *                                  Examples: "oracle.jdbc.driver.OracleDriver", "org.postgresql.Driver"
+     * @param dbURL                     The url required to load up the driver and make your connection.
+     *                                  Examples: "jdbc:oracle:drivertype:@database", "jdbc:postgresql://host:port/database"
+     * @param command                   The SQL query to execute on every target.
+     *                                  Example: "SELECT * FROM table"
+     * @param trustAllRoots             Specifies whether to enable weak security over SSL/TSL. A certificate is trusted even if no trusted certification authority issued it.
+     *                                  Default value: false
+     *                                  Valid values: true, false
+     *                                  Note: If trustAllRoots is set to 'false', a trustStore and a trustStorePassword must be provided.
+     * @param trustStore                The pathname of the Java TrustStore file. This contains certificates from other parties that you expect to communicate with,
+     *                                  or from Certificate Authorities that you trust to identify other parties.
+     *                                  If the trustAllRoots input is set to 'true' this input is ignored.
+     * @param trustStorePassword        The password associated with the trustStore file.
+     * @param authLibraryPath           The path to the folder where sqljdbc_auth.dll is located. This path must be provided when using windows authentication.
+     * @param colDelimiter              The delimiter to use between columns in the result of each target.
+     *                                  Default value: comma (,)
+     * @param rowDelimiter              The delimiter to use between rows in the result of each target.
+     *                                  Default value: \n
+     * @param timeout                   Seconds to wait before timing out the SQL command execution on a target.
+     *                                  Default values: 0
+     * @param databasePoolingProperties Properties for database pooling configuration. Pooling is disabled by default.
+     *                                  With pooling enabled, each target uses its pool shared with the other SQL actions.
+     *                                  Default: db.pooling.enable=false
+     *                                  Example: db.pooling.enable=true
+     * @param resultSetType             the result set type. See JDBC folder description for more details.
+     *                                  Valid values: TYPE_FORWARD_ONLY, TYPE_SCROLL_INSENSITIVE,TYPE_SCROLL_SENSITIVE.
+     *                                  Default value: TYPE_SCROLL_INSENSITIVE except DB2 which is overridden to TYPE_FORWARD_ONLY
+     * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
+     *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
+     *                                  Default value: CONCUR_READ_ONLY
+     * @param maxParallelism            The maximum number of targets queried at the same time.
+     *                                  Default value: 10
+     * @return A JSON object with the result of every target by target name. Each result has the "returnCode", the "returnResult",
+     * the rows delimited by colDelimiter and rowDelimiter or the error message, and the "exception" of a failed target.
+     * "successCount" and "failureCount" are the numbers of targets that succeeded and failed. The action fails only if its
+     * inputs are invalid, a failed target is reported in its result.
+     */
+    @Action(name = "SQL Query Multiple Databases",
+            outputs = {
+                    @Output(RETURN_CODE),
+                    @Output(RETURN_RESULT),
+                    @Output(SUCCESS_COUNT),
+                    @Output(FAILURE_COUNT),
+                    @Output(EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = RETURN_CODE, value = FAILURE,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(@Param(value = TARGETS, required = true) String targets,
+                                       @Param(value = DB_SERVER_NAME) String dbServerName,
+                                       @Param(value = DB_TYPE) String dbType,
+                                       @Param(value = USERNAME) String username,
+                                       @Param(value = PASSWORD, encrypted = true) String password,
+                                       @Param(value = INSTANCE) String instance,
+                                       @Param(value = DB_PORT) String dbPort,
+                                       @Param(value = DATABASE_NAME) String databaseName,
+                                       @Param(value = AUTHENTICATION_TYPE) String authenticationType,
+                                       @Param(value = DB_CLASS) String dbClass,
+                                       @Param(value = DB_URL) String dbURL,
+                                       @Param(value = COMMAND, required = true) String command,
+                                       @Param(value = TRUST_ALL_ROOTS) String trustAllRoots,
+                                       @Param(value = TRUST_STORE) String trustStore,
+                                       @Param(value = TRUST_STORE_PASSWORD) String trustStorePassword,
+                                       @Param(value = AUTH_LIBRARY_PATH) String authLibraryPath,
+                                       @Param(value = COL_DELIMITER) String colDelimiter,
+                                       @Param(value = ROW_DELIMITER) String rowDelimiter,
+                                       @Param(value = TIMEOUT) String timeout,
+                                       @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
+                                       @Param(value = RESULT_SET_TYPE) String resultSetType,
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = MAX_PARALLELISM) String maxParallelism) {
+
+        authenticationType = defaultIfEmpty(authenticationType, AUTH_SQL);
+        trustAllRoots = defaultIfEmpty(trustAllRoots, FALSE);
+        trustStore = defaultIfEmpty(trustStore, EMPTY);
+        trustStorePassword = defaultIfEmpty(trustStorePassword, EMPTY);
+        timeout = defaultIfEmpty(timeout, DEFAULT_TIMEOUT);
+
+        resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
+        resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+        maxParallelism = defaultIfEmpty(maxParallelism, DEFAULT_MAX_PARALLELISM);
+
+        final List<String> preInputsValidation = validateFanOutInputs(targets, command, maxParallelism);
+        if (!preInputsValidation.isEmpty()) {
+            return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
+        }
+
+        try {
+            final JsonNode targetsNode = OBJECT_MAPPER.readTree(targets);
+            if (targetsNode == null || !targetsNode.isArray() || targetsNode.size() == 0) {
+                return getFailureResultsMap(INVALID_TARGETS);
+            }
+
+            //the invalid targets get their failure right away, the valid ones keep their place until they are queried
+            final Map<String, Map<String, String>> results = new LinkedHashMap<>();
+            final Map<String, SQLInputs> targetsInputs = new LinkedHashMap<>();
+            for (final JsonNode target : targetsNode) {
+                if (!isValidTarget(target)) {
+                    return getFailureResultsMap(INVALID_TARGETS);
+                }
+                final String targetServerName = getTargetValue(target, DB_SERVER_NAME, dbServerName);
+                final String targetDbType = getTargetValue(target, DB_TYPE, defaultIfEmpty(dbType, ORACLE_DB_TYPE));
+                final String targetUsername = getTargetValue(target, USERNAME, username);
+                final String targetPassword = getTargetValue(target, PASSWORD, password);
+                final String targetInstance = getTargetValue(target, INSTANCE, instance);
+                final String targetDbPort = getTargetValue(target, DB_PORT, dbPort);
+                final String targetDatabaseName = getTargetValue(target, DATABASE_NAME, databaseName);
+                final String targetDbURL = getTargetValue(target, DB_URL, dbURL);
+
+                final String targetName = getTargetValue(target, TARGET_NAME, StringUtils.isNotEmpty(targetDbURL) ? targetDbURL :
+                        targetServerName + ":" + targetDbPort + "/" + targetDatabaseName);
+                if (results.containsKey(targetName)) {
+                    return getFailureResultsMap(String.format(DUPLICATE_TARGET_NAME, targetName));
+                }
+
+                final List<String> targetValidation = validateSqlQueryAllRowsInputs(targetServerName, targetDbType, targetUsername,
+                        targetPassword, targetInstance, targetDbPort, targetDatabaseName, authenticationType, command, trustAllRoots,
+                        trustStore, trustStorePassword, timeout, resultSetType, resultSetConcurrency, authLibraryPath);
+                if (!targetValidation.isEmpty()) {
+                    results.put(targetName, getFailureResultsMap(StringUtils.join(targetValidation, NEW_LINE)));
+                    continue;
+                }
+                final String targetDbTypeName = getDbType(targetDbType);
+                results.put(targetName, null);
+                targetsInputs.put(targetName, SQLInputs.builder()
+                        .dbServer(targetServerName)
+                        .dbType(targetDbTypeName)
+                        .username(targetUsername)
+                        .password(targetPassword)
+                        .instance(targetInstance)
+                        .dbPort(getOrDefaultDBPort(targetDbPort, targetDbTypeName))
+                        .dbName(targetDatabaseName)
+                        .authenticationType(authenticationType)
+                        .dbClass(getOrDefaultDBClass(dbClass, targetDbTypeName))
+                        .dbUrl(targetDbURL)
+                        .sqlCommand(command)
+                        .trustAllRoots(toBoolean(trustAllRoots))
+                        .trustStore(trustStore)
+                        .trustStorePassword(trustStorePassword)
+                        .authLibraryPath(authLibraryPath)
+                        .colDelimiter(defaultIfEmpty(colDelimiter, COMMA_DELIMITER))
+                        .rowDelimiter(defaultIfEmpty(rowDelimiter, NEW_LINE))
+                        .timeout(toInteger(timeout))
+                        .databasePoolingProperties(getOrDefaultDBPoolingProperties(databasePoolingProperties, EMPTY))
+                        .resultSetType(getResultSetTypeForDbType(resultSetType, targetDbTypeName))
+                        .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
+                        .isNetcool(checkIsNetcool(targetDbTypeName))
+                        .build());
+            }
+
+            results.putAll(SQLQueryFanOutService.execQueryAllTargets(targetsInputs, toInteger(maxParallelism)));
+
+            int successCount = 0;
+            for (final Map<String, String> targetResult : results.values()) {
+                if (SUCCESS.equals(targetResult.get(RETURN_CODE))) {
+                    successCount++;
+                }
+            }
+            final Map<String, String> result = getSuccessResultsMap(OBJECT_MAPPER.writeValueAsString(results));
+            result.put(SUCCESS_COUNT, String.valueOf(successCount));
+            result.put(FAILURE_COUNT, String.valueOf(results.size() - successCount));
+            return result;
+        } catch (Exception e) {
+            return getFailureResultsMap(e);
+        }
+    }
+
+    private static boolean isValidTarget(final JsonNode target) {
+        if (!target.isObject()) {
+            return false;
+        }
+        for (final Iterator<JsonNode> values = target.elements(); values.hasNext(); ) {
+            if (!values.next().isValueNode()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String getTargetValue(final JsonNode target, final String key, final String defaultValue) {
+        final JsonNode value = target.get(key);
+        if (value == null || value.isNull()) {
+            return defaultIfEmpty(defaultValue, EMPTY);
+        }
+        return value.asText();
+    }
+}
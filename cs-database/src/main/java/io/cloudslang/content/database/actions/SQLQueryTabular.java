@@ -26,8 +26,11 @@ import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
 import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
 import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.database.services.SQLExportService;
 import io.cloudslang.content.database.services.SQLQueryTabularService;
 import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLResultCache;
+import io.cloudslang.content.database.utils.SQLRowWriter;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
@@ -40,8 +43,12 @@ import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.*;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.CACHE_HIT;
+import static io.cloudslang.content.database.constants.DBOutputNames.ROW_COUNT;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateExportInputs;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateResultCacheInputs;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlQueryTabularInputs;
 import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
 import static io.cloudslang.content.utils.NumberUtilities.toInteger;
@@ -98,13 +105,36 @@ public class SQLQueryTabular {
      * @param resultSetConcurrency      the result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
-     * @return Returns the data returned from the query as a table.
+     * @param destinationFile           The file the rows are written to as the result set is read, instead of being returned.
+     *                                  The file is overwritten once all the rows are written,
+     *                                  it is left untouched if the query fails. "resultSetType" and "resultSetConcurrency" are ignored,
+     *                                  the result set is forward only and read only.
+     *                                  Optional
+     * @param exportFormat              The format of the "destinationFile": csv, a header line with the column labels followed by
+     *                                  one line per row, or jsonl, one JSON object per row and line.
+     *                                  Valid values: csv, jsonl
+     *                                  Default value: csv
+     * @param fetchSize                 The number of rows read from the database at a time when "destinationFile" is set.
+     *                                  Default value: 1000
+     * @param resultCacheTtl            The number of seconds the result of the query is cached by the worker and served to the following
+     *                                  identical queries, without a database round trip. The queries are identical if they have the same
+     *                                  connection, credentials, command and delimiters. 0 disables the cache, use it for read only
+     *                                  reference data which may be this many seconds out of date. "destinationFile" queries are not cached.
+     *                                  Default value: 0
+     * @param resultCacheMaxEntries     The maximum number of results cached by the worker, the least recently used are evicted first.
+     *                                  Default value: 1000
+     * @param resultCacheMaxBytes       The maximum estimated size of the results cached by the worker, in bytes. A larger result is not cached.
+     *                                  Default value: 67108864
+     * @return Returns the data returned from the query as a table, or the path of the "destinationFile" and the "rowCount".
+     * "cacheHit" is true if the result was served from the result cache.
      */
     @Action(name = "SQL Query Tabular",
             outputs = {
                     @Output(RETURN_CODE),
                     @Output(OutputNames.RETURN_RESULT),
-                    @Output(EXCEPTION)
+                    @Output(EXCEPTION),
+                    @Output(ROW_COUNT),
+                    @Output(CACHE_HIT)
             },
             responses = {
                     @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS,
@@ -130,7 +160,13 @@ public class SQLQueryTabular {
                                        @Param(value = TIMEOUT) String timeout,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = DESTINATION_FILE) String destinationFile,
+                                       @Param(value = EXPORT_FORMAT) String exportFormat,
+                                       @Param(value = FETCH_SIZE) String fetchSize,
+                                       @Param(value = RESULT_CACHE_TTL) String resultCacheTtl,
+                                       @Param(value = RESULT_CACHE_MAX_ENTRIES) String resultCacheMaxEntries,
+                                       @Param(value = RESULT_CACHE_MAX_BYTES) String resultCacheMaxBytes) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         username = defaultIfEmpty(username, EMPTY);
@@ -144,10 +180,17 @@ public class SQLQueryTabular {
 
         resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+        exportFormat = defaultIfEmpty(exportFormat, SQLRowWriter.CSV_FORMAT);
+        fetchSize = defaultIfEmpty(fetchSize, DEFAULT_FETCH_SIZE);
+        resultCacheTtl = defaultIfEmpty(resultCacheTtl, DEFAULT_RESULT_CACHE_TTL);
+        resultCacheMaxEntries = defaultIfEmpty(resultCacheMaxEntries, DEFAULT_RESULT_CACHE_MAX_ENTRIES);
+        resultCacheMaxBytes = defaultIfEmpty(resultCacheMaxBytes, DEFAULT_RESULT_CACHE_MAX_BYTES);
 
         final List<String> preInputsValidation = validateSqlQueryTabularInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, command, trustAllRoots, trustStore, trustStorePassword,
                 timeout, resultSetType, resultSetConcurrency, authLibraryPath);
+        preInputsValidation.addAll(validateExportInputs(exportFormat, fetchSize));
+        preInputsValidation.addAll(validateResultCacheInputs(resultCacheTtl, resultCacheMaxEntries, resultCacheMaxBytes));
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
         }
@@ -174,10 +217,30 @@ public class SQLQueryTabular {
                 .resultSetType(getResultSetTypeForDbType(resultSetType, dbType))
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .isNetcool(checkIsNetcool(dbType))
+                .fetchSize(toInteger(fetchSize))
                 .build();
         try {
-            final String queryResult = SQLQueryTabularService.execSqlQueryTabular(sqlInputs);
-            return getSuccessResultsMap(queryResult);
+            //the table layout needs the width of every row first, a destination file is written as csv or json lines instead
+            if (StringUtils.isNotEmpty(destinationFile)) {
+                final long rowCount = SQLExportService.exportQuery(sqlInputs, destinationFile, exportFormat);
+                final Map<String, String> result = getSuccessResultsMap(destinationFile);
+                result.put(ROW_COUNT, String.valueOf(rowCount));
+                return result;
+            }
+            final boolean useResultCache = toInteger(resultCacheTtl) > 0;
+            final String resultKey = useResultCache ? SQLResultCache.getResultKey("SQLQueryTabular", sqlInputs) : EMPTY;
+            String queryResult = useResultCache ? SQLResultCache.getInstance().get(resultKey) : null;
+            final boolean cacheHit = queryResult != null;
+            if (!cacheHit) {
+                queryResult = SQLQueryTabularService.execSqlQueryTabular(sqlInputs);
+                if (useResultCache) {
+                    SQLResultCache.getInstance().put(resultKey, queryResult, toInteger(resultCacheTtl) * 1000L,
+                            toInteger(resultCacheMaxEntries), toInteger(resultCacheMaxBytes));
+                }
+            }
+            final Map<String, String> result = getSuccessResultsMap(queryResult);
+            result.put(CACHE_HIT, String.valueOf(cacheHit));
+            return result;
         } catch (Exception e) {
             return getFailureResultsMap(e);
         }
@@ -27,6 +27,8 @@ import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.database.services.SQLScriptService;
 import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLScriptReader;
+import io.cloudslang.content.database.utils.SQLUtils;
 import io.cloudslang.content.utils.BooleanUtilities;
 import org.apache.commons.lang3.StringUtils;
 
@@ -38,18 +40,24 @@ import static io.cloudslang.content.constants.OutputNames.*;
 import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
 import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
 import static io.cloudslang.content.database.constants.DBDefaultValues.AUTH_SQL;
+import static io.cloudslang.content.database.constants.DBDefaultValues.DEFAULT_BATCH_SIZE;
+import static io.cloudslang.content.database.constants.DBDefaultValues.DEFAULT_COMMIT_INTERVAL;
 import static io.cloudslang.content.database.constants.DBDefaultValues.NEW_LINE;
 import static io.cloudslang.content.database.constants.DBExceptionValues.NO_SQL_COMMAND;
 import static io.cloudslang.content.database.constants.DBInputNames.*;
 import static io.cloudslang.content.database.constants.DBOtherValues.*;
+import static io.cloudslang.content.database.constants.DBOutputNames.BATCH_UPDATE_COUNTS;
 import static io.cloudslang.content.database.constants.DBOutputNames.UPDATE_COUNT;
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
+import static io.cloudslang.content.database.utils.SQLInputsValidator.validateBatchInputs;
 import static io.cloudslang.content.database.utils.SQLInputsValidator.validateSqlScriptInputs;
 import static io.cloudslang.content.utils.BooleanUtilities.toBoolean;
+import static io.cloudslang.content.utils.NumberUtilities.toInteger;
 import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
 import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+import static org.apache.commons.lang3.StringUtils.isNoneEmpty;
 
 /**
  * Created by pinteae on 1/11/2017.
@@ -98,6 +106,12 @@ public class SQLScript {
      * @param resultSetConcurrency      The result set concurrency. See JDBC folder description for more details.
      *                                  Valid values: CONCUR_READ_ONLY, CONCUR_UPDATABLE
      *                                  Default value: CONCUR_READ_ONLY
+     * @param batchSize                 The number of commands sent to the database in one batch. The commands of a script file are
+     *                                  read as the batches are sent, so the file is never loaded at once. 0 sends all of the commands in one batch.
+     *                                  Default value: 1000
+     * @param commitInterval            The number of batches after which the transaction is committed. If a later batch fails,
+     *                                  the batches committed before it stay. 0 commits once, after the last batch.
+     *                                  Default value: 0
      * @return Returns a success or failure message.
      */
     @Action(name = "SQL Script",
@@ -106,6 +120,7 @@ public class SQLScript {
                     @Output(RETURN_RESULT),
                     @Output(EXCEPTION),
                     @Output(UPDATE_COUNT),
+                    @Output(BATCH_UPDATE_COUNTS),
             },
             responses = {
                     @Response(text = ResponseNames.SUCCESS, field = RETURN_CODE, value = SUCCESS,
@@ -132,7 +147,9 @@ public class SQLScript {
                                        @Param(value = AUTH_LIBRARY_PATH) String authLibraryPath,
                                        @Param(value = DATABASE_POOLING_PROPERTIES) String databasePoolingProperties,
                                        @Param(value = RESULT_SET_TYPE) String resultSetType,
-                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency) {
+                                       @Param(value = RESULT_SET_CONCURRENCY) String resultSetConcurrency,
+                                       @Param(value = BATCH_SIZE) String batchSize,
+                                       @Param(value = COMMIT_INTERVAL) String commitInterval) {
 
         dbType = defaultIfEmpty(dbType, ORACLE_DB_TYPE);
         username = defaultIfEmpty(username, EMPTY);
@@ -145,10 +162,13 @@ public class SQLScript {
 
         resultSetType = defaultIfEmpty(resultSetType, TYPE_SCROLL_INSENSITIVE);
         resultSetConcurrency = defaultIfEmpty(resultSetConcurrency, CONCUR_READ_ONLY);
+        batchSize = defaultIfEmpty(batchSize, DEFAULT_BATCH_SIZE);
+        commitInterval = defaultIfEmpty(commitInterval, DEFAULT_COMMIT_INTERVAL);
 
         final List<String> preInputsValidation = validateSqlScriptInputs(dbServerName, dbType, username, password, instance, dbPort,
                 databaseName, authenticationType, sqlCommands, scriptFileName, trustAllRoots, trustStore, trustStorePassword,
                 resultSetType, resultSetConcurrency, authLibraryPath);
+        preInputsValidation.addAll(validateBatchInputs(batchSize, commitInterval));
         if (!preInputsValidation.isEmpty()) {
             return getFailureResultsMap(StringUtils.join(preInputsValidation, NEW_LINE));
         }
@@ -167,7 +187,7 @@ public class SQLScript {
                 .dbClass(getOrDefaultDBClass(dbClass, dbType))
                 .dbUrl(defaultIfEmpty(dbURL, EMPTY))
                 .strDelim(delimiter)
-                .sqlCommands(getSqlCommands(sqlCommands, scriptFileName, delimiter))
+                .sqlCommands(getSqlCommands(sqlCommands, EMPTY, delimiter))
                 .trustAllRoots(toBoolean(trustAllRoots))
                 .trustStore(trustStore)
                 .trustStorePassword(trustStorePassword)
@@ -176,17 +196,30 @@ public class SQLScript {
                 .resultSetType(getResultSetType(resultSetType))
                 .resultSetConcurrency(getResultSetConcurrency(resultSetConcurrency))
                 .isNetcool(checkIsNetcool(dbType))
+                .batchSize(toInteger(batchSize))
+                .commitInterval(toInteger(commitInterval))
                 .build();
 
         try {
-            final List<String> commands = sqlInputs.getSqlCommands();
-            if (!commands.isEmpty()) {
-                final String res = SQLScriptService.executeSqlScript(commands, sqlInputs);
-                final Map<String, String> result = getSuccessResultsMap(res);
-                result.put(UPDATE_COUNT, String.valueOf(sqlInputs.getIUpdateCount()));
-                return result;
+            final String res;
+            if (isNoneEmpty(scriptFileName)) {
+                try (final SQLScriptReader commands = SQLUtils.openScriptFile(scriptFileName)) {
+                    if (!commands.hasNext()) {
+                        return getFailureResultsMap(NO_SQL_COMMAND);
+                    }
+                    res = SQLScriptService.executeSqlCommands(commands, sqlInputs);
+                }
+            } else {
+                final List<String> commands = sqlInputs.getSqlCommands();
+                if (commands.isEmpty()) {
+                    return getFailureResultsMap(NO_SQL_COMMAND);
+                }
+                res = SQLScriptService.executeSqlScript(commands, sqlInputs);
             }
-            return getFailureResultsMap(NO_SQL_COMMAND);
+            final Map<String, String> result = getSuccessResultsMap(res);
+            result.put(UPDATE_COUNT, String.valueOf(sqlInputs.getIUpdateCount()));
+            result.put(BATCH_UPDATE_COUNTS, StringUtils.join(sqlInputs.getBatchUpdateCounts(), COMMA));
+            return result;
         } catch (Exception e) {
             return getFailureResultsMap(e);
         }
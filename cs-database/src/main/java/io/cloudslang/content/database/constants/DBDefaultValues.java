@@ -24,4 +24,14 @@ public class DBDefaultValues {
     public static final String AUTH_SQL = "Sql";
     public static final String DEFAULT_TIMEOUT = "120";
     public static final String NEW_LINE = "\n";
+    public static final String DEFAULT_FETCH_SIZE = "1000";
+    public static final String DEFAULT_CURSOR_IDLE_TIMEOUT = "300";
+    public static final String DEFAULT_BIND_PARAMETERS_DELIMITER = ",";
+    public static final String DEFAULT_BATCH_SIZE = "1000";
+    public static final String DEFAULT_COMMIT_INTERVAL = "0";
+    public static final String DEFAULT_MAX_PARALLELISM = "10";
+    //the result cache is disabled by default
+    public static final String DEFAULT_RESULT_CACHE_TTL = "0";
+    public static final String DEFAULT_RESULT_CACHE_MAX_ENTRIES = "1000";
+    public static final String DEFAULT_RESULT_CACHE_MAX_BYTES = "67108864";
 }
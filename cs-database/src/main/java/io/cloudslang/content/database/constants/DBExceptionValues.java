@@ -45,4 +45,28 @@ public class DBExceptionValues extends ExceptionValues {
     public static final String INVALID_COMMANDS_EXCLUSIVITY = "Only one of the sqlCommands and scriptFileName can be specified";
     public static final String INVALID_AUTHENTICATION_TYPE_FOR_MS_SQL = "Invalid authentication type for MS SQL : ";
     public static final String NO_SQL_COMMAND = "No SQL command to be executed.";
+    public static final String INVALID_USE_CURSOR = "useCursor must be 'true' or 'false'";
+    public static final String INVALID_FETCH_SIZE = "fetchSize has to be a positive integer!";
+    public static final String INVALID_CURSOR_IDLE_TIMEOUT = "cursorIdleTimeout has to be a positive integer!";
+    public static final String INVALID_BIND_PARAMETER = "The bind parameter \"%s\" is not a valid value of its type.";
+    public static final String INVALID_BIND_PARAMETER_TYPE = "The bind parameter type \"%s\" is not valid, valid types are: %s";
+    public static final String INVALID_BATCH_SIZE = "batchSize has to be an integer greater than or equal to zero!";
+    public static final String INVALID_COMMIT_INTERVAL = "commitInterval has to be an integer greater than or equal to zero!";
+    public static final String INVALID_ROWS_EXCLUSIVITY = "Only one of the rows and rowsFileName can be specified";
+    public static final String INVALID_ROWS_FORMAT = "rowsFormat must be 'csv' or 'json'";
+    public static final String INVALID_JSON_ROWS = "The rows must be a JSON array of arrays or objects.";
+    public static final String UNCLOSED_CSV_VALUE = "Row %d: a quoted value is not closed.";
+    public static final String INVALID_CSV_QUOTED_VALUE = "Row %d: a quoted value must be followed by the delimiter or the end of the row.";
+    public static final String INVALID_ROW_VALUE = "Row %d: the value \"%s\" of column %d does not match the column type.";
+    public static final String NO_ROWS = "No rows to be inserted.";
+    public static final String INVALID_EXPORT_FORMAT = "exportFormat must be 'csv' or 'jsonl'";
+    public static final String INVALID_QUERY_HANDLE = "The queryHandle is unknown or has expired, run the query without a queryHandle to start over.";
+    public static final String INVALID_LOB_DESTINATION_DIRECTORY = "The lobDestinationDirectory does not exist and could not be created: %s";
+    public static final String INVALID_TARGETS = "The targets must be a non empty JSON array of objects with string or number values.";
+    public static final String DUPLICATE_TARGET_NAME = "The target name \"%s\" is used more than once.";
+    public static final String INVALID_MAX_PARALLELISM = "maxParallelism has to be a positive integer!";
+    public static final String INVALID_RESULT_CACHE_TTL = "resultCacheTtl has to be an integer greater than or equal to zero!";
+    public static final String INVALID_RESULT_CACHE_MAX_ENTRIES = "resultCacheMaxEntries has to be a positive integer!";
+    public static final String INVALID_RESULT_CACHE_MAX_BYTES = "resultCacheMaxBytes has to be a positive integer!";
+    public static final String CURSOR_CLOSED_IDLE = "The cursor was closed after being idle for more than %d seconds, run the query again.";
 }
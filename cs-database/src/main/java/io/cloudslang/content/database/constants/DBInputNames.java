@@ -50,4 +50,27 @@ public class DBInputNames extends InputNames {
     public static final String SCRIPT_FILE_NAME = "scriptFileName";
     public static final String GLOBAL_SESSION_OBJECT = "globalSessionObject";
     public static final String SQL_COMMANDS = "sqlCommands";
+    public static final String USE_CURSOR = "useCursor";
+    public static final String FETCH_SIZE = "fetchSize";
+    public static final String CURSOR_IDLE_TIMEOUT = "cursorIdleTimeout";
+    public static final String BIND_PARAMETERS = "bindParameters";
+    public static final String BIND_PARAMETERS_DELIMITER = "bindParametersDelimiter";
+    public static final String BATCH_SIZE = "batchSize";
+    public static final String COMMIT_INTERVAL = "commitInterval";
+    public static final String ROWS = "rows";
+    public static final String ROWS_FILE_NAME = "rowsFileName";
+    public static final String ROWS_FORMAT = "rowsFormat";
+    public static final String COLUMN_TYPES = "columnTypes";
+    public static final String DESTINATION_FILE = "destinationFile";
+    public static final String EXPORT_FORMAT = "exportFormat";
+    //also the name of the output returning the handle
+    public static final String QUERY_HANDLE = "queryHandle";
+    public static final String LOB_DESTINATION_DIRECTORY = "lobDestinationDirectory";
+    public static final String TARGETS = "targets";
+    public static final String MAX_PARALLELISM = "maxParallelism";
+    //the key of a target object in "targets" naming its result
+    public static final String TARGET_NAME = "name";
+    public static final String RESULT_CACHE_TTL = "resultCacheTtl";
+    public static final String RESULT_CACHE_MAX_ENTRIES = "resultCacheMaxEntries";
+    public static final String RESULT_CACHE_MAX_BYTES = "resultCacheMaxBytes";
 }
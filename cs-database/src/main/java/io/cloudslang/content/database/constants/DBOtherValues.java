@@ -27,6 +27,7 @@ public class DBOtherValues {
     public static final String FORWARD_SLASH = "/";
     public static final String BACK_SLASH = "\\";
     public static final String SEMI_COLON = ";";
+    public static final String COMMA = ",";
     public static final String DBMS_OUTPUT = "dbms_output";
 
     public static final String CONCUR_READ_ONLY = "CONCUR_READ_ONLY";
@@ -67,5 +68,6 @@ public class DBOtherValues {
     public static final String KEY_FILES = "%s - Files";
     public static final String KEY_CLOB_NAMES = "%s - CLOBNames";
     public static final String KEY_SKIP = "%s - Skip";
+    public static final String KEY_QUERY_HANDLE = "%s - Handle";
 
 }
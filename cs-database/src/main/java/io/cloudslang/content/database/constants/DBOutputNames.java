@@ -28,4 +28,10 @@ public class DBOutputNames extends OutputNames {
     public static final String OUTPUT_TEXT = "outputText";
     public static final String COLUMN_NAMES = "columnNames";
     public static final String SQL_QUERY = "sqlQuery";
+    public static final String BATCH_UPDATE_COUNTS = "batchUpdateCounts";
+    public static final String ROW_COUNT = "rowCount";
+    public static final String POOL_COUNT = "poolCount";
+    public static final String SUCCESS_COUNT = "successCount";
+    public static final String FAILURE_COUNT = "failureCount";
+    public static final String CACHE_HIT = "cacheHit";
 }
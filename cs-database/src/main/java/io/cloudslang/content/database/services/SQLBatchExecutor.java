@@ -0,0 +1,94 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Runs the commands added to a statement batch in chunks of "batchSize" commands, so the driver never holds more
+ * than one chunk, and commits every "commitInterval" chunks. The update count of each chunk is added to the
+ * batch update counts of the inputs and to the total update count.
+ * The connection has to be out of auto commit mode.
+ */
+public class SQLBatchExecutor {
+    private final Connection connection;
+    private final Statement statement;
+    private final SQLInputs sqlInputs;
+    private int pendingCommands = 0;
+    private int uncommittedBatches = 0;
+
+    public SQLBatchExecutor(@NotNull final Connection connection, @NotNull final Statement statement, @NotNull final SQLInputs sqlInputs) {
+        this.connection = connection;
+        this.statement = statement;
+        this.sqlInputs = sqlInputs;
+        sqlInputs.setIUpdateCount(0);
+        sqlInputs.getBatchUpdateCounts().clear();
+    }
+
+    /**
+     * Adds a command to the batch of a plain statement.
+     */
+    public void addBatch(@NotNull final String command) throws SQLException {
+        statement.addBatch(command);
+        added();
+    }
+
+    /**
+     * To be called after the parameters of a prepared statement were added to its batch.
+     */
+    public void added() throws SQLException {
+        pendingCommands++;
+        if (sqlInputs.getBatchSize() > 0 && pendingCommands >= sqlInputs.getBatchSize()) {
+            executeBatch();
+        }
+    }
+
+    /**
+     * Runs the commands left in the batch and commits.
+     */
+    public void finish() throws SQLException {
+        if (pendingCommands > 0) {
+            executeBatch();
+        }
+        connection.commit();
+    }
+
+    private void executeBatch() throws SQLException {
+        int updateCount = 0;
+        for (int count : statement.executeBatch()) {
+            //SUCCESS_NO_INFO and EXECUTE_FAILED do not count
+            if (count > 0) {
+                updateCount += count;
+            }
+        }
+        statement.clearBatch();
+        pendingCommands = 0;
+        sqlInputs.getBatchUpdateCounts().add(updateCount);
+        sqlInputs.setIUpdateCount(sqlInputs.getIUpdateCount() + updateCount);
+
+        uncommittedBatches++;
+        if (sqlInputs.getCommitInterval() > 0 && uncommittedBatches >= sqlInputs.getCommitInterval()) {
+            connection.commit();
+            uncommittedBatches = 0;
+        }
+    }
+}
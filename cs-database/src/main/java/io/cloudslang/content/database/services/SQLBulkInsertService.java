@@ -0,0 +1,98 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.SQLBindParameters;
+import io.cloudslang.content.database.utils.SQLBindParameters.BindParameter;
+import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLRowReader;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_ROW_VALUE;
+import static io.cloudslang.content.database.constants.DBExceptionValues.NO_ROWS;
+
+/**
+ * Inserts rows through one prepared statement, binding the values of each row to the '?' placeholders of the command
+ * and running the rows in batches of "batchSize" rows committed every "commitInterval" batches.
+ */
+public class SQLBulkInsertService {
+
+    /**
+     * @param sqlInputs   the inputs, the sql command is the parametrised insert
+     * @param rows        the rows to insert, read as the batches are filled
+     * @param columnTypes the SQL types of the columns, columns without a type are strings
+     * @return the result message
+     * @throws Exception
+     */
+    public static String executeBulkInsert(@NotNull final SQLInputs sqlInputs, @NotNull final SQLRowReader rows,
+                                           @NotNull final List<Integer> columnTypes) throws Exception {
+        ConnectionService connectionService = new ConnectionService();
+        try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
+
+            try {
+                connection.setReadOnly(false);
+            } catch (Exception e) {
+            } // not all drivers support this
+
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(sqlInputs.getSqlCommand())) {
+                preparedStatement.setQueryTimeout(sqlInputs.getTimeout());
+                final SQLBatchExecutor batchExecutor = new SQLBatchExecutor(connection, preparedStatement, sqlInputs);
+                int rowNumber = 0;
+                List<String> row;
+                while ((row = rows.nextRow()) != null) {
+                    rowNumber++;
+                    SQLBindParameters.bind(preparedStatement, toBindParameters(row, columnTypes, rowNumber));
+                    preparedStatement.addBatch();
+                    batchExecutor.added();
+                }
+                if (rowNumber == 0) {
+                    throw new Exception(NO_ROWS);
+                }
+                batchExecutor.finish();
+            } catch (Exception e) {
+                //the batches committed so far stay, the rest is undone
+                connection.rollback();
+                throw e;
+            }
+            connection.setAutoCommit(autoCommit);
+        }
+        return "Command completed successfully";
+    }
+
+    @NotNull
+    private static List<BindParameter> toBindParameters(@NotNull final List<String> row, @NotNull final List<Integer> columnTypes,
+                                                        final int rowNumber) {
+        final List<BindParameter> parameters = new ArrayList<>(row.size());
+        for (int i = 0; i < row.size(); i++) {
+            final int sqlType = (i < columnTypes.size()) ? columnTypes.get(i) : Types.VARCHAR;
+            try {
+                parameters.add(SQLBindParameters.toBindParameter(sqlType, row.get(i)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format(INVALID_ROW_VALUE, rowNumber, row.get(i), i + 1), e);
+            }
+        }
+        return parameters;
+    }
+}
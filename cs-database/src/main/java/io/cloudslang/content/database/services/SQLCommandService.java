@@ -18,6 +18,7 @@
 package io.cloudslang.content.database.services;
 
 import io.cloudslang.content.database.utils.OracleDbmsOutput;
+import io.cloudslang.content.database.utils.SQLBindParameters;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -43,6 +44,7 @@ public class SQLCommandService {
             if (ORACLE_DB_TYPE.equalsIgnoreCase(dbType) && sqlInputs.getSqlCommand().toLowerCase().contains(DBMS_OUTPUT)) {
 
                 final PreparedStatement preparedStatement = connection.prepareStatement(sqlInputs.getSqlCommand());
+                SQLBindParameters.bind(preparedStatement, sqlInputs.getBindParameters());
                 preparedStatement.setQueryTimeout(sqlInputs.getTimeout());
                 OracleDbmsOutput oracleDbmsOutput = new OracleDbmsOutput(connection);
                 preparedStatement.executeQuery();
@@ -52,10 +54,10 @@ public class SQLCommandService {
                 oracleDbmsOutput.close();
                 return output;
             } else {
-                final Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+                final Statement statement = SQLUtils.createStatement(connection, sqlInputs, sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
                 statement.setQueryTimeout(sqlInputs.getTimeout());
                 try {
-                    statement.execute(sqlInputs.getSqlCommand());
+                    SQLUtils.execute(statement, sqlInputs.getSqlCommand());
                 } catch (SQLException e) {
                     if (SYBASE_DB_TYPE.equalsIgnoreCase(dbType)) {
                         //during a dump sybase sends back status as exceptions.
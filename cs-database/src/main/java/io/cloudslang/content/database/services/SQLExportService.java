@@ -0,0 +1,109 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.SQLInputs;
+import io.cloudslang.content.database.utils.SQLRowWriter;
+import io.cloudslang.content.database.utils.SQLUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.COMMA;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+
+/**
+ * Streams the rows of a query to a file while the result set is traversed, instead of building the whole result in memory.
+ */
+public class SQLExportService {
+
+    /**
+     * Runs the query with a forward only, read only result set fetched "fetchSize" rows at a time and writes its rows
+     * to a partial file next to the destination file, which replaces the destination file once all the rows are written.
+     * The destination file is left untouched if the export fails.
+     *
+     * @param sqlInputs       the query inputs, the colDelimiter separates the csv values
+     * @param destinationFile the file to write, it is overwritten if it exists
+     * @param exportFormat    csv or jsonl
+     * @return the number of rows written
+     * @throws Exception
+     */
+    public static long exportQuery(@NotNull final SQLInputs sqlInputs, @NotNull final String destinationFile,
+                                   @NotNull final String exportFormat) throws Exception {
+        final Path destination = Paths.get(destinationFile).toAbsolutePath();
+        final Path partialFile = destination.resolveSibling("." + destination.getFileName() + "." + UUID.randomUUID() + ".part");
+        try {
+            final long rowCount = writeQuery(sqlInputs, partialFile, exportFormat);
+            moveReplacing(partialFile, destination);
+            return rowCount;
+        } finally {
+            Files.deleteIfExists(partialFile);
+        }
+    }
+
+    private static long writeQuery(@NotNull final SQLInputs sqlInputs, @NotNull final Path file,
+                                   @NotNull final String exportFormat) throws Exception {
+        ConnectionService connectionService = new ConnectionService();
+        try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
+            connection.setReadOnly(true);
+            final boolean autoCommit = connection.getAutoCommit();
+            //some drivers, PostgreSQL among them, only honour the fetch size outside of auto commit
+            connection.setAutoCommit(false);
+            final long rowCount;
+            try (final Statement statement = SQLUtils.createStatement(connection, sqlInputs, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setQueryTimeout(sqlInputs.getTimeout());
+                statement.setFetchSize(sqlInputs.getFetchSize());
+                try (final ResultSet resultSet = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
+                     final SQLRowWriter rowWriter = openRowWriter(file, exportFormat, defaultIfEmpty(sqlInputs.getColDelimiter(), COMMA))) {
+                    rowCount = rowWriter.write(resultSet, sqlInputs.isNetcool());
+                }
+            }
+            connection.setAutoCommit(autoCommit);
+            return rowCount;
+        }
+    }
+
+    private static void moveReplacing(@NotNull final Path source, @NotNull final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @NotNull
+    private static SQLRowWriter openRowWriter(@NotNull final Path file, @NotNull final String exportFormat,
+                                              @NotNull final String colDelimiter) throws Exception {
+        final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        if (SQLRowWriter.JSON_LINES_FORMAT.equalsIgnoreCase(exportFormat)) {
+            return SQLRowWriter.jsonLines(writer);
+        }
+        return SQLRowWriter.csv(writer, colDelimiter);
+    }
+}
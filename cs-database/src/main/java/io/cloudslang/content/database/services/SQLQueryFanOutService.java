@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.services;
+
+import io.cloudslang.content.database.utils.SQLInputs;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static io.cloudslang.content.utils.OutputUtilities.getSuccessResultsMap;
+
+/**
+ * Runs one query against several databases at the same time.
+ */
+public class SQLQueryFanOutService {
+
+    /**
+     * Runs the query of every target with {@link SQLQueryAllRowsService} on at most maxParallelism threads.
+     * The connections are taken from the pools of the targets when pooling is enabled, so the total time is
+     * about the time of the slowest target instead of the sum of all of them. The failure of a target does
+     * not stop the others.
+     *
+     * @param targets        the query inputs by target name
+     * @param maxParallelism the maximum number of targets queried at the same time
+     * @return the returnCode, returnResult and exception of every target by target name, in the order of the targets
+     * @throws InterruptedException if the thread is interrupted while waiting for the targets
+     */
+    public static Map<String, Map<String, String>> execQueryAllTargets(@NotNull final Map<String, SQLInputs> targets,
+                                                                      final int maxParallelism) throws InterruptedException {
+        final Map<String, Map<String, String>> results = new LinkedHashMap<>();
+        if (targets.isEmpty()) {
+            return results;
+        }
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(maxParallelism, targets.size()));
+        try {
+            final Map<String, Future<String>> queries = new LinkedHashMap<>();
+            for (final Map.Entry<String, SQLInputs> target : targets.entrySet()) {
+                queries.put(target.getKey(), executorService.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        return SQLQueryAllRowsService.execQueryAllRows(target.getValue());
+                    }
+                }));
+            }
+            for (final Map.Entry<String, Future<String>> query : queries.entrySet()) {
+                try {
+                    results.put(query.getKey(), getSuccessResultsMap(query.getValue().get()));
+                } catch (ExecutionException e) {
+                    results.put(query.getKey(), getFailureResultsMap(e.getCause()));
+                }
+            }
+        } finally {
+            //stops the running queries of an interrupted call
+            executorService.shutdownNow();
+        }
+        return results;
+    }
+}
@@ -19,17 +19,28 @@ package io.cloudslang.content.database.services;
 
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.UUID;
 
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_LOB_DESTINATION_DIRECTORY;
 import static org.apache.commons.io.FileUtils.*;
 
 /**
@@ -37,10 +48,21 @@ import static org.apache.commons.io.FileUtils.*;
  */
 public class SQLQueryLobService {
 
+    private static final int LOB_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Runs the query and keeps its rows in the sql inputs.
+     * Without a lobDestinationDirectory every CLOB is copied to a temporary file and returned later by the action,
+     * one call per CLOB. With a lobDestinationDirectory the CLOB and BLOB columns are streamed straight to one file
+     * per row and column in a new subdirectory of that directory, and the row only holds the paths of those files.
+     *
+     * @return true if CLOBs were copied to temporary files which the action has to return
+     */
     public static boolean executeSqlQueryLob(SQLInputs sqlInputs) throws Exception {
         if (StringUtils.isEmpty(sqlInputs.getSqlCommand())) {
             throw new Exception("command input is empty.");
         }
+        final Path lobDirectory = getLobDirectory(sqlInputs.getLobDestinationDirectory());
         boolean isLOB = false;
         ConnectionService connectionService = new ConnectionService();
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
@@ -65,6 +87,13 @@ public class SQLQueryLobService {
                 final StringBuilder strRowHolder = new StringBuilder();
                 for (int i = 1; i <= iNumCols; i++) {
                     if (i > 1) strRowHolder.append(sqlInputs.getStrDelim());
+                    if (lobDirectory != null) {
+                        //the streamed rows hold an empty value for null, as the rows of SQL Query do
+                        strRowHolder.append(isLobColumn(mtd.getColumnType(i)) ?
+                                streamLob(results, i, mtd.getColumnType(i), lobDirectory, nr + 1, mtd.getColumnLabel(i)) :
+                                StringUtils.defaultString(getStreamedValue(results, i, sqlInputs.isNetcool())));
+                        continue;
+                    }
                     Object columnObject = results.getObject(i);
                     if (columnObject != null) {
                         String value;
@@ -98,4 +127,64 @@ public class SQLQueryLobService {
         return isLOB;
     }
 
+    /**
+     * @return a new subdirectory of the lobDestinationDirectory, so the files of two runs of a query never clash
+     */
+    private static Path getLobDirectory(final String lobDestinationDirectory) throws Exception {
+        if (StringUtils.isEmpty(lobDestinationDirectory)) {
+            return null;
+        }
+        final File lobDirectory = new File(lobDestinationDirectory);
+        if (!lobDirectory.isDirectory() && !lobDirectory.mkdirs()) {
+            throw new Exception(String.format(INVALID_LOB_DESTINATION_DIRECTORY, lobDestinationDirectory));
+        }
+        return Files.createDirectory(lobDirectory.toPath().resolve(UUID.randomUUID().toString()));
+    }
+
+    private static String getStreamedValue(final ResultSet results, final int column, final boolean isNetcool) throws Exception {
+        final String value = results.getString(column);
+        return (value != null && isNetcool) ? SQLUtils.processNullTerminatedString(value) : value;
+    }
+
+    private static boolean isLobColumn(final int columnType) {
+        return isCharacterLob(columnType) || columnType == Types.BLOB;
+    }
+
+    private static boolean isCharacterLob(final int columnType) {
+        return columnType == Types.CLOB || columnType == Types.NCLOB;
+    }
+
+    /**
+     * Copies the LOB of the current row to a new file without materializing it in memory.
+     * The column index tells apart the columns with the same label.
+     *
+     * @return the absolute path of the file, or an empty string if the LOB is null
+     */
+    private static String streamLob(final ResultSet results, final int column, final int columnType, final Path lobDirectory,
+                                    final int rowNumber, final String columnLabel) throws Exception {
+        final String baseName = "row" + rowNumber + "_col" + column + "_" + columnLabel.replaceAll("[^A-Za-z0-9_.-]", "_");
+        if (isCharacterLob(columnType)) {
+            try (final Reader reader = results.getCharacterStream(column)) {
+                if (reader == null) {
+                    return StringUtils.EMPTY;
+                }
+                final Path lobFile = lobDirectory.resolve(baseName + ".txt");
+                try (final Writer writer = Files.newBufferedWriter(lobFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW)) {
+                    IOUtils.copyLarge(reader, writer, new char[LOB_BUFFER_SIZE]);
+                }
+                return lobFile.toAbsolutePath().toString();
+            }
+        }
+        try (final InputStream inputStream = results.getBinaryStream(column)) {
+            if (inputStream == null) {
+                return StringUtils.EMPTY;
+            }
+            final Path lobFile = lobDirectory.resolve(baseName + ".bin");
+            try (final OutputStream outputStream = Files.newOutputStream(lobFile, StandardOpenOption.CREATE_NEW)) {
+                IOUtils.copyLarge(inputStream, outputStream, new byte[LOB_BUFFER_SIZE]);
+            }
+            return lobFile.toAbsolutePath().toString();
+        }
+    }
+
 }
@@ -14,9 +14,9 @@
  */
 
 
-
 package io.cloudslang.content.database.services;
 
+import io.cloudslang.content.database.utils.SQLCursor;
 import io.cloudslang.content.database.utils.SQLInputs;
 import io.cloudslang.content.database.utils.SQLUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -25,6 +25,7 @@ import org.jetbrains.annotations.NotNull;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 /**
@@ -40,38 +41,75 @@ public class SQLQueryService {
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
 
             connection.setReadOnly(true);
-            Statement statement = connection.createStatement(sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
+            Statement statement = SQLUtils.createStatement(connection, sqlInputs, sqlInputs.getResultSetType(), sqlInputs.getResultSetConcurrency());
             statement.setQueryTimeout(sqlInputs.getTimeout());
-            final ResultSet results = statement.executeQuery(sqlInputs.getSqlCommand());
+            final ResultSet results = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
+
+            final int iNumCols = setStrColumns(sqlInputs, results.getMetaData());
 
-            final ResultSetMetaData mtd = results.getMetaData();
+            while (results.next()) {
+                sqlInputs.getLRows().add(SQLUtils.getRowString(results, iNumCols, sqlInputs.getStrDelim(), sqlInputs.isNetcool()));
+            }
+        }
+    }
 
-            int iNumCols = mtd.getColumnCount();
+    /**
+     * Runs the query with a forward only, read only result set and returns it as a cursor without reading any row.
+     * The connection stays open until the cursor is closed.
+     *
+     * @param sqlInputs the query inputs, the fetchSize and cursorIdleTimeout configure the cursor
+     * @return the open cursor
+     * @throws Exception
+     */
+    @NotNull
+    public static SQLCursor openCursor(@NotNull final SQLInputs sqlInputs) throws Exception {
+        if (StringUtils.isEmpty(sqlInputs.getSqlCommand())) {
+            throw new Exception("command input is empty.");
+        }
+        ConnectionService connectionService = new ConnectionService();
+        final Connection connection = connectionService.setUpConnection(sqlInputs);
+        Statement statement = null;
+        try {
+            connection.setReadOnly(true);
+            //some drivers, PostgreSQL among them, only honour the fetch size outside of auto commit
+            connection.setAutoCommit(false);
+            statement = SQLUtils.createStatement(connection, sqlInputs, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setQueryTimeout(sqlInputs.getTimeout());
+            statement.setFetchSize(sqlInputs.getFetchSize());
+            final ResultSet results = SQLUtils.executeQuery(statement, sqlInputs.getSqlCommand());
 
-            final StringBuilder strColumns = new StringBuilder(sqlInputs.getStrColumns());
+            setStrColumns(sqlInputs, results.getMetaData());
 
-            for (int i = 1; i <= iNumCols; i++) {
-                if (i > 1) {
-                    strColumns.append(sqlInputs.getStrDelim());
-                }
-                strColumns.append(mtd.getColumnLabel(i));
+            return new SQLCursor(connection, statement, results, sqlInputs.getStrColumns(), sqlInputs.getStrDelim(),
+                    sqlInputs.isNetcool(), sqlInputs.getFetchSize(), sqlInputs.getCursorIdleTimeout());
+        } catch (Exception e) {
+            if (statement != null) {
+                closeQuietly(statement);
             }
-            sqlInputs.setStrColumns(strColumns.toString());
+            connection.close();
+            throw e;
+        }
+    }
 
-            while (results.next()) {
-                final StringBuilder strRowHolder = new StringBuilder();
-                for (int i = 1; i <= iNumCols; i++) {
-                    if (i > 1) strRowHolder.append(sqlInputs.getStrDelim());
-                    if (results.getString(i) != null) {
-                        String value = results.getString(i).trim();
-                        if (sqlInputs.isNetcool())
-                            value = SQLUtils.processNullTerminatedString(value);
-
-                        strRowHolder.append(value);
-                    }
-                }
-                sqlInputs.getLRows().add(strRowHolder.toString());
+    private static int setStrColumns(@NotNull final SQLInputs sqlInputs, @NotNull final ResultSetMetaData mtd) throws SQLException {
+        int iNumCols = mtd.getColumnCount();
+
+        final StringBuilder strColumns = new StringBuilder(sqlInputs.getStrColumns());
+
+        for (int i = 1; i <= iNumCols; i++) {
+            if (i > 1) {
+                strColumns.append(sqlInputs.getStrDelim());
             }
+            strColumns.append(mtd.getColumnLabel(i));
+        }
+        sqlInputs.setStrColumns(strColumns.toString());
+        return iNumCols;
+    }
+
+    private static void closeQuietly(@NotNull final Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
         }
     }
 }
@@ -24,8 +24,10 @@ import io.cloudslang.content.database.utils.SQLUtils;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Iterator;
 import java.util.List;
 
+import static io.cloudslang.content.database.constants.DBExceptionValues.NO_SQL_COMMAND;
 import static io.cloudslang.content.database.constants.DBOtherValues.SYBASE_DB_TYPE;
 
 /**
@@ -36,8 +38,26 @@ public class SQLScriptService {
     public static String executeSqlScript(List<String> lines, SQLInputs sqlInputs)
             throws Exception {
         if (lines == null || lines.isEmpty()) {
-            throw new Exception("No SQL command to be executed.");
+            throw new Exception(NO_SQL_COMMAND);
         }
+        return executeSqlCommands(lines.iterator(), sqlInputs);
+    }
+
+    /**
+     * Runs the commands as they are read, in batches of "batchSize" commands committed every "commitInterval" batches.
+     * A batch size of 0 runs all of the commands in one batch, a commit interval of 0 commits once at the end.
+     *
+     * @param commands  the commands of the script, they are not read ahead of the batch being filled
+     * @param sqlInputs the inputs, the update count of each batch is added to their batch update counts
+     * @return the result message
+     * @throws Exception
+     */
+    public static String executeSqlCommands(Iterator<String> commands, SQLInputs sqlInputs)
+            throws Exception {
+        if (commands == null || !commands.hasNext()) {
+            throw new Exception(NO_SQL_COMMAND);
+        }
+        final String firstCommand = commands.next();
         ConnectionService connectionService = new ConnectionService();
         try (final Connection connection = connectionService.setUpConnection(sqlInputs)) {
 
@@ -50,35 +70,33 @@ public class SQLScriptService {
                 statement.setQueryTimeout(sqlInputs.getTimeout());
                 boolean autoCommit = connection.getAutoCommit();
                 connection.setAutoCommit(false);
-                int updateCount = 0;
-                if (lines.size() > 1) {
-                    for (String line : lines) {
-                        statement.addBatch(line);
-                    }
-                    int[] updateCounts = statement.executeBatch();
-                    for (int i : updateCounts) {
-                        if (i > 0) {
-                            updateCount += i;
-                        }
+                if (commands.hasNext()) {
+                    final SQLBatchExecutor batchExecutor = new SQLBatchExecutor(connection, statement, sqlInputs);
+                    batchExecutor.addBatch(firstCommand);
+                    while (commands.hasNext()) {
+                        batchExecutor.addBatch(commands.next());
                     }
+                    batchExecutor.finish();
                 } else {
-                    statement.execute(lines.get(0));
-                    updateCount = statement.getUpdateCount();
+                    statement.execute(firstCommand);
+                    sqlInputs.setIUpdateCount(statement.getUpdateCount());
+                    connection.commit();
                 }
-                sqlInputs.setIUpdateCount(updateCount);
-                connection.commit();
                 connection.setAutoCommit(autoCommit);
             } catch (SQLException e) {
                 //during a dump sybase sends back status as exceptions.
                 final String dbType = sqlInputs.getDbType();
                 if (SYBASE_DB_TYPE.equalsIgnoreCase(dbType)) {
-                    if (lines.get(0).trim().toLowerCase().startsWith("dump")) {
+                    if (firstCommand.trim().toLowerCase().startsWith("dump")) {
                         return SQLUtils.processDumpException(e);
-                    } else if (lines.get(0).trim().toLowerCase().startsWith("load")) {
+                    } else if (firstCommand.trim().toLowerCase().startsWith("load")) {
                         return SQLUtils.processLoadException(e);
                     }
-                } else
+                } else {
+                    //the batches committed so far stay, the rest is undone
+                    connection.rollback();
                     throw e;
+                }
             }
         }
         return "Command completed successfully";
@@ -20,6 +20,7 @@ package io.cloudslang.content.database.services.dbconnection;
 import com.mchange.v2.c3p0.DataSources;
 import com.mchange.v2.c3p0.PooledDataSource;
 import io.cloudslang.content.database.services.dbconnection.DBConnectionManager.DBType;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
@@ -46,6 +47,8 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
     private final static String C3P0_MAX_IDLE_TIME_NAME = "maxIdleTime";
     //set default 3600 seconds = 1 hour
     private final static String C3P0_MAX_CONNECTION_AGE_NAME = "maxConnectionAge";
+    //set default 0
+    private final static String C3P0_MAX_IDLE_TIME_EXCESS_CONNECTIONS_NAME = "maxIdleTimeExcessConnections";
     //deal with validation
     //set default 1800 = 30 minutes
     private final static String C3P0_IDLE_CONNECTION_TEST_PERIOD_NAME = "idleConnectionTestPeriod";
@@ -53,6 +56,8 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
     private final static String C3P0_TEST_CONNECTION_ON_CHECKOUT_NAME = "testConnectionOnCheckout";
     //set default false
     private final static String C3P0_TEST_CONNECTION_ON_CHECKIN_NAME = "testConnectionOnCheckin";
+    //not set by default
+    private final static String C3P0_PREFERRED_TEST_QUERY_NAME = "preferredTestQuery";
     //deal with check out connections
     //set default 1
     private final static String C3P0_ACQUIRE_INCREMENT_NAME = "acquireIncrement";
@@ -64,6 +69,11 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
     //hanging
     //set default 20 seconds
     private final static String C3P0_CHECKOUT_TIMEOUT_NAME = "checkoutTimeout";
+    //deal with the prepared statement cache
+    //set default 0
+    private final static String C3P0_MAX_STATEMENTS_NAME = "maxStatements";
+    //set default 50
+    private final static String C3P0_MAX_STATEMENTS_PER_CONNECTION_NAME = "maxStatementsPerConnection";
     //deal with failure connection, there is a problem in c3p0, it will keep
     //trying to getConneciton on its own if the connection fails. set this to
     //be true to clean the pool, so it won't keep trying
@@ -160,11 +170,23 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
                 CONNECTION_TEST_ONCHECKOUT_DEFAULT_VALUE);
         retMap.put(C3P0_TEST_CONNECTION_ON_CHECKOUT_NAME, bTestOnCheckOut);
 
+        //test query, without it c3p0 uses Connection.isValid()
+        String testQuery = this.getPropStringValue(CONNECTION_PREFERRED_TEST_QUERY_NAME,
+                CONNECTION_PREFERRED_TEST_QUERY_DEFAULT_VALUE);
+        if (StringUtils.isNotEmpty(testQuery)) {
+            retMap.put(C3P0_PREFERRED_TEST_QUERY_NAME, testQuery);
+        }
+
         //max idle time
         String maxIdleTime = this.getPropStringValue(CONNECTION_MAX_IDLETIME_NAME,
                 CONNECTION_MAX_IDLETIME_DEFAULT_VALUE);
         retMap.put(C3P0_MAX_IDLE_TIME_NAME, maxIdleTime);
 
+        //max idle time of the connections above the min pool size
+        String maxIdleTimeExcess = this.getPropStringValue(CONNECTION_MAX_IDLETIME_EXCESS_NAME,
+                CONNECTION_MAX_IDLETIME_EXCESS_DEFAULT_VALUE);
+        retMap.put(C3P0_MAX_IDLE_TIME_EXCESS_CONNECTIONS_NAME, maxIdleTimeExcess);
+
         //max pool size
         String maxPoolSize = this.getPropStringValue(MAX_POOL_SIZE_NAME,
                 MAX_POOL_SIZE_DEFAULT_VALUE);
@@ -193,6 +215,15 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
                 CONNECTION_BREAKAFTERACQUIREFAILURE_DEFAULT_VALUE);
         retMap.put(C3P0_BREAK_AFTERACQUIREFAILURE_NAME, breakAfterFailure);
 
+        //prepared statement cache
+        String maxStatements = this.getPropStringValue(CONNECTION_MAX_STATEMENTS_NAME,
+                CONNECTION_MAX_STATEMENTS_DEFAULT_VALUE);
+        retMap.put(C3P0_MAX_STATEMENTS_NAME, maxStatements);
+
+        String maxStatementsPerConnection = this.getPropStringValue(CONNECTION_MAX_STATEMENTS_PER_CONNECTION_NAME,
+                CONNECTION_MAX_STATEMENTS_PER_CONNECTION_DEFAULT_VALUE);
+        retMap.put(C3P0_MAX_STATEMENTS_PER_CONNECTION_NAME, maxStatementsPerConnection);
+
         //db specific properties
         //connection life time
         String conLifeTimeName;
@@ -221,8 +252,8 @@ public class C3P0PooledDataSourceProvider extends PooledDataSourceProvider {
                 break;
         }
 
-        String connectionLifetime =
-                this.getPropStringValue(conLifeTimeName, CONNECTION_LIFETIME_DEFAULT_VALUE);
+        String connectionLifetime = this.getPropStringValue(conLifeTimeName,
+                this.getPropStringValue(CONNECTION_MAX_CONNECTION_AGE_NAME, CONNECTION_LIFETIME_DEFAULT_VALUE));
 
         retMap.put(C3P0_MAX_CONNECTION_AGE_NAME, connectionLifetime);
 
@@ -18,14 +18,19 @@
 package io.cloudslang.content.database.services.dbconnection;
 
 import com.mchange.v2.c3p0.PooledDataSource;
-import io.cloudslang.content.database.services.dbconnection.PooledDataSourceCleaner.STATE_CLEANER;
 import io.cloudslang.content.database.utils.TripleDES;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.cloudslang.content.database.constants.DBOtherValues.MSSQL_DB_TYPE;
 import static io.cloudslang.content.database.utils.Constants.AUTH_WINDOWS;
@@ -76,27 +81,29 @@ public class DBConnectionManager {
             "custom.connection.total.maxpoolsize";
     //singleton instance, make it protected so it can be mocked
     protected static volatile DBConnectionManager instance = null;
-    //table to hole the providers, for now it only has c3p0 provider
-    protected Hashtable<String, PooledDataSourceProvider> providerTable = null;
+    //table to hold the providers, for now it only has c3p0 provider
+    protected ConcurrentMap<String, PooledDataSourceProvider> providerTable = new ConcurrentHashMap<>();
     //dbms pool table, key = dbType + "." + dbUrl
     //the reason that keep the dbType is we might use this dbType to find what
     //datasource provider later if we have different kinds of datasource provider
     //right now we only have one provider c3p0. Other provider might be implemented
     //if it is necessary.
-    //the dbms pool table will have Hashtable dsTable which contians DataSources
+    //the dbms pool table will have a dsTable which contains DataSources
     //the key for the dsTable is dbUrl + "." + username + "." + encryptedpassword
-    //hashtable is synchronized already
-    protected Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = null;
-    //properties that contain configurable connection pooling params
-    protected Properties dbPoolingProperties = null;
+    //lookups are lock free, creating a datasource locks only the dsTable of its dbms
+    protected ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = new ConcurrentHashMap<>();
+    //checkout wait times of the pooled datasources, removed with their datasource
+    protected ConcurrentMap<DataSource, PooledDataSourceMetrics> poolMetricsTable = new ConcurrentHashMap<>();
+    //properties of the first pooled checkout, they configure the cleaner
+    protected volatile Properties dbPoolingProperties = null;
     /**
-     * if the pooling is enabled or not, default is false
+     * if the pooling has been used or not, default is false
      */
-    protected boolean isPoolingEnabled = false;
+    protected volatile boolean isPoolingEnabled = false;
     //datasource cleaner to clean the datasource with 0 connections.
     private PooledDataSourceCleaner datasourceCleaner = null;
     //the thread that will run the cleaner runnable
-    private Thread cleanerThread = null;
+    private volatile Thread cleanerThread = null;
 
 
     /**
@@ -128,25 +135,13 @@ public class DBConnectionManager {
         return instance;
     }
 
-    private void customizeDBConnectionManager(Properties dbPoolingProperties) {
-        customizeDbPoolingProperties(dbPoolingProperties);
-        if (isPoolingEnabled) {
-            createPoolTable();
-            createCleaner();
-        }
-    }
-
-    private void customizeDbPoolingProperties(Properties dbPoolingProperties) {
-        if (dbPoolingProperties != null && dbPoolingProperties.size() > 0) {
-            this.dbPoolingProperties = dbPoolingProperties;
-            this.isPoolingEnabled = this.getPropBooleanValue(DB_POOL_ENABLE_NAME, DB_POOL_ENABLE_DEFAULT_VALUE);
-        }
-    }
-
-    private void createPoolTable() {
-        if (dbmsPoolTable == null) {
-            dbmsPoolTable = new Hashtable<>();
-        }
+    /**
+     * @param aDbPoolingProperties the pooling properties of one checkout
+     * @return true if these properties ask for connection pooling
+     */
+    protected boolean isPoolingEnabled(Properties aDbPoolingProperties) {
+        return aDbPoolingProperties != null &&
+                getPropBooleanValue(aDbPoolingProperties, DB_POOL_ENABLE_NAME, DB_POOL_ENABLE_DEFAULT_VALUE);
     }
 
     /**
@@ -161,14 +156,19 @@ public class DBConnectionManager {
     }
 
     /**
-     * @param aDbType   one of the supported db type, for example ORACLE, NETCOOL
-     * @param aDbUrl    connection url
-     * @param aUsername username to connect to db
-     * @param aPassword password to connect to db
+     * Checks out a connection. The method is not synchronized, a checkout from an existing pool only reads the
+     * concurrent pool tables. The pooling properties are applied when the pool of the dbms and user is created,
+     * later checkouts from that pool do not reconfigure it.
+     *
+     * @param aDbType     one of the supported db type, for example ORACLE, NETCOOL
+     * @param aDbUrl      connection url
+     * @param aUsername   username to connect to db
+     * @param aPassword   password to connect to db
+     * @param properties  the pooling properties, pooling is used only if they enable it
      * @return a Connection to db
      * @throws SQLException
      */
-    public synchronized Connection getConnection(DBType aDbType, String aAuthType, String aDbUrl, String aUsername, String aPassword, Properties properties)
+    public Connection getConnection(DBType aDbType, String aAuthType, String aDbUrl, String aUsername, String aPassword, Properties properties)
             throws SQLException {
         if (isEmpty(aDbUrl)) {
             throw new SQLException("Failed to check out connection dbUrl is empty");
@@ -184,9 +184,7 @@ public class DBConnectionManager {
             }
         }
 
-        customizeDBConnectionManager(properties);
-
-        if (!this.isPoolingEnabled) {
+        if (!isPoolingEnabled(properties)) {
             //just call driver manager to create connection
             return this.getPlainConnection(aDbUrl, aUsername, aPassword);
         } else {
@@ -195,16 +193,14 @@ public class DBConnectionManager {
                 throw new SQLException("Failed to check out connection db type is null");
             }
 
-            //if the runnable has been shutdown when dbmspoolsize is 0
-            //then need to resumbit to the thread and start it again
-            if (datasourceCleaner.getState() == STATE_CLEANER.SHUTDOWN) {
-                //submit it to the thread to run
-                cleanerThread = new Thread(datasourceCleaner);
-                cleanerThread.setPriority(Thread.MIN_PRIORITY);
-                cleanerThread.start();
+            //the cleaner stops itself when there is no pool left,
+            //then need to start it again
+            Thread currentCleanerThread = cleanerThread;
+            if (currentCleanerThread == null || !currentCleanerThread.isAlive()) {
+                startCleaner(properties);
             }
             //will use pooled datasource provider
-            return getPooledConnection(aDbType, aDbUrl, aUsername, aPassword);
+            return getPooledConnection(aDbType, aDbUrl, aUsername, aPassword, properties);
         }
 
     }
@@ -213,83 +209,54 @@ public class DBConnectionManager {
      * clean any empty datasource and pool in the dbmsPool table.
      */
     public void cleanDataSources() {
-
-        Hashtable<String, List<String>> removedDsKeyTable = null;
-
-        //gather all the empty ds's key, can't remove item while iterate
-        Enumeration<String> allPoolKeys = dbmsPoolTable.keys();
-        while (allPoolKeys.hasMoreElements()) {
-            String dbPoolKey = allPoolKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbPoolKey);
-            Enumeration<String> allDsKeys = dsTable.keys();
-            while (allDsKeys.hasMoreElements()) {
-                String dsKey = allDsKeys.nextElement();
-                DataSource ds = dsTable.get(dsKey);
-
-                //c3p0 impl
-                if (ds != null && ds instanceof PooledDataSource) {
-                    PooledDataSource pDs = (PooledDataSource) ds;
-                    int conCount;
-                    try {
-                        conCount = pDs.getNumConnectionsAllUsers();
-                    } catch (SQLException e) {
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPool : dbmsPoolTable.entrySet()) {
+            String dbPoolKey = dbmsPool.getKey();
+            ConcurrentMap<String, DataSource> dsTable = dbmsPool.getValue();
+            PooledDataSourceProvider provider = this.getProvider(dbPoolKey);
+
+            //same lock as the datasource creation, so a new datasource is never put in a removed dsTable
+            synchronized (dsTable) {
+                for (Map.Entry<String, DataSource> dsEntry : dsTable.entrySet()) {
+                    DataSource ds = dsEntry.getValue();
+
+                    //c3p0 impl
+                    if (ds instanceof PooledDataSource) {
+                        PooledDataSource pDs = (PooledDataSource) ds;
+                        int conCount;
+                        try {
+                            conCount = pDs.getNumConnectionsAllUsers();
+                        } catch (SQLException e) {
 //                  todo      logger.error
 //                                ("Failed to get total number of connections for datasource. dbmsPoolKey = "
 //                                        + dbPoolKey, e);
-                        continue;
-                    }
-                    //no connections
-                    if (conCount == 0) {
-                        List<String> removedList = null;
-                        if (removedDsKeyTable == null) {
-                            removedDsKeyTable = new Hashtable<>();
-                        } else {
-                            removedList = removedDsKeyTable.get(dbPoolKey);
+                            continue;
                         }
-
-                        if (removedList == null) {
-                            removedList = new ArrayList<>();
-                            removedList.add(dsKey);
-                            removedDsKeyTable.put(dbPoolKey, removedList);
-                        } else {
-                            removedList.add(dsKey);
-                        }
-                    }
-                }
-            }
-        }
-
-        //have empty ds
-        if (removedDsKeyTable != null && !removedDsKeyTable.isEmpty()) {
-            Enumeration<String> removedPoolKeys = removedDsKeyTable.keys();
-            while (removedPoolKeys.hasMoreElements()) {
-                String removedPoolKey = removedPoolKeys.nextElement();
-                PooledDataSourceProvider provider = this.getProvider(removedPoolKey);
-                List<String> removedDsList = removedDsKeyTable.get(removedPoolKey);
-                Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(removedPoolKey);
-                for (String dsKey : removedDsList) {
-                    DataSource removedDs = dsTable.remove(dsKey);
-                    try {
-                        provider.closePooledDataSource(removedDs);
-                    } catch (SQLException e) {
-                        //can't show the dsKey since it has encrypted password there
+                        //no connections
+                        if (conCount == 0 && dsTable.remove(dsEntry.getKey(), ds)) {
+                            poolMetricsTable.remove(ds);
+                            try {
+                                provider.closePooledDataSource(ds);
+                            } catch (SQLException e) {
+                                //can't show the dsKey since it has encrypted password there
 //                  todo      logger.error("Failed to close datadsource in dmbs poolKey = "
-//                                + removedPoolKey, e);
-                        continue;
-                    }
+//                                + dbPoolKey, e);
+                                continue;
+                            }
 
-                    //tracing
+                            //tracing
 //                todo    if (logger.isDebugEnabled()) {
 //                        logger.debug("Removed one datasource in dbms poolKey = "
-//                                + removedPoolKey);
+//                                + dbPoolKey);
 //                    }
+                        }
+                    }
                 }
                 //don't have any ds for the pool key
                 if (dsTable.isEmpty()) {
-                    dbmsPoolTable.remove(removedPoolKey);
+                    dbmsPoolTable.remove(dbPoolKey, dsTable);
                     //tracing
 //              todo      if (logger.isDebugEnabled()) {
-//                        logger.debug("Removed dbms poolKey = " + removedPoolKey);
+//                        logger.debug("Removed dbms poolKey = " + dbPoolKey);
 //                    }
                 }
             }
@@ -302,32 +269,35 @@ public class DBConnectionManager {
     public synchronized void shutdownDbmsPools() {
         //force shutdown
         //runnable
-        datasourceCleaner.shutdown();
-        datasourceCleaner = null;
+        if (datasourceCleaner != null) {
+            datasourceCleaner.shutdown();
+            datasourceCleaner = null;
+        }
         //shell for the runnable
-        cleanerThread.interrupt();//stop the thread
-        cleanerThread = null;
-
-        if (dbmsPoolTable == null) {
-            return;
+        if (cleanerThread != null) {
+            cleanerThread.interrupt();//stop the thread
+            cleanerThread = null;
         }
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsKey = allDbmsKeys.nextElement();
+
+        for (String dbmsKey : dbmsPoolTable.keySet()) {
             PooledDataSourceProvider provider = this.getProvider(dbmsKey);
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
-            for (DataSource ds : dsTable.values()) {
-                try {
-                    provider.closePooledDataSource(ds);
-                } catch (SQLException e) {
+            ConcurrentMap<String, DataSource> dsTable = dbmsPoolTable.remove(dbmsKey);
+            if (dsTable == null) {
+                continue;
+            }
+            synchronized (dsTable) {
+                for (DataSource ds : dsTable.values()) {
+                    poolMetricsTable.remove(ds);
+                    try {
+                        provider.closePooledDataSource(ds);
+                    } catch (SQLException e) {
 //          todo          logger.error("Failed to close datasource in dbms poolKey = "
 //                            + dbmsKey);
+                    }
                 }
+                dsTable.clear();
             }
-            dsTable.clear();
         }
-        dbmsPoolTable.clear();
-        dbmsPoolTable = null;
     }
 
     /**
@@ -339,12 +309,7 @@ public class DBConnectionManager {
      * @return boolean value of that property
      */
     protected boolean getPropBooleanValue(String aPropName, String aDefaultValue) {
-        boolean retValue;
-
-        String temp = dbPoolingProperties.getProperty(aPropName, aDefaultValue);
-        retValue = Boolean.valueOf(temp);
-
-        return retValue;
+        return getPropBooleanValue(dbPoolingProperties, aPropName, aDefaultValue);
     }
 
     /**
@@ -356,30 +321,41 @@ public class DBConnectionManager {
      * @return int value of that property
      */
     protected int getPropIntValue(String aPropName, String aDefaultValue) {
-        int retValue;
+        return getPropIntValue(dbPoolingProperties, aPropName, aDefaultValue);
+    }
 
-        String temp = dbPoolingProperties.getProperty(aPropName, aDefaultValue);
-        retValue = Integer.valueOf(temp);
+    private static boolean getPropBooleanValue(Properties aProperties, String aPropName, String aDefaultValue) {
+        return Boolean.valueOf(aProperties.getProperty(aPropName, aDefaultValue));
+    }
 
-        return retValue;
+    private static int getPropIntValue(Properties aProperties, String aPropName, String aDefaultValue) {
+        return Integer.valueOf(aProperties.getProperty(aPropName, aDefaultValue));
     }
 
     /**
-     * create and start a pool cleaner if pooling is enabled.
+     * create and start a pool cleaner, unless another checkout already did.
+     *
+     * @param aDbPoolingProperties the pooling properties with the clean interval
      */
-    private void createCleaner() {
-        if (cleanerThread == null) {
+    private synchronized void startCleaner(Properties aDbPoolingProperties) {
+        if (cleanerThread == null || !cleanerThread.isAlive()) {
+            if (dbPoolingProperties == null) {
+                dbPoolingProperties = aDbPoolingProperties;
+            }
+            isPoolingEnabled = true;
             int interval = getPropIntValue
                     (DB_DATASOURCE_CLEAN_INTERNAL_NAME,
                             DB_DATASOURCE_CLEAN_INTERNAL_DEFAULT_VALUE);
 
 
-            //this runnable
+            //this runnable, a shut down cleaner has lost its manager so always use a new one
             this.datasourceCleaner = new PooledDataSourceCleaner(this, interval);
             //submit it to the thread to run
-            this.cleanerThread = new Thread(datasourceCleaner);
-            this.cleanerThread.setDaemon(true);
-            this.cleanerThread.start();
+            Thread newCleanerThread = new Thread(datasourceCleaner);
+            newCleanerThread.setDaemon(true);
+            newCleanerThread.setPriority(Thread.MIN_PRIORITY);
+            newCleanerThread.start();
+            this.cleanerThread = newCleanerThread;
         }
     }
 
@@ -411,72 +387,93 @@ public class DBConnectionManager {
     }
 
     /**
-     * @param aDbType   one of the supported db type, for example ORACLE, NETCOOL
-     * @param aDbUrl    connection url
-     * @param aUsername username to connect to db
-     * @param aPassword password to connect to db
+     * @param aDbType               one of the supported db type, for example ORACLE, NETCOOL
+     * @param aDbUrl                connection url
+     * @param aUsername             username to connect to db
+     * @param aPassword             password to connect to db
+     * @param aDbPoolingProperties  the pooling properties used if the datasource has to be created
      * @return a db Connection which is pooled
      * @throws SQLException
      */
-    protected Connection getPooledConnection(DBType aDbType, String aDbUrl, String aUsername, String aPassword) throws SQLException {
-        Connection retCon;
-
-        //key to hashtable of datasources for that dbms
+    protected Connection getPooledConnection(DBType aDbType, String aDbUrl, String aUsername, String aPassword,
+                                             Properties aDbPoolingProperties) throws SQLException {
+        //key to the table of datasources for that dbms
         String dbmsKey = aDbType + "." + aDbUrl;
 
+        String encryptedPass;
+        try {
+            encryptedPass = TripleDES.encryptPassword(aPassword);
+        } catch (Exception e) {
+            throw new SQLException("Failed to encrypt password for key = " + dbmsKey, e);
+        }
+        String dsTableKey = aDbUrl + "." + aUsername + "." + encryptedPass;
 
-        if (dbmsPoolTable.containsKey(dbmsKey)) {
-
-            //each pool has pooled datasources, pool is based on dbUrl
-            //so we can control the total size of connection to dbms
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
-
-            String encryptedPass;
-            try {
-                encryptedPass = TripleDES.encryptPassword(aPassword);
-            } catch (Exception e) {
-                throw new SQLException
-                        ("Failed to encrypt password for key = " + dbmsKey, e);
-            }
-
-            String dsTableKey = aDbUrl + "." + aUsername + "." + encryptedPass;
-
-            DataSource ds;
-            if (dsTable.containsKey(dsTableKey)) {
-
-                ds = dsTable.get(dsTableKey);
-                retCon = ds.getConnection();
-            } else {
+        //each pool has pooled datasources, pool is based on dbUrl
+        //so we can control the total size of connection to dbms
+        DataSource ds = null;
+        ConcurrentMap<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
+        if (dsTable != null) {
+            ds = dsTable.get(dsTableKey);
+        }
+        if (ds == null) {
+            ds = getOrCreateDataSource(aDbType, aDbUrl, aUsername, aPassword, aDbPoolingProperties, dbmsKey, dsTableKey);
+        }
 
-                //need to check if it is ok to create another ds
-                ds = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword, dsTable);
-                retCon = ds.getConnection();
+        if (ds instanceof PooledDataSource) {
+            return getPooledConnection((PooledDataSource) ds, aUsername, aPassword);
+        }
+        return ds.getConnection();
+    }
 
-                dsTable.put(dsTableKey, ds);
+    /**
+     * Creates the datasource unless another checkout created it in the meantime. The creation holds the lock of the
+     * dsTable of the dbms only, the checks of the total max pool size for that dbms do not interleave and
+     * checkouts from other dbms or from existing datasources are not blocked.
+     */
+    private DataSource getOrCreateDataSource(DBType aDbType, String aDbUrl, String aUsername, String aPassword,
+                                             Properties aDbPoolingProperties, String dbmsKey, String dsTableKey)
+            throws SQLException {
+        while (true) {
+            ConcurrentMap<String, DataSource> dsTable = dbmsPoolTable.get(dbmsKey);
+            if (dsTable == null) {
+                ConcurrentMap<String, DataSource> newDsTable = new ConcurrentHashMap<>();
+                dsTable = dbmsPoolTable.putIfAbsent(dbmsKey, newDsTable);
+                if (dsTable == null) {
+                    dsTable = newDsTable;
+                }
             }
-        } else//don't have dbmsKey, will create one for that dbtype.dburl
-        {
-
-            //just create, don't need to check, since we don't have this dbmsKey
-            PooledDataSource ds = (PooledDataSource) this.createDataSource(aDbType, aDbUrl, aUsername, aPassword);
-            retCon = getPooledConnection(ds, aUsername, aPassword);
-
-            Hashtable<String, DataSource> dsTable = new Hashtable<>();
-            String encryptedPass;
-            try {
-                encryptedPass = TripleDES.encryptPassword(aPassword);
-            } catch (Exception e) {
-                throw new SQLException("Failed to encrypt password for key = " + dbmsKey, e);
+            synchronized (dsTable) {
+                //the cleaner removed this dsTable, retry with the current one
+                if (dbmsPoolTable.get(dbmsKey) != dsTable) {
+                    continue;
+                }
+                DataSource ds = dsTable.get(dsTableKey);
+                if (ds == null) {
+                    if (dsTable.isEmpty()) {
+                        //just create, don't need to check, since we don't have any datasource for that dbtype.dburl
+                        ds = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword, aDbPoolingProperties);
+                    } else {
+                        //need to check if it is ok to create another ds
+                        ds = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword, dsTable, aDbPoolingProperties);
+                    }
+                    dsTable.put(dsTableKey, ds);
+                }
+                return ds;
             }
-            String dsTableKey = aDbUrl + "." + aUsername + "." + encryptedPass;
-            dsTable.put(dsTableKey, ds);
-            dbmsPoolTable.put(dbmsKey, dsTable);
         }
-        return retCon;
     }
 
     private Connection getPooledConnection(PooledDataSource ds, String aUsername, String aPassword) throws SQLException {
+        PooledDataSourceMetrics metrics = poolMetricsTable.get(ds);
+        if (metrics == null) {
+            PooledDataSourceMetrics newMetrics = new PooledDataSourceMetrics(aUsername);
+            metrics = poolMetricsTable.putIfAbsent(ds, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+            }
+        }
         Connection retCon;
+        long checkoutStart = System.nanoTime();
         try {
             retCon = ds.getConnection();
         } catch (Exception e) {
@@ -493,6 +490,8 @@ public class DBConnectionManager {
             } else {
                 throw new SQLException(e);
             }
+        } finally {
+            metrics.recordCheckout(System.nanoTime() - checkoutStart);
         }
         return retCon;
     }
@@ -504,11 +503,12 @@ public class DBConnectionManager {
      * for example, max pool size per user = 20, total max pool size for oracle
      * dbms is 100. only 5 datasource can be opened.
      *
-     * @param aDbType   one of the supported db type, for example ORACLE, NETCOOL
-     * @param aDbUrl    connection url
-     * @param aUsername username to connect to db
-     * @param aPassword password to connect to db
-     * @param aDsTable  is used to check if total max pool size for that dbms exceed
+     * @param aDbType               one of the supported db type, for example ORACLE, NETCOOL
+     * @param aDbUrl                connection url
+     * @param aUsername             username to connect to db
+     * @param aPassword             password to connect to db
+     * @param aDsTable              is used to check if total max pool size for that dbms exceed
+     * @param aDbPoolingProperties  the pooling properties of the new datasource
      * @return a pooled datasource
      * @throws SQLException
      */
@@ -516,7 +516,8 @@ public class DBConnectionManager {
                                           String aDbUrl,
                                           String aUsername,
                                           String aPassword,
-                                          Hashtable<String, DataSource> aDsTable)
+                                          Map<String, DataSource> aDsTable,
+                                          Properties aDbPoolingProperties)
             throws SQLException {
         DataSource retDatasource;
 
@@ -546,10 +547,10 @@ public class DBConnectionManager {
                 break;
         }
 
-        int totalMaxPoolSize = this.getPropIntValue(totalMaxPoolSizeName,
+        int totalMaxPoolSize = getPropIntValue(aDbPoolingProperties, totalMaxPoolSizeName,
                 MAX_TOTAL_POOL_SIZE_DEFAULT_VALUE);
         int perUserMaxPoolSize =
-                this.getPropIntValue(PooledDataSourceProvider.MAX_POOL_SIZE_NAME,
+                getPropIntValue(aDbPoolingProperties, PooledDataSourceProvider.MAX_POOL_SIZE_NAME,
                         PooledDataSourceProvider.MAX_POOL_SIZE_DEFAULT_VALUE);
 
         int numDs = aDsTable.size();
@@ -563,53 +564,76 @@ public class DBConnectionManager {
                             " Actual total max pool size = " + actualTotal);
         }
 
-        retDatasource = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword);
+        retDatasource = this.createDataSource(aDbType, aDbUrl, aUsername, aPassword, aDbPoolingProperties);
 
         return retDatasource;
     }
 
     /**
-     * @param aDbType   one of the supported db type, for example ORACLE, NETCOOL
-     * @param aDbUrl    connection url
-     * @param aUsername username to connect to db
-     * @param aPassword password to connect to db
+     * @param aDbType               one of the supported db type, for example ORACLE, NETCOOL
+     * @param aDbUrl                connection url
+     * @param aUsername             username to connect to db
+     * @param aPassword             password to connect to db
+     * @param aDbPoolingProperties  the pooling properties of the new datasource
      * @return a pooled datasource
      * @throws SQLException
      */
-    private DataSource createDataSource(DBType aDbType, String aDbUrl, String aUsername, String aPassword) throws SQLException {
-        DataSource retDatasource;
+    private DataSource createDataSource(DBType aDbType, String aDbUrl, String aUsername, String aPassword,
+                                        Properties aDbPoolingProperties) throws SQLException {
         PooledDataSourceProvider provider;
 
-        if (providerTable == null) {
-
-            switch (aDbType) {
-                //only has one at the moment
-                default:
-                    provider = new C3P0PooledDataSourceProvider(dbPoolingProperties);
-            }
-            String name = provider.getProviderName();
-            providerTable = new Hashtable<>();
-            providerTable.put(name, provider);
-
-
-        }
-
-        String providerName;
         switch (aDbType) {
+            //only has one at the moment
             default:
-                providerName = C3P0PooledDataSourceProvider.C3P0_DATASOURCE_PROVIDER_NAME;
+                provider = new C3P0PooledDataSourceProvider(aDbPoolingProperties);
         }
+        //the registered provider only closes and counts, the datasources keep the settings they were opened with
+        providerTable.putIfAbsent(provider.getProviderName(), provider);
 
-        provider = providerTable.get(providerName);
-
-
-        retDatasource = provider.openPooledDataSource(aDbType,
+        return provider.openPooledDataSource(aDbType,
                 aDbUrl,
                 aUsername,
                 aPassword);
+    }
 
+    /**
+     * Reads the state of every pooled datasource from c3p0, a pool that fails to answer is left out.
+     *
+     * @return for each pooled datasource: its dbms pool key, username, connection counts, threads waiting for a
+     * connection, failure counts and the checkout wait times
+     */
+    public List<Map<String, Object>> getPoolStatistics() {
+        List<Map<String, Object>> retStatistics = new ArrayList<>();
 
-        return retDatasource;
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPool : dbmsPoolTable.entrySet()) {
+            for (DataSource ds : dbmsPool.getValue().values()) {
+                if (!(ds instanceof PooledDataSource)) {
+                    continue;
+                }
+                PooledDataSource pDs = (PooledDataSource) ds;
+                PooledDataSourceMetrics metrics = poolMetricsTable.get(ds);
+                Map<String, Object> statistics = new LinkedHashMap<>();
+                try {
+                    statistics.put("pool", dbmsPool.getKey());
+                    statistics.put("username", (metrics != null) ? metrics.getUsername() : null);
+                    statistics.put("connections", pDs.getNumConnectionsAllUsers());
+                    statistics.put("busy", pDs.getNumBusyConnectionsAllUsers());
+                    statistics.put("idle", pDs.getNumIdleConnectionsAllUsers());
+                    statistics.put("pending", pDs.getNumThreadsAwaitingCheckoutDefaultUser());
+                    statistics.put("orphaned", pDs.getNumUnclosedOrphanedConnectionsAllUsers());
+                    statistics.put("failedCheckouts", pDs.getNumFailedCheckoutsDefaultUser());
+                    statistics.put("failedIdleTests", pDs.getNumFailedIdleTestsDefaultUser());
+                } catch (SQLException e) {
+                    continue;
+                }
+                statistics.put("checkouts", (metrics != null) ? metrics.getCheckouts() : 0L);
+                statistics.put("averageCheckoutWaitMillis", (metrics != null) ? metrics.getAverageWaitMillis() : 0L);
+                statistics.put("maxCheckoutWaitMillis", (metrics != null) ? metrics.getMaxWaitMillis() : 0L);
+                retStatistics.add(statistics);
+            }
+        }
+
+        return retStatistics;
     }
 
     /**
@@ -631,7 +655,7 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
         PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
 
         if (dsTable != null) {
@@ -654,7 +678,7 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
         PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
 
         if (dsTable != null) {
@@ -676,7 +700,7 @@ public class DBConnectionManager {
         int retTotal = 0;
 
         String dbmsPoolKey = aDbType + "." + aDbUrl;
-        Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
+        Map<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
         PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
 
         if (dsTable != null) {
@@ -695,11 +719,9 @@ public class DBConnectionManager {
     public int getTotalConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-            PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPool : dbmsPoolTable.entrySet()) {
+            Map<String, DataSource> dsTable = dbmsPool.getValue();
+            PooledDataSourceProvider provider = this.getProvider(dbmsPool.getKey());
 
             if (dsTable != null) {
                 for (DataSource ds : dsTable.values()) {
@@ -717,11 +739,9 @@ public class DBConnectionManager {
     public int getTotalCheckedOutConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-            PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPool : dbmsPoolTable.entrySet()) {
+            Map<String, DataSource> dsTable = dbmsPool.getValue();
+            PooledDataSourceProvider provider = this.getProvider(dbmsPool.getKey());
 
             if (dsTable != null) {
                 for (DataSource ds : dsTable.values()) {
@@ -739,11 +759,9 @@ public class DBConnectionManager {
     public int getTotalCheckedInConnectionSize() throws SQLException {
         int retTotal = 0;
 
-        Enumeration<String> allDbmsKeys = dbmsPoolTable.keys();
-        while (allDbmsKeys.hasMoreElements()) {
-            String dbmsPoolKey = allDbmsKeys.nextElement();
-            Hashtable<String, DataSource> dsTable = dbmsPoolTable.get(dbmsPoolKey);
-            PooledDataSourceProvider provider = this.getProvider(dbmsPoolKey);
+        for (Map.Entry<String, ConcurrentMap<String, DataSource>> dbmsPool : dbmsPoolTable.entrySet()) {
+            Map<String, DataSource> dsTable = dbmsPool.getValue();
+            PooledDataSourceProvider provider = this.getProvider(dbmsPool.getKey());
             if (dsTable != null) {
                 for (DataSource ds : dsTable.values()) {
                     retTotal = retTotal + provider.getCheckedInConnectionNumber(ds);
@@ -0,0 +1,67 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.services.dbconnection;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The checkout wait times of one pooled datasource. c3p0 counts the connections of a pool but does not time the
+ * checkouts, so the manager times each checkout and records it here.
+ */
+public class PooledDataSourceMetrics {
+    private final String username;
+    private final AtomicLong checkouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * @param username the user the datasource connects with
+     */
+    public PooledDataSourceMetrics(String username) {
+        this.username = username;
+    }
+
+    /**
+     * @param waitNanos the time the checkout waited for a connection, a failed checkout included
+     */
+    public void recordCheckout(long waitNanos) {
+        checkouts.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        long max = maxWaitNanos.get();
+        while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = maxWaitNanos.get();
+        }
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public long getCheckouts() {
+        return checkouts.get();
+    }
+
+    public long getAverageWaitMillis() {
+        long count = checkouts.get();
+        return (count == 0) ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / count);
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+}
@@ -92,6 +92,31 @@ public abstract class PooledDataSourceProvider {
     public static String CONNECTION_BREAKAFTERACQUIREFAILURE_NAME =
             "connection.break_afteracquirefailure";
     public static String CONNECTION_BREAKAFTERACQUIREFAILURE_DEFAULT_VALUE = "true";
+    //max number of prepared statements cached by a pooled datasource over all of its connections.
+    //Zero means the number is only limited per connection.
+    public static String CONNECTION_MAX_STATEMENTS_NAME =
+            "connection.maxstatements";
+    public static String CONNECTION_MAX_STATEMENTS_DEFAULT_VALUE = "0";
+    //max number of prepared statements cached by each pooled connection, so a command
+    //run again with other bind parameters reuses the statement parsed by the database.
+    //Zero disables the statement cache if connection.maxstatements is zero as well.
+    public static String CONNECTION_MAX_STATEMENTS_PER_CONNECTION_NAME =
+            "connection.maxstatementsperconnection";
+    public static String CONNECTION_MAX_STATEMENTS_PER_CONNECTION_DEFAULT_VALUE = "50";
+    //Seconds a Connection can live before it is destroyed and purged from the pool,
+    //for all the db types. The db specific lifetime properties override it.
+    public static String CONNECTION_MAX_CONNECTION_AGE_NAME =
+            "connection.maxconnectionage";
+    //Seconds the connections above minPoolSize can remain pooled but unused before
+    //being discarded, so a pool shrinks back after a peak. Zero means no such limit.
+    public static String CONNECTION_MAX_IDLETIME_EXCESS_NAME =
+            "connection.maxidletime_excess";
+    public static String CONNECTION_MAX_IDLETIME_EXCESS_DEFAULT_VALUE = "0"; //in seconds
+    //The query used to validate the connections on checkout, checkin and when idle.
+    //Empty means the validation uses the JDBC 4 Connection.isValid() of the driver.
+    public static String CONNECTION_PREFERRED_TEST_QUERY_NAME =
+            "connection.preferred_testquery";
+    public static String CONNECTION_PREFERRED_TEST_QUERY_DEFAULT_VALUE = "";
     //properties in databasePooling.properties which are specific for
     //dbtype
     //oracle
@@ -116,7 +141,8 @@ public abstract class PooledDataSourceProvider {
     public static String CUSTOM_CONNECTION_LIFETIME_NAME =
             "custom.connection.lifetime";
     //properties that contain configurable connection pooling params
-    protected static Properties dbPoolingProperties = null;
+    //of the datasources opened by this provider
+    protected final Properties dbPoolingProperties;
 
     /**
      * constructor
@@ -125,9 +151,7 @@ public abstract class PooledDataSourceProvider {
      */
     public PooledDataSourceProvider(Properties aDBPoolingProperties) {
         //load configurable properties from databasePooling.properties
-        if (dbPoolingProperties == null) {
-            dbPoolingProperties = aDBPoolingProperties;
-        }
+        dbPoolingProperties = (aDBPoolingProperties != null) ? aDBPoolingProperties : new Properties();
     }
 
     /**
@@ -0,0 +1,229 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_BIND_PARAMETER;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_BIND_PARAMETER_TYPE;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.apache.commons.lang3.StringUtils.splitByWholeSeparatorPreserveAllTokens;
+
+/**
+ * Parses the bind parameters input and binds the values to a prepared statement.
+ * The input is a delimited list of "type:value" items, the position in the list is the index of the '?' placeholder.
+ * An item without a type is a string, "null:type" binds a SQL NULL of that type. An item whose text before the first
+ * ':' is not a type, such as "10:30" or "http://host", is a string as well. A string which starts with a type and ':'
+ * is written with the string type, "string:int:10" binds "int:10".
+ * Example: "int:10,string:John,date:2017-01-31,null:timestamp"
+ */
+public class SQLBindParameters {
+    private static final String TYPE_SEPARATOR = ":";
+    private static final String NULL_TYPE = "null";
+    private static final Map<String, Integer> SQL_TYPES = new LinkedHashMap<>();
+
+    static {
+        SQL_TYPES.put("string", Types.VARCHAR);
+        SQL_TYPES.put("varchar", Types.VARCHAR);
+        SQL_TYPES.put("int", Types.INTEGER);
+        SQL_TYPES.put("integer", Types.INTEGER);
+        SQL_TYPES.put("long", Types.BIGINT);
+        SQL_TYPES.put("bigint", Types.BIGINT);
+        SQL_TYPES.put("double", Types.DOUBLE);
+        SQL_TYPES.put("decimal", Types.DECIMAL);
+        SQL_TYPES.put("numeric", Types.DECIMAL);
+        SQL_TYPES.put("boolean", Types.BOOLEAN);
+        SQL_TYPES.put("date", Types.DATE);
+        SQL_TYPES.put("time", Types.TIME);
+        SQL_TYPES.put("timestamp", Types.TIMESTAMP);
+    }
+
+    /**
+     * @param bindParameters the delimited list of parameters, may be empty
+     * @param delimiter      the delimiter of the list
+     * @return the parameters in placeholder order, empty if there are none
+     * @throws IllegalArgumentException if a type is unknown or a value does not match its type
+     */
+    @NotNull
+    public static List<BindParameter> parse(final String bindParameters, @NotNull final String delimiter) {
+        if (isEmpty(bindParameters)) {
+            return Collections.emptyList();
+        }
+        final List<BindParameter> parameters = new ArrayList<>();
+        for (final String item : splitByWholeSeparatorPreserveAllTokens(bindParameters, delimiter)) {
+            parameters.add(parseItem(item));
+        }
+        return parameters;
+    }
+
+    /**
+     * @param types     a delimited list of parameter types
+     * @param delimiter the delimiter of the list
+     * @return the SQL types of the list, empty if there are none
+     * @throws IllegalArgumentException if a type is unknown
+     */
+    @NotNull
+    public static List<Integer> parseTypes(final String types, @NotNull final String delimiter) {
+        if (isEmpty(types)) {
+            return Collections.emptyList();
+        }
+        final List<Integer> sqlTypes = new ArrayList<>();
+        for (final String type : splitByWholeSeparatorPreserveAllTokens(types, delimiter)) {
+            sqlTypes.add(getSqlType(type.trim().toLowerCase()));
+        }
+        return sqlTypes;
+    }
+
+    /**
+     * Converts a value to a parameter of the SQL type. A missing value, or an empty one for a type other than a string,
+     * is a SQL NULL.
+     *
+     * @throws IllegalArgumentException if the value does not match the type
+     */
+    @NotNull
+    public static BindParameter toBindParameter(final int sqlType, final String value) {
+        if (value == null || (value.isEmpty() && sqlType != Types.VARCHAR)) {
+            return new BindParameter(sqlType, null);
+        }
+        return new BindParameter(sqlType, toValue(sqlType, value));
+    }
+
+    public static void bind(@NotNull final PreparedStatement preparedStatement, @NotNull final List<BindParameter> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            final BindParameter parameter = parameters.get(i);
+            if (parameter.getValue() == null) {
+                preparedStatement.setNull(i + 1, parameter.getSqlType());
+            } else {
+                preparedStatement.setObject(i + 1, parameter.getValue(), parameter.getSqlType());
+            }
+        }
+    }
+
+    @NotNull
+    private static BindParameter parseItem(@NotNull final String item) {
+        final int separator = item.indexOf(TYPE_SEPARATOR);
+        if (separator < 0) {
+            return new BindParameter(Types.VARCHAR, item);
+        }
+        final String type = item.substring(0, separator).trim().toLowerCase();
+        final String value = item.substring(separator + 1);
+        if (NULL_TYPE.equals(type)) {
+            return new BindParameter(getSqlType(value.trim().toLowerCase()), null);
+        }
+        if (!SQL_TYPES.containsKey(type)) {
+            return new BindParameter(Types.VARCHAR, item);
+        }
+        final int sqlType = SQL_TYPES.get(type);
+        try {
+            return new BindParameter(sqlType, toValue(sqlType, value));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(INVALID_BIND_PARAMETER, item), e);
+        }
+    }
+
+    private static int getSqlType(final String type) {
+        final Integer sqlType = SQL_TYPES.get(type);
+        if (sqlType == null) {
+            throw new IllegalArgumentException(String.format(INVALID_BIND_PARAMETER_TYPE, type, SQL_TYPES.keySet()));
+        }
+        return sqlType;
+    }
+
+    @NotNull
+    private static Object toValue(final int sqlType, @NotNull final String value) {
+        switch (sqlType) {
+            case Types.INTEGER:
+                return Integer.valueOf(value.trim());
+            case Types.BIGINT:
+                return Long.valueOf(value.trim());
+            case Types.DOUBLE:
+                return Double.valueOf(value.trim());
+            case Types.DECIMAL:
+                return new BigDecimal(value.trim());
+            case Types.BOOLEAN:
+                return toBoolean(value.trim());
+            case Types.DATE:
+                return Date.valueOf(value.trim());
+            case Types.TIME:
+                return Time.valueOf(value.trim());
+            case Types.TIMESTAMP:
+                return Timestamp.valueOf(value.trim());
+            default:
+                return value;
+        }
+    }
+
+    // Boolean.valueOf would take any typo for false
+    private static boolean toBoolean(@NotNull final String value) {
+        if (Boolean.TRUE.toString().equalsIgnoreCase(value)) {
+            return true;
+        }
+        if (Boolean.FALSE.toString().equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+    public static class BindParameter {
+        private final int sqlType;
+        private final Object value;
+
+        public BindParameter(final int sqlType, final Object value) {
+            this.sqlType = sqlType;
+            this.value = value;
+        }
+
+        public int getSqlType() {
+            return sqlType;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BindParameter)) return false;
+            final BindParameter other = (BindParameter) o;
+            return sqlType == other.sqlType && (value == null ? other.value == null : value.equals(other.value));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sqlType + (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return "BindParameter(sqlType=" + sqlType + ", value=" + value + ")";
+        }
+    }
+}
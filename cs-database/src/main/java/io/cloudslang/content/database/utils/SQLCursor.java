@@ -0,0 +1,193 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static io.cloudslang.content.database.constants.DBExceptionValues.CURSOR_CLOSED_IDLE;
+
+/**
+ * A forward only result set kept open between the calls of SQLQuery in cursor mode.
+ * The rows are read lazily, one page of fetchSize rows at a time, only the current page is held in memory.
+ * The cursor closes its result set, statement and connection as soon as the last row has been read, or when it has
+ * not been used for longer than its idle timeout.
+ */
+public class SQLCursor implements AutoCloseable {
+    //how often the open cursors are checked for the idle timeout, in seconds
+    private static final long EVICTION_INTERVAL_SECONDS = 1;
+    private static final Set<SQLCursor> OPEN_CURSORS = Collections.newSetFromMap(new ConcurrentHashMap<SQLCursor, Boolean>());
+    private static ScheduledExecutorService evictor;
+
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet resultSet;
+    private final int columnCount;
+    private final String columnNames;
+    private final String delimiter;
+    private final boolean isNetcool;
+    private final int fetchSize;
+    private final long idleTimeoutMillis;
+    private final Queue<String> page = new ArrayDeque<>();
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+    private boolean exhausted = false;
+    private boolean closed = false;
+    private boolean closedIdle = false;
+
+    /**
+     * @param connection         the connection the result set belongs to, it is closed with the cursor
+     * @param statement          the statement the result set belongs to, it is closed with the cursor
+     * @param resultSet          the forward only result set
+     * @param columnNames        the delimited column names of the result set
+     * @param delimiter          the delimiter between the values of a row
+     * @param isNetcool          whether the values are null terminated Netcool strings
+     * @param fetchSize          the number of rows read in a page
+     * @param idleTimeoutSeconds the cursor is closed if it is not used for this number of seconds
+     * @throws SQLException
+     */
+    public SQLCursor(Connection connection, Statement statement, ResultSet resultSet, String columnNames, String delimiter,
+                     boolean isNetcool, int fetchSize, int idleTimeoutSeconds) throws SQLException {
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.columnCount = resultSet.getMetaData().getColumnCount();
+        this.columnNames = columnNames;
+        this.delimiter = delimiter;
+        this.isNetcool = isNetcool;
+        this.fetchSize = fetchSize;
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        register(this);
+    }
+
+    /**
+     * @return the next row with its values separated by the delimiter, or null if there is no row left
+     * @throws SQLException if reading the next page fails or the cursor was closed
+     */
+    public synchronized String nextRow() throws SQLException {
+        if (closedIdle) {
+            throw new SQLException(String.format(CURSOR_CLOSED_IDLE, TimeUnit.MILLISECONDS.toSeconds(idleTimeoutMillis)));
+        }
+        lastAccessMillis = System.currentTimeMillis();
+        if (page.isEmpty() && !exhausted) {
+            readPage();
+        }
+        return page.poll();
+    }
+
+    /**
+     * @return the rows of the current page not returned yet, the rows after the current page are not counted
+     */
+    public synchronized int getPageRowsLeft() {
+        return page.size();
+    }
+
+    public String getColumnNames() {
+        return columnNames;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized boolean isClosedIdle() {
+        return closedIdle;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        exhausted = true;
+        OPEN_CURSORS.remove(this);
+        try {
+            resultSet.close();
+        } catch (SQLException ignored) {
+        }
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void readPage() throws SQLException {
+        try {
+            while (page.size() < fetchSize) {
+                if (!resultSet.next()) {
+                    //the last rows stay in the page, the database resources are released right away
+                    close();
+                    break;
+                }
+                page.add(SQLUtils.getRowString(resultSet, columnCount, delimiter, isNetcool));
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private synchronized void closeIfIdle(long nowMillis) {
+        if (!closed && nowMillis - lastAccessMillis > idleTimeoutMillis) {
+            page.clear();
+            closedIdle = true;
+            close();
+        }
+    }
+
+    private static synchronized void register(SQLCursor cursor) {
+        OPEN_CURSORS.add(cursor);
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "sql-cursor-evictor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            evictor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    final long nowMillis = System.currentTimeMillis();
+                    for (SQLCursor openCursor : OPEN_CURSORS) {
+                        //a failure in one cursor must not stop the eviction of the others or kill the scheduled task
+                        try {
+                            openCursor.closeIfIdle(nowMillis);
+                        } catch (RuntimeException ignored) {
+                        }
+                    }
+                }
+            }, EVICTION_INTERVAL_SECONDS, EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -61,9 +61,16 @@ public class SQLInputs {
     private Integer resultSetType;
     private Integer resultSetConcurrency;
     private List<String> sqlCommands = new ArrayList<>();
-
-    @java.beans.ConstructorProperties({"sqlCommand", "dbServer", "dbName", "dbPort", "dbType", "key", "username", "password", "authenticationType", "instance", "ignoreCase", "timeout", "dbUrl", "dbClass", "isNetcool", "lRowsFiles", "lRowsNames", "skip", "strDelim", "strColumns", "lRows", "iUpdateCount", "databasePoolingProperties", "trustStore", "trustStorePassword", "trustAllRoots", "authLibraryPath", "colDelimiter", "rowDelimiter", "resultSetType", "resultSetConcurrency", "sqlCommands"})
-    SQLInputs(String sqlCommand, String dbServer, String dbName, int dbPort, String dbType, String key, String username, String password, String authenticationType, String instance, boolean ignoreCase, int timeout, String dbUrl, String dbClass, boolean isNetcool, List<List<String>> lRowsFiles, List<List<String>> lRowsNames, long skip, String strDelim, String strColumns, List<String> lRows, int iUpdateCount, Properties databasePoolingProperties, String trustStore, String trustStorePassword, boolean trustAllRoots, String authLibraryPath, String colDelimiter, String rowDelimiter, Integer resultSetType, Integer resultSetConcurrency, List<String> sqlCommands) {
+    private int fetchSize;
+    private int cursorIdleTimeout;
+    private List<SQLBindParameters.BindParameter> bindParameters = new ArrayList<>();
+    private int batchSize;
+    private int commitInterval;
+    private List<Integer> batchUpdateCounts = new ArrayList<>();
+    private String lobDestinationDirectory;
+
+    @java.beans.ConstructorProperties({"sqlCommand", "dbServer", "dbName", "dbPort", "dbType", "key", "username", "password", "authenticationType", "instance", "ignoreCase", "timeout", "dbUrl", "dbClass", "isNetcool", "lRowsFiles", "lRowsNames", "skip", "strDelim", "strColumns", "lRows", "iUpdateCount", "databasePoolingProperties", "trustStore", "trustStorePassword", "trustAllRoots", "authLibraryPath", "colDelimiter", "rowDelimiter", "resultSetType", "resultSetConcurrency", "sqlCommands", "fetchSize", "cursorIdleTimeout", "bindParameters", "batchSize", "commitInterval", "batchUpdateCounts", "lobDestinationDirectory"})
+    SQLInputs(String sqlCommand, String dbServer, String dbName, int dbPort, String dbType, String key, String username, String password, String authenticationType, String instance, boolean ignoreCase, int timeout, String dbUrl, String dbClass, boolean isNetcool, List<List<String>> lRowsFiles, List<List<String>> lRowsNames, long skip, String strDelim, String strColumns, List<String> lRows, int iUpdateCount, Properties databasePoolingProperties, String trustStore, String trustStorePassword, boolean trustAllRoots, String authLibraryPath, String colDelimiter, String rowDelimiter, Integer resultSetType, Integer resultSetConcurrency, List<String> sqlCommands, int fetchSize, int cursorIdleTimeout, List<SQLBindParameters.BindParameter> bindParameters, int batchSize, int commitInterval, List<Integer> batchUpdateCounts, String lobDestinationDirectory) {
         this.sqlCommand = sqlCommand;
         this.dbServer = dbServer;
         this.dbName = dbName;
@@ -96,6 +103,13 @@ public class SQLInputs {
         this.resultSetType = resultSetType;
         this.resultSetConcurrency = resultSetConcurrency;
         this.sqlCommands = sqlCommands == null ? new ArrayList<String>() : sqlCommands;
+        this.fetchSize = fetchSize;
+        this.cursorIdleTimeout = cursorIdleTimeout;
+        this.bindParameters = bindParameters == null ? new ArrayList<SQLBindParameters.BindParameter>() : bindParameters;
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+        this.batchUpdateCounts = batchUpdateCounts == null ? new ArrayList<Integer>() : batchUpdateCounts;
+        this.lobDestinationDirectory = lobDestinationDirectory;
     }
 
     public static SQLInputsBuilder builder() {
@@ -354,6 +368,62 @@ public class SQLInputs {
         return this.sqlCommands;
     }
 
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getCursorIdleTimeout() {
+        return this.cursorIdleTimeout;
+    }
+
+    public void setCursorIdleTimeout(int cursorIdleTimeout) {
+        this.cursorIdleTimeout = cursorIdleTimeout;
+    }
+
+    public List<SQLBindParameters.BindParameter> getBindParameters() {
+        return this.bindParameters;
+    }
+
+    public void setBindParameters(List<SQLBindParameters.BindParameter> bindParameters) {
+        this.bindParameters = bindParameters;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getCommitInterval() {
+        return this.commitInterval;
+    }
+
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+    public List<Integer> getBatchUpdateCounts() {
+        return this.batchUpdateCounts;
+    }
+
+    public void setBatchUpdateCounts(List<Integer> batchUpdateCounts) {
+        this.batchUpdateCounts = batchUpdateCounts;
+    }
+
+    public String getLobDestinationDirectory() {
+        return this.lobDestinationDirectory;
+    }
+
+    public void setLobDestinationDirectory(String lobDestinationDirectory) {
+        this.lobDestinationDirectory = lobDestinationDirectory;
+    }
+
     public boolean equals(Object o) {
         if (o == this) return true;
         if (!(o instanceof SQLInputs)) return false;
@@ -455,6 +525,19 @@ public class SQLInputs {
         final Object other$sqlCommands = other.getSqlCommands();
         if (this$sqlCommands == null ? other$sqlCommands != null : !this$sqlCommands.equals(other$sqlCommands))
             return false;
+        if (this.getFetchSize() != other.getFetchSize()) return false;
+        if (this.getCursorIdleTimeout() != other.getCursorIdleTimeout()) return false;
+        final Object this$bindParameters = this.getBindParameters();
+        final Object other$bindParameters = other.getBindParameters();
+        if (this$bindParameters == null ? other$bindParameters != null : !this$bindParameters.equals(other$bindParameters)) return false;
+        if (this.getBatchSize() != other.getBatchSize()) return false;
+        if (this.getCommitInterval() != other.getCommitInterval()) return false;
+        final Object this$batchUpdateCounts = this.getBatchUpdateCounts();
+        final Object other$batchUpdateCounts = other.getBatchUpdateCounts();
+        if (this$batchUpdateCounts == null ? other$batchUpdateCounts != null : !this$batchUpdateCounts.equals(other$batchUpdateCounts)) return false;
+        final Object this$lobDestinationDirectory = this.getLobDestinationDirectory();
+        final Object other$lobDestinationDirectory = other.getLobDestinationDirectory();
+        if (this$lobDestinationDirectory == null ? other$lobDestinationDirectory != null : !this$lobDestinationDirectory.equals(other$lobDestinationDirectory)) return false;
         return true;
     }
 
@@ -518,6 +601,16 @@ public class SQLInputs {
         result = result * PRIME + ($resultSetConcurrency == null ? 43 : $resultSetConcurrency.hashCode());
         final Object $sqlCommands = this.getSqlCommands();
         result = result * PRIME + ($sqlCommands == null ? 43 : $sqlCommands.hashCode());
+        result = result * PRIME + this.getFetchSize();
+        result = result * PRIME + this.getCursorIdleTimeout();
+        final Object $bindParameters = this.getBindParameters();
+        result = result * PRIME + ($bindParameters == null ? 43 : $bindParameters.hashCode());
+        result = result * PRIME + this.getBatchSize();
+        result = result * PRIME + this.getCommitInterval();
+        final Object $batchUpdateCounts = this.getBatchUpdateCounts();
+        result = result * PRIME + ($batchUpdateCounts == null ? 43 : $batchUpdateCounts.hashCode());
+        final Object $lobDestinationDirectory = this.getLobDestinationDirectory();
+        result = result * PRIME + ($lobDestinationDirectory == null ? 43 : $lobDestinationDirectory.hashCode());
         return result;
     }
 
@@ -526,7 +619,7 @@ public class SQLInputs {
     }
 
     public String toString() {
-        return "io.cloudslang.content.database.utils.SQLInputs(sqlCommand=" + this.getSqlCommand() + ", dbServer=" + this.getDbServer() + ", dbName=" + this.getDbName() + ", dbPort=" + this.getDbPort() + ", dbType=" + this.getDbType() + ", key=" + this.getKey() + ", username=" + this.getUsername() + ", password=" + this.getPassword() + ", authenticationType=" + this.getAuthenticationType() + ", instance=" + this.getInstance() + ", ignoreCase=" + this.isIgnoreCase() + ", timeout=" + this.getTimeout() + ", dbUrl=" + this.getDbUrl() + ", dbClass=" + this.getDbClass() + ", isNetcool=" + this.isNetcool() + ", lRowsFiles=" + this.getLRowsFiles() + ", lRowsNames=" + this.getLRowsNames() + ", skip=" + this.getSkip() + ", strDelim=" + this.getStrDelim() + ", strColumns=" + this.getStrColumns() + ", lRows=" + this.getLRows() + ", iUpdateCount=" + this.getIUpdateCount() + ", databasePoolingProperties=" + this.getDatabasePoolingProperties() + ", trustStore=" + this.getTrustStore() + ", trustStorePassword=" + this.getTrustStorePassword() + ", trustAllRoots=" + this.isTrustAllRoots() + ", authLibraryPath=" + this.getAuthLibraryPath() + ", colDelimiter=" + this.getColDelimiter() + ", rowDelimiter=" + this.getRowDelimiter() + ", resultSetType=" + this.getResultSetType() + ", resultSetConcurrency=" + this.getResultSetConcurrency() + ", sqlCommands=" + this.getSqlCommands() + ")";
+        return "io.cloudslang.content.database.utils.SQLInputs(sqlCommand=" + this.getSqlCommand() + ", dbServer=" + this.getDbServer() + ", dbName=" + this.getDbName() + ", dbPort=" + this.getDbPort() + ", dbType=" + this.getDbType() + ", key=" + this.getKey() + ", username=" + this.getUsername() + ", password=" + this.getPassword() + ", authenticationType=" + this.getAuthenticationType() + ", instance=" + this.getInstance() + ", ignoreCase=" + this.isIgnoreCase() + ", timeout=" + this.getTimeout() + ", dbUrl=" + this.getDbUrl() + ", dbClass=" + this.getDbClass() + ", isNetcool=" + this.isNetcool() + ", lRowsFiles=" + this.getLRowsFiles() + ", lRowsNames=" + this.getLRowsNames() + ", skip=" + this.getSkip() + ", strDelim=" + this.getStrDelim() + ", strColumns=" + this.getStrColumns() + ", lRows=" + this.getLRows() + ", iUpdateCount=" + this.getIUpdateCount() + ", databasePoolingProperties=" + this.getDatabasePoolingProperties() + ", trustStore=" + this.getTrustStore() + ", trustStorePassword=" + this.getTrustStorePassword() + ", trustAllRoots=" + this.isTrustAllRoots() + ", authLibraryPath=" + this.getAuthLibraryPath() + ", colDelimiter=" + this.getColDelimiter() + ", rowDelimiter=" + this.getRowDelimiter() + ", resultSetType=" + this.getResultSetType() + ", resultSetConcurrency=" + this.getResultSetConcurrency() + ", sqlCommands=" + this.getSqlCommands() + ", fetchSize=" + this.getFetchSize() + ", cursorIdleTimeout=" + this.getCursorIdleTimeout() + ", bindParameters=" + this.getBindParameters() + ", batchSize=" + this.getBatchSize() + ", commitInterval=" + this.getCommitInterval() + ", batchUpdateCounts=" + this.getBatchUpdateCounts() + ", lobDestinationDirectory=" + this.getLobDestinationDirectory() + ")";
     }
 
     public static class SQLInputsBuilder {
@@ -562,6 +655,13 @@ public class SQLInputs {
         private Integer resultSetType;
         private Integer resultSetConcurrency;
         private List<String> sqlCommands;
+        private int fetchSize;
+        private int cursorIdleTimeout;
+        private List<SQLBindParameters.BindParameter> bindParameters;
+        private int batchSize;
+        private int commitInterval;
+        private List<Integer> batchUpdateCounts;
+        private String lobDestinationDirectory;
 
         SQLInputsBuilder() {
         }
@@ -697,12 +797,47 @@ public class SQLInputs {
             return this;
         }
 
+        public SQLInputs.SQLInputsBuilder fetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder cursorIdleTimeout(int cursorIdleTimeout) {
+            this.cursorIdleTimeout = cursorIdleTimeout;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder bindParameters(List<SQLBindParameters.BindParameter> bindParameters) {
+            this.bindParameters = bindParameters;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder commitInterval(int commitInterval) {
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder batchUpdateCounts(List<Integer> batchUpdateCounts) {
+            this.batchUpdateCounts = batchUpdateCounts;
+            return this;
+        }
+
+        public SQLInputs.SQLInputsBuilder lobDestinationDirectory(String lobDestinationDirectory) {
+            this.lobDestinationDirectory = lobDestinationDirectory;
+            return this;
+        }
+
         public SQLInputs build() {
-            return new SQLInputs(sqlCommand, dbServer, dbName, dbPort, dbType, key, username, password, authenticationType, instance, ignoreCase, timeout, dbUrl, dbClass, isNetcool, lRowsFiles, lRowsNames, skip, strDelim, strColumns, lRows, iUpdateCount, databasePoolingProperties, trustStore, trustStorePassword, trustAllRoots, authLibraryPath, colDelimiter, rowDelimiter, resultSetType, resultSetConcurrency, sqlCommands);
+            return new SQLInputs(sqlCommand, dbServer, dbName, dbPort, dbType, key, username, password, authenticationType, instance, ignoreCase, timeout, dbUrl, dbClass, isNetcool, lRowsFiles, lRowsNames, skip, strDelim, strColumns, lRows, iUpdateCount, databasePoolingProperties, trustStore, trustStorePassword, trustAllRoots, authLibraryPath, colDelimiter, rowDelimiter, resultSetType, resultSetConcurrency, sqlCommands, fetchSize, cursorIdleTimeout, bindParameters, batchSize, commitInterval, batchUpdateCounts, lobDestinationDirectory);
         }
 
         public String toString() {
-            return "io.cloudslang.content.database.utils.SQLInputs.SQLInputsBuilder(sqlCommand=" + this.sqlCommand + ", dbServer=" + this.dbServer + ", dbName=" + this.dbName + ", dbPort=" + this.dbPort + ", dbType=" + this.dbType + ", key=" + this.key + ", username=" + this.username + ", password=" + this.password + ", authenticationType=" + this.authenticationType + ", instance=" + this.instance + ", ignoreCase=" + this.ignoreCase + ", timeout=" + this.timeout + ", dbUrl=" + this.dbUrl + ", dbClass=" + this.dbClass + ", isNetcool=" + this.isNetcool + ", lRowsFiles=" + this.lRowsFiles + ", lRowsNames=" + this.lRowsNames + ", skip=" + this.skip + ", strDelim=" + this.strDelim + ", strColumns=" + this.strColumns + ", lRows=" + this.lRows + ", iUpdateCount=" + this.iUpdateCount + ", databasePoolingProperties=" + this.databasePoolingProperties + ", trustStore=" + this.trustStore + ", trustStorePassword=" + this.trustStorePassword + ", trustAllRoots=" + this.trustAllRoots + ", authLibraryPath=" + this.authLibraryPath + ", colDelimiter=" + this.colDelimiter + ", rowDelimiter=" + this.rowDelimiter + ", resultSetType=" + this.resultSetType + ", resultSetConcurrency=" + this.resultSetConcurrency + ", sqlCommands=" + this.sqlCommands + ")";
+            return "io.cloudslang.content.database.utils.SQLInputs.SQLInputsBuilder(sqlCommand=" + this.sqlCommand + ", dbServer=" + this.dbServer + ", dbName=" + this.dbName + ", dbPort=" + this.dbPort + ", dbType=" + this.dbType + ", key=" + this.key + ", username=" + this.username + ", password=" + this.password + ", authenticationType=" + this.authenticationType + ", instance=" + this.instance + ", ignoreCase=" + this.ignoreCase + ", timeout=" + this.timeout + ", dbUrl=" + this.dbUrl + ", dbClass=" + this.dbClass + ", isNetcool=" + this.isNetcool + ", lRowsFiles=" + this.lRowsFiles + ", lRowsNames=" + this.lRowsNames + ", skip=" + this.skip + ", strDelim=" + this.strDelim + ", strColumns=" + this.strColumns + ", lRows=" + this.lRows + ", iUpdateCount=" + this.iUpdateCount + ", databasePoolingProperties=" + this.databasePoolingProperties + ", trustStore=" + this.trustStore + ", trustStorePassword=" + this.trustStorePassword + ", trustAllRoots=" + this.trustAllRoots + ", authLibraryPath=" + this.authLibraryPath + ", colDelimiter=" + this.colDelimiter + ", rowDelimiter=" + this.rowDelimiter + ", resultSetType=" + this.resultSetType + ", resultSetConcurrency=" + this.resultSetConcurrency + ", sqlCommands=" + this.sqlCommands + ", fetchSize=" + this.fetchSize + ", cursorIdleTimeout=" + this.cursorIdleTimeout + ", bindParameters=" + this.bindParameters + ", batchSize=" + this.batchSize + ", commitInterval=" + this.commitInterval + ", batchUpdateCounts=" + this.batchUpdateCounts + ", lobDestinationDirectory=" + this.lobDestinationDirectory + ")";
         }
     }
 }
@@ -168,16 +168,27 @@ public class SQLInputsUtils {
         return dbType;
     }
 
+    /**
+     * Derives the key of the query state kept in the session, for the calls without a "queryHandle".
+     * The key is a digest that includes the password, so other credentials never continue the same query.
+     */
     @NotNull
     public static String getSqlKey(@NotNull final SQLInputs sqlInputs) {
         if (sqlInputs.isIgnoreCase()) {
             return SQLUtils.computeSessionId(sqlInputs.getDbServer().toLowerCase() + sqlInputs.getDbType().toLowerCase() +
                     sqlInputs.getUsername() + sqlInputs.getPassword() + sqlInputs.getInstance() + sqlInputs.getDbPort() + sqlInputs.getDbName() +
-                    sqlInputs.getAuthenticationType().toLowerCase() + sqlInputs.getSqlCommand().toLowerCase() + sqlInputs.getKey());
+                    sqlInputs.getAuthenticationType().toLowerCase() + sqlInputs.getSqlCommand().toLowerCase() + sqlInputs.getKey() +
+                    getBindParametersKey(sqlInputs));
         }
         return SQLUtils.computeSessionId(sqlInputs.getDbServer() + sqlInputs.getDbType() +
                 sqlInputs.getUsername() + sqlInputs.getPassword() + sqlInputs.getInstance() + sqlInputs.getDbPort() + sqlInputs.getDbName() +
-                sqlInputs.getAuthenticationType() + sqlInputs.getSqlCommand() + sqlInputs.getKey());
+                sqlInputs.getAuthenticationType() + sqlInputs.getSqlCommand() + sqlInputs.getKey() + getBindParametersKey(sqlInputs));
+    }
+
+    //the same command with other bind parameter values is another query, the key of a query without parameters is unchanged
+    @NotNull
+    private static String getBindParametersKey(@NotNull final SQLInputs sqlInputs) {
+        return sqlInputs.getBindParameters().isEmpty() ? EMPTY : sqlInputs.getBindParameters().toString();
     }
 
 
@@ -66,6 +66,82 @@ public class SQLInputsValidator {
         return validationList;
     }
 
+    public static List<String> validateSqlQueryCursorInputs(String useCursor, String fetchSize, String cursorIdleTimeout) {
+        final List<String> validationList = new ArrayList<>();
+        if (!BooleanUtilities.isValid(useCursor)) {
+            validationList.add(INVALID_USE_CURSOR);
+        }
+        validatePositiveInt(fetchSize, INVALID_FETCH_SIZE, validationList);
+        validatePositiveInt(cursorIdleTimeout, INVALID_CURSOR_IDLE_TIMEOUT, validationList);
+        return validationList;
+    }
+
+    public static List<String> validateBindParametersInputs(String bindParameters, String bindParametersDelimiter) {
+        final List<String> validationList = new ArrayList<>();
+        try {
+            SQLBindParameters.parse(bindParameters, bindParametersDelimiter);
+        } catch (IllegalArgumentException e) {
+            validationList.add(e.getMessage());
+        }
+        return validationList;
+    }
+
+    public static List<String> validateExportInputs(String exportFormat, String fetchSize) {
+        final List<String> validationList = new ArrayList<>();
+        if (!SQLRowWriter.CSV_FORMAT.equalsIgnoreCase(exportFormat) && !SQLRowWriter.JSON_LINES_FORMAT.equalsIgnoreCase(exportFormat)) {
+            validationList.add(INVALID_EXPORT_FORMAT);
+        }
+        validatePositiveInt(fetchSize, INVALID_FETCH_SIZE, validationList);
+        return validationList;
+    }
+
+    public static List<String> validateFanOutInputs(String targets, String command, String maxParallelism) {
+        final List<String> validationList = new ArrayList<>();
+        validateNoneEmpty(targets, INVALID_TARGETS, validationList);
+        validateNoneEmpty(command, INVALID_COMMAND, validationList);
+        validatePositiveInt(maxParallelism, INVALID_MAX_PARALLELISM, validationList);
+        return validationList;
+    }
+
+    public static List<String> validateResultCacheInputs(String resultCacheTtl, String resultCacheMaxEntries, String resultCacheMaxBytes) {
+        final List<String> validationList = new ArrayList<>();
+        validateNonNegativeInt(resultCacheTtl, INVALID_RESULT_CACHE_TTL, validationList);
+        validatePositiveInt(resultCacheMaxEntries, INVALID_RESULT_CACHE_MAX_ENTRIES, validationList);
+        validatePositiveInt(resultCacheMaxBytes, INVALID_RESULT_CACHE_MAX_BYTES, validationList);
+        return validationList;
+    }
+
+    public static List<String> validateBatchInputs(String batchSize, String commitInterval) {
+        final List<String> validationList = new ArrayList<>();
+        validateNonNegativeInt(batchSize, INVALID_BATCH_SIZE, validationList);
+        validateNonNegativeInt(commitInterval, INVALID_COMMIT_INTERVAL, validationList);
+        return validationList;
+    }
+
+    public static List<String> validateSqlBulkInsertInputs(String dbServerName, String dbType, String username, String password,
+                                                           String instance, String dbPort, String database, String authenticationType, String command,
+                                                           String rows, String rowsFileName, String rowsFormat, String columnTypes,
+                                                           String trustAllRoots, String trustStore, String trustStorePassword,
+                                                           String timeout, String batchSize, String commitInterval, String authLibraryPath) {
+        final List<String> validationList = validateCommonSqlInputs(dbServerName, dbType, username, password, instance, dbPort,
+                database, authenticationType, trustAllRoots, trustStore, trustStorePassword, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY, authLibraryPath);
+        validateNoneEmpty(command, INVALID_COMMAND, validationList);
+        if (isEmpty(rows) == isEmpty(rowsFileName)) {
+            validationList.add(INVALID_ROWS_EXCLUSIVITY);
+        }
+        if (!SQLRowReader.CSV_FORMAT.equalsIgnoreCase(rowsFormat) && !SQLRowReader.JSON_FORMAT.equalsIgnoreCase(rowsFormat)) {
+            validationList.add(INVALID_ROWS_FORMAT);
+        }
+        try {
+            SQLBindParameters.parseTypes(columnTypes, COMMA);
+        } catch (IllegalArgumentException e) {
+            validationList.add(e.getMessage());
+        }
+        validateTimeout(timeout, validationList);
+        validationList.addAll(validateBatchInputs(batchSize, commitInterval));
+        return validationList;
+    }
+
     public static List<String> validateSqlQueryAllRowsInputs(String dbServerName, String dbType, String username, String password,
                                                              String instance, String dbPort, String database, String authenticationType, String command,
                                                              String trustAllRoots, String trustStore, String trustStorePassword,
@@ -170,6 +246,18 @@ public class SQLInputsValidator {
         }
     }
 
+    private static void validatePositiveInt(final String toValidate, final String exceptionMessage, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(toValidate) || NumberUtilities.toInteger(toValidate) <= 0) {
+            validationList.add(exceptionMessage);
+        }
+    }
+
+    private static void validateNonNegativeInt(final String toValidate, final String exceptionMessage, final List<String> validationList) {
+        if (!NumberUtilities.isValidInt(toValidate) || NumberUtilities.toInteger(toValidate) < 0) {
+            validationList.add(exceptionMessage);
+        }
+    }
+
     private static void validateInstance(final String instance, final String dbType, final List<String> validationList) {
         if (isNoneEmpty(instance) && !MSSQL_DB_TYPE.equalsIgnoreCase(dbType)) {
             validationList.add(INVALID_INSTANCE);
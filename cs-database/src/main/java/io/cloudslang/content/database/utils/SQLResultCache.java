@@ -0,0 +1,152 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+/**
+ * A worker wide cache of query results, shared by the actions which opt in with a time to live.
+ * An entry is served until its time to live elapses, the least recently used entries are evicted when the cache
+ * holds more entries or more bytes than the limits of the last result put in the cache.
+ * The size of an entry is estimated as two bytes per character of its key and result.
+ */
+public class SQLResultCache {
+    private static final SQLResultCache INSTANCE = new SQLResultCache();
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    //access ordered, the eldest entry is the least recently used
+    private final LinkedHashMap<String, CachedResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+
+    SQLResultCache() {
+    }
+
+    public static SQLResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The key of a result identifies the connection, the credentials, the query and the format of its result.
+     * The password is part of the key, so a result is only served to callers able to query it.
+     *
+     * @param queryName the name of the query type, the results of different actions are formatted differently
+     * @param sqlInputs the inputs of the query
+     * @return the key of the result
+     */
+    @NotNull
+    public static String getResultKey(@NotNull final String queryName, @NotNull final SQLInputs sqlInputs) {
+        final StringBuilder key = new StringBuilder(queryName);
+        for (final Object part : new Object[]{defaultString(sqlInputs.getDbType()).toLowerCase(),
+                defaultString(sqlInputs.getDbServer()).toLowerCase(), sqlInputs.getDbPort(), defaultString(sqlInputs.getInstance()).toLowerCase(),
+                sqlInputs.getDbName(), sqlInputs.getDbUrl(), sqlInputs.getUsername(), sqlInputs.getPassword(),
+                defaultString(sqlInputs.getAuthenticationType()).toLowerCase(), defaultString(sqlInputs.getSqlCommand()).trim(),
+                sqlInputs.getBindParameters().isEmpty() ? EMPTY : sqlInputs.getBindParameters(),
+                sqlInputs.getColDelimiter(), sqlInputs.getRowDelimiter()}) {
+            key.append(KEY_SEPARATOR).append(part);
+        }
+        return SQLUtils.computeSessionId(key.toString());
+    }
+
+    /**
+     * @return the cached result, or null if there is none or it has expired
+     */
+    public synchronized String get(@NotNull final String key) {
+        final CachedResult cachedResult = results.get(key);
+        if (cachedResult == null) {
+            return null;
+        }
+        if (cachedResult.isExpired(System.nanoTime())) {
+            remove(key);
+            return null;
+        }
+        return cachedResult.result;
+    }
+
+    /**
+     * Caches the result and evicts the least recently used entries above the limits.
+     * A result larger than maxBytes is not cached.
+     *
+     * @param key        the key of the result
+     * @param result     the result of the query
+     * @param ttlMillis  the time the result is served, in milliseconds
+     * @param maxEntries the maximum number of results in the cache
+     * @param maxBytes   the maximum estimated size of the cache, in bytes
+     */
+    public synchronized void put(@NotNull final String key, @NotNull final String result, final long ttlMillis,
+                                 final int maxEntries, final long maxBytes) {
+        remove(key);
+        final CachedResult cachedResult = new CachedResult(result, estimateBytes(key, result), System.nanoTime() + ttlMillis * 1000000L);
+        if (cachedResult.bytes > maxBytes) {
+            return;
+        }
+        results.put(key, cachedResult);
+        bytes += cachedResult.bytes;
+
+        final Iterator<Map.Entry<String, CachedResult>> eldest = results.entrySet().iterator();
+        while (results.size() > maxEntries || bytes > maxBytes) {
+            bytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized void clear() {
+        results.clear();
+        bytes = 0;
+    }
+
+    private void remove(final String key) {
+        final CachedResult removed = results.remove(key);
+        if (removed != null) {
+            bytes -= removed.bytes;
+        }
+    }
+
+    private static long estimateBytes(final String key, final String result) {
+        return 2L * (key.length() + result.length());
+    }
+
+    private static class CachedResult {
+        private final String result;
+        private final long bytes;
+        private final long expiresAtNanos;
+
+        private CachedResult(String result, long bytes, long expiresAtNanos) {
+            this.result = result;
+            this.bytes = bytes;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
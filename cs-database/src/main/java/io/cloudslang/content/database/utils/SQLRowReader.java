@@ -0,0 +1,210 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_CSV_QUOTED_VALUE;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_JSON_ROWS;
+import static io.cloudslang.content.database.constants.DBExceptionValues.UNCLOSED_CSV_VALUE;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Reads rows of values one at a time, so the rows never have to be held in memory at once.
+ */
+public abstract class SQLRowReader implements Closeable {
+    public static final String CSV_FORMAT = "csv";
+    public static final String JSON_FORMAT = "json";
+
+    private static final MappingJsonFactory JSON_FACTORY = new MappingJsonFactory();
+
+    /**
+     * @return the values of the next row, null once there are no more rows
+     * @throws IOException
+     */
+    public abstract List<String> nextRow() throws IOException;
+
+    /**
+     * Reads one row per line, the values are separated by the delimiter. Blank lines are skipped.
+     * As in RFC 4180, a value enclosed in double quotes can hold the delimiter and line breaks, and a doubled quote
+     * inside it is a quote. This reads back what {@link SQLRowWriter#csv} writes.
+     */
+    @NotNull
+    public static SQLRowReader csv(@NotNull final Reader reader, @NotNull final String delimiter) {
+        return new CsvRowReader(reader, delimiter);
+    }
+
+    /**
+     * Reads a JSON array of rows. A row is either an array of values or an object whose values are taken in order.
+     * A JSON null is a null value, nested arrays and objects are kept as JSON text.
+     */
+    @NotNull
+    public static SQLRowReader json(@NotNull final Reader reader) throws IOException {
+        return new JsonRowReader(reader);
+    }
+
+    private static class CsvRowReader extends SQLRowReader {
+        private static final char QUOTE = '"';
+
+        private final BufferedReader reader;
+        private final String delimiter;
+        private int rowNumber;
+
+        CsvRowReader(@NotNull final Reader reader, @NotNull final String delimiter) {
+            this.reader = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+            this.delimiter = delimiter;
+        }
+
+        @Override
+        public List<String> nextRow() throws IOException {
+            int c;
+            while ((c = reader.read()) != -1) {
+                final List<String> row = new ArrayList<>();
+                final StringBuilder value = new StringBuilder();
+                boolean quoted = false;
+                boolean anyQuoted = false;
+                while (!isRowEnd(c)) {
+                    if (c == QUOTE && !quoted && value.length() == 0) {
+                        readQuotedValue(value);
+                        quoted = anyQuoted = true;
+                    } else if (isDelimiter(c)) {
+                        row.add(value.toString());
+                        value.setLength(0);
+                        quoted = false;
+                    } else if (quoted) {
+                        throw new IOException(String.format(INVALID_CSV_QUOTED_VALUE, rowNumber + 1));
+                    } else {
+                        value.append((char) c);
+                    }
+                    c = reader.read();
+                }
+                if (c == '\r' && peek() == '\n') {
+                    reader.read();
+                }
+                row.add(value.toString());
+                if (anyQuoted || row.size() > 1 || !isBlank(row.get(0))) {
+                    rowNumber++;
+                    return row;
+                }
+            }
+            return null;
+        }
+
+        private static boolean isRowEnd(final int c) {
+            return c == -1 || c == '\n' || c == '\r';
+        }
+
+        // the quotes are consumed, a doubled quote is kept as one
+        private void readQuotedValue(@NotNull final StringBuilder value) throws IOException {
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c != QUOTE) {
+                    value.append((char) c);
+                } else if (peek() == QUOTE) {
+                    value.append((char) reader.read());
+                } else {
+                    return;
+                }
+            }
+            throw new IOException(String.format(UNCLOSED_CSV_VALUE, rowNumber + 1));
+        }
+
+        // on a match the rest of the delimiter is consumed
+        private boolean isDelimiter(final int c) throws IOException {
+            if (delimiter.isEmpty() || c != delimiter.charAt(0)) {
+                return false;
+            }
+            reader.mark(delimiter.length());
+            for (int i = 1; i < delimiter.length(); i++) {
+                if (reader.read() != delimiter.charAt(i)) {
+                    reader.reset();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int peek() throws IOException {
+            reader.mark(1);
+            final int c = reader.read();
+            reader.reset();
+            return c;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static class JsonRowReader extends SQLRowReader {
+        private final JsonParser parser;
+
+        JsonRowReader(@NotNull final Reader reader) throws IOException {
+            parser = JSON_FACTORY.createParser(reader);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IOException(INVALID_JSON_ROWS);
+            }
+        }
+
+        @Override
+        public List<String> nextRow() throws IOException {
+            final JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY || token == null) {
+                return null;
+            }
+            final JsonToken endToken;
+            if (token == JsonToken.START_ARRAY) {
+                endToken = JsonToken.END_ARRAY;
+            } else if (token == JsonToken.START_OBJECT) {
+                endToken = JsonToken.END_OBJECT;
+            } else {
+                throw new IOException(INVALID_JSON_ROWS);
+            }
+            final List<String> row = new ArrayList<>();
+            JsonToken valueToken;
+            while ((valueToken = parser.nextValue()) != endToken) {
+                if (valueToken == null) {
+                    throw new IOException(INVALID_JSON_ROWS);
+                } else if (valueToken == JsonToken.VALUE_NULL) {
+                    row.add(null);
+                } else if (valueToken == JsonToken.START_ARRAY || valueToken == JsonToken.START_OBJECT) {
+                    row.add(parser.readValueAsTree().toString());
+                } else {
+                    row.add(parser.getText());
+                }
+            }
+            return row;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static io.cloudslang.content.database.constants.DBDefaultValues.NEW_LINE;
+
+/**
+ * Writes the rows of a result set one at a time as they are read, so the result set never has to be held in memory.
+ */
+public abstract class SQLRowWriter implements Closeable {
+    public static final String CSV_FORMAT = "csv";
+    public static final String JSON_LINES_FORMAT = "jsonl";
+
+    private static final MappingJsonFactory JSON_FACTORY = new MappingJsonFactory();
+    private static final char QUOTE = '"';
+
+    /**
+     * Writes a header line with the column labels, then one line per row with the values separated by the delimiter.
+     * Values containing the delimiter, quotes or line breaks are quoted, a null value is an empty field.
+     */
+    @NotNull
+    public static SQLRowWriter csv(@NotNull final Writer writer, @NotNull final String delimiter) {
+        return new CsvRowWriter(writer, delimiter);
+    }
+
+    /**
+     * Writes one JSON object per line, the column labels are the keys and the values are strings or null.
+     */
+    @NotNull
+    public static SQLRowWriter jsonLines(@NotNull final Writer writer) throws IOException {
+        return new JsonLinesRowWriter(writer);
+    }
+
+    /**
+     * Writes the remaining rows of the result set.
+     *
+     * @param resultSet            the result set, read up to the last row
+     * @param checkNullTermination perform the null termination check on the strings (eg. netcool)
+     * @return the number of rows written
+     * @throws SQLException
+     * @throws IOException
+     */
+    public long write(@NotNull final ResultSet resultSet, final boolean checkNullTermination) throws SQLException, IOException {
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        writeHeader(labels);
+
+        final String[] values = new String[labels.length];
+        long rowCount = 0;
+        while (resultSet.next()) {
+            for (int i = 0; i < values.length; i++) {
+                final String value = resultSet.getString(i + 1);
+                values[i] = (value != null && checkNullTermination) ? Format.processNullTerminatedString(value) : value;
+            }
+            writeRow(labels, values);
+            rowCount++;
+        }
+        flush();
+        return rowCount;
+    }
+
+    protected abstract void writeHeader(@NotNull final String[] labels) throws IOException;
+
+    protected abstract void writeRow(@NotNull final String[] labels, @NotNull final String[] values) throws IOException;
+
+    protected abstract void flush() throws IOException;
+
+    private static class CsvRowWriter extends SQLRowWriter {
+        private final BufferedWriter writer;
+        private final String delimiter;
+
+        CsvRowWriter(@NotNull final Writer writer, @NotNull final String delimiter) {
+            this.writer = (writer instanceof BufferedWriter) ? (BufferedWriter) writer : new BufferedWriter(writer);
+            this.delimiter = delimiter;
+        }
+
+        @Override
+        protected void writeHeader(@NotNull final String[] labels) throws IOException {
+            writeRow(labels, labels);
+        }
+
+        @Override
+        protected void writeRow(@NotNull final String[] labels, @NotNull final String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i != 0) {
+                    writer.write(delimiter);
+                }
+                if (values[i] != null) {
+                    writeValue(values[i]);
+                }
+            }
+            writer.write(NEW_LINE);
+        }
+
+        private void writeValue(@NotNull final String value) throws IOException {
+            if (!value.contains(delimiter) && value.indexOf(QUOTE) < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write(QUOTE);
+            writer.write(value.replace("\"", "\"\""));
+            writer.write(QUOTE);
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static class JsonLinesRowWriter extends SQLRowWriter {
+        private final JsonGenerator generator;
+
+        JsonLinesRowWriter(@NotNull final Writer writer) throws IOException {
+            generator = JSON_FACTORY.createGenerator(writer);
+            //each row is a root value, separated from the next one by a line break
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void writeHeader(@NotNull final String[] labels) {
+        }
+
+        @Override
+        protected void writeRow(@NotNull final String[] labels, @NotNull final String[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeStringField(labels[i], values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw(NEW_LINE);
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.SEMI_COLON;
+
+/**
+ * Reads the commands of a SQL script one at a time, so a script of any size is never held in memory at once.
+ * A command ends with a ';' at the end of a line and may span several lines. Comments and empty lines are skipped,
+ * an unfinished command at the end of the script is ignored.
+ */
+public class SQLScriptReader implements Iterator<String>, Closeable {
+    private final BufferedReader reader;
+    private boolean youAreInAMultiLineComment = false;
+    private String nextCommand;
+
+    public SQLScriptReader(@NotNull final Reader reader) {
+        this.reader = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextCommand == null) {
+            try {
+                nextCommand = readCommand();
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+        return nextCommand != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final String command = nextCommand;
+        nextCommand = null;
+        return command;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String readCommand() throws IOException {
+        String strLine;
+        StringBuilder aString = new StringBuilder();
+        int i = 0;
+        while ((strLine = reader.readLine()) != null) {
+            //ignore multi line comments
+            if (youAreInAMultiLineComment) {
+                if (strLine.contains("*/")) {
+                    int indx = strLine.indexOf("*/");
+                    strLine = strLine.substring(indx + 2);
+                    youAreInAMultiLineComment = false;
+                } else {
+                    continue;
+                }
+            }
+
+            if (strLine.contains("/*")) {
+                int indx = strLine.indexOf("/*");
+                String firstPart = strLine.substring(0, indx);
+                String secondPart = strLine.substring(indx + 2);
+                strLine = firstPart;
+                youAreInAMultiLineComment = true;
+
+                if (secondPart.contains("*/")) {    //the comment starts and ends in the middle of the line
+                    indx = secondPart.indexOf("*/");
+                    secondPart = secondPart.substring(indx + 2);
+                    youAreInAMultiLineComment = false;
+                    strLine += secondPart;
+                }
+            }
+
+            //ignore one line comments
+            if (strLine.contains("--")) {
+                int indx = strLine.indexOf("--");
+                strLine = strLine.substring(0, indx);
+            }
+
+            //ignore empty lines
+            if (0 == strLine.length()) {
+                continue;
+            }
+
+            //consider if a SQL statement is separated in different lines. eg,
+            //create table employee(
+            //  first varchar(15));
+            //if a sql command finishes in one line, it is complete
+            if (strLine.endsWith(SEMI_COLON)) {
+                //get rid of ';',otherwise the operation will fail on Oracle database
+                int indx = strLine.indexOf(SEMI_COLON, 0);
+                strLine = strLine.substring(0, indx);
+                //if the command has only one line
+                if (i == 0) {
+                    return strLine;
+                }
+                //if the command has multiple lines
+                aString.append(strLine);
+                return aString.toString();
+            } else {//if a line doesn't finish with a ';', it means the sql commands is not finished
+                aString.append(strLine).append(" ");
+                i++;
+            }
+        }
+        return null;
+    }
+}
@@ -22,15 +22,23 @@ import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+
+import static io.cloudslang.content.database.constants.DBOtherValues.KEY_QUERY_HANDLE;
+import static java.lang.String.format;
 
-import static io.cloudslang.content.database.constants.DBOtherValues.SEMI_COLON;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
@@ -73,6 +81,63 @@ public class SQLUtils {
         return address.getURIIPV6Literal();
     }
 
+    /**
+     * @param resultSet  a result set positioned on a row
+     * @param numCols    the number of columns of the result set
+     * @param delimiter  the delimiter between the values
+     * @param isNetcool  whether the values are null terminated Netcool strings
+     * @return the trimmed values of the current row separated by the delimiter
+     * @throws SQLException
+     */
+    @NotNull
+    public static String getRowString(@NotNull final ResultSet resultSet, final int numCols, final String delimiter,
+                                      final boolean isNetcool) throws SQLException {
+        final StringBuilder strRowHolder = new StringBuilder();
+        for (int i = 1; i <= numCols; i++) {
+            if (i > 1) strRowHolder.append(delimiter);
+            final String value = resultSet.getString(i);
+            if (value != null) {
+                strRowHolder.append(isNetcool ? processNullTerminatedString(value.trim()) : value.trim());
+            }
+        }
+        return strRowHolder.toString();
+    }
+
+    /**
+     * Creates the statement running the sql command of the inputs. With bind parameters it is a prepared statement
+     * with the parameters bound, so the database can reuse the plan of the command for other values.
+     */
+    @NotNull
+    public static Statement createStatement(@NotNull final Connection connection, @NotNull final SQLInputs sqlInputs,
+                                            final int resultSetType, final int resultSetConcurrency) throws SQLException {
+        if (sqlInputs.getBindParameters().isEmpty()) {
+            return connection.createStatement(resultSetType, resultSetConcurrency);
+        }
+        final PreparedStatement preparedStatement = connection.prepareStatement(sqlInputs.getSqlCommand(), resultSetType, resultSetConcurrency);
+        try {
+            SQLBindParameters.bind(preparedStatement, sqlInputs.getBindParameters());
+        } catch (SQLException e) {
+            preparedStatement.close();
+            throw e;
+        }
+        return preparedStatement;
+    }
+
+    public static boolean execute(@NotNull final Statement statement, final String sqlCommand) throws SQLException {
+        if (statement instanceof PreparedStatement) {
+            return ((PreparedStatement) statement).execute();
+        }
+        return statement.execute(sqlCommand);
+    }
+
+    @NotNull
+    public static ResultSet executeQuery(@NotNull final Statement statement, final String sqlCommand) throws SQLException {
+        if (statement instanceof PreparedStatement) {
+            return ((PreparedStatement) statement).executeQuery();
+        }
+        return statement.executeQuery(sqlCommand);
+    }
+
     public static String exceptionToString(Throwable e) {
         // Print the stack trace into an in memory string
         StringWriter writer = new StringWriter();
@@ -154,77 +219,9 @@ public class SQLUtils {
     public static List<String> readFromFile(String fileName) {
         final List<String> lines = new ArrayList<>();
 
-
-        try (final FileInputStream fstream = new FileInputStream(new File(fileName));
-             final DataInputStream in = new DataInputStream(fstream);
-             final InputStreamReader inputStreamReader = new InputStreamReader(in);
-             final BufferedReader br = new BufferedReader(inputStreamReader)) {
-
-            String strLine;
-            StringBuilder aString = new StringBuilder();
-            int i = 0;
-            boolean youAreInAMultiLineComment = false;
-            while ((strLine = br.readLine()) != null) {
-                //ignore multi line comments
-                if (youAreInAMultiLineComment) {
-                    if (strLine.contains("*/")) {
-                        int indx = strLine.indexOf("*/");
-                        strLine = strLine.substring(indx + 2);
-                        youAreInAMultiLineComment = false;
-                    } else {
-                        continue;
-                    }
-                }
-
-                if (strLine.contains("/*")) {
-                    int indx = strLine.indexOf("/*");
-                    String firstPart = strLine.substring(0, indx);
-                    String secondPart = strLine.substring(indx + 2);
-                    strLine = firstPart;
-                    youAreInAMultiLineComment = true;
-
-                    if (secondPart.contains("*/")) {    //the comment starts and ends in the middle of the line
-                        indx = secondPart.indexOf("*/");
-                        secondPart = secondPart.substring(indx + 2);
-                        youAreInAMultiLineComment = false;
-                        strLine += secondPart;
-                    }
-                }
-
-                //ignore one line comments
-                if (strLine.contains("--")) {
-                    int indx = strLine.indexOf("--");
-                    strLine = strLine.substring(0, indx);
-                }
-
-                //ignore empty lines
-                if (0 == strLine.length()) {
-                    continue;
-                }
-
-                //consider if a SQL statement is separated in different lines. eg,
-                //create table employee(
-                //  first varchar(15));
-                //if a sql command finishes in one line, add in commands
-                if (strLine.endsWith(SEMI_COLON)) {
-                    //get rid of ';',otherwise the operation will fail on Oracle database
-                    int indx = strLine.indexOf(SEMI_COLON, 0);
-                    strLine = strLine.substring(0, indx);
-                    //if the command has only one line
-                    if (i == 0) {
-                        lines.add(strLine);
-                    }
-                    //if the command has multiple lines
-                    else {
-                        aString.append(strLine);
-                        lines.add(aString.toString());
-                        aString = new StringBuilder();
-                        i = 0;
-                    }
-                } else {//if a line doesn't finish with a ';', it means the sql commands is not finished
-                    aString.append(strLine).append(" ");
-                    i++;
-                }
+        try (final SQLScriptReader scriptReader = openScriptFile(fileName)) {
+            while (scriptReader.hasNext()) {
+                lines.add(scriptReader.next());
             }
         } catch (Exception e) {
             e.printStackTrace(); //todo
@@ -233,6 +230,11 @@ public class SQLUtils {
         return lines;
     }
 
+    @NotNull
+    public static SQLScriptReader openScriptFile(String fileName) throws IOException {
+        return new SQLScriptReader(new InputStreamReader(new FileInputStream(new File(fileName))));
+    }
+
     @NotNull
     public static List<String> getRowsFromGlobalSessionMap(@NotNull final GlobalSessionObject<Map<String, Object>> globalSessionObject, @NotNull final String aKey) {
         final Map<String, Object> globalMap = globalSessionObject.get();
@@ -262,4 +264,39 @@ public class SQLUtils {
 
     }
 
+    /**
+     * Returns the handle of the query kept in the session map under the given key, a random handle is issued the first time.
+     * The handle leads back to the key, so a call passing the handle needs neither the query inputs nor their key.
+     */
+    @NotNull
+    public static String getOrCreateQueryHandle(@NotNull final Map<String, Object> globalMap, @NotNull final String aKey) {
+        final String strKeyHandle = format(KEY_QUERY_HANDLE, aKey);
+        if (globalMap.get(strKeyHandle) instanceof String) {
+            return (String) globalMap.get(strKeyHandle);
+        }
+        final String queryHandle = UUID.randomUUID().toString();
+        globalMap.put(strKeyHandle, queryHandle);
+        globalMap.put(queryHandle, aKey);
+        return queryHandle;
+    }
+
+    /**
+     * @return the key of the query the handle was issued for, null if the handle is unknown or the query is no longer in the session map
+     */
+    @Nullable
+    public static String getQueryKey(@NotNull final Map<String, Object> globalMap, @NotNull final String queryHandle) {
+        final Object aKey = globalMap.get(queryHandle);
+        if (aKey instanceof String && queryHandle.equals(globalMap.get(format(KEY_QUERY_HANDLE, aKey))) && globalMap.containsKey(aKey)) {
+            return (String) aKey;
+        }
+        return null;
+    }
+
+    public static void removeQueryHandle(@NotNull final Map<String, Object> globalMap, @NotNull final String aKey) {
+        final Object queryHandle = globalMap.remove(format(KEY_QUERY_HANDLE, aKey));
+        if (queryHandle != null) {
+            globalMap.remove(queryHandle);
+        }
+    }
+
 }
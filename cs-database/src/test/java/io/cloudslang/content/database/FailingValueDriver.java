@@ -0,0 +1,125 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * A driver for the "jdbc:failing:" urls, connecting to the database of the url without the "failing:" part.
+ * Reading the {@link #FAILING_VALUE} from a result set fails, so a test can fail a query after some of its rows are read.
+ */
+public class FailingValueDriver implements Driver {
+    public static final String URL_PREFIX = "jdbc:failing:";
+    public static final String FAILING_VALUE = "fail";
+
+    static {
+        try {
+            DriverManager.registerDriver(new FailingValueDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * @return the url connecting through this driver to the database of the given url
+     */
+    public static String failingUrl(String url) {
+        return URL_PREFIX + url.substring("jdbc:".length());
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        final String delegateUrl = "jdbc:" + url.substring(URL_PREFIX.length());
+        return wrap(DriverManager.getConnection(delegateUrl, info), Connection.class);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private static <T> T wrap(final T target, final Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(FailingValueDriver.class.getClassLoader(), new Class<?>[]{type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                final Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (target instanceof ResultSet && FAILING_VALUE.equals(result)) {
+                    throw new SQLException("Failed to read the value");
+                }
+                return wrapResult(result, method.getReturnType());
+            }
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object wrapResult(Object result, Class<?> type) {
+        if (result == null) {
+            return null;
+        }
+        if (type == Statement.class || type == PreparedStatement.class || type == ResultSet.class) {
+            return wrap(result, (Class<Object>) type);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database;
+
+import org.junit.rules.ExternalResource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * An in-memory H2 database for the tests running the actions against a real driver.
+ * The given statements create the test data before each test, all the objects are dropped after it.
+ * The database is kept open between the connections, so the connections of the actions see the test data.
+ */
+public class H2Database extends ExternalResource {
+    public static final String DRIVER = "org.h2.Driver";
+    public static final String USERNAME = "sa";
+    public static final String PASSWORD = "password";
+
+    private final String url;
+    private final String[] setUpStatements;
+    private Connection connection;
+
+    /**
+     * @param name            the name of the database, unique to the test class
+     * @param setUpStatements the statements creating the test data
+     */
+    public H2Database(String name, String... setUpStatements) {
+        this.url = "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+        this.setUpStatements = setUpStatements;
+    }
+
+    @Override
+    protected void before() throws SQLException {
+        connection = DriverManager.getConnection(url, USERNAME, PASSWORD);
+        for (String setUpStatement : setUpStatements) {
+            execute(setUpStatement);
+        }
+    }
+
+    @Override
+    protected void after() {
+        try {
+            execute("DROP ALL OBJECTS");
+            connection.close();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return a new connection to the database, to be closed by the caller
+     */
+    public Connection newConnection() throws SQLException {
+        return DriverManager.getConnection(url, USERNAME, PASSWORD);
+    }
+
+    public void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    public int queryInt(String query) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * @return the inputs of an action connecting to this database, to which the test adds the inputs it exercises
+     */
+    public SQLActionInputs inputs() {
+        return new SQLActionInputs(this);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.database.actions.SQLBulkInsert;
+import io.cloudslang.content.database.actions.SQLQuery;
+import io.cloudslang.content.database.actions.SQLQueryAllRows;
+import io.cloudslang.content.database.actions.SQLQueryLOB;
+import io.cloudslang.content.database.actions.SQLQueryMultipleDatabases;
+import io.cloudslang.content.database.actions.SQLQueryTabular;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.cloudslang.content.database.constants.DBInputNames.*;
+import static io.cloudslang.content.database.constants.DBOtherValues.CUSTOM_DB_TYPE;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+
+/**
+ * The inputs of the database actions, by input name, to run them against an {@link H2Database}.
+ * The connection inputs are set, the inputs not set are passed as empty strings.
+ */
+public class SQLActionInputs {
+    private final Map<String, String> inputs = new HashMap<>();
+
+    SQLActionInputs(H2Database database) {
+        inputs.put(DB_SERVER_NAME, "localhost");
+        inputs.put(DB_TYPE, CUSTOM_DB_TYPE);
+        inputs.put(USERNAME, H2Database.USERNAME);
+        inputs.put(PASSWORD, H2Database.PASSWORD);
+        inputs.put(DATABASE_NAME, "db");
+        inputs.put(DB_CLASS, H2Database.DRIVER);
+        inputs.put(DB_URL, database.getUrl());
+        inputs.put(TRUST_ALL_ROOTS, "true");
+    }
+
+    /**
+     * @param inputName one of the {@link io.cloudslang.content.database.constants.DBInputNames}
+     */
+    public SQLActionInputs with(String inputName, String value) {
+        inputs.put(inputName, value);
+        return this;
+    }
+
+    public Map<String, String> executeQuery(GlobalSessionObject<Map<String, Object>> globalSessionObject) {
+        return new SQLQuery().execute(get(DB_SERVER_NAME), get(DB_TYPE), get(USERNAME), get(PASSWORD), get(INSTANCE), get(DB_PORT),
+                get(DATABASE_NAME), get(AUTHENTICATION_TYPE), get(DB_CLASS), get(DB_URL), get(COMMAND), get(TRUST_ALL_ROOTS),
+                get(TRUST_STORE), get(TRUST_STORE_PASSWORD), get(AUTH_LIBRARY_PATH), get(DELIMITER), get(KEY), get(TIMEOUT),
+                get(DATABASE_POOLING_PROPERTIES), get(RESULT_SET_TYPE), get(RESULT_SET_CONCURRENCY), get(IGNORE_CASE),
+                get(USE_CURSOR), get(FETCH_SIZE), get(CURSOR_IDLE_TIMEOUT), get(BIND_PARAMETERS), get(BIND_PARAMETERS_DELIMITER),
+                get(QUERY_HANDLE), globalSessionObject);
+    }
+
+    public Map<String, String> executeLOB(GlobalSessionObject<Map<String, Object>> globalSessionObject) {
+        return new SQLQueryLOB().execute(get(DB_SERVER_NAME), get(DB_TYPE), get(USERNAME), get(PASSWORD), get(INSTANCE), get(DB_PORT),
+                get(DATABASE_NAME), get(AUTHENTICATION_TYPE), get(DB_CLASS), get(DB_URL), get(COMMAND), get(TRUST_ALL_ROOTS),
+                get(TRUST_STORE), get(TRUST_STORE_PASSWORD), get(AUTH_LIBRARY_PATH), get(DELIMITER), get(KEY), get(TIMEOUT),
+                get(DATABASE_POOLING_PROPERTIES), get(RESULT_SET_TYPE), get(RESULT_SET_CONCURRENCY), get(LOB_DESTINATION_DIRECTORY),
+                get(QUERY_HANDLE), globalSessionObject);
+    }
+
+    public Map<String, String> executeAllRows() {
+        return new SQLQueryAllRows().execute(get(DB_SERVER_NAME), get(DB_TYPE), get(USERNAME), get(PASSWORD), get(INSTANCE), get(DB_PORT),
+                get(DATABASE_NAME), get(AUTHENTICATION_TYPE), get(DB_CLASS), get(DB_URL), get(COMMAND), get(TRUST_ALL_ROOTS),
+                get(TRUST_STORE), get(TRUST_STORE_PASSWORD), get(AUTH_LIBRARY_PATH), get(COL_DELIMITER), get(ROW_DELIMITER), get(TIMEOUT),
+                get(DATABASE_POOLING_PROPERTIES), get(RESULT_SET_TYPE), get(RESULT_SET_CONCURRENCY), get(DESTINATION_FILE),
+                get(EXPORT_FORMAT), get(FETCH_SIZE), get(RESULT_CACHE_TTL), get(RESULT_CACHE_MAX_ENTRIES), get(RESULT_CACHE_MAX_BYTES));
+    }
+
+    public Map<String, String> executeTabular() {
+        return new SQLQueryTabular().execute(get(DB_SERVER_NAME), get(DB_TYPE), get(USERNAME), get(PASSWORD), get(INSTANCE), get(DB_PORT),
+                get(DATABASE_NAME), get(AUTHENTICATION_TYPE), get(DB_CLASS), get(DB_URL), get(COMMAND), get(TRUST_ALL_ROOTS),
+                get(TRUST_STORE), get(TRUST_STORE_PASSWORD), get(AUTH_LIBRARY_PATH), get(TIMEOUT), get(DATABASE_POOLING_PROPERTIES),
+                get(RESULT_SET_TYPE), get(RESULT_SET_CONCURRENCY), get(DESTINATION_FILE), get(EXPORT_FORMAT), get(FETCH_SIZE),
+                get(RESULT_CACHE_TTL), get(RESULT_CACHE_MAX_ENTRIES), get(RESULT_CACHE_MAX_BYTES));
+    }
+
+    public Map<String, String> executeMultipleDatabases() {
+        return new SQLQueryMultipleDatabases().execute(get(TARGETS), get(DB_SERVER_NAME), get(DB_TYPE), get(USERNAME), get(PASSWORD),
+                get(INSTANCE), get(DB_PORT), get(DATABASE_NAME), get(AUTHENTICATION_TYPE), get(DB_CLASS), get(DB_URL), get(COMMAND),
+                get(TRUST_ALL_ROOTS), get(TRUST_STORE), get(TRUST_STORE_PASSWORD), get(AUTH_LIBRARY_PATH), get(COL_DELIMITER),
+                get(ROW_DELIMITER), get(TIMEOUT), get(DATABASE_POOLING_PROPERTIES), get(RESULT_SET_TYPE), get(RESULT_SET_CONCURRENCY),
+                get(MAX_PARALLELISM));
+    }
+
+    public Map<String, String> executeBulkInsert() {
+        return new SQLBulkInsert().execute(get(DB_SERVER_NAME), get(DB_TYPE), get(USERNAME), get(PASSWORD), get(INSTANCE), get(DB_PORT),
+                get(DATABASE_NAME), get(AUTHENTICATION_TYPE), get(DB_CLASS), get(DB_URL), get(COMMAND), get(ROWS), get(ROWS_FILE_NAME),
+                get(ROWS_FORMAT), get(COLUMN_TYPES), get(COL_DELIMITER), get(BATCH_SIZE), get(COMMIT_INTERVAL), get(TRUST_ALL_ROOTS),
+                get(TRUST_STORE), get(TRUST_STORE_PASSWORD), get(AUTH_LIBRARY_PATH), get(TIMEOUT), get(DATABASE_POOLING_PROPERTIES));
+    }
+
+    private String get(String inputName) {
+        final String value = inputs.get(inputName);
+        return value != null ? value : EMPTY;
+    }
+}
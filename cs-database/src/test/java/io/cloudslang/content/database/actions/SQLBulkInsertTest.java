@@ -0,0 +1,142 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import io.cloudslang.content.database.H2Database;
+import io.cloudslang.content.database.SQLActionInputs;
+import io.cloudslang.content.database.utils.SQLRowWriter;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBInputNames.BATCH_SIZE;
+import static io.cloudslang.content.database.constants.DBInputNames.COLUMN_TYPES;
+import static io.cloudslang.content.database.constants.DBInputNames.COMMAND;
+import static io.cloudslang.content.database.constants.DBInputNames.COMMIT_INTERVAL;
+import static io.cloudslang.content.database.constants.DBInputNames.ROWS;
+import static io.cloudslang.content.database.constants.DBInputNames.ROWS_FILE_NAME;
+import static io.cloudslang.content.database.constants.DBInputNames.ROWS_FORMAT;
+import static io.cloudslang.content.database.constants.DBOutputNames.BATCH_UPDATE_COUNTS;
+import static io.cloudslang.content.database.constants.DBOutputNames.UPDATE_COUNT;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SQLBulkInsertTest {
+    @Rule
+    public H2Database database = new H2Database("sqlBulkInsert",
+            "CREATE TABLE people (id INT PRIMARY KEY, name VARCHAR(20), born DATE)");
+
+    @Test
+    public void executeCsvRowsInBatches() throws Exception {
+        final String rows = "1,John,1980-05-01\n2,Jane,\n3,O'Brien,1990-01-31\n4,Ann,2000-12-24\n5,Bob,1970-07-07";
+
+        final Map<String, String> result = inputs(rows, "csv")
+                .with(BATCH_SIZE, "2")
+                .with(COMMIT_INTERVAL, "0")
+                .executeBulkInsert();
+
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(UPDATE_COUNT), is("5"));
+        assertThat(result.get(BATCH_UPDATE_COUNTS), is("2,2,1"));
+        assertThat(database.queryInt("SELECT COUNT(*) FROM people"), is(5));
+        assertThat(database.queryInt("SELECT COUNT(*) FROM people WHERE born IS NULL"), is(1));
+    }
+
+    @Test
+    public void executeCsvRowsWrittenBySQLRowWriter() throws Exception {
+        database.execute("CREATE TABLE notes (id INT, note VARCHAR(20))");
+        database.execute("INSERT INTO notes VALUES (1, 'Smith, John'), (2, 'say \"\"hi\"\"'), " +
+                "(3, 'two' || CHAR(13) || CHAR(10) || 'lines'), (4, 'a' || CHAR(10) || 'b,\"c\"')");
+        final StringWriter output = new StringWriter();
+        try (final Connection connection = database.newConnection();
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery("SELECT id, note FROM notes ORDER BY id");
+             final SQLRowWriter rowWriter = SQLRowWriter.csv(output, ",")) {
+            rowWriter.write(resultSet, false);
+        }
+        final String csv = output.toString();
+
+        final Map<String, String> result = inputs(csv.substring(csv.indexOf('\n') + 1), "csv")
+                .with(COMMAND, "INSERT INTO people (id, name) VALUES (?, ?)")
+                .with(COLUMN_TYPES, "int,string")
+                .executeBulkInsert();
+
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(UPDATE_COUNT), is("4"));
+        assertThat(database.queryInt("SELECT COUNT(*) FROM people p JOIN notes n ON p.id = n.id AND p.name = n.note"), is(4));
+    }
+
+    @Test
+    public void executeJsonRows() throws Exception {
+        final String rows = "[[1, \"John\", \"1980-05-01\"], {\"id\": 2, \"name\": \"Jane\", \"born\": null}]";
+
+        final Map<String, String> result = inputs(rows, "json").executeBulkInsert();
+
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(UPDATE_COUNT), is("2"));
+        assertThat(result.get(BATCH_UPDATE_COUNTS), is("2"));
+        assertThat(database.queryInt("SELECT COUNT(*) FROM people WHERE born IS NULL"), is(1));
+    }
+
+    @Test
+    public void executeKeepsTheCommittedBatchesOnFailure() throws Exception {
+        final String rows = "1,John,1980-05-01\n2,Jane,1981-05-01\n3,Ann,not a date";
+
+        final Map<String, String> result = inputs(rows, "csv")
+                .with(BATCH_SIZE, "1")
+                .with(COMMIT_INTERVAL, "1")
+                .executeBulkInsert();
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), containsString("Row 3: the value \"not a date\" of column 3"));
+        assertThat(database.queryInt("SELECT COUNT(*) FROM people"), is(2));
+    }
+
+    @Test
+    public void executeFailValidation() {
+        final Map<String, String> result = inputs("1,a", "xml")
+                .with(ROWS_FILE_NAME, "rows.csv")
+                .with(COLUMN_TYPES, "int,blob")
+                .with(BATCH_SIZE, "-1")
+                .executeBulkInsert();
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), is("Only one of the rows and rowsFileName can be specified\n" +
+                "rowsFormat must be 'csv' or 'json'\n" +
+                "The bind parameter type \"blob\" is not valid, valid types are: " +
+                "[string, varchar, int, integer, long, bigint, double, decimal, numeric, boolean, date, time, timestamp]\n" +
+                "batchSize has to be an integer greater than or equal to zero!"));
+    }
+
+    private SQLActionInputs inputs(String rows, String rowsFormat) {
+        return database.inputs()
+                .with(COMMAND, "INSERT INTO people (id, name, born) VALUES (?, ?, ?)")
+                .with(ROWS, rows)
+                .with(ROWS_FORMAT, rowsFormat)
+                .with(COLUMN_TYPES, "int,string,date");
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.database.H2Database;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static io.cloudslang.content.constants.BooleanValues.TRUE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBInputNames.COMMAND;
+import static io.cloudslang.content.database.constants.DBInputNames.DELIMITER;
+import static io.cloudslang.content.database.constants.DBInputNames.FETCH_SIZE;
+import static io.cloudslang.content.database.constants.DBInputNames.KEY;
+import static io.cloudslang.content.database.constants.DBInputNames.USE_CURSOR;
+import static io.cloudslang.content.database.constants.DBOutputNames.COLUMN_NAMES;
+import static io.cloudslang.content.database.constants.DBOutputNames.ROWS_LEFT;
+import static io.cloudslang.content.database.constants.DBReturnCodes.NO_MORE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class SQLQueryCursorTest {
+    @Rule
+    public H2Database database = new H2Database("sqlQueryCursor",
+            "CREATE TABLE items (id INT, name VARCHAR(20))",
+            "INSERT INTO items VALUES (1, 'item1'), (2, 'item2'), (3, 'item3'), (4, 'item4'), (5, 'item5')");
+
+    @Test
+    public void executeReadsRowsInPages() {
+        final GlobalSessionObject<Map<String, Object>> globalSessionObject = new GlobalSessionObject<>();
+        final String[] expectedRowsLeft = {"1", "0", "1", "0", "0"};
+
+        for (int i = 1; i <= 5; i++) {
+            final Map<String, String> result = execute(globalSessionObject);
+            assertThat(result.get(RETURN_CODE), is(SUCCESS));
+            assertThat(result.get(RETURN_RESULT), is(i + ",item" + i));
+            assertThat(result.get(COLUMN_NAMES), is("ID,NAME"));
+            assertThat(result.get(ROWS_LEFT), is(expectedRowsLeft[i - 1]));
+        }
+
+        final Map<String, String> result = execute(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(NO_MORE));
+        assertTrue(globalSessionObject.get().isEmpty());
+    }
+
+    private Map<String, String> execute(GlobalSessionObject<Map<String, Object>> globalSessionObject) {
+        return database.inputs()
+                .with(COMMAND, "SELECT id, name FROM items ORDER BY id")
+                .with(DELIMITER, ",")
+                .with(KEY, "cursorKey")
+                .with(USE_CURSOR, TRUE)
+                .with(FETCH_SIZE, "2")
+                .executeQuery(globalSessionObject);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import io.cloudslang.content.database.FailingValueDriver;
+import io.cloudslang.content.database.H2Database;
+import io.cloudslang.content.database.SQLActionInputs;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.FailingValueDriver.FAILING_VALUE;
+import static io.cloudslang.content.database.FailingValueDriver.failingUrl;
+import static io.cloudslang.content.database.constants.DBInputNames.COL_DELIMITER;
+import static io.cloudslang.content.database.constants.DBInputNames.COMMAND;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_CLASS;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_URL;
+import static io.cloudslang.content.database.constants.DBInputNames.DESTINATION_FILE;
+import static io.cloudslang.content.database.constants.DBInputNames.EXPORT_FORMAT;
+import static io.cloudslang.content.database.constants.DBInputNames.FETCH_SIZE;
+import static io.cloudslang.content.database.constants.DBOutputNames.ROW_COUNT;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+public class SQLQueryExportTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public H2Database database = new H2Database("sqlQueryExport",
+            "CREATE TABLE people (id INT PRIMARY KEY, name VARCHAR(20))",
+            "INSERT INTO people VALUES (1, 'John'), (2, 'Doe; Jane'), (3, NULL)");
+
+    @Test
+    public void executeAllRowsToCsvFile() throws Exception {
+        final File destination = new File(folder.getRoot(), "people.csv");
+
+        final Map<String, String> result = inputs(destination)
+                .with(COL_DELIMITER, ";")
+                .with(FETCH_SIZE, "2")
+                .executeAllRows();
+
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(RETURN_RESULT), is(destination.getPath()));
+        assertThat(result.get(ROW_COUNT), is("3"));
+        assertThat(read(destination), is("ID;NAME\n1;John\n2;\"Doe; Jane\"\n3;\n"));
+    }
+
+    @Test
+    public void executeTabularToJsonLinesFile() throws Exception {
+        final File destination = new File(folder.getRoot(), "people.jsonl");
+
+        final Map<String, String> result = inputs(destination)
+                .with(EXPORT_FORMAT, "jsonl")
+                .executeTabular();
+
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(ROW_COUNT), is("3"));
+        assertThat(read(destination), is("{\"ID\":\"1\",\"NAME\":\"John\"}\n" +
+                "{\"ID\":\"2\",\"NAME\":\"Doe; Jane\"}\n" +
+                "{\"ID\":\"3\",\"NAME\":null}\n"));
+    }
+
+    @Test
+    public void executeKeepsTheExistingFileWhenTheQueryFails() throws Exception {
+        final File destination = folder.newFile("people.csv");
+        Files.write(destination.toPath(), "previous export".getBytes(StandardCharsets.UTF_8));
+
+        final Map<String, String> result = inputs(destination)
+                .with(COMMAND, "SELECT * FROM missing")
+                .executeAllRows();
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(read(destination), is("previous export"));
+        assertArrayEquals(new String[]{"people.csv"}, folder.getRoot().list());
+    }
+
+    @Test
+    public void executeKeepsTheExistingFileWhenReadingTheRowsFails() throws Exception {
+        database.execute("INSERT INTO people VALUES (4, '" + FAILING_VALUE + "')");
+        final File destination = folder.newFile("people.csv");
+        Files.write(destination.toPath(), "previous export".getBytes(StandardCharsets.UTF_8));
+
+        final Map<String, String> result = inputs(destination)
+                .with(DB_CLASS, FailingValueDriver.class.getName())
+                .with(DB_URL, failingUrl(database.getUrl()))
+                .with(FETCH_SIZE, "1")
+                .executeAllRows();
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), containsString("Failed to read the value"));
+        assertThat(read(destination), is("previous export"));
+        assertArrayEquals(new String[]{"people.csv"}, folder.getRoot().list());
+    }
+
+    @Test
+    public void executeFailValidation() {
+        final Map<String, String> result = database.inputs()
+                .with(COMMAND, "SELECT id, name FROM people ORDER BY id")
+                .with(DESTINATION_FILE, "people.xml")
+                .with(EXPORT_FORMAT, "xml")
+                .with(FETCH_SIZE, "0")
+                .executeTabular();
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), is("exportFormat must be 'csv' or 'jsonl'\nfetchSize has to be a positive integer!"));
+    }
+
+    private SQLActionInputs inputs(File destination) {
+        return database.inputs()
+                .with(COMMAND, "SELECT id, name FROM people ORDER BY id")
+                .with(DESTINATION_FILE, destination.getPath());
+    }
+
+    private String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.database.H2Database;
+import io.cloudslang.content.database.SQLActionInputs;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.cloudslang.content.constants.BooleanValues.FALSE;
+import static io.cloudslang.content.constants.BooleanValues.TRUE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_QUERY_HANDLE;
+import static io.cloudslang.content.database.constants.DBInputNames.COMMAND;
+import static io.cloudslang.content.database.constants.DBInputNames.DELIMITER;
+import static io.cloudslang.content.database.constants.DBInputNames.KEY;
+import static io.cloudslang.content.database.constants.DBInputNames.PASSWORD;
+import static io.cloudslang.content.database.constants.DBInputNames.QUERY_HANDLE;
+import static io.cloudslang.content.database.constants.DBInputNames.USE_CURSOR;
+import static io.cloudslang.content.database.constants.DBReturnCodes.NO_MORE;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class SQLQueryHandleTest {
+    @Rule
+    public H2Database database = new H2Database("sqlQueryHandle",
+            "CREATE TABLE items (id INT, name VARCHAR(20))",
+            "INSERT INTO items VALUES (1, 'item1'), (2, 'item2')");
+
+    private final GlobalSessionObject<Map<String, Object>> globalSessionObject = new GlobalSessionObject<>();
+
+    @Test
+    public void executeReadsTheNextRowsByHandle() {
+        assertReadsTheNextRowsByHandle(FALSE);
+    }
+
+    @Test
+    public void executeWithCursorReadsTheNextRowsByHandle() {
+        assertReadsTheNextRowsByHandle(TRUE);
+    }
+
+    @Test
+    public void executeLOBReadsTheNextRowsByHandle() {
+        Map<String, String> result = inputs().executeLOB(globalSessionObject);
+        assertThat(result.get(RETURN_RESULT), is("1,item1"));
+        final String queryHandle = result.get(QUERY_HANDLE);
+
+        result = handleOnly(queryHandle).executeLOB(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(RETURN_RESULT), is("2,item2"));
+        assertThat(result.get(QUERY_HANDLE), is(queryHandle));
+
+        result = handleOnly(queryHandle).executeLOB(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(NO_MORE));
+    }
+
+    @Test
+    public void executeWithUnknownHandle() {
+        final Map<String, String> result = handleOnly(UUID.randomUUID().toString()).executeQuery(globalSessionObject);
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), is(INVALID_QUERY_HANDLE));
+    }
+
+    @Test
+    public void executeWithAnotherSessionKeyAsHandle() {
+        final String queryHandle = inputs().executeQuery(globalSessionObject).get(QUERY_HANDLE);
+
+        for (String sessionKey : new ArrayList<>(globalSessionObject.get().keySet())) {
+            if (!sessionKey.equals(queryHandle)) {
+                final Map<String, String> result = handleOnly(sessionKey).executeQuery(globalSessionObject);
+                assertThat(result.get(RETURN_RESULT), is(INVALID_QUERY_HANDLE));
+            }
+        }
+    }
+
+    @Test
+    public void executeWithOtherPasswordDoesNotContinueTheQuery() {
+        final Map<String, String> first = inputs().executeQuery(globalSessionObject);
+        assertThat(first.get(RETURN_RESULT), is("1,item1"));
+
+        final Map<String, String> result = inputs()
+                .with(PASSWORD, "wrong")
+                .executeQuery(globalSessionObject);
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), not("2,item2"));
+    }
+
+    private void assertReadsTheNextRowsByHandle(String useCursor) {
+        Map<String, String> result = inputs()
+                .with(USE_CURSOR, useCursor)
+                .executeQuery(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(RETURN_RESULT), is("1,item1"));
+        final String queryHandle = result.get(QUERY_HANDLE);
+        assertThat(UUID.fromString(queryHandle).toString(), is(queryHandle));
+
+        result = handleOnly(queryHandle).executeQuery(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(RETURN_RESULT), is("2,item2"));
+        assertThat(result.get(QUERY_HANDLE), is(queryHandle));
+
+        result = handleOnly(queryHandle).executeQuery(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(NO_MORE));
+    }
+
+    private SQLActionInputs inputs() {
+        return database.inputs()
+                .with(COMMAND, "SELECT id, name FROM items ORDER BY id")
+                .with(DELIMITER, ",")
+                .with(KEY, "handleKey");
+    }
+
+    //a call passing the handle is neither validated nor connected, the connection inputs are not needed
+    private SQLActionInputs handleOnly(String queryHandle) {
+        return database.inputs()
+                .with(PASSWORD, EMPTY)
+                .with(QUERY_HANDLE, queryHandle);
+    }
+}
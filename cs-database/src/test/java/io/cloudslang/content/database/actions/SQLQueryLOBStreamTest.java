@@ -0,0 +1,117 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.database.H2Database;
+import io.cloudslang.content.database.SQLActionInputs;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBInputNames.COMMAND;
+import static io.cloudslang.content.database.constants.DBInputNames.DELIMITER;
+import static io.cloudslang.content.database.constants.DBInputNames.KEY;
+import static io.cloudslang.content.database.constants.DBInputNames.LOB_DESTINATION_DIRECTORY;
+import static io.cloudslang.content.database.constants.DBInputNames.QUERY_HANDLE;
+import static io.cloudslang.content.database.constants.DBReturnCodes.NO_MORE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+public class SQLQueryLOBStreamTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Rule
+    public H2Database database = new H2Database("sqlQueryLobStream",
+            "CREATE TABLE documents (id INT, title VARCHAR(20), body CLOB, content BLOB)",
+            "INSERT INTO documents VALUES (1, 'first', 'first body', X'0102'), (2, NULL, NULL, X'FF')");
+
+    @Test
+    public void executeStreamsLobsToDestinationDirectory() throws Exception {
+        final GlobalSessionObject<Map<String, Object>> globalSessionObject = new GlobalSessionObject<>();
+
+        Map<String, String> result = inputs("SELECT id, title, body, content FROM documents ORDER BY id").executeLOB(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        final String[] firstRow = result.get(RETURN_RESULT).split(",");
+        assertThat(firstRow[0], is("1"));
+        assertThat(firstRow[1], is("first"));
+        final File bodyFile = new File(firstRow[2]);
+        final File contentFile = new File(firstRow[3]);
+        final File queryDirectory = bodyFile.getParentFile();
+        assertThat(queryDirectory.getParentFile(), is(lobDirectory()));
+        assertThat(bodyFile.getName(), is("row1_col3_BODY.txt"));
+        assertThat(contentFile, is(new File(queryDirectory, "row1_col4_CONTENT.bin")));
+        assertThat(FileUtils.readFileToString(bodyFile, StandardCharsets.UTF_8), is("first body"));
+        assertArrayEquals(new byte[]{1, 2}, FileUtils.readFileToByteArray(contentFile));
+
+        result = inputs("").with(QUERY_HANDLE, result.get(QUERY_HANDLE)).executeLOB(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        //null values are empty, LOB or not
+        assertThat(result.get(RETURN_RESULT), is("2,,," + new File(queryDirectory, "row2_col4_CONTENT.bin").getAbsolutePath()));
+        assertThat(new File(queryDirectory, "row2_col3_BODY.txt").exists(), is(false));
+
+        result = inputs("").with(QUERY_HANDLE, result.get(QUERY_HANDLE)).executeLOB(globalSessionObject);
+        assertThat(result.get(RETURN_CODE), is(NO_MORE));
+    }
+
+    @Test
+    public void executeKeepsTheFilesOfColumnsWithTheSameLabel() throws Exception {
+        final Map<String, String> result = inputs("SELECT body AS doc, CAST(CONCAT(body, ' copy') AS CLOB) AS doc FROM documents WHERE id = 1")
+                .executeLOB(new GlobalSessionObject<Map<String, Object>>());
+
+        final String[] files = result.get(RETURN_RESULT).split(",");
+        assertThat(files[0], not(files[1]));
+        assertThat(FileUtils.readFileToString(new File(files[0]), StandardCharsets.UTF_8), is("first body"));
+        assertThat(FileUtils.readFileToString(new File(files[1]), StandardCharsets.UTF_8), is("first body copy"));
+    }
+
+    @Test
+    public void executeKeepsTheFilesOfEarlierRuns() throws Exception {
+        final String query = "SELECT body FROM documents WHERE id = 1";
+        final Map<String, String> first = inputs(query).executeLOB(new GlobalSessionObject<Map<String, Object>>());
+        database.execute("UPDATE documents SET body = 'second body' WHERE id = 1");
+
+        final Map<String, String> second = inputs(query).executeLOB(new GlobalSessionObject<Map<String, Object>>());
+
+        assertThat(first.get(RETURN_RESULT), not(second.get(RETURN_RESULT)));
+        assertThat(FileUtils.readFileToString(new File(first.get(RETURN_RESULT)), StandardCharsets.UTF_8), is("first body"));
+        assertThat(FileUtils.readFileToString(new File(second.get(RETURN_RESULT)), StandardCharsets.UTF_8), is("second body"));
+    }
+
+    private SQLActionInputs inputs(String command) {
+        return database.inputs()
+                .with(COMMAND, command)
+                .with(DELIMITER, ",")
+                .with(KEY, "lobKey")
+                .with(LOB_DESTINATION_DIRECTORY, lobDirectory().getAbsolutePath());
+    }
+
+    private File lobDirectory() {
+        return new File(temporaryFolder.getRoot(), "lobs");
+    }
+}
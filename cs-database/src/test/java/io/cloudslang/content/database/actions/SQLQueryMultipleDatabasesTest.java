@@ -0,0 +1,99 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cloudslang.content.database.H2Database;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBExceptionValues.DUPLICATE_TARGET_NAME;
+import static io.cloudslang.content.database.constants.DBExceptionValues.INVALID_TARGETS;
+import static io.cloudslang.content.database.constants.DBInputNames.COMMAND;
+import static io.cloudslang.content.database.constants.DBInputNames.DB_URL;
+import static io.cloudslang.content.database.constants.DBInputNames.MAX_PARALLELISM;
+import static io.cloudslang.content.database.constants.DBInputNames.TARGETS;
+import static io.cloudslang.content.database.constants.DBOutputNames.FAILURE_COUNT;
+import static io.cloudslang.content.database.constants.DBOutputNames.SUCCESS_COUNT;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SQLQueryMultipleDatabasesTest {
+    @Rule
+    public H2Database euDatabase = new H2Database("fanOutEu",
+            "CREATE TABLE items (id INT, name VARCHAR(20))",
+            "INSERT INTO items VALUES (1, 'eu1'), (2, 'eu2')");
+
+    @Rule
+    public H2Database usDatabase = new H2Database("fanOutUs",
+            "CREATE TABLE items (id INT, name VARCHAR(20))",
+            "INSERT INTO items VALUES (1, 'us1')");
+
+    @Test
+    public void executeQueriesEveryTarget() throws Exception {
+        final Map<String, String> result = execute("[{\"name\": \"eu\", \"dbURL\": \"" + euDatabase.getUrl() + "\"}, " +
+                "{\"name\": \"us\", \"dbURL\": \"" + usDatabase.getUrl() + "\"}, " +
+                "{\"name\": \"empty\", \"dbURL\": \"jdbc:h2:mem:fanOutEmpty\"}, " +
+                "{\"name\": \"invalid\", \"dbURL\": \"" + usDatabase.getUrl() + "\", \"dbServerName\": \"\"}]");
+
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(SUCCESS_COUNT), is("2"));
+        assertThat(result.get(FAILURE_COUNT), is("2"));
+        final JsonNode targets = new ObjectMapper().readTree(result.get(RETURN_RESULT));
+        assertThat(targets.size(), is(4));
+        assertThat(targets.get("eu").get(RETURN_CODE).asText(), is(SUCCESS));
+        assertThat(targets.get("eu").get(RETURN_RESULT).asText(), is("1,eu1\n2,eu2"));
+        assertThat(targets.get("us").get(RETURN_RESULT).asText(), is("1,us1"));
+        assertThat(targets.get("empty").get(RETURN_CODE).asText(), is(FAILURE));
+        assertThat(targets.get("invalid").get(RETURN_CODE).asText(), is(FAILURE));
+        assertThat(targets.get("invalid").get(RETURN_RESULT).asText(), is("dbServerName can't be empty"));
+    }
+
+    @Test
+    public void executeWithDuplicateTargetNames() {
+        final Map<String, String> result = execute("[{\"dbURL\": \"" + euDatabase.getUrl() + "\"}, {\"dbURL\": \"" + euDatabase.getUrl() + "\"}]");
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), is(String.format(DUPLICATE_TARGET_NAME, euDatabase.getUrl())));
+    }
+
+    @Test
+    public void executeWithInvalidTargets() {
+        final Map<String, String> result = execute("[[\"" + euDatabase.getUrl() + "\"]]");
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), is(INVALID_TARGETS));
+    }
+
+    //the targets set the database urls, there is no default url
+    private Map<String, String> execute(String targets) {
+        return euDatabase.inputs()
+                .with(TARGETS, targets)
+                .with(DB_URL, EMPTY)
+                .with(COMMAND, "SELECT id, name FROM items ORDER BY id")
+                .with(MAX_PARALLELISM, "2")
+                .executeMultipleDatabases();
+    }
+}
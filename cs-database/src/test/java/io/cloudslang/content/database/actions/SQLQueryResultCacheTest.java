@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.actions;
+
+import io.cloudslang.content.database.H2Database;
+import io.cloudslang.content.database.SQLActionInputs;
+import io.cloudslang.content.database.utils.SQLResultCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ReturnCodes.FAILURE;
+import static io.cloudslang.content.constants.ReturnCodes.SUCCESS;
+import static io.cloudslang.content.database.constants.DBInputNames.COMMAND;
+import static io.cloudslang.content.database.constants.DBInputNames.RESULT_CACHE_MAX_BYTES;
+import static io.cloudslang.content.database.constants.DBInputNames.RESULT_CACHE_MAX_ENTRIES;
+import static io.cloudslang.content.database.constants.DBInputNames.RESULT_CACHE_TTL;
+import static io.cloudslang.content.database.constants.DBOutputNames.CACHE_HIT;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SQLQueryResultCacheTest {
+    @Rule
+    public H2Database database = new H2Database("sqlQueryResultCache",
+            "CREATE TABLE hosts (id INT PRIMARY KEY, name VARCHAR(20))",
+            "INSERT INTO hosts VALUES (1, 'host1')");
+
+    @Before
+    public void setUp() {
+        SQLResultCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        SQLResultCache.getInstance().clear();
+    }
+
+    @Test
+    public void executeAllRowsServesTheCachedResult() throws Exception {
+        Map<String, String> result = inputs("60").executeAllRows();
+        assertThat(result.get(RETURN_CODE), is(SUCCESS));
+        assertThat(result.get(RETURN_RESULT), is("1,host1"));
+        assertThat(result.get(CACHE_HIT), is("false"));
+
+        addHost();
+
+        result = inputs("60").executeAllRows();
+        assertThat(result.get(RETURN_RESULT), is("1,host1"));
+        assertThat(result.get(CACHE_HIT), is("true"));
+
+        result = inputs(EMPTY).executeAllRows();
+        assertThat(result.get(RETURN_RESULT), is("1,host1\n2,host2"));
+        assertThat(result.get(CACHE_HIT), is("false"));
+    }
+
+    @Test
+    public void executeTabularServesTheCachedResult() throws Exception {
+        final String tabularResult = inputs("60").executeTabular().get(RETURN_RESULT);
+        addHost();
+
+        final Map<String, String> result = inputs("60").executeTabular();
+        assertThat(result.get(RETURN_RESULT), is(tabularResult));
+        assertThat(result.get(CACHE_HIT), is("true"));
+        assertThat(inputs("60").executeAllRows().get(CACHE_HIT), is("false"));
+    }
+
+    @Test
+    public void executeFailValidation() {
+        final Map<String, String> result = inputs("-1")
+                .with(RESULT_CACHE_MAX_ENTRIES, "0")
+                .with(RESULT_CACHE_MAX_BYTES, "0")
+                .executeAllRows();
+
+        assertThat(result.get(RETURN_CODE), is(FAILURE));
+        assertThat(result.get(RETURN_RESULT), is("resultCacheTtl has to be an integer greater than or equal to zero!\n" +
+                "resultCacheMaxEntries has to be a positive integer!\nresultCacheMaxBytes has to be a positive integer!"));
+    }
+
+    private SQLActionInputs inputs(String resultCacheTtl) {
+        return database.inputs()
+                .with(COMMAND, "SELECT id, name FROM hosts ORDER BY id")
+                .with(RESULT_CACHE_TTL, resultCacheTtl);
+    }
+
+    private void addHost() throws Exception {
+        database.execute("INSERT INTO hosts VALUES (2, 'host2')");
+    }
+}
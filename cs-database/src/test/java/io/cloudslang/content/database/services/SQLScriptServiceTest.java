@@ -32,14 +32,18 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 
 import static io.cloudslang.content.database.constants.DBOtherValues.ORACLE_DB_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
@@ -123,6 +127,41 @@ public class SQLScriptServiceTest {
         verify(statementMock, Mockito.times(0)).execute(SQL_COMMAND);
     }
 
+    @Test
+    public void testExecuteSqlScriptInBatches() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setTimeout(QUYERY_TIMEOUT);
+        sqlInputs.setBatchSize(2);
+        sqlInputs.setCommitInterval(2);
+        for (int i = 0; i < 4; i++) {
+            lines.add(SQL_COMMAND);
+        }
+
+        SQLScriptService.executeSqlScript(lines, sqlInputs);
+
+        verify(statementMock, Mockito.times(5)).addBatch(SQL_COMMAND);
+        verify(statementMock, Mockito.times(3)).executeBatch();
+        verify(connectionMock, Mockito.times(2)).commit();
+        assertEquals(9, sqlInputs.getIUpdateCount());
+        assertEquals(Arrays.asList(3, 3, 3), sqlInputs.getBatchUpdateCounts());
+    }
+
+    @Test
+    public void testExecuteSqlScriptBatchFailureRollsBack() throws Exception {
+        sqlInputs.setDbType(ORACLE_DB_TYPE);
+        sqlInputs.setBatchSize(1);
+        lines.add(SQL_COMMAND);
+        when(statementMock.executeBatch()).thenReturn(new int[]{1}).thenThrow(new BatchUpdateException());
+
+        try {
+            SQLScriptService.executeSqlScript(lines, sqlInputs);
+            fail();
+        } catch (BatchUpdateException e) {
+            verify(connectionMock, Mockito.times(1)).rollback();
+            verify(connectionMock, Mockito.times(0)).commit();
+        }
+    }
+
     @Test
     public void testExecuteSqlScriptNullLines() throws Exception {
         expectedEx.expect(Exception.class);
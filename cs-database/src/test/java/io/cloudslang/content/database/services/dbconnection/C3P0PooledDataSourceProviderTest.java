@@ -22,17 +22,21 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import javax.sql.DataSource;
+import java.util.Map;
 import java.util.Properties;
 
 import static io.cloudslang.content.database.constants.DBInputNames.USERNAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest(DataSources.class)
@@ -81,4 +85,66 @@ public class C3P0PooledDataSourceProviderTest {
         DataSources.unpooledDataSource(anyString(), anyString(), anyString());
         DataSources.pooledDataSource(any(DataSource.class), anyMap());
     }
+
+    /**
+     * Test the prepared statement cache is enabled by default and can be configured.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testOpenPooledDataSourceStatementCache() throws Exception {
+        PowerMockito.mockStatic(DataSources.class);
+        ArgumentCaptor<Map> propertiesCaptor = ArgumentCaptor.forClass(Map.class);
+        Properties properties = new Properties();
+        properties.setProperty(PooledDataSourceProvider.CONNECTION_MAX_STATEMENTS_NAME, "200");
+
+        new C3P0PooledDataSourceProvider(properties).openPooledDataSource(DBConnectionManager.DBType.ORACLE
+                , "url", USERNAME, "password");
+
+        PowerMockito.verifyStatic();
+        DataSources.pooledDataSource(any(DataSource.class), propertiesCaptor.capture());
+        assertEquals("200", propertiesCaptor.getValue().get("maxStatements"));
+        assertEquals("50", propertiesCaptor.getValue().get("maxStatementsPerConnection"));
+    }
+
+    @Test
+    public void testOpenPooledDataSourceConnectionHealth() throws Exception {
+        PowerMockito.mockStatic(DataSources.class);
+        ArgumentCaptor<Map> propertiesCaptor = ArgumentCaptor.forClass(Map.class);
+        Properties properties = new Properties();
+        properties.setProperty(PooledDataSourceProvider.CONNECTION_TEST_PERIOD_NAME, "60");
+        properties.setProperty(PooledDataSourceProvider.CONNECTION_MAX_IDLETIME_NAME, "120");
+        properties.setProperty(PooledDataSourceProvider.CONNECTION_MAX_IDLETIME_EXCESS_NAME, "30");
+        properties.setProperty(PooledDataSourceProvider.CONNECTION_MAX_CONNECTION_AGE_NAME, "900");
+        properties.setProperty(PooledDataSourceProvider.MSSQL_CONNECTION_LIFETIME_NAME, "600");
+        properties.setProperty(PooledDataSourceProvider.CONNECTION_PREFERRED_TEST_QUERY_NAME, "SELECT 1 FROM DUAL");
+
+        C3P0PooledDataSourceProvider provider = new C3P0PooledDataSourceProvider(properties);
+        provider.openPooledDataSource(DBConnectionManager.DBType.ORACLE, "url", USERNAME, "password");
+        provider.openPooledDataSource(DBConnectionManager.DBType.MSSQL, "url", USERNAME, "password");
+
+        PowerMockito.verifyStatic(times(2));
+        DataSources.pooledDataSource(any(DataSource.class), propertiesCaptor.capture());
+        Map oracleProperties = propertiesCaptor.getAllValues().get(0);
+        assertEquals("60", oracleProperties.get("idleConnectionTestPeriod"));
+        assertEquals("120", oracleProperties.get("maxIdleTime"));
+        assertEquals("30", oracleProperties.get("maxIdleTimeExcessConnections"));
+        assertEquals("900", oracleProperties.get("maxConnectionAge"));
+        assertEquals("SELECT 1 FROM DUAL", oracleProperties.get("preferredTestQuery"));
+        assertEquals("600", propertiesCaptor.getAllValues().get(1).get("maxConnectionAge"));
+    }
+
+    @Test
+    public void testOpenPooledDataSourceWithoutTestQuery() throws Exception {
+        PowerMockito.mockStatic(DataSources.class);
+        ArgumentCaptor<Map> propertiesCaptor = ArgumentCaptor.forClass(Map.class);
+
+        new C3P0PooledDataSourceProvider(new Properties()).openPooledDataSource(DBConnectionManager.DBType.ORACLE
+                , "url", USERNAME, "password");
+
+        PowerMockito.verifyStatic();
+        DataSources.pooledDataSource(any(DataSource.class), propertiesCaptor.capture());
+        assertFalse(propertiesCaptor.getValue().containsKey("preferredTestQuery"));
+        assertEquals("7200", propertiesCaptor.getValue().get("maxConnectionAge"));
+    }
 }
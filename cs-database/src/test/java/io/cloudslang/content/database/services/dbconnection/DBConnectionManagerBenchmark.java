@@ -0,0 +1,102 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.services.dbconnection;
+
+import io.cloudslang.content.database.services.dbconnection.DBConnectionManager.DBType;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks out pooled connections to an in-memory H2 database from a growing number of threads, doubling them up to
+ * benchmark.threads, and prints the checkout throughput of each run. Not part of the regular build, run it with:
+ * <br>mvn test -Dtest=DBConnectionManagerBenchmark -Dbenchmark.threads=16 -Dbenchmark.checkouts=20000
+ */
+public class DBConnectionManagerBenchmark {
+    private static final int MAX_THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int CHECKOUTS_PER_THREAD = Integer.getInteger("benchmark.checkouts", 20000);
+    private static final String DB_URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+    private static final String USERNAME = "sa";
+    private static final String PASSWORD = "benchmark";
+
+    @Test
+    public void checkoutThroughput() throws Exception {
+        final Properties properties = new Properties();
+        properties.setProperty("db.pooling.enable", "true");
+        properties.setProperty(PooledDataSourceProvider.MAX_POOL_SIZE_NAME, String.valueOf(MAX_THREADS));
+        properties.setProperty(PooledDataSourceProvider.CONNECTION_TEST_ONCHECKOUT_NAME, "false");
+        final DBConnectionManager manager = DBConnectionManager.getInstance();
+        try {
+            //warm up the pool and the jit
+            runCheckouts(manager, properties, MAX_THREADS);
+            for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+                long start = System.nanoTime();
+                int checkouts = runCheckouts(manager, properties, threads);
+                long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1000000);
+
+                assertEquals(threads * CHECKOUTS_PER_THREAD, checkouts);
+                System.out.println(String.format("%d threads, %d checkouts in %d ms: %d checkouts/s",
+                        threads, checkouts, elapsedMillis, checkouts * 1000L / elapsedMillis));
+            }
+        } finally {
+            manager.shutdownDbmsPools();
+        }
+    }
+
+    private int runCheckouts(final DBConnectionManager manager, final Properties properties, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        int succeeded = 0;
+                        for (int j = 0; j < CHECKOUTS_PER_THREAD; j++) {
+                            try (Connection connection = manager.getConnection(DBType.CUSTOM, "", DB_URL, USERNAME, PASSWORD, properties);
+                                 Statement statement = connection.createStatement();
+                                 ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+                                if (resultSet.next()) {
+                                    succeeded++;
+                                }
+                            }
+                        }
+                        return succeeded;
+                    }
+                }));
+            }
+            int succeeded = 0;
+            for (Future<Integer> future : futures) {
+                succeeded += future.get();
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
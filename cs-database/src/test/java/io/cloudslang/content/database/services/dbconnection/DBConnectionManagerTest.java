@@ -35,8 +35,11 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -95,7 +98,7 @@ public class DBConnectionManagerTest {
         dbcManager = DBConnectionManager.getInstance();
         assertNotNull(dbcManager);
         assertEquals(false, dbcManager.isPoolingEnabled);
-        assertNull(dbcManager.dbmsPoolTable);
+        assertTrue(dbcManager.dbmsPoolTable.isEmpty());
     }
 
     /**
@@ -111,7 +114,7 @@ public class DBConnectionManagerTest {
         DBConnectionManager dbcManager = DBConnectionManager.getInstance();
         assertNotNull(dbcManager);
         assertFalse(dbcManager.isPoolingEnabled);
-        assertNull(dbcManager.dbmsPoolTable);
+        assertTrue(dbcManager.dbmsPoolTable.isEmpty());
     }
 
     /**
@@ -125,7 +128,7 @@ public class DBConnectionManagerTest {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         Connection connMock = mock(Connection.class);
         doReturn(connMock).when(dbcManagerSpy).getPooledConnection(any(DBType.class)
-                , any(String.class), any(String.class), any(String.class));
+                , any(String.class), any(String.class), any(String.class), any(Properties.class));
         dbcManagerSpy.getConnection(DBType.DB2, EMPTY_STRING, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties());
 
         doNothing().when(dbcManagerSpy).shutdownDbmsPools();
@@ -203,11 +206,11 @@ public class DBConnectionManagerTest {
         aDbType = DBType.MYSQL;
         Connection connMock = mock(Connection.class);
         doReturn(connMock).when(dbcManagerSpy).getPooledConnection(any(DBType.class)
-                , any(String.class), any(String.class), any(String.class));
+                , any(String.class), any(String.class), any(String.class), any(Properties.class));
 
         Connection connection = dbcManagerSpy.getConnection(aDbType, EMPTY_STRING, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties());
         verify(dbcManagerSpy, times(1)).getPooledConnection(any(DBType.class)
-                , any(String.class), any(String.class), any(String.class));
+                , any(String.class), any(String.class), any(String.class), any(Properties.class));
         assertEquals(connMock, connection);
     }
 
@@ -240,9 +243,9 @@ public class DBConnectionManagerTest {
     public void testCleanDataSources() throws SQLException {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         PooledDataSource dataSourceMock = mock(PooledDataSource.class);
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = getHashTableObject1(dataSourceMock);
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = getHashTableObject1(dataSourceMock);
 
-        Hashtable<String, PooledDataSourceProvider> providerTable = new Hashtable<>();
+        ConcurrentMap<String, PooledDataSourceProvider> providerTable = new ConcurrentHashMap<>();
         PooledDataSourceProvider dataSourceProviderMock = mock(PooledDataSourceProvider.class);
 
         doNothing().when(dataSourceProviderMock).closePooledDataSource(any(DataSource.class));
@@ -266,19 +269,19 @@ public class DBConnectionManagerTest {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         PooledDataSource dataSourceMock = mock(PooledDataSource.class);
         dbcManagerSpy.dbmsPoolTable = getHashTableObject1(dataSourceMock);
-        Hashtable<String, PooledDataSourceProvider> providerTable = new Hashtable<>();
+        ConcurrentMap<String, PooledDataSourceProvider> providerTable = new ConcurrentHashMap<>();
         PooledDataSourceProvider dataSourceProviderMock = mock(PooledDataSourceProvider.class);
         doNothing().when(dataSourceProviderMock).closePooledDataSource(any(DataSource.class));
         providerTable.put(C3P0PooledDataSourceProvider.C3P0_DATASOURCE_PROVIDER_NAME, dataSourceProviderMock);
         dbcManagerSpy.providerTable = providerTable;
         Connection connMock = mock(Connection.class);
         doReturn(connMock).when(dbcManagerSpy).getPooledConnection(any(DBType.class)
-                , any(String.class), any(String.class), any(String.class));
+                , any(String.class), any(String.class), any(String.class), any(Properties.class));
         dbcManagerSpy.getConnection(DBType.DB2, EMPTY_STRING, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties());
 
         dbcManagerSpy.shutdownDbmsPools();
         verify(dataSourceProviderMock, times(1)).closePooledDataSource(any(DataSource.class));
-        assertNull(dbcManagerSpy.dbmsPoolTable);
+        assertTrue(dbcManagerSpy.dbmsPoolTable.isEmpty());
     }
 
     /**
@@ -336,7 +339,7 @@ public class DBConnectionManagerTest {
         PowerMockito.mockStatic(TripleDES.class);
         Mockito.when(TripleDES.encryptPassword(any(String.class))).thenReturn(ENCRYPTED_PASS);
 
-        assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD));
+        assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties()));
         verify(dataSourceMock, times(1)).getConnection();
     }
 
@@ -350,14 +353,14 @@ public class DBConnectionManagerTest {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         PooledDataSource dataSourceMock = mock(PooledDataSource.class);
         Connection connMock = mock(Connection.class);
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
         dbcManagerSpy.dbmsPoolTable = dbmsPoolTable;
         PowerMockito.mockStatic(TripleDES.class);
         Mockito.when(TripleDES.encryptPassword(any(String.class))).thenThrow(new Exception("encryption failed"));
 
         exception.expect(Exception.class);
         exception.expectMessage("Failed to encrypt password for key = ");
-        dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD);
+        dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties());
     }
 
     /**
@@ -373,15 +376,67 @@ public class DBConnectionManagerTest {
         doReturn(connMock).when(dataSourceMock).getConnection();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
         doReturn(dataSourceMock).when(dbcManagerSpy).createDataSource(any(DBType.class)
-                , anyString(), anyString(), anyString(), any(Hashtable.class));
+                , anyString(), anyString(), anyString(), any(Map.class), any(Properties.class));
 
         PowerMockito.mockStatic(TripleDES.class);
         Mockito.when(TripleDES.encryptPassword(any(String.class))).thenReturn(ENCRYPTED_PASS);
 
-        assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD));
+        assertEquals(connMock, dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties()));
         verify(dataSourceMock, times(1)).getConnection();
         verify(dbcManagerSpy.createDataSource(any(DBType.class)
-                , anyString(), anyString(), anyString(), any(Hashtable.class)), times(1));
+                , anyString(), anyString(), anyString(), any(Map.class), any(Properties.class)), times(1));
+    }
+
+    /**
+     * Test method getPoolStatistics() after a checkout.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetPoolStatistics() throws Exception {
+        DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
+        PooledDataSource dataSourceMock = mock(PooledDataSource.class);
+        Connection connMock = mock(Connection.class);
+        dbcManagerSpy.dbmsPoolTable = getHashTableObject2(dataSourceMock, connMock);
+        dbcManagerSpy.poolMetricsTable = new ConcurrentHashMap<>();
+        doReturn(3).when(dataSourceMock).getNumConnectionsAllUsers();
+        doReturn(1).when(dataSourceMock).getNumBusyConnectionsAllUsers();
+        doReturn(2).when(dataSourceMock).getNumIdleConnectionsAllUsers();
+        doReturn(4).when(dataSourceMock).getNumThreadsAwaitingCheckoutDefaultUser();
+        doReturn(5L).when(dataSourceMock).getNumFailedIdleTestsDefaultUser();
+
+        PowerMockito.mockStatic(TripleDES.class);
+        Mockito.when(TripleDES.encryptPassword(any(String.class))).thenReturn(ENCRYPTED_PASS);
+        dbcManagerSpy.getPooledConnection(DBType.MYSQL, DB_URL, DHARMA_USER, DHARMA_PASSWORD, getPoolingProperties());
+
+        List<Map<String, Object>> poolStatistics = dbcManagerSpy.getPoolStatistics();
+        assertEquals(1, poolStatistics.size());
+        Map<String, Object> statistics = poolStatistics.get(0);
+        assertEquals(DBType.MYSQL + "." + DB_URL, statistics.get("pool"));
+        assertEquals(DHARMA_USER, statistics.get("username"));
+        assertEquals(3, statistics.get("connections"));
+        assertEquals(1, statistics.get("busy"));
+        assertEquals(2, statistics.get("idle"));
+        assertEquals(4, statistics.get("pending"));
+        assertEquals(5L, statistics.get("failedIdleTests"));
+        assertEquals(1L, statistics.get("checkouts"));
+        assertFalse(statistics.containsValue(DHARMA_PASSWORD));
+        assertFalse(statistics.containsValue(ENCRYPTED_PASS));
+    }
+
+    /**
+     * Test method getPoolStatistics() leaves out a pool that fails to answer.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetPoolStatisticsWithFailingPool() throws Exception {
+        DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
+        PooledDataSource dataSourceMock = mock(PooledDataSource.class);
+        dbcManagerSpy.dbmsPoolTable = getHashTableObject2(dataSourceMock, mock(Connection.class));
+        doThrow(new SQLException("closed")).when(dataSourceMock).getNumBusyConnectionsAllUsers();
+
+        assertTrue(dbcManagerSpy.getPoolStatistics().isEmpty());
     }
 
     /**
@@ -393,7 +448,7 @@ public class DBConnectionManagerTest {
     public void testGetConnectionSize() throws SQLException {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject3();
-        Hashtable<String, PooledDataSourceProvider> providerTableMock = mock(Hashtable.class);
+        ConcurrentMap<String, PooledDataSourceProvider> providerTableMock = mock(ConcurrentMap.class);
         PooledDataSourceProvider providerMock = mock(PooledDataSourceProvider.class);
         doReturn(10).when(providerMock).getAllConnectionNumber(any(DataSource.class));
         doReturn(providerMock).when(providerTableMock).get(anyString());
@@ -412,7 +467,7 @@ public class DBConnectionManagerTest {
     public void testGetCheckedOutConnectionSize() throws SQLException {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject3();
-        Hashtable<String, PooledDataSourceProvider> providerTableMock = mock(Hashtable.class);
+        ConcurrentMap<String, PooledDataSourceProvider> providerTableMock = mock(ConcurrentMap.class);
         PooledDataSourceProvider providerMock = mock(PooledDataSourceProvider.class);
         setUpPooledDataSourceProviderMockForCheckedOutConnectionNumber(providerTableMock, providerMock);
         dbcManagerSpy.providerTable = providerTableMock;
@@ -430,7 +485,7 @@ public class DBConnectionManagerTest {
     public void testGetCheckedInConnectionSize() throws SQLException {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject3();
-        Hashtable<String, PooledDataSourceProvider> providerTableMock = mock(Hashtable.class);
+        ConcurrentMap<String, PooledDataSourceProvider> providerTableMock = mock(ConcurrentMap.class);
         PooledDataSourceProvider providerMock = mock(PooledDataSourceProvider.class);
         setUpPooledDataSourceProviderMockForCheckedInConnectionNumber(providerTableMock, providerMock);
         dbcManagerSpy.providerTable = providerTableMock;
@@ -448,7 +503,7 @@ public class DBConnectionManagerTest {
     public void testGetTotalConnectionSize() throws SQLException {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject3();
-        Hashtable<String, PooledDataSourceProvider> providerTableMock = mock(Hashtable.class);
+        ConcurrentMap<String, PooledDataSourceProvider> providerTableMock = mock(ConcurrentMap.class);
         PooledDataSourceProvider providerMock = mock(PooledDataSourceProvider.class);
         doReturn(10).when(providerMock).getAllConnectionNumber(any(DataSource.class));
         doReturn(providerMock).when(providerTableMock).get(anyString());
@@ -467,7 +522,7 @@ public class DBConnectionManagerTest {
     public void testGetTotalCheckedOutConnectionSize() throws SQLException {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject3();
-        Hashtable<String, PooledDataSourceProvider> providerTableMock = mock(Hashtable.class);
+        ConcurrentMap<String, PooledDataSourceProvider> providerTableMock = mock(ConcurrentMap.class);
         PooledDataSourceProvider providerMock = mock(PooledDataSourceProvider.class);
         setUpPooledDataSourceProviderMockForCheckedOutConnectionNumber(providerTableMock, providerMock);
         dbcManagerSpy.providerTable = providerTableMock;
@@ -485,7 +540,7 @@ public class DBConnectionManagerTest {
     public void testGetTotalCheckedInConnectionSize() throws SQLException {
         DBConnectionManager dbcManagerSpy = getDBConnectionManagerSpyWithPooling();
         dbcManagerSpy.dbmsPoolTable = getHashTableObject3();
-        Hashtable<String, PooledDataSourceProvider> providerTableMock = mock(Hashtable.class);
+        ConcurrentMap<String, PooledDataSourceProvider> providerTableMock = mock(ConcurrentMap.class);
         PooledDataSourceProvider providerMock = mock(PooledDataSourceProvider.class);
         setUpPooledDataSourceProviderMockForCheckedInConnectionNumber(providerTableMock, providerMock);
         dbcManagerSpy.providerTable = providerTableMock;
@@ -501,7 +556,7 @@ public class DBConnectionManagerTest {
      * @param providerMock
      * @throws java.sql.SQLException
      */
-    private void setUpPooledDataSourceProviderMockForCheckedInConnectionNumber(Hashtable<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
+    private void setUpPooledDataSourceProviderMockForCheckedInConnectionNumber(ConcurrentMap<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
         doReturn(10).when(providerMock).getCheckedInConnectionNumber(any(DataSource.class));
         doReturn(providerMock).when(providerTableMock).get(anyString());
     }
@@ -513,7 +568,7 @@ public class DBConnectionManagerTest {
      * @param providerMock
      * @throws java.sql.SQLException
      */
-    private void setUpPooledDataSourceProviderMockForCheckedOutConnectionNumber(Hashtable<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
+    private void setUpPooledDataSourceProviderMockForCheckedOutConnectionNumber(ConcurrentMap<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
         doReturn(10).when(providerMock).getCheckedOutConnectionNumber(any(DataSource.class));
         doReturn(providerMock).when(providerTableMock).get(anyString());
     }
@@ -525,7 +580,7 @@ public class DBConnectionManagerTest {
      * @param providerMock
      * @throws java.sql.SQLException
      */
-    private void verifyNumberOfInvocationsOnMockObjects(Hashtable<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
+    private void verifyNumberOfInvocationsOnMockObjects(ConcurrentMap<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
         verify(providerMock, times(1)).getAllConnectionNumber(any(DataSource.class));
         verify(providerTableMock, times(1)).get(anyString());
     }
@@ -537,7 +592,7 @@ public class DBConnectionManagerTest {
      * @param providerMock
      * @throws java.sql.SQLException
      */
-    private void verifyNumberOfInvocationsOnMockObjects3(Hashtable<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
+    private void verifyNumberOfInvocationsOnMockObjects3(ConcurrentMap<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
         verify(providerMock, times(1)).getCheckedOutConnectionNumber(any(DataSource.class));
         verify(providerTableMock, times(1)).get(anyString());
     }
@@ -549,7 +604,7 @@ public class DBConnectionManagerTest {
      * @param providerMock
      * @throws java.sql.SQLException
      */
-    private void verifyNumberOfInvocationsOnMockObject2(Hashtable<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
+    private void verifyNumberOfInvocationsOnMockObject2(ConcurrentMap<String, PooledDataSourceProvider> providerTableMock, PooledDataSourceProvider providerMock) throws SQLException {
         verify(providerMock, times(1)).getCheckedInConnectionNumber(any(DataSource.class));
         verify(providerTableMock, times(1)).get(anyString());
     }
@@ -569,32 +624,30 @@ public class DBConnectionManagerTest {
         return dbPoolingPropertiesMock;
     }
 
-    private Hashtable getHashTableObject1(PooledDataSource dataSourceMock) throws SQLException {
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable
-                = new Hashtable<String, Hashtable<String, DataSource>>();
+    private ConcurrentMap<String, ConcurrentMap<String, DataSource>> getHashTableObject1(PooledDataSource dataSourceMock) throws SQLException {
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = new ConcurrentHashMap<>();
         String tableKey1 = "key1";
-        Hashtable<String, DataSource> hashTable1 = new Hashtable<String, DataSource>();
+        ConcurrentMap<String, DataSource> hashTable1 = new ConcurrentHashMap<>();
         doReturn(0).when(dataSourceMock).getNumConnectionsAllUsers();
         hashTable1.put(tableKey1, dataSourceMock);
         dbmsPoolTable.put(tableKey1, hashTable1);
         return dbmsPoolTable;
     }
 
-    private Hashtable<String, Hashtable<String, DataSource>> getHashTableObject2(PooledDataSource dataSourceMock, Connection connMock) throws SQLException {
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable = new Hashtable<>();
+    private ConcurrentMap<String, ConcurrentMap<String, DataSource>> getHashTableObject2(PooledDataSource dataSourceMock, Connection connMock) throws SQLException {
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = new ConcurrentHashMap<>();
         String dsTableKey = DB_URL + "." + DHARMA_USER + "." + ENCRYPTED_PASS;
         String tableKey1 = DBType.MYSQL + "." + DB_URL;
-        Hashtable<String, DataSource> hashTable1 = new Hashtable<String, DataSource>();
+        ConcurrentMap<String, DataSource> hashTable1 = new ConcurrentHashMap<>();
         doReturn(connMock).when(dataSourceMock).getConnection();
         hashTable1.put(dsTableKey, dataSourceMock);
         dbmsPoolTable.put(tableKey1, hashTable1);
         return dbmsPoolTable;
     }
 
-    private Hashtable<String, Hashtable<String, DataSource>> getHashTableObject3() {
-        Hashtable<String, Hashtable<String, DataSource>> dbmsPoolTable
-                = new Hashtable<String, Hashtable<String, DataSource>>();
-        Hashtable<String, DataSource> hashTable = new Hashtable<String, DataSource>();
+    private ConcurrentMap<String, ConcurrentMap<String, DataSource>> getHashTableObject3() {
+        ConcurrentMap<String, ConcurrentMap<String, DataSource>> dbmsPoolTable = new ConcurrentHashMap<>();
+        ConcurrentMap<String, DataSource> hashTable = new ConcurrentHashMap<>();
         PooledDataSource dataSourceMock = mock(PooledDataSource.class);
         String dbmsPoolKey = DBType.MYSQL + "." + DB_URL;
         hashTable.put("key", dataSourceMock);
@@ -0,0 +1,127 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import io.cloudslang.content.database.H2Database;
+import io.cloudslang.content.database.utils.SQLBindParameters.BindParameter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SQLBindParametersTest {
+
+    @Rule
+    public ExpectedException expectedEx = ExpectedException.none();
+
+    @Rule
+    public H2Database database = new H2Database("bindParameters", "CREATE TABLE people (id INT, name VARCHAR(20), born DATE)");
+
+    @Test
+    public void parseTypedParameters() {
+        final List<BindParameter> parameters = SQLBindParameters.parse(
+                "int:10|John|string:a,b:c|decimal:1.50|date:2017-01-31|timestamp:2017-01-31 10:20:30|null:long|boolean:true", "|");
+
+        assertEquals(Arrays.asList(
+                new BindParameter(Types.INTEGER, 10),
+                new BindParameter(Types.VARCHAR, "John"),
+                new BindParameter(Types.VARCHAR, "a,b:c"),
+                new BindParameter(Types.DECIMAL, new BigDecimal("1.50")),
+                new BindParameter(Types.DATE, Date.valueOf("2017-01-31")),
+                new BindParameter(Types.TIMESTAMP, Timestamp.valueOf("2017-01-31 10:20:30")),
+                new BindParameter(Types.BIGINT, null),
+                new BindParameter(Types.BOOLEAN, true)), parameters);
+    }
+
+    @Test
+    public void parseEmpty() {
+        assertTrue(SQLBindParameters.parse("", ",").isEmpty());
+        assertTrue(SQLBindParameters.parse(null, ",").isEmpty());
+    }
+
+    @Test
+    public void parseUntypedValuesWithSeparator() {
+        final List<BindParameter> parameters = SQLBindParameters.parse("10:30|http://host/x|blob:abc|string:int:10", "|");
+
+        assertEquals(Arrays.asList(
+                new BindParameter(Types.VARCHAR, "10:30"),
+                new BindParameter(Types.VARCHAR, "http://host/x"),
+                new BindParameter(Types.VARCHAR, "blob:abc"),
+                new BindParameter(Types.VARCHAR, "int:10")), parameters);
+    }
+
+    @Test
+    public void parseInvalidNullType() {
+        expectedEx.expect(IllegalArgumentException.class);
+        expectedEx.expectMessage("The bind parameter type \"blob\" is not valid");
+        SQLBindParameters.parse("int:1,null:blob", ",");
+    }
+
+    @Test
+    public void parseInvalidBoolean() {
+        expectedEx.expect(IllegalArgumentException.class);
+        expectedEx.expectMessage("The bind parameter \"boolean:ture\" is not a valid value of its type.");
+        SQLBindParameters.parse("boolean:FALSE,boolean:ture", ",");
+    }
+
+    @Test
+    public void parseInvalidValue() {
+        expectedEx.expect(IllegalArgumentException.class);
+        expectedEx.expectMessage("The bind parameter \"int:ten\" is not a valid value of its type.");
+        SQLBindParameters.parse("int:ten", ",");
+    }
+
+    @Test
+    public void bindRunsTheStatementWithTheValues() throws Exception {
+        try (final Connection connection = database.newConnection()) {
+            try (final PreparedStatement insert = connection.prepareStatement("INSERT INTO people VALUES (?, ?, ?)")) {
+                SQLBindParameters.bind(insert, SQLBindParameters.parse("int:1,O'Brien,date:1980-05-01", ","));
+                assertEquals(1, insert.executeUpdate());
+                SQLBindParameters.bind(insert, SQLBindParameters.parse("int:2,Smith,null:date", ","));
+                assertEquals(1, insert.executeUpdate());
+            }
+            try (final PreparedStatement select = connection.prepareStatement("SELECT name, born FROM people WHERE id = ?")) {
+                SQLBindParameters.bind(select, SQLBindParameters.parse("int:1", ","));
+                try (final ResultSet resultSet = select.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertEquals("O'Brien", resultSet.getString(1));
+                    assertEquals(Date.valueOf("1980-05-01"), resultSet.getDate(2));
+                    assertFalse(resultSet.next());
+                }
+                SQLBindParameters.bind(select, SQLBindParameters.parse("int:2", ","));
+                try (final ResultSet resultSet = select.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertNull(resultSet.getDate(2));
+                }
+            }
+        }
+    }
+}
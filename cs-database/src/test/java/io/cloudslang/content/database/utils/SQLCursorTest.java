@@ -0,0 +1,81 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import io.cloudslang.content.database.H2Database;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SQLCursorTest {
+    @Rule
+    public ExpectedException expectedEx = ExpectedException.none();
+
+    @Rule
+    public H2Database database = new H2Database("sqlCursor",
+            "CREATE TABLE items (id INT, name VARCHAR(20))",
+            "INSERT INTO items VALUES (1, ' first '), (2, NULL), (3, 'third')");
+
+    @Test
+    public void nextRowClosesTheConnectionWhenExhausted() throws Exception {
+        final Connection connection = database.newConnection();
+        final SQLCursor cursor = openCursor(connection, 60);
+
+        assertEquals("1,first", cursor.nextRow());
+        assertEquals(1, cursor.getPageRowsLeft());
+        assertFalse(connection.isClosed());
+        assertEquals("2,", cursor.nextRow());
+        assertEquals("3,third", cursor.nextRow());
+        assertTrue(cursor.isClosed());
+        assertTrue(connection.isClosed());
+        assertNull(cursor.nextRow());
+    }
+
+    @Test
+    public void idleCursorIsClosed() throws Exception {
+        final Connection connection = database.newConnection();
+        final SQLCursor cursor = openCursor(connection, 1);
+        assertEquals("1,first", cursor.nextRow());
+
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (!cursor.isClosed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(cursor.isClosedIdle());
+        assertTrue(connection.isClosed());
+
+        expectedEx.expect(SQLException.class);
+        expectedEx.expectMessage("idle for more than 1 seconds");
+        cursor.nextRow();
+    }
+
+    private SQLCursor openCursor(Connection connection, int idleTimeoutSeconds) throws SQLException {
+        final Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        final ResultSet resultSet = statement.executeQuery("SELECT id, name FROM items ORDER BY id");
+        return new SQLCursor(connection, statement, resultSet, "ID,NAME", ",", false, 2, idleTimeoutSeconds);
+    }
+}
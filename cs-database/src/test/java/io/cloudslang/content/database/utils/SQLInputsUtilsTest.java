@@ -34,6 +34,7 @@ import static io.cloudslang.content.database.services.dbconnection.DBConnectionM
 import static io.cloudslang.content.database.utils.SQLInputsUtils.*;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.*;
 import static org.mockito.BDDMockito.given;
@@ -304,6 +305,13 @@ public class SQLInputsUtilsTest {
         assertThat(getSqlKey(getTestInputsSqlKey(false)), is("SQLQuery:8835ea6c637a5e1b67bf01952bc9225597ae33ceeaf17e913aae50193c18346d"));
     }
 
+    @Test
+    public void getSqlKeyWithOtherPassword() throws Exception {
+        final SQLInputs sqlInputs = getTestInputsSqlKey(false);
+        sqlInputs.setPassword("OTHER PASSWORD");
+        assertThat(getSqlKey(sqlInputs), not(getSqlKey(getTestInputsSqlKey(false))));
+    }
+
     @Test
     public void getDbClassForTypeSimple() throws Exception {
         assertThat(getDbClassForType(ORACLE_DB_TYPE), instanceOf(OracleDatabase.class));
@@ -0,0 +1,95 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class SQLResultCacheTest {
+    private static final long TTL = 60000;
+
+    private SQLResultCache resultCache;
+
+    @Before
+    public void setUp() {
+        resultCache = new SQLResultCache();
+    }
+
+    @Test
+    public void getCachedResult() {
+        resultCache.put("key", "result", TTL, 10, 1000);
+
+        assertThat(resultCache.get("key"), is("result"));
+        assertThat(resultCache.get("other"), is(nullValue()));
+        assertThat(resultCache.getBytes(), is(2L * ("key".length() + "result".length())));
+    }
+
+    @Test
+    public void getExpiredResult() throws Exception {
+        resultCache.put("key", "result", 1, 10, 1000);
+        Thread.sleep(5);
+
+        assertThat(resultCache.get("key"), is(nullValue()));
+        assertThat(resultCache.size(), is(0));
+        assertThat(resultCache.getBytes(), is(0L));
+    }
+
+    @Test
+    public void putEvictsLeastRecentlyUsedAboveMaxEntries() {
+        resultCache.put("key1", "result1", TTL, 2, 1000);
+        resultCache.put("key2", "result2", TTL, 2, 1000);
+        resultCache.get("key1");
+        resultCache.put("key3", "result3", TTL, 2, 1000);
+
+        assertThat(resultCache.get("key1"), is("result1"));
+        assertThat(resultCache.get("key2"), is(nullValue()));
+        assertThat(resultCache.get("key3"), is("result3"));
+    }
+
+    @Test
+    public void putEvictsAboveMaxBytes() {
+        resultCache.put("key1", "result1", TTL, 10, 40);
+        resultCache.put("key2", "result2", TTL, 10, 40);
+
+        assertThat(resultCache.size(), is(1));
+        assertThat(resultCache.get("key2"), is("result2"));
+
+        resultCache.put("key3", "a result larger than the cache", TTL, 10, 40);
+        assertThat(resultCache.get("key3"), is(nullValue()));
+        assertThat(resultCache.get("key2"), is("result2"));
+    }
+
+    @Test
+    public void getResultKey() {
+        final SQLInputs sqlInputs = SQLInputs.builder().dbServer("Host").dbType("Oracle").username("user").password("pass")
+                .sqlCommand("SELECT 1 FROM dual").build();
+        final SQLInputs sameInputs = SQLInputs.builder().dbServer("host").dbType("ORACLE").username("user").password("pass")
+                .sqlCommand(" SELECT 1 FROM dual ").build();
+        final SQLInputs otherPassword = SQLInputs.builder().dbServer("host").dbType("Oracle").username("user").password("other")
+                .sqlCommand("SELECT 1 FROM dual").build();
+
+        final String resultKey = SQLResultCache.getResultKey("SQLQueryAllRows", sqlInputs);
+        assertThat(SQLResultCache.getResultKey("SQLQueryAllRows", sameInputs), is(resultKey));
+        assertThat(SQLResultCache.getResultKey("SQLQueryTabular", sqlInputs), is(not(resultKey)));
+        assertThat(SQLResultCache.getResultKey("SQLQueryAllRows", otherPassword), is(not(resultKey)));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class SQLRowReaderTest {
+
+    @Test
+    public void csvReadsOneRowPerLine() throws Exception {
+        try (final SQLRowReader reader = SQLRowReader.csv(new StringReader("1|John|\n\n2|Jane|2017-01-31\n"), "|")) {
+            assertEquals(Arrays.asList("1", "John", ""), reader.nextRow());
+            assertEquals(Arrays.asList("2", "Jane", "2017-01-31"), reader.nextRow());
+            assertNull(reader.nextRow());
+        }
+    }
+
+    @Test
+    public void csvReadsQuotedValues() throws Exception {
+        final String rows = "1,\"Smith, John\",\"say \"\"hi\"\"\"\r\n2,\"two\r\nlines\",\"\"\n";
+        try (final SQLRowReader reader = SQLRowReader.csv(new StringReader(rows), ",")) {
+            assertEquals(Arrays.asList("1", "Smith, John", "say \"hi\""), reader.nextRow());
+            assertEquals(Arrays.asList("2", "two\r\nlines", ""), reader.nextRow());
+            assertNull(reader.nextRow());
+        }
+        try (final SQLRowReader reader = SQLRowReader.csv(new StringReader("\"a::b\"::c::\n"), "::")) {
+            assertEquals(Arrays.asList("a::b", "c", ""), reader.nextRow());
+        }
+    }
+
+    @Test
+    public void csvRejectsBadlyQuotedValues() throws Exception {
+        try (final SQLRowReader reader = SQLRowReader.csv(new StringReader("1,a\n2,\"b\"c\n"), ",")) {
+            reader.nextRow();
+            reader.nextRow();
+            fail();
+        } catch (IOException e) {
+            assertEquals("Row 2: a quoted value must be followed by the delimiter or the end of the row.", e.getMessage());
+        }
+        try (final SQLRowReader reader = SQLRowReader.csv(new StringReader("1,\"a\n"), ",")) {
+            reader.nextRow();
+            fail();
+        } catch (IOException e) {
+            assertEquals("Row 1: a quoted value is not closed.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void jsonReadsArraysAndObjects() throws Exception {
+        final String rows = "[[1, \"John\", null], {\"id\": 2, \"name\": \"Jane\", \"tags\": [\"a\", \"b\"]}]";
+        try (final SQLRowReader reader = SQLRowReader.json(new StringReader(rows))) {
+            assertEquals(Arrays.asList("1", "John", null), reader.nextRow());
+            assertEquals(Arrays.asList("2", "Jane", "[\"a\",\"b\"]"), reader.nextRow());
+            assertNull(reader.nextRow());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void jsonRejectsRowsThatAreNotAnArray() throws Exception {
+        SQLRowReader.json(new StringReader("{\"id\": 1}"));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import io.cloudslang.content.database.H2Database;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SQLRowWriterTest {
+    private static final String QUERY = "SELECT id, name, note FROM notes ORDER BY id";
+
+    @Rule
+    public H2Database database = new H2Database("sqlRowWriter",
+            "CREATE TABLE notes (id INT PRIMARY KEY, name VARCHAR(20), note VARCHAR(50))",
+            "INSERT INTO notes VALUES (1, 'plain', 'no quoting')",
+            "INSERT INTO notes VALUES (2, 'a,b', 'say \"hi\"')",
+            "INSERT INTO notes VALUES (3, 'multi', 'line1' || CHAR(10) || 'line2')",
+            "INSERT INTO notes VALUES (4, NULL, '')");
+
+    @Test
+    public void writeCsv() throws Exception {
+        final StringWriter output = new StringWriter();
+
+        final long rowCount = write(SQLRowWriter.csv(output, ","));
+
+        assertThat(rowCount, is(4L));
+        assertThat(output.toString(), is("ID,NAME,NOTE\n" +
+                "1,plain,no quoting\n" +
+                "2,\"a,b\",\"say \"\"hi\"\"\"\n" +
+                "3,multi,\"line1\nline2\"\n" +
+                "4,,\n"));
+    }
+
+    @Test
+    public void writeCsvWithMultiCharDelimiter() throws Exception {
+        final StringWriter output = new StringWriter();
+
+        write(SQLRowWriter.csv(output, "||"));
+
+        assertThat(output.toString().split("\n")[2], is("2||a,b||\"say \"\"hi\"\"\""));
+    }
+
+    @Test
+    public void writeJsonLines() throws Exception {
+        final StringWriter output = new StringWriter();
+
+        final long rowCount = write(SQLRowWriter.jsonLines(output));
+
+        assertThat(rowCount, is(4L));
+        assertThat(output.toString(), is("{\"ID\":\"1\",\"NAME\":\"plain\",\"NOTE\":\"no quoting\"}\n" +
+                "{\"ID\":\"2\",\"NAME\":\"a,b\",\"NOTE\":\"say \\\"hi\\\"\"}\n" +
+                "{\"ID\":\"3\",\"NAME\":\"multi\",\"NOTE\":\"line1\\nline2\"}\n" +
+                "{\"ID\":\"4\",\"NAME\":null,\"NOTE\":\"\"}\n"));
+    }
+
+    @Test
+    public void writeNoRows() throws Exception {
+        final StringWriter output = new StringWriter();
+        final long rowCount = write(SQLRowWriter.jsonLines(output), "SELECT id FROM notes WHERE id < 0");
+
+        assertThat(rowCount, is(0L));
+        assertThat(output.toString(), is(""));
+    }
+
+    private long write(SQLRowWriter rowWriter) throws Exception {
+        return write(rowWriter, QUERY);
+    }
+
+    private long write(SQLRowWriter rowWriter, String query) throws Exception {
+        try (Connection connection = database.newConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query);
+             SQLRowWriter writer = rowWriter) {
+            return writer.write(resultSet, false);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.database.utils;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class SQLScriptReaderTest {
+
+    @Test
+    public void readsOneCommandAtATime() throws Exception {
+        final String script = "-- create the table\n" +
+                "create table employee(\n" +
+                "  first varchar(15));\n" +
+                "\n" +
+                "/* the rows\n" +
+                "   of the table */\n" +
+                "insert into employee values ('a');\n" +
+                "insert /* inline */ into employee values ('b');\n" +
+                "delete from employee";
+
+        final List<String> commands = new ArrayList<>();
+        try (final SQLScriptReader reader = new SQLScriptReader(new StringReader(script))) {
+            while (reader.hasNext()) {
+                commands.add(reader.next());
+            }
+            assertFalse(reader.hasNext());
+        }
+
+        assertEquals(Arrays.asList("create table employee(   first varchar(15))",
+                "insert into employee values ('a')",
+                "insert  into employee values ('b')"), commands);
+    }
+}
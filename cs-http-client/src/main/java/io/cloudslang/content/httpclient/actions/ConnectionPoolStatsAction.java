@@ -0,0 +1,81 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.httpclient.consume.ConnectionPoolStatsConsumer;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ResponseNames.FAILURE;
+import static io.cloudslang.content.constants.ResponseNames.SUCCESS;
+import static io.cloudslang.content.httpclient.consume.ConnectionPoolStatsConsumer.AVAILABLE;
+import static io.cloudslang.content.httpclient.consume.ConnectionPoolStatsConsumer.LEASED;
+import static io.cloudslang.content.httpclient.consume.ConnectionPoolStatsConsumer.MAX;
+import static io.cloudslang.content.httpclient.consume.ConnectionPoolStatsConsumer.PENDING;
+import static io.cloudslang.content.httpclient.utils.Descriptions.Commons.EXCEPTION_DESC;
+import static io.cloudslang.content.httpclient.utils.Descriptions.Commons.RETURN_CODE_DESC;
+import static io.cloudslang.content.httpclient.utils.Descriptions.ConnectionPoolStats.*;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+
+public class ConnectionPoolStatsAction {
+
+    @Action(name = "Http Client Connection Pool Stats", description = CONNECTION_POOL_STATS_DESC,
+            outputs = {
+                    @Output(value = HttpClientService.EXCEPTION, description = EXCEPTION_DESC),
+                    @Output(value = RETURN_CODE, description = RETURN_CODE_DESC),
+                    @Output(value = RETURN_RESULT, description = RETURN_RESULT_DESC),
+                    @Output(value = LEASED, description = LEASED_DESC),
+                    @Output(value = AVAILABLE, description = AVAILABLE_DESC),
+                    @Output(value = PENDING, description = PENDING_DESC),
+                    @Output(value = MAX, description = MAX_DESC)
+            },
+            responses = {
+                    @Response(text = SUCCESS, field = RETURN_CODE, value = ReturnCodes.SUCCESS,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = FAILURE, field = RETURN_CODE, value = ReturnCodes.FAILURE,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR)
+            }
+    )
+    public Map<String, String> execute(
+            @Param(value = HttpClientInputs.SESSION_CONNECTION_POOL, description = SESSION_CONNECTION_POOL_DESC)
+                    GlobalSessionObject httpClientPoolingConnectionManager) {
+
+        try {
+            Map<String, String> result = new HashMap<>();
+            new ConnectionPoolStatsConsumer()
+                    .setConnectionPoolHolder(httpClientPoolingConnectionManager)
+                    .consume(result);
+            result.put(RETURN_CODE, ReturnCodes.SUCCESS);
+            return result;
+        } catch (Exception e) {
+            return getFailureResultsMap(e);
+        }
+    }
+}
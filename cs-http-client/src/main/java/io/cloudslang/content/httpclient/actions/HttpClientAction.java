@@ -40,10 +40,14 @@ import static io.cloudslang.content.constants.ResponseNames.FAILURE;
 import static io.cloudslang.content.constants.ResponseNames.SUCCESS;
 import static io.cloudslang.content.httpclient.entities.Constants.CHANGEIT;
 import static io.cloudslang.content.httpclient.entities.Constants.DEFAULT_JAVA_KEYSTORE;
+import static io.cloudslang.content.httpclient.services.HttpClientService.CACHE_STATUS;
+import static io.cloudslang.content.httpclient.services.HttpClientService.CHECKSUM;
+import static io.cloudslang.content.httpclient.services.HttpClientService.DOWNLOADED_BYTES;
 import static io.cloudslang.content.httpclient.services.HttpClientService.EXCEPTION;
 import static io.cloudslang.content.httpclient.services.HttpClientService.FINAL_LOCATION;
 import static io.cloudslang.content.httpclient.services.HttpClientService.PROTOCOL_VERSION;
 import static io.cloudslang.content.httpclient.services.HttpClientService.REASON_PHRASE;
+import static io.cloudslang.content.httpclient.services.HttpClientService.RESPONSE_FILE;
 import static io.cloudslang.content.httpclient.services.HttpClientService.RESPONSE_HEADERS;
 import static io.cloudslang.content.httpclient.services.HttpClientService.STATUS_CODE;
 import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
@@ -131,6 +135,30 @@ public class HttpClientAction {
      *                                           The default will create no more than 2 concurrent connections per given route. Default value: 2
      * @param connectionsMaxTotal                The maximum limit of connections in total.
      *                                           The default will create no more than 2 concurrent connections in total. Default value: 20
+     *                                           <br>The connection limits are applied when the pool is created, by the first request using it.
+     * @param connectionsIdleTimeout             The time, in seconds, after which idle connections are closed by the background evictor
+     *                                           shared by all the connection pools. Expired connections are always closed.
+     *                                           A value of '0' only closes the expired connections. This is applied when the pool is created.
+     *                                           Default value: 60
+     * @param executionMode                      The engine executing the request. 'blocking' holds the calling thread for the whole exchange.
+     *                                           'async' uses a non-blocking client whose few I/O threads serve all the requests of the
+     *                                           connection pool session. In 'async' mode the response entity is received in memory before
+     *                                           it is returned or saved to 'destinationFile'. Default value: blocking. Valid values: blocking, async
+     * @param useCache                           Specifies whether to keep the cacheable responses in an HTTP cache (RFC 7234) shared by the
+     *                                           requests using the same connection pool. Fresh responses are returned without contacting the
+     *                                           server, stale ones are revalidated with 'If-None-Match'/'If-Modified-Since' so that a
+     *                                           '304 Not Modified' replaces the transfer of the entity. The cache is private to the
+     *                                           credentials: requests with another 'authType', 'username', 'password', proxy credentials,
+     *                                           'Authorization', 'Proxy-Authorization' or 'Cookie' header use another cache. Only the caches of the
+     *                                           16 most recently used credentials of the connection pool are kept. The requests
+     *                                           sending cookies from the cookie store are not cached. Not supported in 'async' execution mode.
+     *                                           Default value: false. Valid values: true, false
+     * @param cacheMaxEntries                    The maximum number of responses kept in the cache of one credentials. This is applied when the cache is created.
+     *                                           Default value: 1000
+     * @param cacheMaxObjectSize                 The maximum size, in bytes, of a cached response entity. Larger responses are not cached.
+     *                                           This is applied when the cache is created. Default value: 1048576
+     * @param cacheDirectory                     The directory where the cached response entities are stored. If empty, they are kept in memory.
+     *                                           This is applied when the cache is created.
      * @param headers                            The list containing the headers to use for the request separated by new line (CRLF).
      *                                           The header name - value pair will be separated by ":". Format: According to HTTP standard for headers (RFC 2616).
      *                                           Examples: Accept:text/plain
@@ -141,6 +169,17 @@ public class HttpClientAction {
      * @param destinationFile                    The absolute path of a file on disk where to save the entity returned by the response.
      *                                           'returnResult' will no longer be populated with the entity if this is specified.
      *                                           You should not use this for method=HEAD or OPTIONS. Example: C:\temp\destinationFile.txt
+     * @param binaryDownload                     If this is 'true' the entity is written to 'destinationFile' byte for byte, without decoding it
+     *                                           with 'responseCharacterSet'. Use it for archives, images and any other binary content.
+     *                                           The 'downloadedBytes' output will contain the size of the file.
+     *                                           Default value: false. Valid values: true, false
+     * @param computeChecksum                    If this is 'true' the SHA-256 checksum of the entity is computed while it is downloaded and
+     *                                           returned in the 'checksum' output. It requires 'binaryDownload' to be 'true' and a 'destinationFile',
+     *                                           the request fails otherwise. Default value: false. Valid values: true, false
+     * @param maxInMemoryResponseSize            The maximum size, in bytes, of a response entity returned in 'returnResult'. A larger entity is saved,
+     *                                           as received, in a temporary file whose path is returned in the 'responseFile' output and
+     *                                           'returnResult' is empty. The flow is responsible for deleting that file. Ignored if 'destinationFile'
+     *                                           is specified. The value must be 0 or greater. Default value: 0, meaning no limit.
      * @param followRedirects                    Specifies whether the HTTP client automatically follows redirects.
      *                                           Redirects explicitly prohibited by the HTTP specification as requiring user intervention
      *                                           will not be followed (redirects on POST and PUT requests that are converted to GET requests).
@@ -242,6 +281,12 @@ public class HttpClientAction {
      * <br><b>responseHeaders</b> - The list containing the headers of the response message, separated by newline.
      * Format: This is conforming to HTTP standard for headers (RFC 2616).
      * <br><b>protocolVersion</b> - The HTTP protocol version. Examples: HTTP/1.1
+     * <br><b>downloadedBytes</b> - The number of bytes written to 'destinationFile' when 'binaryDownload' is 'true'.
+     * <br><b>responseFile</b> - The temporary file holding the response entity when it is larger than 'maxInMemoryResponseSize'.
+     * <br><b>checksum</b> - The SHA-256 checksum, in hexadecimal, of the bytes written to 'destinationFile' when 'computeChecksum' is 'true'.
+     * <br><b>cacheStatus</b> - How the response was obtained when 'useCache' is 'true'. CACHE_HIT: returned from the cache without
+     * contacting the server. VALIDATED: returned from the cache after the server confirmed it with '304 Not Modified'.
+     * CACHE_MISS: fetched from the server. CACHE_MODULE_RESPONSE: generated by the cache, e.g. a '504' for 'Cache-Control: only-if-cached'.
      * <br><b>reasonPhrase</b> - The reason phrase from the origin HTTP response. This depends on the status code and are according to RFC 1945 and RFC 2048
      * <br>Examples: (HTTP 1.0): OK, Created, Accepted, No Content, Moved Permanently, Moved Temporarily, Not Modified, Bad Request,
      * Unauthorized, Forbidden, Not Found, Internal Server Error, Not Implemented, Bad Gateway,
@@ -261,6 +306,10 @@ public class HttpClientAction {
                     @Output(RESPONSE_HEADERS),
                     @Output(PROTOCOL_VERSION),
                     @Output(REASON_PHRASE),
+                    @Output(DOWNLOADED_BYTES),
+                    @Output(CHECKSUM),
+                    @Output(RESPONSE_FILE),
+                    @Output(CACHE_STATUS),
                     @Output(RETURN_CODE),
                     @Output(RETURN_RESULT)
             },
@@ -294,9 +343,18 @@ public class HttpClientAction {
             @Param(HttpClientInputs.KEEP_ALIVE) String keepAlive,
             @Param(HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE) String connectionsMaxPerRoot,
             @Param(HttpClientInputs.CONNECTIONS_MAX_TOTAL) String connectionsMaxTotal,
+            @Param(HttpClientInputs.CONNECTIONS_IDLE_TIMEOUT) String connectionsIdleTimeout,
+            @Param(HttpClientInputs.EXECUTION_MODE) String executionMode,
+            @Param(HttpClientInputs.USE_CACHE) String useCache,
+            @Param(HttpClientInputs.CACHE_MAX_ENTRIES) String cacheMaxEntries,
+            @Param(HttpClientInputs.CACHE_MAX_OBJECT_SIZE) String cacheMaxObjectSize,
+            @Param(HttpClientInputs.CACHE_DIRECTORY) String cacheDirectory,
             @Param(HttpClientInputs.HEADERS) String headers,
             @Param(HttpClientInputs.RESPONSE_CHARACTER_SET) String responseCharacterSet,
             @Param(HttpClientInputs.DESTINATION_FILE) String destinationFile,
+            @Param(HttpClientInputs.BINARY_DOWNLOAD) String binaryDownload,
+            @Param(HttpClientInputs.COMPUTE_CHECKSUM) String computeChecksum,
+            @Param(HttpClientInputs.MAX_IN_MEMORY_RESPONSE_SIZE) String maxInMemoryResponseSize,
             @Param(HttpClientInputs.FOLLOW_REDIRECTS) String followRedirects,
             @Param(HttpClientInputs.QUERY_PARAMS) String queryParams,
             @Param(HttpClientInputs.QUERY_PARAMS_ARE_URLENCODED) String queryParamsAreURLEncoded,
@@ -342,9 +400,18 @@ public class HttpClientAction {
         httpClientInputs.setKeepAlive(keepAlive);
         httpClientInputs.setConnectionsMaxPerRoute(connectionsMaxPerRoot);
         httpClientInputs.setConnectionsMaxTotal(connectionsMaxTotal);
+        httpClientInputs.setConnectionsIdleTimeout(connectionsIdleTimeout);
+        httpClientInputs.setExecutionMode(executionMode);
+        httpClientInputs.setUseCache(useCache);
+        httpClientInputs.setCacheMaxEntries(cacheMaxEntries);
+        httpClientInputs.setCacheMaxObjectSize(cacheMaxObjectSize);
+        httpClientInputs.setCacheDirectory(cacheDirectory);
         httpClientInputs.setHeaders(headers);
         httpClientInputs.setResponseCharacterSet(responseCharacterSet);
         httpClientInputs.setDestinationFile(destinationFile);
+        httpClientInputs.setBinaryDownload(binaryDownload);
+        httpClientInputs.setComputeChecksum(computeChecksum);
+        httpClientInputs.setMaxInMemoryResponseSize(maxInMemoryResponseSize);
         httpClientInputs.setFollowRedirects(followRedirects);
         httpClientInputs.setQueryParams(queryParams);
         httpClientInputs.setQueryParamsAreURLEncoded(queryParamsAreURLEncoded);
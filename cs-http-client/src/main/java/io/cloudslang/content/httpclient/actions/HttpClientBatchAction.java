@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientBatchService;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_CODE;
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static io.cloudslang.content.constants.ResponseNames.FAILURE;
+import static io.cloudslang.content.constants.ResponseNames.SUCCESS;
+import static io.cloudslang.content.httpclient.entities.Constants.CHANGEIT;
+import static io.cloudslang.content.httpclient.entities.Constants.DEFAULT_JAVA_KEYSTORE;
+import static io.cloudslang.content.httpclient.services.HttpClientBatchService.FAILURE_COUNT;
+import static io.cloudslang.content.httpclient.services.HttpClientBatchService.SUCCESS_COUNT;
+import static io.cloudslang.content.httpclient.utils.Descriptions.Commons.EXCEPTION_DESC;
+import static io.cloudslang.content.httpclient.utils.Descriptions.Commons.RETURN_CODE_DESC;
+import static io.cloudslang.content.httpclient.utils.Descriptions.HttpClientBatch.*;
+import static io.cloudslang.content.utils.OutputUtilities.getFailureResultsMap;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+
+public class HttpClientBatchAction {
+
+    @Action(name = "Http Client Batch", description = HTTP_CLIENT_BATCH_DESC,
+            outputs = {
+                    @Output(value = HttpClientService.EXCEPTION, description = EXCEPTION_DESC),
+                    @Output(value = RETURN_CODE, description = RETURN_CODE_DESC),
+                    @Output(value = RETURN_RESULT, description = RETURN_RESULT_DESC),
+                    @Output(value = SUCCESS_COUNT, description = SUCCESS_COUNT_DESC),
+                    @Output(value = FAILURE_COUNT, description = FAILURE_COUNT_DESC)
+            },
+            responses = {
+                    @Response(text = SUCCESS, field = RETURN_CODE, value = ReturnCodes.SUCCESS,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = FAILURE, field = RETURN_CODE, value = ReturnCodes.FAILURE,
+                            matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR)
+            }
+    )
+    public Map<String, String> execute(
+            @Param(value = HttpClientInputs.REQUESTS, required = true, description = REQUESTS_DESC) String requests,
+            @Param(value = HttpClientInputs.PARALLELISM, description = PARALLELISM_DESC) String parallelism,
+            @Param(HttpClientInputs.AUTH_TYPE) String authType,
+            @Param(HttpClientInputs.PREEMPTIVE_AUTH) String preemptiveAuth,
+            @Param(HttpClientInputs.USERNAME) String username,
+            @Param(value = HttpClientInputs.PASSWORD, encrypted = true) String password,
+            @Param(HttpClientInputs.PROXY_HOST) String proxyHost,
+            @Param(HttpClientInputs.PROXY_PORT) String proxyPort,
+            @Param(HttpClientInputs.PROXY_USERNAME) String proxyUsername,
+            @Param(value = HttpClientInputs.PROXY_PASSWORD, encrypted = true) String proxyPassword,
+            @Param(HttpClientInputs.TRUST_ALL_ROOTS) String trustAllRoots,
+            @Param(HttpClientInputs.X509_HOSTNAME_VERIFIER) String x509HostnameVerifier,
+            @Param(HttpClientInputs.TRUST_KEYSTORE) String trustKeystore,
+            @Param(value = HttpClientInputs.TRUST_PASSWORD, encrypted = true) String trustPassword,
+            @Param(HttpClientInputs.KEYSTORE) String keystore,
+            @Param(value = HttpClientInputs.KEYSTORE_PASSWORD, encrypted = true) String keystorePassword,
+            @Param(HttpClientInputs.CONNECT_TIMEOUT) String connectTimeout,
+            @Param(HttpClientInputs.SOCKET_TIMEOUT) String socketTimeout,
+            @Param(HttpClientInputs.USE_COOKIES) String useCookies,
+            @Param(HttpClientInputs.KEEP_ALIVE) String keepAlive,
+            @Param(HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE) String connectionsMaxPerRoute,
+            @Param(HttpClientInputs.CONNECTIONS_MAX_TOTAL) String connectionsMaxTotal,
+            @Param(value = HttpClientInputs.HEADERS, description = HEADERS_DESC) String headers,
+            @Param(HttpClientInputs.CONTENT_TYPE) String contentType,
+            @Param(HttpClientInputs.REQUEST_CHARACTER_SET) String requestCharacterSet,
+            @Param(HttpClientInputs.RESPONSE_CHARACTER_SET) String responseCharacterSet,
+            @Param(HttpClientInputs.FOLLOW_REDIRECTS) String followRedirects,
+            @Param(value = HttpClientInputs.SESSION_COOKIES, description = SESSION_COOKIES_DESC)
+                    SerializableSessionObject httpClientCookieSession,
+            @Param(value = HttpClientInputs.SESSION_CONNECTION_POOL, description = SESSION_CONNECTION_POOL_DESC)
+                    GlobalSessionObject httpClientPoolingConnectionManager) {
+
+        HttpClientInputs commonInputs = new HttpClientInputs();
+        commonInputs.setAuthType(authType);
+        commonInputs.setPreemptiveAuth(preemptiveAuth);
+        commonInputs.setUsername(username);
+        commonInputs.setPassword(password);
+        commonInputs.setProxyHost(proxyHost);
+        commonInputs.setProxyPort(proxyPort);
+        commonInputs.setProxyUsername(proxyUsername);
+        commonInputs.setProxyPassword(proxyPassword);
+        commonInputs.setTrustAllRoots(trustAllRoots);
+        commonInputs.setX509HostnameVerifier(x509HostnameVerifier);
+        commonInputs.setTrustKeystore(defaultIfEmpty(trustKeystore, DEFAULT_JAVA_KEYSTORE));
+        commonInputs.setTrustPassword(defaultIfEmpty(trustPassword, CHANGEIT));
+        commonInputs.setKeystore(defaultIfEmpty(keystore, DEFAULT_JAVA_KEYSTORE));
+        commonInputs.setKeystorePassword(defaultIfEmpty(keystorePassword, CHANGEIT));
+        commonInputs.setConnectTimeout(connectTimeout);
+        commonInputs.setSocketTimeout(socketTimeout);
+        commonInputs.setUseCookies(useCookies);
+        commonInputs.setKeepAlive(keepAlive);
+        commonInputs.setConnectionsMaxPerRoute(connectionsMaxPerRoute);
+        commonInputs.setConnectionsMaxTotal(connectionsMaxTotal);
+        commonInputs.setHeaders(headers);
+        commonInputs.setContentType(contentType);
+        commonInputs.setRequestCharacterSet(requestCharacterSet);
+        commonInputs.setResponseCharacterSet(responseCharacterSet);
+        commonInputs.setFollowRedirects(followRedirects);
+        commonInputs.setCookieStoreSessionObject(httpClientCookieSession);
+        commonInputs.setConnectionPoolSessionObject(httpClientPoolingConnectionManager);
+
+        try {
+            return new HttpClientBatchService().execute(commonInputs, requests, parallelism);
+        } catch (Exception e) {
+            return getFailureResultsMap(e);
+        }
+    }
+}
@@ -40,18 +40,27 @@ public class CookieStoreBuilder {
         return this;
     }
 
+    /**
+     * Returns the live cookie store of the session, creating it on first use.
+     * Cookie stores serialized to a byte array by older versions are converted once.
+     */
     public CookieStore buildCookieStore() {
         if (Boolean.parseBoolean(useCookies) && cookieStoreSessionObject != null) {
-            BasicCookieStore cookieStore;
-            if (cookieStoreSessionObject.getValue() == null) {
-                cookieStore = new BasicCookieStore();
+            Serializable value = cookieStoreSessionObject.getValue();
+            if (value instanceof SessionCookieStore) {
+                return (SessionCookieStore) value;
+            }
+            SessionCookieStore cookieStore;
+            if (value == null) {
+                cookieStore = new SessionCookieStore();
             } else {
                 try {
-                    cookieStore = (BasicCookieStore) deserialize((byte[]) cookieStoreSessionObject.getValue());
+                    cookieStore = new SessionCookieStore(((BasicCookieStore) deserialize((byte[]) value)).getCookies());
                 } catch (IOException | ClassNotFoundException e) {
                     throw new RuntimeException(e.getMessage(), e);
                 }
             }
+            cookieStoreSessionObject.setValue(cookieStore);
             return cookieStore;
         }
         return null;
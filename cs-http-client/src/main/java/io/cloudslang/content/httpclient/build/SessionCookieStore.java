@@ -0,0 +1,154 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.cookie.ClientCookie;
+import org.apache.http.cookie.Cookie;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.apache.http.impl.cookie.BasicClientCookie2;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The cookie store kept live in the cookies session object between requests.
+ * It is only serialized when the session itself is persisted, using a compact format instead of
+ * the default serialization of the cookie objects.
+ */
+public class SessionCookieStore extends BasicCookieStore implements Externalizable {
+    private static final long serialVersionUID = 1L;
+    private static final int FORMAT_VERSION = 1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final String[] ATTRIBUTES = {ClientCookie.VERSION_ATTR, ClientCookie.PATH_ATTR, ClientCookie.DOMAIN_ATTR,
+            ClientCookie.MAX_AGE_ATTR, ClientCookie.SECURE_ATTR, ClientCookie.COMMENT_ATTR, ClientCookie.EXPIRES_ATTR,
+            ClientCookie.PORT_ATTR, ClientCookie.COMMENTURL_ATTR, ClientCookie.DISCARD_ATTR};
+
+    public SessionCookieStore() {
+    }
+
+    public SessionCookieStore(List<Cookie> cookies) {
+        addCookies(cookies.toArray(new Cookie[cookies.size()]));
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        List<Cookie> cookies = getCookies();
+        out.writeByte(FORMAT_VERSION);
+        out.writeInt(cookies.size());
+        for (Cookie cookie : cookies) {
+            int[] ports = cookie.getPorts();
+            out.writeBoolean(cookie instanceof BasicClientCookie2);
+            writeString(out, cookie.getName());
+            writeString(out, cookie.getValue());
+            writeString(out, cookie.getDomain());
+            writeString(out, cookie.getPath());
+            writeString(out, cookie.getComment());
+            writeString(out, cookie.getCommentURL());
+            writeDate(out, cookie.getExpiryDate());
+            writeDate(out, cookie instanceof BasicClientCookie ? ((BasicClientCookie) cookie).getCreationDate() : null);
+            out.writeBoolean(cookie.isSecure());
+            out.writeInt(cookie.getVersion());
+            out.writeInt(ports != null ? ports.length : -1);
+            if (ports != null) {
+                for (int port : ports) {
+                    out.writeInt(port);
+                }
+            }
+            for (String attribute : ATTRIBUTES) {
+                boolean present = cookie instanceof ClientCookie && ((ClientCookie) cookie).containsAttribute(attribute);
+                out.writeBoolean(present);
+                if (present) {
+                    writeString(out, ((ClientCookie) cookie).getAttribute(attribute));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        int formatVersion = in.readByte();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported cookie store format version: " + formatVersion);
+        }
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            boolean cookie2 = in.readBoolean();
+            String name = readString(in);
+            String value = readString(in);
+            BasicClientCookie cookie = cookie2 ? new BasicClientCookie2(name, value) : new BasicClientCookie(name, value);
+            cookie.setDomain(readString(in));
+            cookie.setPath(readString(in));
+            cookie.setComment(readString(in));
+            String commentUrl = readString(in);
+            cookie.setExpiryDate(readDate(in));
+            cookie.setCreationDate(readDate(in));
+            cookie.setSecure(in.readBoolean());
+            cookie.setVersion(in.readInt());
+            int portsLength = in.readInt();
+            int[] ports = portsLength >= 0 ? new int[portsLength] : null;
+            for (int j = 0; j < portsLength; j++) {
+                ports[j] = in.readInt();
+            }
+            if (cookie2) {
+                ((BasicClientCookie2) cookie).setCommentURL(commentUrl);
+                ((BasicClientCookie2) cookie).setPorts(ports);
+            }
+            for (String attribute : ATTRIBUTES) {
+                if (in.readBoolean()) {
+                    cookie.setAttribute(attribute, readString(in));
+                }
+            }
+            addCookie(cookie);
+        }
+    }
+
+    private void writeString(ObjectOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            //not writeUTF, it is limited to 64K
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private String readString(ObjectInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeDate(ObjectOutput out, Date date) throws IOException {
+        out.writeLong(date != null ? date.getTime() : NO_DATE);
+    }
+
+    private Date readDate(ObjectInput in) throws IOException {
+        long time = in.readLong();
+        return time != NO_DATE ? new Date(time) : null;
+    }
+}
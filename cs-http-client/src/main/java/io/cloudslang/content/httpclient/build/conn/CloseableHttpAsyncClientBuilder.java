@@ -0,0 +1,183 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds the asynchronous http client used by the 'async' execution mode and keeps it in the connection pool session.
+ * Each client owns a non-blocking connection pool served by a few I/O threads, one per available processor.
+ * As for the blocking client, the pool limits are only applied when the client is created, and the pool is registered
+ * with the {@link ConnectionPoolEvictor} and in the session for the connection pool statistics.
+ */
+public class CloseableHttpAsyncClientBuilder {
+    private GlobalSessionObject connectionPoolHolder;
+    private SSLConnectionSocketFactoryBuilder sslConnectionSocketFactoryBuilder;
+    private String connectionManagerMapKey;
+    private String defaultMaxPerRoute;
+    private String totalMax;
+    private String keepAlive;
+    private String idleTimeout;
+
+    public CloseableHttpAsyncClientBuilder setConnectionPoolHolder(GlobalSessionObject connectionPoolHolder) {
+        this.connectionPoolHolder = connectionPoolHolder;
+        return this;
+    }
+
+    public CloseableHttpAsyncClientBuilder setSslConnectionSocketFactoryBuilder(SSLConnectionSocketFactoryBuilder sslConnectionSocketFactoryBuilder) {
+        this.sslConnectionSocketFactoryBuilder = sslConnectionSocketFactoryBuilder;
+        return this;
+    }
+
+    public CloseableHttpAsyncClientBuilder setConnectionManagerMapKey(String connectionManagerMapKey) {
+        this.connectionManagerMapKey = connectionManagerMapKey;
+        return this;
+    }
+
+    public CloseableHttpAsyncClientBuilder setDefaultMaxPerRoute(String defaultMaxPerRoute) {
+        this.defaultMaxPerRoute = defaultMaxPerRoute;
+        return this;
+    }
+
+    public CloseableHttpAsyncClientBuilder setTotalMax(String totalMax) {
+        this.totalMax = totalMax;
+        return this;
+    }
+
+    public CloseableHttpAsyncClientBuilder setKeepAlive(String keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    public CloseableHttpAsyncClientBuilder setIdleTimeout(String idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * Returns the started client registered in the connection pool session, creating it if needed.
+     * The SSL context is only built when a new client is created.
+     *
+     * @return the started asynchronous client
+     */
+    public CloseableHttpAsyncClient build() {
+        Integer maxPerRoute = ConnectionManagerBuilder.parseLimit(defaultMaxPerRoute, HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE);
+        Integer maxTotal = ConnectionManagerBuilder.parseLimit(totalMax, HttpClientInputs.CONNECTIONS_MAX_TOTAL);
+        Integer idleTimeoutSeconds = ConnectionManagerBuilder.parseLimit(idleTimeout, HttpClientInputs.CONNECTIONS_IDLE_TIMEOUT);
+
+        ConnectionPoolSessionResource sessionResource = getSessionResource();
+        ConcurrentMap<String, CloseableHttpAsyncClient> httpAsyncClients = sessionResource.getHttpAsyncClients();
+        String httpAsyncClientMapKey = ConnectionManagerBuilder.buildConnectionManagerMapKey(connectionManagerMapKey,
+                String.valueOf(isKeepAlive()));
+
+        CloseableHttpAsyncClient httpAsyncClient = httpAsyncClients.get(httpAsyncClientMapKey);
+        if (httpAsyncClient == null) {
+            PoolingNHttpClientConnectionManager connManager = newConnectionManager(maxPerRoute, maxTotal);
+            CloseableHttpAsyncClient newHttpAsyncClient = newHttpAsyncClient(connManager);
+            //started before it is published, other threads may use it as soon as it is registered
+            newHttpAsyncClient.start();
+            httpAsyncClient = httpAsyncClients.putIfAbsent(httpAsyncClientMapKey, newHttpAsyncClient);
+            if (httpAsyncClient == null) {
+                httpAsyncClient = newHttpAsyncClient;
+                sessionResource.getAsyncConnectionManagers().put(httpAsyncClientMapKey, connManager);
+                ConnectionPoolEvictor.getInstance().register(connManager, idleTimeoutSeconds != null
+                        ? idleTimeoutSeconds : ConnectionPoolEvictor.DEFAULT_IDLE_TIMEOUT_SECONDS);
+            } else {
+                //another thread registered a client for the same key first
+                close(newHttpAsyncClient);
+            }
+        }
+        return httpAsyncClient;
+    }
+
+    private ConnectionPoolSessionResource getSessionResource() {
+        if (connectionPoolHolder == null) {
+            throw new IllegalArgumentException("The 'async' execution mode needs a connection pool session");
+        }
+        if (connectionPoolHolder.getResource() == null) {
+            synchronized (connectionPoolHolder) {
+                if (connectionPoolHolder.getResource() == null) {
+                    connectionPoolHolder.setResource(new ConnectionPoolSessionResource());
+                }
+            }
+        }
+        if (!(connectionPoolHolder.getResource() instanceof ConnectionPoolSessionResource)) {
+            //the client owns threads, it must not outlive a session that cannot release it
+            throw new IllegalArgumentException("The 'async' execution mode cannot use a connection pool session created by another action");
+        }
+        return (ConnectionPoolSessionResource) connectionPoolHolder.getResource();
+    }
+
+    private PoolingNHttpClientConnectionManager newConnectionManager(Integer maxPerRoute, Integer maxTotal) {
+        Registry<SchemeIOSessionStrategy> sessionStrategyRegistry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", sslConnectionSocketFactoryBuilder.buildSSLIOSessionStrategy())
+                .build();
+        PoolingNHttpClientConnectionManager connManager;
+        try {
+            connManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(), sessionStrategyRegistry);
+        } catch (IOReactorException e) {
+            throw new RuntimeException("Could not start the I/O reactor: " + e.getMessage(), e);
+        }
+        //same defaults as the blocking pool: 2 per route and 20 in total
+        if (maxPerRoute != null) {
+            connManager.setDefaultMaxPerRoute(maxPerRoute);
+        }
+        if (maxTotal != null) {
+            connManager.setMaxTotal(maxTotal);
+        }
+        return connManager;
+    }
+
+    private CloseableHttpAsyncClient newHttpAsyncClient(PoolingNHttpClientConnectionManager connManager) {
+        HttpAsyncClientBuilder httpAsyncClientBuilder = HttpAsyncClientBuilder.create()
+                .setConnectionManager(connManager);
+        if (isKeepAlive()) {
+            httpAsyncClientBuilder.setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE);
+        } else {
+            httpAsyncClientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        }
+        return httpAsyncClientBuilder.build();
+    }
+
+    private void close(CloseableHttpAsyncClient httpAsyncClient) {
+        try {
+            httpAsyncClient.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private boolean isKeepAlive() {
+        return StringUtils.isEmpty(keepAlive) || Boolean.parseBoolean(keepAlive);
+    }
+}
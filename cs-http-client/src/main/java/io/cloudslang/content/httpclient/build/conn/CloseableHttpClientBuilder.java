@@ -0,0 +1,206 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.impl.client.cache.CacheConfig;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds the http client on top of a pooled connection manager and keeps it in the connection pool session,
+ * so that requests using the same pool and client settings share one client.
+ * The client only holds immutable settings. Credentials, auth schemes and cookies are set on the request context.
+ * With 'useCache' the client is a caching client, its HTTP cache is shared by the requests getting the same client.
+ * The cache is private, it may hold responses to authenticated requests. The cache partition, a digest of all the
+ * credentials of the request, separates the clients of different credentials. Only the caching clients of the most
+ * recently used partitions are kept, see {@link ConnectionPoolSessionResource#MAX_CACHING_HTTP_CLIENTS}.
+ */
+public class CloseableHttpClientBuilder {
+    public static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_CACHE_MAX_OBJECT_SIZE = 1024 * 1024;
+
+    private GlobalSessionObject connectionPoolHolder;
+    private PoolingHttpClientConnectionManager connManager;
+    private String connectionManagerMapKey;
+    private String keepAlive;
+    private String useCache;
+    private String cacheMaxEntries;
+    private String cacheMaxObjectSize;
+    private String cacheDirectory;
+    private String cachePartition;
+
+    public CloseableHttpClientBuilder setConnectionPoolHolder(GlobalSessionObject connectionPoolHolder) {
+        this.connectionPoolHolder = connectionPoolHolder;
+        return this;
+    }
+
+    public CloseableHttpClientBuilder setConnManager(PoolingHttpClientConnectionManager connManager) {
+        this.connManager = connManager;
+        return this;
+    }
+
+    public CloseableHttpClientBuilder setConnectionManagerMapKey(String connectionManagerMapKey) {
+        this.connectionManagerMapKey = connectionManagerMapKey;
+        return this;
+    }
+
+    public CloseableHttpClientBuilder setKeepAlive(String keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    public CloseableHttpClientBuilder setUseCache(String useCache) {
+        this.useCache = useCache;
+        return this;
+    }
+
+    public CloseableHttpClientBuilder setCacheMaxEntries(String cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+        return this;
+    }
+
+    public CloseableHttpClientBuilder setCacheMaxObjectSize(String cacheMaxObjectSize) {
+        this.cacheMaxObjectSize = cacheMaxObjectSize;
+        return this;
+    }
+
+    public CloseableHttpClientBuilder setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        return this;
+    }
+
+    public CloseableHttpClientBuilder setCachePartition(String cachePartition) {
+        this.cachePartition = cachePartition;
+        return this;
+    }
+
+    public CloseableHttpClient build() {
+        CacheConfig cacheConfig = buildCacheConfig();
+        if (connManager == null || connectionPoolHolder == null
+                || !(connectionPoolHolder.getResource() instanceof ConnectionPoolSessionResource)) {
+            return newHttpClient(cacheConfig);
+        }
+        ConnectionPoolSessionResource connectionPoolSessionResource = (ConnectionPoolSessionResource) connectionPoolHolder.getResource();
+        //clients with different cache settings do not share a cache
+        String httpClientMapKey = ConnectionManagerBuilder.buildConnectionManagerMapKey(connectionManagerMapKey,
+                String.valueOf(isKeepAlive()), buildCacheKey(cacheConfig));
+
+        if (cacheConfig != null) {
+            Map<String, CloseableHttpClient> cachingHttpClients = connectionPoolSessionResource.getCachingHttpClients();
+            synchronized (cachingHttpClients) {
+                CloseableHttpClient cachingHttpClient = cachingHttpClients.get(httpClientMapKey);
+                if (cachingHttpClient == null) {
+                    cachingHttpClient = newHttpClient(cacheConfig);
+                    cachingHttpClients.put(httpClientMapKey, cachingHttpClient);
+                }
+                return cachingHttpClient;
+            }
+        }
+        ConcurrentMap<String, CloseableHttpClient> httpClients = connectionPoolSessionResource.getHttpClients();
+        CloseableHttpClient httpClient = httpClients.get(httpClientMapKey);
+        if (httpClient == null) {
+            CloseableHttpClient newHttpClient = newHttpClient(cacheConfig);
+            httpClient = httpClients.putIfAbsent(httpClientMapKey, newHttpClient);
+            if (httpClient == null) {
+                httpClient = newHttpClient;
+            }
+        }
+        return httpClient;
+    }
+
+    private CloseableHttpClient newHttpClient(CacheConfig cacheConfig) {
+        HttpClientBuilder httpClientBuilder;
+        if (cacheConfig != null) {
+            CachingHttpClientBuilder cachingHttpClientBuilder = CachingHttpClientBuilder.create().setCacheConfig(cacheConfig);
+            if (StringUtils.isNotEmpty(cacheDirectory)) {
+                File cacheDir = new File(cacheDirectory);
+                if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+                    throw new IllegalArgumentException("Could not create the '" + HttpClientInputs.CACHE_DIRECTORY + "': " + cacheDirectory);
+                }
+                cachingHttpClientBuilder.setCacheDir(cacheDir);
+            }
+            httpClientBuilder = cachingHttpClientBuilder;
+        } else {
+            httpClientBuilder = HttpClientBuilder.create();
+        }
+        httpClientBuilder
+                .setConnectionManager(connManager)
+                //the pool belongs to the session, closing a client must not shut it down
+                .setConnectionManagerShared(connManager != null)
+                .setRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+
+        if (isKeepAlive()) {
+            httpClientBuilder.setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE);
+        } else {
+            httpClientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        }
+        return httpClientBuilder.build();
+    }
+
+    /**
+     * @return the cache settings, or null if the cache is not used
+     */
+    private CacheConfig buildCacheConfig() {
+        if (!Boolean.parseBoolean(useCache)) {
+            return null;
+        }
+        return CacheConfig.custom()
+                //responses to authenticated requests are cached, hence the partition by a digest of the credentials
+                .setSharedCache(false)
+                .setMaxCacheEntries((int) parsePositive(cacheMaxEntries, DEFAULT_CACHE_MAX_ENTRIES, HttpClientInputs.CACHE_MAX_ENTRIES))
+                .setMaxObjectSize(parsePositive(cacheMaxObjectSize, DEFAULT_CACHE_MAX_OBJECT_SIZE, HttpClientInputs.CACHE_MAX_OBJECT_SIZE))
+                .build();
+    }
+
+    private String buildCacheKey(CacheConfig cacheConfig) {
+        if (cacheConfig == null) {
+            return "";
+        }
+        return "cache-" + cacheConfig.getMaxCacheEntries() + "-" + cacheConfig.getMaxObjectSize() + "-"
+                + StringUtils.defaultString(cacheDirectory) + "-" + StringUtils.defaultString(cachePartition);
+    }
+
+    private long parsePositive(String value, long defaultValue, String inputName) {
+        if (StringUtils.isEmpty(value)) {
+            return defaultValue;
+        }
+        try {
+            long result = Long.parseLong(value);
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("the '" + inputName + "' input should be a positive integer");
+    }
+
+    private boolean isKeepAlive() {
+        return StringUtils.isEmpty(keepAlive) || Boolean.parseBoolean(keepAlive);
+    }
+}
@@ -18,7 +18,6 @@
 package io.cloudslang.content.httpclient.build.conn;
 
 import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
-import com.hp.oo.sdk.content.plugin.SessionResource;
 import io.cloudslang.content.httpclient.entities.HttpClientInputs;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.config.Registry;
@@ -28,8 +27,8 @@ import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 public class ConnectionManagerBuilder {
     private GlobalSessionObject<Map<String, PoolingHttpClientConnectionManager>> connectionPoolHolder;
@@ -37,6 +36,7 @@ public class ConnectionManagerBuilder {
     private String connectionManagerMapKey;
     private String defaultMaxPerRoute;
     private String totalMax;
+    private String idleTimeout;
 
     public ConnectionManagerBuilder setConnectionPoolHolder(GlobalSessionObject connectionPoolHolder) {
         this.connectionPoolHolder = connectionPoolHolder;
@@ -53,6 +53,11 @@ public class ConnectionManagerBuilder {
         return this;
     }
 
+    public ConnectionManagerBuilder setIdleTimeout(String idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
     public ConnectionManagerBuilder setDefaultMaxPerRoute(String defaultMaxPerRoute) {
         this.defaultMaxPerRoute = defaultMaxPerRoute;
         return this;
@@ -74,60 +79,96 @@ public class ConnectionManagerBuilder {
         return keyBuilder.toString();
     }
 
+    /**
+     * Returns the connection manager registered under the map key, creating and registering it if needed.
+     * The lookup of an already registered manager takes no lock. The pool limits are only applied when the
+     * manager is created, later requests with other limits do not resize a pool shared with other flows.
+     * New managers are registered with the {@link ConnectionPoolEvictor}.
+     *
+     * @return the pooled connection manager, or null if there is no connection pool holder
+     */
     public PoolingHttpClientConnectionManager buildConnectionManager() {
         if (connectionPoolHolder != null) {
-            PoolingHttpClientConnectionManager connManager = null;
-            synchronized (connectionPoolHolder) {
-                Map<String, PoolingHttpClientConnectionManager> connectionManagerMap
-                        = connectionPoolHolder.get();
+            //validated on every call so that an invalid value fails even when the pool already exists
+            Integer maxPerRoute = parseLimit(defaultMaxPerRoute, HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE);
+            Integer maxTotal = parseLimit(totalMax, HttpClientInputs.CONNECTIONS_MAX_TOTAL);
+            Integer idleTimeoutSeconds = parseLimit(idleTimeout, HttpClientInputs.CONNECTIONS_IDLE_TIMEOUT);
+
+            Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = getConnectionManagerMap();
+            PoolingHttpClientConnectionManager connManager = connectionManagerMap.get(connectionManagerMapKey);
+            if (connManager == null) {
+                PoolingHttpClientConnectionManager newConnManager = createConnectionManager(maxPerRoute, maxTotal);
+                connManager = registerConnectionManager(connectionManagerMap, newConnManager);
+                if (connManager != newConnManager) {
+                    //another thread registered a manager for the same key first
+                    newConnManager.shutdown();
+                } else {
+                    ConnectionPoolEvictor.getInstance().register(connManager, idleTimeoutSeconds != null
+                            ? idleTimeoutSeconds : ConnectionPoolEvictor.DEFAULT_IDLE_TIMEOUT_SECONDS);
+                }
+            }
+            return connManager;
+        }
+        return null;
+    }
 
+    private Map<String, PoolingHttpClientConnectionManager> getConnectionManagerMap() {
+        Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = connectionPoolHolder.get();
+        if (connectionManagerMap == null) {
+            synchronized (connectionPoolHolder) {
+                connectionManagerMap = connectionPoolHolder.get();
                 if (connectionManagerMap == null) {
-                    final HashMap<String, PoolingHttpClientConnectionManager> connectionManagerMapFinal = new HashMap<>();
-                    connectionPoolHolder.setResource(new SessionResource<Map<String, PoolingHttpClientConnectionManager>>() {
-                        @Override
-                        public Map<String, PoolingHttpClientConnectionManager> get() {
-                            return connectionManagerMapFinal;
-                        }
-
-                        @Override
-                        public void release() {
-                        }
-                    });
+                    connectionPoolHolder.setResource(new ConnectionPoolSessionResource());
                     connectionManagerMap = connectionPoolHolder.get();
                 }
+            }
+        }
+        return connectionManagerMap;
+    }
 
+    private PoolingHttpClientConnectionManager registerConnectionManager(Map<String, PoolingHttpClientConnectionManager> connectionManagerMap,
+                                                                         PoolingHttpClientConnectionManager newConnManager) {
+        PoolingHttpClientConnectionManager connManager;
+        if (connectionManagerMap instanceof ConcurrentMap) {
+            connManager = ((ConcurrentMap<String, PoolingHttpClientConnectionManager>) connectionManagerMap)
+                    .putIfAbsent(connectionManagerMapKey, newConnManager);
+        } else {
+            //session resources not created by this builder hold a plain map
+            synchronized (connectionPoolHolder) {
                 connManager = connectionManagerMap.get(connectionManagerMapKey);
                 if (connManager == null) {
-                    Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
-                            .register("http", PlainConnectionSocketFactory.getSocketFactory())
-                            .register("https", sslsf)
-                            .build();
-                    connManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
-
-                    connectionManagerMap.put(connectionManagerMapKey, connManager);
+                    connectionManagerMap.put(connectionManagerMapKey, newConnManager);
                 }
             }
+        }
+        return connManager != null ? connManager : newConnManager;
+    }
 
-            //the DefaultMaxPerRoute default is 2
-            if (!StringUtils.isEmpty(defaultMaxPerRoute)) {
-                try {
-                    connManager.setDefaultMaxPerRoute(Integer.parseInt(defaultMaxPerRoute));
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_PER_ROUTE
-                            + "' input should be integer" + e.getMessage(), e);
-                }
-            }
-            //the Default totalMax default is 20
-            if (!StringUtils.isEmpty(totalMax)) {
-                try {
-                    connManager.setMaxTotal(Integer.parseInt(totalMax));
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("the '" + HttpClientInputs.CONNECTIONS_MAX_TOTAL
-                            + "' input should be integer" + e.getMessage(), e);
-                }
-            }
-            return connManager;
+    private PoolingHttpClientConnectionManager createConnectionManager(Integer maxPerRoute, Integer maxTotal) {
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslsf)
+                .build();
+        PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        //the DefaultMaxPerRoute default is 2
+        if (maxPerRoute != null) {
+            connManager.setDefaultMaxPerRoute(maxPerRoute);
+        }
+        //the Default totalMax default is 20
+        if (maxTotal != null) {
+            connManager.setMaxTotal(maxTotal);
+        }
+        return connManager;
+    }
+
+    static Integer parseLimit(String limit, String inputName) {
+        if (StringUtils.isEmpty(limit)) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("the '" + inputName + "' input should be integer" + e.getMessage(), e);
         }
-        return null;
     }
-}
\ No newline at end of file
+}
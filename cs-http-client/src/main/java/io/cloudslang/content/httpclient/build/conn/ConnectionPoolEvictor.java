@@ -0,0 +1,184 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single daemon thread that periodically closes the expired connections and the connections idle for longer than
+ * the configured timeout in every pool registered by {@link ConnectionManagerBuilder} and by
+ * {@link CloseableHttpAsyncClientBuilder}. The blocking and the non-blocking pools are evicted the same way.
+ * Pools are referenced weakly, a pool whose session is gone is dropped from the evictor as well.
+ * Pools retired from their session, such as the pools of a replaced keystore, are held until they have no connection
+ * in use and are then closed along with their clients.
+ */
+public class ConnectionPoolEvictor {
+    public static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+    public static final long EVICTION_INTERVAL_SECONDS = 5;
+
+    private static final ConnectionPoolEvictor INSTANCE = new ConnectionPoolEvictor();
+
+    //either blocking or non-blocking connection managers, they have no common interface for the eviction
+    private final Map<Object, Long> idleTimeouts = new WeakHashMap<>();
+    private final Map<ConnPoolControl<HttpRoute>, List<Closeable>> retiredPools = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public static ConnectionPoolEvictor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a pool for eviction and starts the evictor thread if needed.
+     *
+     * @param connManager        the pool to evict connections from
+     * @param idleTimeoutSeconds connections idle for longer are closed, 0 only closes the expired connections
+     */
+    public void register(PoolingHttpClientConnectionManager connManager, long idleTimeoutSeconds) {
+        registerPool(connManager, idleTimeoutSeconds);
+    }
+
+    /**
+     * Registers a non-blocking pool for eviction and starts the evictor thread if needed.
+     *
+     * @param connManager        the pool to evict connections from
+     * @param idleTimeoutSeconds connections idle for longer are closed, 0 only closes the expired connections
+     */
+    public void register(PoolingNHttpClientConnectionManager connManager, long idleTimeoutSeconds) {
+        registerPool(connManager, idleTimeoutSeconds);
+    }
+
+    private synchronized void registerPool(Object connManager, long idleTimeoutSeconds) {
+        idleTimeouts.put(connManager, idleTimeoutSeconds);
+        startScheduler();
+    }
+
+    /**
+     * Retires a pool which is no longer used by new requests. It is closed, with the given resources,
+     * by the first eviction run that finds no connection leased or pending in it.
+     *
+     * @param connManager the pool to close once its requests are completed
+     * @param closeables  the clients built on the pool and the pool itself, closed in this order
+     */
+    public synchronized void retire(ConnPoolControl<HttpRoute> connManager, List<? extends Closeable> closeables) {
+        retiredPools.put(connManager, new ArrayList<Closeable>(closeables));
+        startScheduler();
+    }
+
+    public synchronized boolean isRetired(ConnPoolControl<HttpRoute> connManager) {
+        return retiredPools.containsKey(connManager);
+    }
+
+    private void startScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "http-client-connection-evictor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    evict();
+                }
+            }, EVICTION_INTERVAL_SECONDS, EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public synchronized boolean isRegistered(PoolingHttpClientConnectionManager connManager) {
+        return idleTimeouts.containsKey(connManager);
+    }
+
+    public synchronized boolean isRegistered(PoolingNHttpClientConnectionManager connManager) {
+        return idleTimeouts.containsKey(connManager);
+    }
+
+    public void evict() {
+        closeRetiredPools();
+        Map<Object, Long> pools;
+        synchronized (this) {
+            pools = new HashMap<>(idleTimeouts);
+        }
+        for (Map.Entry<Object, Long> pool : pools.entrySet()) {
+            //a failure in one pool must not stop the eviction of the others or kill the scheduled task
+            try {
+                if (pool.getKey() instanceof PoolingNHttpClientConnectionManager) {
+                    evict((PoolingNHttpClientConnectionManager) pool.getKey(), pool.getValue());
+                } else {
+                    evict((PoolingHttpClientConnectionManager) pool.getKey(), pool.getValue());
+                }
+            } catch (RuntimeException ignored) {
+            }
+        }
+    }
+
+    private synchronized void closeRetiredPools() {
+        Iterator<Map.Entry<ConnPoolControl<HttpRoute>, List<Closeable>>> retiredPoolIterator = retiredPools.entrySet().iterator();
+        while (retiredPoolIterator.hasNext()) {
+            Map.Entry<ConnPoolControl<HttpRoute>, List<Closeable>> retiredPool = retiredPoolIterator.next();
+            try {
+                PoolStats totalStats = retiredPool.getKey().getTotalStats();
+                if (totalStats.getLeased() > 0 || totalStats.getPending() > 0) {
+                    continue;
+                }
+            } catch (RuntimeException ignored) {
+                //a pool failing to report its statistics is closed as well
+            }
+            for (Closeable closeable : retiredPool.getValue()) {
+                try {
+                    closeable.close();
+                } catch (IOException | RuntimeException ignored) {
+                }
+            }
+            idleTimeouts.remove(retiredPool.getKey());
+            retiredPoolIterator.remove();
+        }
+    }
+
+    private void evict(PoolingHttpClientConnectionManager connManager, long idleTimeoutSeconds) {
+        connManager.closeExpiredConnections();
+        if (idleTimeoutSeconds > 0) {
+            connManager.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private void evict(PoolingNHttpClientConnectionManager connManager, long idleTimeoutSeconds) {
+        connManager.closeExpiredConnections();
+        if (idleTimeoutSeconds > 0) {
+            connManager.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+        }
+    }
+}
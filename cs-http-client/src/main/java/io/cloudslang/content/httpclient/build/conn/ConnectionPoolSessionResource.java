@@ -0,0 +1,180 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.SessionResource;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The resource held by the connection pool GlobalSessionObject.
+ * Besides the connection managers it keeps the http clients built on top of them, so both share the session lifetime.
+ * The caching clients, one per cache partition, are kept apart and only the {@link #MAX_CACHING_HTTP_CLIENTS} most
+ * recently used ones are kept, so rotating credentials do not pile up caches. An evicted caching client is closed.
+ * The clients are closed when the session resource is released, which stops the I/O threads of the asynchronous
+ * clients and frees the HTTP caches. The connection pools are shared by the clients and are not shut down by closing them.
+ * The non-blocking pools are owned by their asynchronous client, they are kept under the key of the client for the
+ * statistics and are shut down with it.
+ * The pools are keyed by their SSL settings and the stamp of their keystores. When a keystore changes, the pools,
+ * and the clients, of the previous stamp are removed from the session and retired to the {@link ConnectionPoolEvictor}.
+ */
+public class ConnectionPoolSessionResource extends SessionResource<Map<String, PoolingHttpClientConnectionManager>> {
+    public static final int MAX_CACHING_HTTP_CLIENTS = 16;
+
+    private final ConcurrentMap<String, PoolingHttpClientConnectionManager> connectionManagers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CloseableHttpClient> httpClients = new ConcurrentHashMap<>();
+    private final Map<String, CloseableHttpClient> cachingHttpClients = Collections.synchronizedMap(
+            new LinkedHashMap<String, CloseableHttpClient>(MAX_CACHING_HTTP_CLIENTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CloseableHttpClient> eldest) {
+                    if (size() <= MAX_CACHING_HTTP_CLIENTS) {
+                        return false;
+                    }
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            });
+    private final ConcurrentMap<String, CloseableHttpAsyncClient> httpAsyncClients = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PoolingNHttpClientConnectionManager> asyncConnectionManagers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> keystoresStamps = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, PoolingHttpClientConnectionManager> get() {
+        return connectionManagers;
+    }
+
+    public ConcurrentMap<String, CloseableHttpClient> getHttpClients() {
+        return httpClients;
+    }
+
+    /**
+     * @return the caching clients in least recently used order, synchronize on the map to iterate it or to get and put
+     * a client atomically
+     */
+    public Map<String, CloseableHttpClient> getCachingHttpClients() {
+        return cachingHttpClients;
+    }
+
+    public ConcurrentMap<String, CloseableHttpAsyncClient> getHttpAsyncClients() {
+        return httpAsyncClients;
+    }
+
+    public ConcurrentMap<String, PoolingNHttpClientConnectionManager> getAsyncConnectionManagers() {
+        return asyncConnectionManagers;
+    }
+
+    /**
+     * Records the keystores stamp of the pools of the base key and retires the pools and the clients built with the
+     * previous stamp of that base key, if it changed. The pools are keyed by the base key and the stamp, as built by
+     * {@link ConnectionManagerBuilder#buildConnectionManagerMapKey(String...)}.
+     *
+     * @param baseKey        the key of the SSL settings of the pools, without the keystores stamp
+     * @param keystoresStamp the current stamp of the keystores
+     */
+    public void retireSupersededPools(String baseKey, String keystoresStamp) {
+        String previousStamp = keystoresStamps.put(baseKey, keystoresStamp);
+        if (previousStamp == null || previousStamp.equals(keystoresStamp)) {
+            return;
+        }
+        String previousKey = ConnectionManagerBuilder.buildConnectionManagerMapKey(baseKey, previousStamp);
+        String previousClientKeyPrefix = previousKey + ":";
+
+        PoolingHttpClientConnectionManager connManager = connectionManagers.remove(previousKey);
+        List<Closeable> closeables = new ArrayList<>();
+        for (String key : httpClients.keySet()) {
+            if (key.startsWith(previousClientKeyPrefix)) {
+                CloseableHttpClient httpClient = httpClients.remove(key);
+                if (httpClient != null) {
+                    closeables.add(httpClient);
+                }
+            }
+        }
+        synchronized (cachingHttpClients) {
+            Iterator<Map.Entry<String, CloseableHttpClient>> cachingHttpClientIterator = cachingHttpClients.entrySet().iterator();
+            while (cachingHttpClientIterator.hasNext()) {
+                Map.Entry<String, CloseableHttpClient> cachingHttpClient = cachingHttpClientIterator.next();
+                if (cachingHttpClient.getKey().startsWith(previousClientKeyPrefix)) {
+                    closeables.add(cachingHttpClient.getValue());
+                    cachingHttpClientIterator.remove();
+                }
+            }
+        }
+        if (connManager != null) {
+            closeables.add(connManager);
+            ConnectionPoolEvictor.getInstance().retire(connManager, closeables);
+        }
+
+        for (String key : asyncConnectionManagers.keySet()) {
+            if (key.startsWith(previousClientKeyPrefix)) {
+                PoolingNHttpClientConnectionManager asyncConnManager = asyncConnectionManagers.remove(key);
+                CloseableHttpAsyncClient httpAsyncClient = httpAsyncClients.remove(key);
+                if (asyncConnManager != null && httpAsyncClient != null) {
+                    //the client owns its pool, closing it shuts the pool down
+                    List<Closeable> asyncCloseables = new ArrayList<>();
+                    asyncCloseables.add(httpAsyncClient);
+                    ConnectionPoolEvictor.getInstance().retire(asyncConnManager, asyncCloseables);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void release() {
+        for (String key : httpClients.keySet()) {
+            CloseableHttpClient httpClient = httpClients.remove(key);
+            if (httpClient != null) {
+                closeQuietly(httpClient);
+            }
+        }
+        synchronized (cachingHttpClients) {
+            for (CloseableHttpClient cachingHttpClient : cachingHttpClients.values()) {
+                closeQuietly(cachingHttpClient);
+            }
+            cachingHttpClients.clear();
+        }
+        for (String key : httpAsyncClients.keySet()) {
+            CloseableHttpAsyncClient httpAsyncClient = httpAsyncClients.remove(key);
+            if (httpAsyncClient != null) {
+                try {
+                    httpAsyncClient.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        asyncConnectionManagers.clear();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -19,11 +19,14 @@ package io.cloudslang.content.httpclient.build.conn;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.conn.ssl.*;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 
+import javax.net.ssl.SSLContext;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
@@ -69,6 +72,24 @@ public class SSLConnectionSocketFactoryBuilder {
     }
 
     public SSLConnectionSocketFactory build() {
+        SSLContext sslContext = buildSSLContext();
+        X509HostnameVerifier x509HostnameVerifier = buildX509HostnameVerifier();
+        // Allow SSLv3, TLSv1, TLSv1.1 and TLSv1.2 protocols only. Client-server communication starts with TLSv1.2 and fallbacks to SSLv3 if needed.
+        return new SSLConnectionSocketFactory(sslContext, SUPPORTED_PROTOCOLS, null, x509HostnameVerifier);
+    }
+
+    /**
+     * Builds the SSL strategy of the asynchronous client from the same inputs and with the same protocols as {@link #build()}.
+     *
+     * @return the SSL strategy for the https scheme of a non-blocking connection manager
+     */
+    public SSLIOSessionStrategy buildSSLIOSessionStrategy() {
+        SSLContext sslContext = buildSSLContext();
+        X509HostnameVerifier x509HostnameVerifier = buildX509HostnameVerifier();
+        return new SSLIOSessionStrategy(sslContext, SUPPORTED_PROTOCOLS, null, x509HostnameVerifier);
+    }
+
+    private SSLContext buildSSLContext() {
         if (!"true".equalsIgnoreCase(trustAllRootsStr) && !"false".equalsIgnoreCase(trustAllRootsStr)) {
             throw new IllegalArgumentException("'trustAllRoots' can only be 'true' or 'false'");
         }
@@ -125,32 +146,89 @@ public class SSLConnectionSocketFactoryBuilder {
         sslContextBuilder.useSSL();
         sslContextBuilder.useTLS();
 
-        SSLConnectionSocketFactory sslsf;
         try {
-            String x509HostnameVerifierStr = x509HostnameVerifierInputValue.toLowerCase();
-            X509HostnameVerifier x509HostnameVerifier;
-            switch (x509HostnameVerifierStr) {
-                case "strict":
-                    x509HostnameVerifier = SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
-                    break;
-                case "browser_compatible":
-                    x509HostnameVerifier = SSLConnectionSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER;
-                    break;
-                case "allow_all":
-                    x509HostnameVerifier = SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER;
-                    break;
-                default:
-                    throw new IllegalArgumentException("Invalid value '" + x509HostnameVerifierInputValue + "' for input 'x509HostnameVerifier'. Valid values: 'strict','browser_compatible','allow_all'.");
-            }
-            // Allow SSLv3, TLSv1, TLSv1.1 and TLSv1.2 protocols only. Client-server communication starts with TLSv1.2 and fallbacks to SSLv3 if needed.
-            sslsf = new SSLConnectionSocketFactory(sslContextBuilder.build(), SUPPORTED_PROTOCOLS, null, x509HostnameVerifier);
+            return sslContextBuilder.build();
         } catch (Exception e) {
-            if (e instanceof IllegalArgumentException) {
-                throw new IllegalArgumentException(e.getMessage());
-            }
             throw new RuntimeException(e.getMessage() + ". " + SSL_CONNECTION_ERROR, e);
         }
-        return sslsf;
+    }
+
+    private X509HostnameVerifier buildX509HostnameVerifier() {
+        String x509HostnameVerifierStr = x509HostnameVerifierInputValue.toLowerCase();
+        switch (x509HostnameVerifierStr) {
+            case "strict":
+                return SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
+            case "browser_compatible":
+                return SSLConnectionSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER;
+            case "allow_all":
+                return SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER;
+            default:
+                throw new IllegalArgumentException("Invalid value '" + x509HostnameVerifierInputValue + "' for input 'x509HostnameVerifier'. Valid values: 'strict','browser_compatible','allow_all'.");
+        }
+    }
+
+    /**
+     * Builds the key under which the factory produced by {@link #build()} can be reused.
+     * It covers every input that influences the resulting SSL context. Passwords only take part as digests.
+     * Must be called before {@link #build()} because building resolves the default keystore paths in place.
+     *
+     * @return the cache key for the current inputs
+     */
+    public String buildCacheKey() {
+        return new StringBuilder()
+                .append(trustAllRootsStr.toLowerCase()).append(':')
+                .append(x509HostnameVerifierInputValue.toLowerCase()).append(':')
+                .append(resolveStorePath(keystore)).append(':')
+                .append(digest(keystorePassword)).append(':')
+                .append(resolveStorePath(trustKeystore)).append(':')
+                .append(digest(trustPassword))
+                .toString();
+    }
+
+    /**
+     * Builds a stamp of the keystore files used by {@link #build()}, made of their last modified time and size.
+     * Stores loaded over http are not stamped.
+     *
+     * @return a value that changes whenever one of the local keystore files changes
+     */
+    public String buildKeystoresStamp() {
+        return new StringBuilder()
+                .append(fileStamp(resolveStorePath(keystore))).append(':')
+                .append(fileStamp(resolveStorePath(trustKeystore))).append(':')
+                .append(fileStamp(getJavaKeystore()))
+                .toString();
+    }
+
+    private String resolveStorePath(String storePath) {
+        return StringUtils.isEmpty(storePath) ? getJavaKeystore() : storePath;
+    }
+
+    private String getJavaKeystore() {
+        return System.getProperty("java.home") + "/lib/security/cacerts";
+    }
+
+    private String fileStamp(String storePath) {
+        if (storePath.startsWith("http")) {
+            return "";
+        }
+        File storeFile = new File(storePath.startsWith("file:") ? storePath.substring("file:".length()) : storePath);
+        return storeFile.lastModified() + "-" + storeFile.length();
+    }
+
+    private String digest(String password) {
+        if (password == null) {
+            return "";
+        }
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder();
+            for (byte b : messageDigest.digest(password.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
     }
 
     protected void createKeystore(SSLContextBuilder sslContextBuilder, boolean useClientCert) {
@@ -0,0 +1,93 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used cache of the SSL socket factories built by {@link SSLConnectionSocketFactoryBuilder}.
+ * Loading the keystores and initializing the SSL context is only done on a cache miss or when
+ * one of the keystore files changed since the cached factory was built.
+ */
+public class SSLConnectionSocketFactoryCache {
+    public static final int DEFAULT_MAX_ENTRIES = 32;
+
+    private static final SSLConnectionSocketFactoryCache DEFAULT_INSTANCE = new SSLConnectionSocketFactoryCache(DEFAULT_MAX_ENTRIES);
+
+    private final Map<String, CacheEntry> entries;
+
+    public SSLConnectionSocketFactoryCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static SSLConnectionSocketFactoryCache getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Returns the cached factory for the builder inputs or builds and caches a new one.
+     *
+     * @param builder        the builder holding the SSL inputs of the current request
+     * @param keystoresStamp the stamp of the keystore files, as returned by {@link SSLConnectionSocketFactoryBuilder#buildKeystoresStamp()}
+     * @return the SSL socket factory matching the builder inputs
+     */
+    public SSLConnectionSocketFactory getSSLConnectionSocketFactory(SSLConnectionSocketFactoryBuilder builder, String keystoresStamp) {
+        String key = builder.buildCacheKey();
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && entry.keystoresStamp.equals(keystoresStamp)) {
+                return entry.sslConnectionSocketFactory;
+            }
+        }
+        //built outside the lock so that a slow keystore load does not block requests using other keystores
+        SSLConnectionSocketFactory sslConnectionSocketFactory = builder.build();
+        synchronized (entries) {
+            entries.put(key, new CacheEntry(sslConnectionSocketFactory, keystoresStamp));
+        }
+        return sslConnectionSocketFactory;
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static class CacheEntry {
+        private final SSLConnectionSocketFactory sslConnectionSocketFactory;
+        private final String keystoresStamp;
+
+        private CacheEntry(SSLConnectionSocketFactory sslConnectionSocketFactory, String keystoresStamp) {
+            this.sslConnectionSocketFactory = sslConnectionSocketFactory;
+            this.keystoresStamp = keystoresStamp;
+        }
+    }
+}
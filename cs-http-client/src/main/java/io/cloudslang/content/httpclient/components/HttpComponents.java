@@ -23,6 +23,7 @@ import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 
 import java.net.URI;
 
@@ -33,6 +34,7 @@ import java.net.URI;
  */
 public class HttpComponents {
     private CloseableHttpClient closeableHttpClient;
+    private CloseableHttpAsyncClient closeableHttpAsyncClient;
     private HttpRequestBase httpRequestBase;
     private HttpClientContext httpClientContext;
     private PoolingHttpClientConnectionManager connManager;
@@ -48,6 +50,14 @@ public class HttpComponents {
         this.closeableHttpClient = closeableHttpClient;
     }
 
+    public CloseableHttpAsyncClient getCloseableHttpAsyncClient() {
+        return closeableHttpAsyncClient;
+    }
+
+    public void setCloseableHttpAsyncClient(CloseableHttpAsyncClient closeableHttpAsyncClient) {
+        this.closeableHttpAsyncClient = closeableHttpAsyncClient;
+    }
+
     public HttpRequestBase getHttpRequestBase() {
         return httpRequestBase;
     }
@@ -0,0 +1,102 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.consume;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.build.conn.ConnectionPoolSessionResource;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+import java.util.Map;
+import java.util.Set;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+
+/**
+ * Reads the statistics of the connection pools held by the connection pool session object.
+ * Each route is reported on its own line, the totals of all the pools go into separate outputs.
+ * The non-blocking pools of the asynchronous clients are reported along with the blocking pools.
+ */
+public class ConnectionPoolStatsConsumer {
+    public static final String LEASED = "leased";
+    public static final String AVAILABLE = "available";
+    public static final String PENDING = "pending";
+    public static final String MAX = "max";
+
+    private GlobalSessionObject<Map<String, PoolingHttpClientConnectionManager>> connectionPoolHolder;
+
+    public ConnectionPoolStatsConsumer setConnectionPoolHolder(GlobalSessionObject connectionPoolHolder) {
+        this.connectionPoolHolder = connectionPoolHolder;
+        return this;
+    }
+
+    private int leased;
+    private int available;
+    private int pending;
+    private int max;
+    private StringBuilder routes;
+
+    public void consume(Map<String, String> result) {
+        leased = 0;
+        available = 0;
+        pending = 0;
+        max = 0;
+        routes = new StringBuilder();
+
+        Map<String, PoolingHttpClientConnectionManager> connectionManagerMap =
+                connectionPoolHolder != null ? connectionPoolHolder.get() : null;
+        if (connectionManagerMap != null) {
+            for (PoolingHttpClientConnectionManager connManager : connectionManagerMap.values()) {
+                addPool(connManager, connManager.getRoutes());
+            }
+        }
+        if (connectionPoolHolder != null && connectionPoolHolder.getResource() instanceof ConnectionPoolSessionResource) {
+            for (PoolingNHttpClientConnectionManager connManager :
+                    ((ConnectionPoolSessionResource) connectionPoolHolder.getResource()).getAsyncConnectionManagers().values()) {
+                addPool(connManager, connManager.getRoutes());
+            }
+        }
+
+        result.put(RETURN_RESULT, routes.toString());
+        result.put(LEASED, String.valueOf(leased));
+        result.put(AVAILABLE, String.valueOf(available));
+        result.put(PENDING, String.valueOf(pending));
+        result.put(MAX, String.valueOf(max));
+    }
+
+    private void addPool(ConnPoolControl<HttpRoute> connManager, Set<HttpRoute> poolRoutes) {
+        for (HttpRoute route : poolRoutes) {
+            PoolStats routeStats = connManager.getStats(route);
+            if (routes.length() > 0) {
+                routes.append('\n');
+            }
+            routes.append(route.getTargetHost().toURI())
+                    .append(' ').append(LEASED).append('=').append(routeStats.getLeased())
+                    .append(' ').append(AVAILABLE).append('=').append(routeStats.getAvailable())
+                    .append(' ').append(PENDING).append('=').append(routeStats.getPending())
+                    .append(' ').append(MAX).append('=').append(routeStats.getMax());
+        }
+        PoolStats totalStats = connManager.getTotalStats();
+        leased += totalStats.getLeased();
+        available += totalStats.getAvailable();
+        pending += totalStats.getPending();
+        max += totalStats.getMax();
+    }
+}
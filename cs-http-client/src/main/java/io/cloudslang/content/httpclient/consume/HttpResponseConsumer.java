@@ -28,7 +28,10 @@ import org.apache.http.NameValuePair;
 import org.apache.http.message.BasicHeaderValueParser;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Map;
 
 /**
@@ -37,9 +40,13 @@ import java.util.Map;
  * Date: 7/28/14
  */
 public class HttpResponseConsumer {
+    private static final int BINARY_BUFFER_SIZE = 64 * 1024;
     private HttpResponse httpResponse;
     private String responseCharacterSet;
     private String destinationFile;
+    private boolean binaryDownload;
+    private boolean computeChecksum;
+    private long maxInMemoryResponseSize;
 
     public HttpResponseConsumer setHttpResponse(HttpResponse httpResponse) {
         this.httpResponse = httpResponse;
@@ -56,8 +63,40 @@ public class HttpResponseConsumer {
         return this;
     }
 
+    public HttpResponseConsumer setBinaryDownload(String binaryDownload) {
+        this.binaryDownload = Boolean.parseBoolean(binaryDownload);
+        return this;
+    }
+
+    public HttpResponseConsumer setComputeChecksum(String computeChecksum) {
+        this.computeChecksum = Boolean.parseBoolean(computeChecksum);
+        return this;
+    }
+
+    public HttpResponseConsumer setMaxInMemoryResponseSize(String maxInMemoryResponseSize) {
+        if (StringUtils.isEmpty(maxInMemoryResponseSize)) {
+            this.maxInMemoryResponseSize = 0;
+        } else {
+            String message = "the '" + HttpClientInputs.MAX_IN_MEMORY_RESPONSE_SIZE
+                    + "' input should be an integer greater than or equal to 0";
+            try {
+                this.maxInMemoryResponseSize = Long.parseLong(maxInMemoryResponseSize);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(message + ". " + e.getMessage(), e);
+            }
+            if (this.maxInMemoryResponseSize < 0) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+        return this;
+    }
+
     public void consume(Map<String, String> result) throws IOException {
         if (httpResponse.getEntity() != null) {
+            if (binaryDownload && StringUtils.isNotEmpty(destinationFile)) {
+                consumeToDestinationFileBinary(result);
+                return;
+            }
             if (responseCharacterSet == null || responseCharacterSet.isEmpty()) {
                 Header contentType = httpResponse.getEntity().getContentType();
                 if (contentType != null) {
@@ -79,7 +118,9 @@ public class HttpResponseConsumer {
     }
 
     protected void consumeResponseContent(Map<String, String> result) throws IOException {
-        if (StringUtils.isEmpty(destinationFile)) {
+        if (StringUtils.isEmpty(destinationFile) && maxInMemoryResponseSize > 0) {
+            consumeBounded(result);
+        } else if (StringUtils.isEmpty(destinationFile)) {
             String document;
             try {
                 document = IOUtils.toString(httpResponse.getEntity().getContent(), responseCharacterSet);
@@ -121,6 +162,94 @@ public class HttpResponseConsumer {
         }
     }
 
+    /**
+     * Keeps the entity in memory only while it is not larger than the limit, otherwise the raw entity bytes
+     * are written to a temporary file whose path is returned instead of the document.
+     */
+    private void consumeBounded(Map<String, String> result) throws IOException {
+        Charset charset;
+        try {
+            charset = Charset.forName(responseCharacterSet);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Could not parse responseCharacterSet. " + e.getMessage(), e);
+        }
+        InputStream content = httpResponse.getEntity().getContent();
+        try {
+            ByteArrayOutputStream inMemory = new ByteArrayOutputStream();
+            //a known length over the limit goes straight to disk
+            if (httpResponse.getEntity().getContentLength() <= maxInMemoryResponseSize
+                    && IOUtils.copyLarge(content, inMemory, 0, maxInMemoryResponseSize + 1) <= maxInMemoryResponseSize) {
+                result.put(HttpClientService.RETURN_RESULT, new String(inMemory.toByteArray(), charset));
+                return;
+            }
+            File responseFile = File.createTempFile("http-response", ".tmp");
+            FileOutputStream fos = null;
+            boolean written = false;
+            try {
+                fos = new FileOutputStream(responseFile);
+                inMemory.writeTo(fos);
+                IOUtils.copyLarge(content, fos, new byte[BINARY_BUFFER_SIZE]);
+                written = true;
+            } finally {
+                safeClose(fos);
+                //the path of a partial response is never returned, nothing else would delete it
+                if (!written) {
+                    responseFile.delete();
+                }
+            }
+            result.put(HttpClientService.RETURN_RESULT, "");
+            result.put(HttpClientService.RESPONSE_FILE, responseFile.getAbsolutePath());
+        } finally {
+            safeClose(content);
+        }
+    }
+
+    /**
+     * Copies the entity bytes to the destination file as they are, without any character set decoding.
+     * The SHA-256 checksum, if requested, is computed on the same pass.
+     */
+    private void consumeToDestinationFileBinary(Map<String, String> result) throws IOException {
+        MessageDigest messageDigest = null;
+        if (computeChecksum) {
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+        long downloadedBytes = 0;
+        InputStream content = null;
+        FileOutputStream fos = null;
+        try {
+            content = httpResponse.getEntity().getContent();
+            fos = new FileOutputStream(new File(destinationFile));
+            byte[] buffer = new byte[BINARY_BUFFER_SIZE];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                fos.write(buffer, 0, read);
+                if (messageDigest != null) {
+                    messageDigest.update(buffer, 0, read);
+                }
+                downloadedBytes += read;
+            }
+        } finally {
+            safeClose(fos);
+            safeClose(content);
+        }
+        result.put(HttpClientService.DOWNLOADED_BYTES, String.valueOf(downloadedBytes));
+        if (messageDigest != null) {
+            result.put(HttpClientService.CHECKSUM, toHex(messageDigest.digest()));
+        }
+    }
+
+    private String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
     private void safeClose(Closeable closeable) {
         if (closeable != null) {
             try {
@@ -61,15 +61,26 @@ public class HttpClientInputs {
     public static final String KEEP_ALIVE = "keepAlive";
     public static final String CONNECTIONS_MAX_PER_ROUTE = "connectionsMaxPerRoute";
     public static final String CONNECTIONS_MAX_TOTAL = "connectionsMaxTotal";
+    public static final String CONNECTIONS_IDLE_TIMEOUT = "connectionsIdleTimeout";
+    public static final String EXECUTION_MODE = "executionMode";
+    public static final String USE_CACHE = "useCache";
+    public static final String CACHE_MAX_ENTRIES = "cacheMaxEntries";
+    public static final String CACHE_MAX_OBJECT_SIZE = "cacheMaxObjectSize";
+    public static final String CACHE_DIRECTORY = "cacheDirectory";
     public static final String HEADERS = "headers";
     public static final String RESPONSE_CHARACTER_SET = "responseCharacterSet";
     public static final String DESTINATION_FILE = "destinationFile";
+    public static final String BINARY_DOWNLOAD = "binaryDownload";
+    public static final String COMPUTE_CHECKSUM = "computeChecksum";
+    public static final String MAX_IN_MEMORY_RESPONSE_SIZE = "maxInMemoryResponseSize";
     public static final String MULTIPART_BODIES = "multipartBodies";
     public static final String MULTIPART_BODIES_CONTENT_TYPE = "multipartBodiesContentType";
     public static final String MULTIPART_FILES = "multipartFiles";
     public static final String MULTIPART_FILES_CONTENT_TYPE = "multipartFilesContentType";
     public static final String MULTIPART_VALUES_ARE_URLENCODED = "multipartValuesAreURLEncoded";
     public static final String CHUNKED_REQUEST_ENTITY = "chunkedRequestEntity";
+    public static final String REQUESTS = "requests";
+    public static final String PARALLELISM = "parallelism";
 
     public final static String SESSION_CONNECTION_POOL = "httpClientPoolingConnectionManager";
     public final static String SESSION_COOKIES = "httpClientCookieSession";
@@ -98,9 +109,18 @@ public class HttpClientInputs {
     private String keepAlive;
     private String connectionsMaxPerRoute;
     private String connectionsMaxTotal;
+    private String connectionsIdleTimeout;
+    private String executionMode;
+    private String useCache;
+    private String cacheMaxEntries;
+    private String cacheMaxObjectSize;
+    private String cacheDirectory;
     private String headers;
     private String responseCharacterSet;
     private String destinationFile;
+    private String binaryDownload;
+    private String computeChecksum;
+    private String maxInMemoryResponseSize;
     private String followRedirects;
     private String queryParams;
     private String queryParamsAreURLEncoded;
@@ -310,6 +330,54 @@ public class HttpClientInputs {
         this.connectionsMaxTotal = connectionsMaxTotal;
     }
 
+    public String getConnectionsIdleTimeout() {
+        return connectionsIdleTimeout;
+    }
+
+    public void setConnectionsIdleTimeout(String connectionsIdleTimeout) {
+        this.connectionsIdleTimeout = connectionsIdleTimeout;
+    }
+
+    public String getExecutionMode() {
+        return executionMode;
+    }
+
+    public void setExecutionMode(String executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    public String getUseCache() {
+        return useCache;
+    }
+
+    public void setUseCache(String useCache) {
+        this.useCache = useCache;
+    }
+
+    public String getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(String cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public String getCacheMaxObjectSize() {
+        return cacheMaxObjectSize;
+    }
+
+    public void setCacheMaxObjectSize(String cacheMaxObjectSize) {
+        this.cacheMaxObjectSize = cacheMaxObjectSize;
+    }
+
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
     public void setKeepAlive(String keepAlive) {
         this.keepAlive = keepAlive;
     }
@@ -338,6 +406,30 @@ public class HttpClientInputs {
         this.destinationFile = destinationFile;
     }
 
+    public String getBinaryDownload() {
+        return binaryDownload;
+    }
+
+    public void setBinaryDownload(String binaryDownload) {
+        this.binaryDownload = binaryDownload;
+    }
+
+    public String getComputeChecksum() {
+        return computeChecksum;
+    }
+
+    public void setComputeChecksum(String computeChecksum) {
+        this.computeChecksum = computeChecksum;
+    }
+
+    public String getMaxInMemoryResponseSize() {
+        return maxInMemoryResponseSize;
+    }
+
+    public void setMaxInMemoryResponseSize(String maxInMemoryResponseSize) {
+        this.maxInMemoryResponseSize = maxInMemoryResponseSize;
+    }
+
     public String getFollowRedirects() {
         return followRedirects;
     }
@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.execute;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Executes the request on the asynchronous client. The response entity is received in memory by the I/O threads,
+ * the connection is back in the pool when the response is returned.
+ */
+public class HttpAsyncClientExecutor {
+    private HttpRequestBase httpRequestBase;
+    private CloseableHttpAsyncClient closeableHttpAsyncClient;
+    private HttpClientContext context;
+
+    public HttpAsyncClientExecutor setHttpRequestBase(HttpRequestBase httpRequestBase) {
+        this.httpRequestBase = httpRequestBase;
+        return this;
+    }
+
+    public HttpAsyncClientExecutor setCloseableHttpAsyncClient(CloseableHttpAsyncClient closeableHttpAsyncClient) {
+        this.closeableHttpAsyncClient = closeableHttpAsyncClient;
+        return this;
+    }
+
+    public HttpAsyncClientExecutor setContext(HttpClientContext context) {
+        this.context = context;
+        return this;
+    }
+
+    /**
+     * Waits for the response of the request.
+     *
+     * @return the response with its entity in memory
+     */
+    public HttpResponse execute() {
+        try {
+            return executeAsync(null).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while executing http request", e);
+        } catch (ExecutionException e) {
+            throw toRuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Starts the request and returns without waiting for the response.
+     *
+     * @param callback notified on an I/O thread when the exchange ends, may be null
+     * @return the future response
+     */
+    public Future<HttpResponse> executeAsync(FutureCallback<HttpResponse> callback) {
+        return closeableHttpAsyncClient.execute(httpRequestBase, context, callback);
+    }
+
+    /**
+     * Maps a failure of the exchange to the same errors as the blocking {@link HttpClientExecutor}.
+     *
+     * @param e the failure reported by the asynchronous client
+     * @return the exception to throw
+     */
+    public static RuntimeException toRuntimeException(Throwable e) {
+        if (e instanceof SocketTimeoutException) {
+            return new RuntimeException("Socket timeout: " + e.getMessage(), e);
+        } else if (e instanceof ConnectException || e instanceof ConnectTimeoutException) {
+            return new RuntimeException("Connection error: " + e.getMessage(), e);
+        } else if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return new RuntimeException("Error while executing http request: " + e.getMessage(), e);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.content.httpclient.build.CookieStoreBuilder;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a list of requests concurrently over the pooled client of one connection pool session.
+ * Every request is executed by {@link HttpClientService}, with the common inputs and its own url, method, headers and body.
+ * A failed request does not stop the others, its error is reported in its own result.
+ */
+public class HttpClientBatchService {
+    public static final String SUCCESS_COUNT = "successCount";
+    public static final String FAILURE_COUNT = "failureCount";
+    public static final int DEFAULT_PARALLELISM = 10;
+    //the keys of a request and of its result
+    public static final String URL = "url";
+    public static final String METHOD = "method";
+    public static final String HEADERS = "headers";
+    public static final String BODY = "body";
+    public static final String CONTENT_TYPE = "contentType";
+    public static final String QUERY_PARAMS = "queryParams";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String DEFAULT_METHOD = "GET";
+    private static final int DEFAULT_MAX_TOTAL = 20;
+
+    /**
+     * @param commonInputs the inputs shared by all the requests, their url, method, headers and body are ignored
+     * @param requests     a JSON array of objects with the 'url' and the optional 'method', 'headers', 'body',
+     *                     'contentType' and 'queryParams' of each request
+     * @param parallelism  the maximum number of requests in flight
+     * @return the results of the requests as a JSON array in 'returnResult', in the order of the requests
+     */
+    public Map<String, String> execute(HttpClientInputs commonInputs, String requests, String parallelism) {
+        List<HttpClientInputs> requestsInputs = buildRequestsInputs(commonInputs, requests);
+        int threads = Math.min(parseParallelism(parallelism), Math.max(1, requestsInputs.size()));
+
+        boolean temporaryConnectionPool = commonInputs.getConnectionPoolSessionObject() == null;
+        initSessionsObjects(commonInputs, threads);
+        for (HttpClientInputs requestInputs : requestsInputs) {
+            copyCommonInputs(commonInputs, requestInputs);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new BatchThreadFactory());
+        try {
+            List<Future<Map<String, String>>> futures = new ArrayList<>();
+            for (final HttpClientInputs requestInputs : requestsInputs) {
+                futures.add(executor.submit(new Callable<Map<String, String>>() {
+                    @Override
+                    public Map<String, String> call() {
+                        return new HttpClientService().execute(requestInputs);
+                    }
+                }));
+            }
+            return buildResult(requestsInputs, futures);
+        } finally {
+            executor.shutdownNow();
+            if (temporaryConnectionPool && commonInputs.getConnectionPoolSessionObject().getResource() != null) {
+                commonInputs.getConnectionPoolSessionObject().getResource().release();
+            }
+        }
+    }
+
+    private List<HttpClientInputs> buildRequestsInputs(HttpClientInputs commonInputs, String requests) {
+        JsonNode requestsNode;
+        try {
+            requestsNode = OBJECT_MAPPER.readTree(StringUtils.defaultString(requests));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("the '" + HttpClientInputs.REQUESTS + "' input is not valid JSON: " + e.getMessage(), e);
+        }
+        if (requestsNode == null || !requestsNode.isArray()) {
+            throw new IllegalArgumentException("the '" + HttpClientInputs.REQUESTS + "' input should be a JSON array of requests");
+        }
+        List<HttpClientInputs> requestsInputs = new ArrayList<>();
+        for (JsonNode requestNode : requestsNode) {
+            if (!requestNode.isObject() || StringUtils.isEmpty(getText(requestNode, URL))) {
+                throw new IllegalArgumentException("every request in the '" + HttpClientInputs.REQUESTS
+                        + "' input should be a JSON object with an '" + URL + "'");
+            }
+            HttpClientInputs requestInputs = new HttpClientInputs();
+            requestInputs.setUrl(getText(requestNode, URL));
+            requestInputs.setMethod(StringUtils.defaultIfEmpty(getText(requestNode, METHOD), DEFAULT_METHOD));
+            requestInputs.setBody(getText(requestNode, BODY));
+            requestInputs.setContentType(StringUtils.defaultIfEmpty(getText(requestNode, CONTENT_TYPE), commonInputs.getContentType()));
+            requestInputs.setQueryParams(getText(requestNode, QUERY_PARAMS));
+            requestInputs.setHeaders(joinHeaders(commonInputs.getHeaders(), getHeaders(requestNode)));
+            requestsInputs.add(requestInputs);
+        }
+        return requestsInputs;
+    }
+
+    private String getText(JsonNode requestNode, String key) {
+        JsonNode valueNode = requestNode.get(key);
+        if (valueNode == null || valueNode.isNull()) {
+            return null;
+        }
+        //a JSON body can be given as an object instead of an escaped string
+        return valueNode.isValueNode() ? valueNode.asText() : valueNode.toString();
+    }
+
+    /**
+     * The headers of a request are either in the format of the 'headers' input or a JSON object of names and values.
+     */
+    private String getHeaders(JsonNode requestNode) {
+        JsonNode headersNode = requestNode.get(HEADERS);
+        if (headersNode == null || !headersNode.isObject()) {
+            return getText(requestNode, HEADERS);
+        }
+        StringBuilder headers = new StringBuilder();
+        Iterator<Map.Entry<String, JsonNode>> fields = headersNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (headers.length() > 0) {
+                headers.append("\r\n");
+            }
+            headers.append(field.getKey()).append(':').append(field.getValue().asText());
+        }
+        return headers.toString();
+    }
+
+    private String joinHeaders(String commonHeaders, String requestHeaders) {
+        if (StringUtils.isEmpty(commonHeaders)) {
+            return requestHeaders;
+        } else if (StringUtils.isEmpty(requestHeaders)) {
+            return commonHeaders;
+        }
+        return commonHeaders + "\r\n" + requestHeaders;
+    }
+
+    private int parseParallelism(String parallelism) {
+        if (StringUtils.isEmpty(parallelism)) {
+            return DEFAULT_PARALLELISM;
+        }
+        try {
+            int value = Integer.parseInt(parallelism);
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("the '" + HttpClientInputs.PARALLELISM + "' input should be a positive integer");
+    }
+
+    /**
+     * All the requests share one connection pool, sized for the parallelism unless the limits are given,
+     * and one cookie store.
+     */
+    private void initSessionsObjects(HttpClientInputs commonInputs, int threads) {
+        if (commonInputs.getConnectionPoolSessionObject() == null) {
+            commonInputs.setConnectionPoolSessionObject(new GlobalSessionObject());
+        }
+        if (commonInputs.getCookieStoreSessionObject() == null) {
+            commonInputs.setCookieStoreSessionObject(new SerializableSessionObject());
+        }
+        //created once here rather than concurrently by the first requests
+        new CookieStoreBuilder()
+                .setUseCookies(commonInputs.getUseCookies())
+                .setCookieStoreSessionObject(commonInputs.getCookieStoreSessionObject())
+                .buildCookieStore();
+
+        if (StringUtils.isEmpty(commonInputs.getConnectionsMaxPerRoute())) {
+            commonInputs.setConnectionsMaxPerRoute(String.valueOf(threads));
+        }
+        if (StringUtils.isEmpty(commonInputs.getConnectionsMaxTotal()) && threads > DEFAULT_MAX_TOTAL) {
+            commonInputs.setConnectionsMaxTotal(String.valueOf(threads));
+        }
+    }
+
+    private void copyCommonInputs(HttpClientInputs commonInputs, HttpClientInputs requestInputs) {
+        requestInputs.setAuthType(commonInputs.getAuthType());
+        requestInputs.setPreemptiveAuth(commonInputs.getPreemptiveAuth());
+        requestInputs.setUsername(commonInputs.getUsername());
+        requestInputs.setPassword(commonInputs.getPassword());
+        requestInputs.setKerberosConfFile(commonInputs.getKerberosConfFile());
+        requestInputs.setKerberosLoginConfFile(commonInputs.getKerberosLoginConfFile());
+        requestInputs.setKerberosSkipPortCheck(commonInputs.getKerberosSkipPortCheck());
+        requestInputs.setProxyHost(commonInputs.getProxyHost());
+        requestInputs.setProxyPort(commonInputs.getProxyPort());
+        requestInputs.setProxyUsername(commonInputs.getProxyUsername());
+        requestInputs.setProxyPassword(commonInputs.getProxyPassword());
+        requestInputs.setTrustAllRoots(commonInputs.getTrustAllRoots());
+        requestInputs.setX509HostnameVerifier(commonInputs.getX509HostnameVerifier());
+        requestInputs.setTrustKeystore(commonInputs.getTrustKeystore());
+        requestInputs.setTrustPassword(commonInputs.getTrustPassword());
+        requestInputs.setKeystore(commonInputs.getKeystore());
+        requestInputs.setKeystorePassword(commonInputs.getKeystorePassword());
+        requestInputs.setConnectTimeout(commonInputs.getConnectTimeout());
+        requestInputs.setSocketTimeout(commonInputs.getSocketTimeout());
+        requestInputs.setUseCookies(commonInputs.getUseCookies());
+        requestInputs.setKeepAlive(commonInputs.getKeepAlive());
+        requestInputs.setConnectionsMaxPerRoute(commonInputs.getConnectionsMaxPerRoute());
+        requestInputs.setConnectionsMaxTotal(commonInputs.getConnectionsMaxTotal());
+        requestInputs.setConnectionsIdleTimeout(commonInputs.getConnectionsIdleTimeout());
+        requestInputs.setResponseCharacterSet(commonInputs.getResponseCharacterSet());
+        requestInputs.setRequestCharacterSet(commonInputs.getRequestCharacterSet());
+        requestInputs.setFollowRedirects(commonInputs.getFollowRedirects());
+        requestInputs.setQueryParamsAreURLEncoded(commonInputs.getQueryParamsAreURLEncoded());
+        requestInputs.setCookieStoreSessionObject(commonInputs.getCookieStoreSessionObject());
+        requestInputs.setConnectionPoolSessionObject(commonInputs.getConnectionPoolSessionObject());
+    }
+
+    private Map<String, String> buildResult(List<HttpClientInputs> requestsInputs, List<Future<Map<String, String>>> futures) {
+        ArrayNode results = OBJECT_MAPPER.createArrayNode();
+        int successCount = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            ObjectNode resultNode = results.addObject();
+            resultNode.put(URL, requestsInputs.get(i).getUrl());
+            resultNode.put(METHOD, requestsInputs.get(i).getMethod());
+            try {
+                Map<String, String> requestResult = futures.get(i).get();
+                resultNode.put(HttpClientService.RETURN_CODE, requestResult.get(HttpClientService.RETURN_CODE));
+                resultNode.put(HttpClientService.STATUS_CODE, requestResult.get(HttpClientService.STATUS_CODE));
+                resultNode.put(HttpClientService.REASON_PHRASE, requestResult.get(HttpClientService.REASON_PHRASE));
+                resultNode.put(HttpClientService.RETURN_RESULT, requestResult.get(HttpClientService.RETURN_RESULT));
+                successCount++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while executing the requests", e);
+            } catch (ExecutionException e) {
+                resultNode.put(HttpClientService.RETURN_CODE, "-1");
+                resultNode.put(HttpClientService.EXCEPTION, e.getCause().getMessage());
+            }
+        }
+
+        Map<String, String> result = new HashMap<>();
+        try {
+            result.put(HttpClientService.RETURN_RESULT, OBJECT_MAPPER.writeValueAsString(results));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        result.put(SUCCESS_COUNT, String.valueOf(successCount));
+        result.put(FAILURE_COUNT, String.valueOf(futures.size() - successCount));
+        result.put(HttpClientService.RETURN_CODE, HttpClientService.SUCCESS);
+        return result;
+    }
+
+    private static class BatchThreadFactory implements ThreadFactory {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "http-client-batch-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
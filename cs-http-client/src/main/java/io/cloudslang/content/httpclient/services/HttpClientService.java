@@ -25,38 +25,53 @@ import io.cloudslang.content.httpclient.build.*;
 import io.cloudslang.content.httpclient.build.auth.AuthSchemeProviderLookupBuilder;
 import io.cloudslang.content.httpclient.build.auth.AuthTypes;
 import io.cloudslang.content.httpclient.build.auth.CredentialsProviderBuilder;
+import io.cloudslang.content.httpclient.build.conn.CloseableHttpAsyncClientBuilder;
+import io.cloudslang.content.httpclient.build.conn.CloseableHttpClientBuilder;
 import io.cloudslang.content.httpclient.build.conn.ConnectionManagerBuilder;
+import io.cloudslang.content.httpclient.build.conn.ConnectionPoolSessionResource;
 import io.cloudslang.content.httpclient.build.conn.SSLConnectionSocketFactoryBuilder;
+import io.cloudslang.content.httpclient.build.conn.SSLConnectionSocketFactoryCache;
 import io.cloudslang.content.httpclient.consume.FinalLocationConsumer;
 import io.cloudslang.content.httpclient.consume.HeadersConsumer;
 import io.cloudslang.content.httpclient.consume.HttpResponseConsumer;
 import io.cloudslang.content.httpclient.consume.StatusConsumer;
+import io.cloudslang.content.httpclient.execute.HttpAsyncClientExecutor;
 import io.cloudslang.content.httpclient.execute.HttpClientExecutor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthSchemeProvider;
 import org.apache.http.client.CookieStore;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.config.Lookup;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.cookie.SM;
 import org.apache.http.entity.ContentType;
-import org.apache.http.impl.DefaultConnectionReuseStrategy;
-import org.apache.http.impl.NoConnectionReuseStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * Created with IntelliJ IDEA.
@@ -74,6 +89,13 @@ public class HttpClientService {
     public static final String RESPONSE_HEADERS = "responseHeaders";
     public static final String PROTOCOL_VERSION = "protocolVersion";
     public static final String REASON_PHRASE = "reasonPhrase";
+    public static final String DOWNLOADED_BYTES = "downloadedBytes";
+    public static final String CHECKSUM = "checksum";
+    public static final String RESPONSE_FILE = "responseFile";
+    public static final String CACHE_STATUS = "cacheStatus";
+    //execution modes
+    public static final String EXECUTION_MODE_BLOCKING = "blocking";
+    public static final String EXECUTION_MODE_ASYNC = "async";
 
     private CookieStoreBuilder cookieStoreBuilder;
     private AuthSchemeProviderLookupBuilder authSchemeProviderLookupBuilder;
@@ -85,18 +107,39 @@ public class HttpClientService {
     private URIBuilder uriBuilder;
     private CredentialsProviderBuilder credentialsProviderBuilder;
     private SSLConnectionSocketFactoryBuilder sslConnectionSocketFactoryBuilder;
+    private SSLConnectionSocketFactoryCache sslConnectionSocketFactoryCache;
     private ConnectionManagerBuilder poolingHttpClientConnectionManagerBuilder;
+    private CloseableHttpClientBuilder closeableHttpClientBuilder;
+    private CloseableHttpAsyncClientBuilder closeableHttpAsyncClientBuilder;
     private ContextBuilder contextBuilder;
     private HttpClientExecutor httpClientExecutor;
+    private HttpAsyncClientExecutor httpAsyncClientExecutor;
     private HttpResponseConsumer httpResponseConsumer;
     private FinalLocationConsumer finalLocationConsumer;
     private HeadersConsumer headersConsumer;
     private StatusConsumer statusConsumer;
 
     public Map<String, String> execute(HttpClientInputs httpClientInputs) {
+        boolean temporaryConnectionPool = httpClientInputs.getConnectionPoolSessionObject() == null;
         initSessionsObjects(httpClientInputs);
         HttpComponents httpComponents = buildHttpComponents(httpClientInputs);
 
+        if (httpComponents.getCloseableHttpAsyncClient() != null) {
+            try {
+                HttpResponse httpResponse = httpAsyncClientExecutor
+                        .setCloseableHttpAsyncClient(httpComponents.getCloseableHttpAsyncClient())
+                        .setHttpRequestBase(httpComponents.getHttpRequestBase())
+                        .setContext(httpComponents.getHttpClientContext())
+                        .execute();
+                return parseResponse(httpResponse, httpClientInputs, httpComponents);
+            } finally {
+                if (temporaryConnectionPool) {
+                    //no session will ever release the client and its I/O threads
+                    httpClientInputs.getConnectionPoolSessionObject().getResource().release();
+                }
+            }
+        }
+
         CloseableHttpResponse httpResponse = execute(httpComponents.getCloseableHttpClient(),
                 httpComponents.getHttpRequestBase(),
                 httpComponents.getHttpClientContext());
@@ -104,6 +147,9 @@ public class HttpClientService {
         Map<String, String> result = parseResponse(httpResponse,
                 httpClientInputs.getResponseCharacterSet(),
                 httpClientInputs.getDestinationFile(),
+                httpClientInputs.getBinaryDownload(),
+                httpClientInputs.getComputeChecksum(),
+                httpClientInputs.getMaxInMemoryResponseSize(),
                 httpComponents.getUri(),
                 httpComponents.getHttpClientContext(),
                 httpComponents.getCookieStore(),
@@ -117,6 +163,53 @@ public class HttpClientService {
         return result;
     }
 
+    /**
+     * Starts the request on the asynchronous client and returns without waiting for the response, so that many requests
+     * can be in flight over the few I/O threads of the connection pool session. The response is parsed on an I/O thread.
+     * <br>The connection pool session object is mandatory: its resource owns the client and the caller releases it.
+     * A service instance handles one request at a time, use one instance per request in flight.
+     *
+     * @param httpClientInputs the request inputs, the execution mode is ignored
+     * @param callback         notified with the parsed response or the failure, may be null
+     * @return the future parsed response
+     */
+    public Future<Map<String, String>> executeAsync(final HttpClientInputs httpClientInputs,
+                                                    FutureCallback<Map<String, String>> callback) {
+        if (httpClientInputs.getConnectionPoolSessionObject() == null) {
+            throw new IllegalArgumentException("A connection pool session object is required to execute requests asynchronously");
+        }
+        httpClientInputs.setExecutionMode(EXECUTION_MODE_ASYNC);
+        initSessionsObjects(httpClientInputs);
+        final HttpComponents httpComponents = buildHttpComponents(httpClientInputs);
+
+        final BasicFuture<Map<String, String>> result = new BasicFuture<>(callback);
+        httpAsyncClientExecutor
+                .setCloseableHttpAsyncClient(httpComponents.getCloseableHttpAsyncClient())
+                .setHttpRequestBase(httpComponents.getHttpRequestBase())
+                .setContext(httpComponents.getHttpClientContext())
+                .executeAsync(new FutureCallback<HttpResponse>() {
+                    @Override
+                    public void completed(HttpResponse httpResponse) {
+                        try {
+                            result.completed(parseResponse(httpResponse, httpClientInputs, httpComponents));
+                        } catch (RuntimeException e) {
+                            result.failed(e);
+                        }
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        result.failed(HttpAsyncClientExecutor.toRuntimeException(e));
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        result.cancel();
+                    }
+                });
+        return result;
+    }
+
     private void initSessionsObjects(HttpClientInputs httpClientInputs) {
         SerializableSessionObject cookieStoreSessionObject = httpClientInputs.getCookieStoreSessionObject();
         if (cookieStoreSessionObject == null) {
@@ -132,6 +225,13 @@ public class HttpClientService {
     public HttpComponents buildHttpComponents(HttpClientInputs httpClientInputs) {
         buildDefaultServices();
 
+        //the checksum is only computed on the binary download to the destination file
+        if (Boolean.parseBoolean(httpClientInputs.getComputeChecksum())
+                && (!Boolean.parseBoolean(httpClientInputs.getBinaryDownload()) || StringUtils.isEmpty(httpClientInputs.getDestinationFile()))) {
+            throw new IllegalArgumentException("The '" + HttpClientInputs.COMPUTE_CHECKSUM + "' input requires '"
+                    + HttpClientInputs.BINARY_DOWNLOAD + "' to be true and a '" + HttpClientInputs.DESTINATION_FILE + "'");
+        }
+
         URI uri = uriBuilder.setUrl(httpClientInputs.getUrl())
                 .setQueryParams(httpClientInputs.getQueryParams())
                 .setQueryParamsAreURLEncoded(httpClientInputs.getQueryParamsAreURLEncoded())
@@ -178,8 +278,6 @@ public class HttpClientService {
                 .buildRequestConfig();
         httpRequestBase.setConfig(requestConfig);
 
-        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
-
         AuthTypes authTypes = new AuthTypes(httpClientInputs.getAuthType());
 
         CredentialsProvider credentialsProvider = credentialsProviderBuilder
@@ -193,7 +291,6 @@ public class HttpClientService {
                 .setProxyHost(httpClientInputs.getProxyHost())
                 .setProxyPort(httpClientInputs.getProxyPort())
                 .buildCredentialsProvider();
-        httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
 
         Lookup<AuthSchemeProvider> authSchemeLookup = authSchemeProviderLookupBuilder
                 .setAuthTypes(authTypes)
@@ -205,7 +302,6 @@ public class HttpClientService {
                 .setUsername(httpClientInputs.getUsername())
                 .setPassword(httpClientInputs.getPassword())
                 .buildAuthSchemeProviderLookup();
-        httpClientBuilder.setDefaultAuthSchemeRegistry(authSchemeLookup);
 
         httpRequestBase.setHeaders(theHeaders.toArray(new Header[theHeaders.size()]));
 
@@ -213,62 +309,129 @@ public class HttpClientService {
                 .setUseCookies(httpClientInputs.getUseCookies())
                 .setCookieStoreSessionObject(httpClientInputs.getCookieStoreSessionObject())
                 .buildCookieStore();
-        if (cookieStore != null) {
-            httpClientBuilder.setDefaultCookieStore(cookieStore);
-        }
 
-        SSLConnectionSocketFactory sslConnectionSocketFactory = sslConnectionSocketFactoryBuilder
+        sslConnectionSocketFactoryBuilder
                 .setTrustAllRoots(httpClientInputs.getTrustAllRoots())
                 .setKeystore(httpClientInputs.getKeystore())
                 .setKeystorePassword(httpClientInputs.getKeystorePassword())
                 .setTrustKeystore(httpClientInputs.getTrustKeystore())
                 .setTrustPassword(httpClientInputs.getTrustPassword())
-                .setX509HostnameVerifier(httpClientInputs.getX509HostnameVerifier())
-                .build();
-
-        String connectionKey = ConnectionManagerBuilder.buildConnectionManagerMapKey(httpClientInputs.getTrustAllRoots(),
+                .setX509HostnameVerifier(httpClientInputs.getX509HostnameVerifier());
+        String keystoresStamp = sslConnectionSocketFactoryBuilder.buildKeystoresStamp();
+        String sslKey = ConnectionManagerBuilder.buildConnectionManagerMapKey(httpClientInputs.getTrustAllRoots(),
                 httpClientInputs.getX509HostnameVerifier(),
                 httpClientInputs.getKeystore(),
                 httpClientInputs.getTrustKeystore());
-        PoolingHttpClientConnectionManager connManager = poolingHttpClientConnectionManagerBuilder
-                .setConnectionManagerMapKey(connectionKey)
-                .setConnectionPoolHolder(httpClientInputs.getConnectionPoolSessionObject())
-                .setSslsf(sslConnectionSocketFactory)
-                .setDefaultMaxPerRoute(httpClientInputs.getConnectionsMaxPerRoute())
-                .setTotalMax(httpClientInputs.getConnectionsMaxTotal())
-                .buildConnectionManager();
-
-        httpClientBuilder.setConnectionManager(connManager);
-
-        if (StringUtils.isEmpty(httpClientInputs.getKeepAlive()) || Boolean.parseBoolean(httpClientInputs.getKeepAlive())) {
-            httpClientBuilder.setConnectionReuseStrategy(DefaultConnectionReuseStrategy.INSTANCE);
-        } else {
-            httpClientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        //the keystores stamp is part of the key so that a changed keystore gets a pool using the new ssl context
+        String connectionKey = ConnectionManagerBuilder.buildConnectionManagerMapKey(sslKey, keystoresStamp);
+        GlobalSessionObject connectionPoolHolder = httpClientInputs.getConnectionPoolSessionObject();
+        if (connectionPoolHolder != null && connectionPoolHolder.getResource() instanceof ConnectionPoolSessionResource) {
+            //the pools of the previous keystores are no longer used and are closed once their requests complete
+            ((ConnectionPoolSessionResource) connectionPoolHolder.getResource()).retireSupersededPools(sslKey, keystoresStamp);
         }
 
-        httpClientBuilder.setRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
-
-        CloseableHttpClient closeableHttpClient = httpClientBuilder.build();
+        PoolingHttpClientConnectionManager connManager = null;
+        CloseableHttpClient closeableHttpClient = null;
+        CloseableHttpAsyncClient closeableHttpAsyncClient = null;
+        if (isAsync(httpClientInputs.getExecutionMode())) {
+            if (Boolean.parseBoolean(httpClientInputs.getUseCache())) {
+                throw new IllegalArgumentException("The '" + HttpClientInputs.USE_CACHE + "' input is not supported in '"
+                        + EXECUTION_MODE_ASYNC + "' execution mode");
+            }
+            closeableHttpAsyncClient = closeableHttpAsyncClientBuilder
+                    .setConnectionPoolHolder(httpClientInputs.getConnectionPoolSessionObject())
+                    .setSslConnectionSocketFactoryBuilder(sslConnectionSocketFactoryBuilder)
+                    .setConnectionManagerMapKey(connectionKey)
+                    .setDefaultMaxPerRoute(httpClientInputs.getConnectionsMaxPerRoute())
+                    .setTotalMax(httpClientInputs.getConnectionsMaxTotal())
+                    .setKeepAlive(httpClientInputs.getKeepAlive())
+                    .setIdleTimeout(httpClientInputs.getConnectionsIdleTimeout())
+                    .build();
+        } else {
+            //the cookies of the store change with the responses, the requests sending them are not cached rather
+            //than getting a new cache partition for every cookie update
+            boolean useCache = Boolean.parseBoolean(httpClientInputs.getUseCache())
+                    && (cookieStore == null || cookieStore.getCookies().isEmpty());
+            SSLConnectionSocketFactory sslConnectionSocketFactory = sslConnectionSocketFactoryCache
+                    .getSSLConnectionSocketFactory(sslConnectionSocketFactoryBuilder, keystoresStamp);
+            connManager = poolingHttpClientConnectionManagerBuilder
+                    .setConnectionManagerMapKey(connectionKey)
+                    .setConnectionPoolHolder(httpClientInputs.getConnectionPoolSessionObject())
+                    .setSslsf(sslConnectionSocketFactory)
+                    .setDefaultMaxPerRoute(httpClientInputs.getConnectionsMaxPerRoute())
+                    .setTotalMax(httpClientInputs.getConnectionsMaxTotal())
+                    .setIdleTimeout(httpClientInputs.getConnectionsIdleTimeout())
+                    .buildConnectionManager();
+
+            closeableHttpClient = closeableHttpClientBuilder
+                    .setConnectionPoolHolder(httpClientInputs.getConnectionPoolSessionObject())
+                    .setConnManager(connManager)
+                    .setConnectionManagerMapKey(connectionKey)
+                    .setKeepAlive(httpClientInputs.getKeepAlive())
+                    .setUseCache(String.valueOf(useCache))
+                    .setCacheMaxEntries(httpClientInputs.getCacheMaxEntries())
+                    .setCacheMaxObjectSize(httpClientInputs.getCacheMaxObjectSize())
+                    .setCacheDirectory(httpClientInputs.getCacheDirectory())
+                    .setCachePartition(useCache ? buildCachePartition(httpClientInputs, theHeaders) : null)
+                    .build();
+        }
 
         HttpClientContext context = contextBuilder
                 .setAuthSchemeLookup(authSchemeLookup)
                 .setAuthTypes(authTypes)
                 .setCredentialsProvider(credentialsProvider)
+                .setCookieStore(cookieStore)
                 .setUri(uri)
                 .setPreemptiveAuth(httpClientInputs.getPreemptiveAuth()).build();
 
         HttpComponents result = new HttpComponents();
         result.setCloseableHttpClient(closeableHttpClient);
+        result.setCloseableHttpAsyncClient(closeableHttpAsyncClient);
         result.setHttpRequestBase(httpRequestBase);
         result.setHttpClientContext(context);
         result.setUri(uri);
         result.setConnManager(connManager);
         result.setCookieStore(cookieStore);
-        result.setHttpClientBuilder(httpClientBuilder);
         return result;
     }
 
 
+    /**
+     * The cache is private (not shared), so it may hold responses to authenticated requests. They must only be
+     * served to requests presenting the same credentials, hence the partition by a digest of all of them:
+     * the credentials inputs and the authorization and cookie headers.
+     */
+    private String buildCachePartition(HttpClientInputs httpClientInputs, List<Header> headers) {
+        List<String> credentials = new ArrayList<>();
+        credentials.add(httpClientInputs.getAuthType());
+        credentials.add(httpClientInputs.getUsername());
+        credentials.add(httpClientInputs.getPassword());
+        credentials.add(httpClientInputs.getProxyUsername());
+        credentials.add(httpClientInputs.getProxyPassword());
+        for (Header header : headers) {
+            if (HttpHeaders.AUTHORIZATION.equalsIgnoreCase(header.getName())
+                    || HttpHeaders.PROXY_AUTHORIZATION.equalsIgnoreCase(header.getName())
+                    || SM.COOKIE.equalsIgnoreCase(header.getName())) {
+                credentials.add(header.getName().toLowerCase() + ":" + header.getValue());
+            }
+        }
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            for (String credential : credentials) {
+                //the length prefix keeps the boundaries of the values, "ab"+"c" and "a"+"bc" differ
+                String value = String.valueOf(credential);
+                messageDigest.update((value.length() + ":" + value + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : messageDigest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
     public CloseableHttpResponse execute(CloseableHttpClient closeableHttpClient,
                                          HttpRequestBase httpRequestBase,
                                          HttpClientContext context) {
@@ -280,9 +443,12 @@ public class HttpClientService {
                 .execute();
     }
 
-    public Map<String, String> parseResponse(CloseableHttpResponse httpResponse,
+    public Map<String, String> parseResponse(HttpResponse httpResponse,
                                              String responseCharacterSet,
                                              String destinationFile,
+                                             String binaryDownload,
+                                             String computeChecksum,
+                                             String maxInMemoryResponseSize,
                                              URI uri,
                                              HttpClientContext httpClientContext,
                                              CookieStore cookieStore,
@@ -295,6 +461,9 @@ public class HttpClientService {
                     .setHttpResponse(httpResponse)
                     .setResponseCharacterSet(responseCharacterSet)
                     .setDestinationFile(destinationFile)
+                    .setBinaryDownload(binaryDownload)
+                    .setComputeChecksum(computeChecksum)
+                    .setMaxInMemoryResponseSize(maxInMemoryResponseSize)
                     .consume(result);
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -308,19 +477,44 @@ public class HttpClientService {
         headersConsumer.setHeaders(httpResponse.getAllHeaders()).consume(result);
         statusConsumer.setStatusLine(httpResponse.getStatusLine()).consume(result);
 
-        if (cookieStore != null) {
-            try {
-                cookieStoreSessionObject.setValue(
-                        CookieStoreBuilder.serialize(cookieStore));
-            } catch (IOException e) {
-                throw new RuntimeException(e.getMessage(), e);
-            }
+        CacheResponseStatus cacheResponseStatus = HttpCacheContext.adapt(httpClientContext).getCacheResponseStatus();
+        if (cacheResponseStatus != null) {
+            result.put(CACHE_STATUS, cacheResponseStatus.name());
+        }
+
+        //the live store is kept in the session, it is only serialized when the session is persisted
+        if (cookieStore instanceof Serializable) {
+            cookieStoreSessionObject.setValue((Serializable) cookieStore);
         }
 
         result.put(RETURN_CODE, SUCCESS);
         return result;
     }
 
+    private Map<String, String> parseResponse(HttpResponse httpResponse, HttpClientInputs httpClientInputs,
+                                              HttpComponents httpComponents) {
+        return parseResponse(httpResponse,
+                httpClientInputs.getResponseCharacterSet(),
+                httpClientInputs.getDestinationFile(),
+                httpClientInputs.getBinaryDownload(),
+                httpClientInputs.getComputeChecksum(),
+                httpClientInputs.getMaxInMemoryResponseSize(),
+                httpComponents.getUri(),
+                httpComponents.getHttpClientContext(),
+                httpComponents.getCookieStore(),
+                httpClientInputs.getCookieStoreSessionObject());
+    }
+
+    private boolean isAsync(String executionMode) {
+        if (StringUtils.isEmpty(executionMode) || EXECUTION_MODE_BLOCKING.equalsIgnoreCase(executionMode)) {
+            return false;
+        } else if (EXECUTION_MODE_ASYNC.equalsIgnoreCase(executionMode)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Invalid value '" + executionMode + "' for input '" + HttpClientInputs.EXECUTION_MODE
+                + "'. Valid values: '" + EXECUTION_MODE_BLOCKING + "','" + EXECUTION_MODE_ASYNC + "'.");
+    }
+
     private void checkKeepAlive(HttpRequestBase httpRequestBase, PoolingHttpClientConnectionManager connManager,
                                 String keepAliveInput, CloseableHttpResponse httpResponse) {
         boolean keepAlive = StringUtils.isBlank(keepAliveInput) || Boolean.parseBoolean(keepAliveInput);
@@ -369,10 +563,22 @@ public class HttpClientService {
         this.sslConnectionSocketFactoryBuilder = sslConnectionSocketFactoryBuilder;
     }
 
+    public void setSslConnectionSocketFactoryCache(SSLConnectionSocketFactoryCache sslConnectionSocketFactoryCache) {
+        this.sslConnectionSocketFactoryCache = sslConnectionSocketFactoryCache;
+    }
+
     public void setPoolingHttpClientConnectionManagerBuilder(ConnectionManagerBuilder poolingHttpClientConnectionManagerBuilder) {
         this.poolingHttpClientConnectionManagerBuilder = poolingHttpClientConnectionManagerBuilder;
     }
 
+    public void setCloseableHttpClientBuilder(CloseableHttpClientBuilder closeableHttpClientBuilder) {
+        this.closeableHttpClientBuilder = closeableHttpClientBuilder;
+    }
+
+    public void setCloseableHttpAsyncClientBuilder(CloseableHttpAsyncClientBuilder closeableHttpAsyncClientBuilder) {
+        this.closeableHttpAsyncClientBuilder = closeableHttpAsyncClientBuilder;
+    }
+
     private void buildDefaultServices() {
         if (uriBuilder == null) {
             uriBuilder = new URIBuilder();
@@ -404,15 +610,27 @@ public class HttpClientService {
         if (sslConnectionSocketFactoryBuilder == null) {
             sslConnectionSocketFactoryBuilder = new SSLConnectionSocketFactoryBuilder();
         }
+        if (sslConnectionSocketFactoryCache == null) {
+            sslConnectionSocketFactoryCache = SSLConnectionSocketFactoryCache.getDefaultInstance();
+        }
         if (poolingHttpClientConnectionManagerBuilder == null) {
             poolingHttpClientConnectionManagerBuilder = new ConnectionManagerBuilder();
         }
+        if (closeableHttpClientBuilder == null) {
+            closeableHttpClientBuilder = new CloseableHttpClientBuilder();
+        }
+        if (closeableHttpAsyncClientBuilder == null) {
+            closeableHttpAsyncClientBuilder = new CloseableHttpAsyncClientBuilder();
+        }
         if (contextBuilder == null) {
             contextBuilder = new ContextBuilder();
         }
         if (httpClientExecutor == null) {
             httpClientExecutor = new HttpClientExecutor();
         }
+        if (httpAsyncClientExecutor == null) {
+            httpAsyncClientExecutor = new HttpAsyncClientExecutor();
+        }
         if (httpResponseConsumer == null) {
             httpResponseConsumer = new HttpResponseConsumer();
         }
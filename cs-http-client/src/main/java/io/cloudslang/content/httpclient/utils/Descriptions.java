@@ -28,6 +28,28 @@ public class Descriptions {
         public static final String RETURN_RESULT_DESC = "The percent-decoded 'url'. In case of an error this output will contain the error message.";
     }
 
+    public static class ConnectionPoolStats {
+        public static final String CONNECTION_POOL_STATS_DESC = "This operation returns the statistics of the connection pools shared by the Http Client operations of the current execution, including the pools of the 'async' execution mode.";
+        public static final String SESSION_CONNECTION_POOL_DESC = "The GlobalSessionObject that holds the http client pooling connection manager.";
+        public static final String RETURN_RESULT_DESC = "The statistics of each route, one route per line. Format: scheme://host:port leased=<n> available=<n> pending=<n> max=<n>. In case of an error this output will contain the error message.";
+        public static final String LEASED_DESC = "The number of connections in use, over all the pools.";
+        public static final String AVAILABLE_DESC = "The number of idle connections kept alive for reuse, over all the pools.";
+        public static final String PENDING_DESC = "The number of requests waiting for a connection, over all the pools.";
+        public static final String MAX_DESC = "The maximum number of connections allowed, over all the pools.";
+    }
+
+    public static class HttpClientBatch {
+        public static final String HTTP_CLIENT_BATCH_DESC = "This operation executes a list of HTTP requests concurrently over one pooled client and returns the result of each request. The inputs other than 'requests' and 'parallelism' are shared by all the requests and have the same meaning as for the Http Client operation.";
+        public static final String REQUESTS_DESC = "The JSON array of the requests to execute. Each request is an object with an 'url' and the optional 'method' (default: GET), 'headers', 'body', 'contentType' and 'queryParams'. The 'headers' are either in the format of the 'headers' input or a JSON object of names and values. Example: [{\"url\":\"http://host/a\"},{\"url\":\"http://host/b\",\"method\":\"POST\",\"body\":\"text\",\"headers\":{\"Accept\":\"text/plain\"}}]";
+        public static final String PARALLELISM_DESC = "The maximum number of requests executed at the same time. Unless 'connectionsMaxPerRoute' is specified, the pool allows as many connections per route. Default value: 10";
+        public static final String HEADERS_DESC = "The headers added to every request, in addition to the headers of the request. Format: header name and value separated by ':', one header per line.";
+        public static final String SESSION_CONNECTION_POOL_DESC = "The GlobalSessionObject that holds the http client pooling connection manager.";
+        public static final String SESSION_COOKIES_DESC = "The SerializableSessionObject that holds the cookies shared by the requests.";
+        public static final String RETURN_RESULT_DESC = "A JSON array with the result of each request, in the order of the requests: 'url', 'method', 'returnCode', 'statusCode', 'reasonPhrase' and the response body in 'returnResult', or the error in 'exception' when the request could not be executed. In case of an error this output will contain the error message.";
+        public static final String SUCCESS_COUNT_DESC = "The number of requests that received a response, whatever its status code.";
+        public static final String FAILURE_COUNT_DESC = "The number of requests that could not be executed.";
+    }
+
     public static class Commons {
         public static final String URL_DESC = "Any text like query or form values. Adding a whole URL will not work.";
         public static final String CHARACTER_SET_DESC = "The character encoding used for URL encoding. Leave this UTF-8, like the standard recommends and because the inputs are stored as UTF-8.";
@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.build.conn.ConnectionPoolSessionResource;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientBatchService;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HttpClientBatchServiceTest {
+
+    private static StubHttpServer server;
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        server = new StubHttpServer("ok");
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void executeReturnsResultsInRequestOrder() throws Exception {
+        GlobalSessionObject connectionPool = new GlobalSessionObject();
+        HttpClientInputs commonInputs = new HttpClientInputs();
+        commonInputs.setConnectionPoolSessionObject(connectionPool);
+        String requests = "[{\"url\":\"" + server.getUrl() + "a\"}," +
+                "{\"url\":\"" + server.getUrl() + "b\",\"method\":\"POST\",\"body\":{\"key\":\"value\"}," +
+                "\"contentType\":\"application/json\",\"headers\":{\"Accept\":\"text/plain\"}}," +
+                "{\"url\":\"http://127.0.0.1:1/unreachable\",\"method\":\"GET\"}]";
+
+        Map<String, String> result = new HttpClientBatchService().execute(commonInputs, requests, "2");
+
+        assertEquals("0", result.get(HttpClientService.RETURN_CODE));
+        assertEquals("2", result.get(HttpClientBatchService.SUCCESS_COUNT));
+        assertEquals("1", result.get(HttpClientBatchService.FAILURE_COUNT));
+        JsonNode results = new ObjectMapper().readTree(result.get(HttpClientService.RETURN_RESULT));
+        assertEquals(3, results.size());
+        assertEquals(server.getUrl() + "a", results.get(0).get("url").asText());
+        assertEquals("200", results.get(0).get(HttpClientService.STATUS_CODE).asText());
+        assertEquals("ok", results.get(0).get(HttpClientService.RETURN_RESULT).asText());
+        assertEquals("POST", results.get(1).get("method").asText());
+        assertEquals("200", results.get(1).get(HttpClientService.STATUS_CODE).asText());
+        assertEquals("-1", results.get(2).get(HttpClientService.RETURN_CODE).asText());
+        assertTrue(results.get(2).get(HttpClientService.EXCEPTION).asText().startsWith("Connection error"));
+        //all the requests used the pool of the session
+        assertFalse(((ConnectionPoolSessionResource) connectionPool.getResource()).getHttpClients().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void executeWithInvalidRequests() {
+        new HttpClientBatchService().execute(new HttpClientInputs(), "{\"url\":\"http://host\"}", null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void executeWithInvalidParallelism() {
+        new HttpClientBatchService().execute(new HttpClientInputs(), "[{\"url\":\"http://host\"}]", "0");
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the blocking and the async execution modes with many requests in flight against a local server
+ * answering after a fixed latency. The blocking mode needs one thread per request in flight, the async mode
+ * issues all of them from one thread. Not part of the regular build, run it with:
+ * <br>mvn test -Dtest=HttpClientExecutionModeBenchmark -Dbenchmark.concurrency=1000 -Dbenchmark.rounds=5 -Dbenchmark.latency=50
+ */
+public class HttpClientExecutionModeBenchmark {
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+    private static final long LATENCY_MILLIS = Long.getLong("benchmark.latency", 50);
+
+    @Test
+    public void blockingVersusAsync() throws Exception {
+        try (StubHttpServer server = new StubHttpServer("ok", LATENCY_MILLIS)) {
+            runBlocking(server.getUrl());
+            runAsync(server.getUrl());
+        }
+    }
+
+    private void runBlocking(final String url) throws Exception {
+        final GlobalSessionObject connectionPool = new GlobalSessionObject();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        try {
+            long start = System.nanoTime();
+            int succeeded = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                List<Future<Map<String, String>>> futures = new ArrayList<>();
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    futures.add(executor.submit(new Callable<Map<String, String>>() {
+                        @Override
+                        public Map<String, String> call() {
+                            return new HttpClientService().execute(newInputs(url, connectionPool));
+                        }
+                    }));
+                }
+                succeeded += countSucceeded(futures);
+            }
+            report("blocking", succeeded, start, threads.getPeakThreadCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runAsync(String url) throws Exception {
+        GlobalSessionObject connectionPool = new GlobalSessionObject();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        try {
+            long start = System.nanoTime();
+            int succeeded = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                List<Future<Map<String, String>>> futures = new ArrayList<>();
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    futures.add(new HttpClientService().executeAsync(newInputs(url, connectionPool), null));
+                }
+                succeeded += countSucceeded(futures);
+            }
+            report("async", succeeded, start, threads.getPeakThreadCount());
+        } finally {
+            connectionPool.getResource().release();
+        }
+    }
+
+    private HttpClientInputs newInputs(String url, GlobalSessionObject connectionPool) {
+        HttpClientInputs inputs = new HttpClientInputs();
+        inputs.setUrl(url);
+        inputs.setMethod("GET");
+        inputs.setConnectionsMaxPerRoute(String.valueOf(CONCURRENCY));
+        inputs.setConnectionsMaxTotal(String.valueOf(CONCURRENCY));
+        inputs.setConnectionPoolSessionObject(connectionPool);
+        return inputs;
+    }
+
+    private int countSucceeded(List<Future<Map<String, String>>> futures) throws Exception {
+        int succeeded = 0;
+        for (Future<Map<String, String>> future : futures) {
+            if ("200".equals(future.get().get(HttpClientService.STATUS_CODE))) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+
+    private void report(String mode, int succeeded, long start, int peakThreads) {
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1000000);
+        assertEquals(CONCURRENCY * ROUNDS, succeeded);
+        System.out.println(String.format("%s: %d requests, %d in flight, in %d ms: %d requests/s, peak jvm threads %d (server included)",
+                mode, succeeded, CONCURRENCY, elapsedMillis, succeeded * 1000L / elapsedMillis, peakThreads));
+    }
+}
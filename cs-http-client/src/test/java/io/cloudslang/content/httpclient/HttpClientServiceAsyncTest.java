@@ -0,0 +1,90 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class HttpClientServiceAsyncTest {
+
+    private static StubHttpServer server;
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        server = new StubHttpServer("ok");
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void executeInAsyncMode() {
+        GlobalSessionObject connectionPool = new GlobalSessionObject();
+        try {
+            HttpClientInputs inputs = newInputs(connectionPool);
+            inputs.setExecutionMode(HttpClientService.EXECUTION_MODE_ASYNC);
+
+            Map<String, String> result = new HttpClientService().execute(inputs);
+
+            assertEquals("200", result.get(HttpClientService.STATUS_CODE));
+            assertEquals("ok", result.get(HttpClientService.RETURN_RESULT));
+        } finally {
+            connectionPool.getResource().release();
+        }
+    }
+
+    @Test
+    public void executeAsyncReturnsFutureResult() throws Exception {
+        GlobalSessionObject connectionPool = new GlobalSessionObject();
+        try {
+            Map<String, String> result = new HttpClientService().executeAsync(newInputs(connectionPool), null)
+                    .get(30, TimeUnit.SECONDS);
+
+            assertEquals("200", result.get(HttpClientService.STATUS_CODE));
+            assertEquals("ok", result.get(HttpClientService.RETURN_RESULT));
+        } finally {
+            connectionPool.getResource().release();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void executeWithInvalidExecutionMode() {
+        HttpClientInputs inputs = newInputs(new GlobalSessionObject());
+        inputs.setExecutionMode("parallel");
+
+        new HttpClientService().execute(inputs);
+    }
+
+    private HttpClientInputs newInputs(GlobalSessionObject connectionPool) {
+        HttpClientInputs inputs = new HttpClientInputs();
+        inputs.setUrl(server.getUrl());
+        inputs.setMethod("GET");
+        inputs.setConnectionPoolSessionObject(connectionPool);
+        return inputs;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.content.httpclient.build.conn.ConnectionPoolSessionResource;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class HttpClientServiceCacheTest {
+
+    private StubHttpServer server;
+    private GlobalSessionObject connectionPool;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new StubHttpServer("ok");
+        connectionPool = new GlobalSessionObject();
+    }
+
+    @After
+    public void tearDown() {
+        connectionPool.getResource().release();
+        server.close();
+    }
+
+    @Test
+    public void freshResponseIsServedFromCache() {
+        server.setResponseHeader("Cache-Control", "max-age=60");
+
+        Map<String, String> first = new HttpClientService().execute(newInputs("true"));
+        Map<String, String> second = new HttpClientService().execute(newInputs("true"));
+
+        assertEquals("CACHE_MISS", first.get(HttpClientService.CACHE_STATUS));
+        assertEquals("CACHE_HIT", second.get(HttpClientService.CACHE_STATUS));
+        assertEquals("200", second.get(HttpClientService.STATUS_CODE));
+        assertEquals("ok", second.get(HttpClientService.RETURN_RESULT));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void staleResponseIsRevalidated() {
+        server.setResponseHeader("Cache-Control", "max-age=0");
+        server.setResponseHeader("ETag", "\"v1\"");
+
+        new HttpClientService().execute(newInputs("true"));
+        Map<String, String> second = new HttpClientService().execute(newInputs("true"));
+
+        assertEquals("VALIDATED", second.get(HttpClientService.CACHE_STATUS));
+        assertEquals("200", second.get(HttpClientService.STATUS_CODE));
+        assertEquals("ok", second.get(HttpClientService.RETURN_RESULT));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void wrongPasswordMissesTheCache() {
+        server.setResponseHeader("Cache-Control", "max-age=60");
+
+        Map<String, String> first = new HttpClientService().execute(newInputs("true", "user", "password", ""));
+        Map<String, String> wrongPassword = new HttpClientService().execute(newInputs("true", "user", "wrong", ""));
+        Map<String, String> samePassword = new HttpClientService().execute(newInputs("true", "user", "password", ""));
+
+        assertEquals("CACHE_MISS", first.get(HttpClientService.CACHE_STATUS));
+        assertEquals("CACHE_MISS", wrongPassword.get(HttpClientService.CACHE_STATUS));
+        assertEquals("CACHE_HIT", samePassword.get(HttpClientService.CACHE_STATUS));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void otherAuthorizationHeaderMissesTheCache() {
+        server.setResponseHeader("Cache-Control", "max-age=60");
+
+        new HttpClientService().execute(newInputs("true", "", "", "Authorization: Bearer token1"));
+        Map<String, String> otherToken = new HttpClientService().execute(newInputs("true", "", "", "Authorization: Bearer token2"));
+        Map<String, String> anonymous = new HttpClientService().execute(newInputs("true"));
+        Map<String, String> otherCookie = new HttpClientService().execute(newInputs("true", "", "", "Cookie: session=1"));
+
+        assertEquals("CACHE_MISS", otherToken.get(HttpClientService.CACHE_STATUS));
+        assertEquals("CACHE_MISS", anonymous.get(HttpClientService.CACHE_STATUS));
+        assertEquals("CACHE_MISS", otherCookie.get(HttpClientService.CACHE_STATUS));
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void rotatingTokensKeepABoundedNumberOfCaches() {
+        server.setResponseHeader("Cache-Control", "max-age=60");
+        int tokenCount = 3 * ConnectionPoolSessionResource.MAX_CACHING_HTTP_CLIENTS;
+
+        for (int i = 0; i < tokenCount; i++) {
+            Map<String, String> result = new HttpClientService().execute(newInputs("true", "", "", "Authorization: Bearer token" + i));
+            assertEquals("CACHE_MISS", result.get(HttpClientService.CACHE_STATUS));
+        }
+        Map<String, String> lastToken = new HttpClientService().execute(newInputs("true", "", "", "Authorization: Bearer token" + (tokenCount - 1)));
+
+        ConnectionPoolSessionResource resource = (ConnectionPoolSessionResource) connectionPool.getResource();
+        assertEquals(ConnectionPoolSessionResource.MAX_CACHING_HTTP_CLIENTS, resource.getCachingHttpClients().size());
+        assertEquals(0, resource.getHttpClients().size());
+        assertEquals("CACHE_HIT", lastToken.get(HttpClientService.CACHE_STATUS));
+        assertEquals(tokenCount, server.getRequestCount());
+    }
+
+    @Test
+    public void requestSendingStoredCookiesIsNotCached() {
+        server.setResponseHeader("Cache-Control", "max-age=60");
+        server.setResponseHeader("Set-Cookie", "session=1");
+        SerializableSessionObject cookieStoreSessionObject = new SerializableSessionObject();
+
+        HttpClientInputs firstInputs = newInputs("true");
+        firstInputs.setUseCookies("true");
+        firstInputs.setCookieStoreSessionObject(cookieStoreSessionObject);
+        Map<String, String> first = new HttpClientService().execute(firstInputs);
+        HttpClientInputs secondInputs = newInputs("true");
+        secondInputs.setUseCookies("true");
+        secondInputs.setCookieStoreSessionObject(cookieStoreSessionObject);
+        Map<String, String> second = new HttpClientService().execute(secondInputs);
+
+        assertEquals("CACHE_MISS", first.get(HttpClientService.CACHE_STATUS));
+        assertNull(second.get(HttpClientService.CACHE_STATUS));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void cacheIsOptIn() {
+        server.setResponseHeader("Cache-Control", "max-age=60");
+
+        new HttpClientService().execute(newInputs(""));
+        Map<String, String> second = new HttpClientService().execute(newInputs(""));
+
+        assertNull(second.get(HttpClientService.CACHE_STATUS));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private HttpClientInputs newInputs(String useCache) {
+        return newInputs(useCache, "", "", "");
+    }
+
+    private HttpClientInputs newInputs(String useCache, String username, String password, String headers) {
+        HttpClientInputs inputs = new HttpClientInputs();
+        inputs.setUsername(username);
+        inputs.setPassword(password);
+        inputs.setHeaders(headers);
+        inputs.setUrl(server.getUrl());
+        inputs.setMethod("GET");
+        inputs.setUseCache(useCache);
+        inputs.setConnectionPoolSessionObject(connectionPool);
+        return inputs;
+    }
+}
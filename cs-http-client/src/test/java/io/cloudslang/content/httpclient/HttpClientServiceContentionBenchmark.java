@@ -0,0 +1,85 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives many threads through {@link HttpClientService#execute(HttpClientInputs)} sharing one connection pool session
+ * against a local server. Not part of the regular build, run it with:
+ * <br>mvn test -Dtest=HttpClientServiceContentionBenchmark -Dbenchmark.threads=64 -Dbenchmark.requests=200
+ */
+public class HttpClientServiceContentionBenchmark {
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 32);
+    private static final int REQUESTS_PER_THREAD = Integer.getInteger("benchmark.requests", 100);
+
+    @Test
+    public void executeWithSharedPool() throws Exception {
+        try (StubHttpServer server = new StubHttpServer("ok")) {
+            final String url = server.getUrl();
+            final GlobalSessionObject connectionPool = new GlobalSessionObject();
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                long start = System.nanoTime();
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    futures.add(executor.submit(new Callable<Integer>() {
+                        @Override
+                        public Integer call() {
+                            int succeeded = 0;
+                            for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                                HttpClientInputs inputs = new HttpClientInputs();
+                                inputs.setUrl(url);
+                                inputs.setMethod("GET");
+                                inputs.setConnectionsMaxPerRoute(String.valueOf(THREADS));
+                                inputs.setConnectionsMaxTotal(String.valueOf(THREADS));
+                                inputs.setConnectionPoolSessionObject(connectionPool);
+                                if ("200".equals(new HttpClientService().execute(inputs).get(HttpClientService.STATUS_CODE))) {
+                                    succeeded++;
+                                }
+                            }
+                            return succeeded;
+                        }
+                    }));
+                }
+                int succeeded = 0;
+                for (Future<Integer> future : futures) {
+                    succeeded += future.get();
+                }
+                long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1000000);
+
+                assertEquals(THREADS * REQUESTS_PER_THREAD, succeeded);
+                System.out.println(String.format("%d threads, %d requests in %d ms: %d requests/s",
+                        THREADS, succeeded, elapsedMillis, succeeded * 1000L / elapsedMillis));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient;
+
+import io.cloudslang.content.httpclient.entities.HttpClientInputs;
+import io.cloudslang.content.httpclient.services.HttpClientService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class HttpClientServiceDownloadTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private StubHttpServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new StubHttpServer("ok");
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void binaryDownloadComputesTheChecksum() throws Exception {
+        File destinationFile = new File(temporaryFolder.getRoot(), "download.bin");
+
+        Map<String, String> result = new HttpClientService().execute(newInputs("true", destinationFile.getPath()));
+
+        assertEquals("200", result.get(HttpClientService.STATUS_CODE));
+        assertEquals("ok", new String(Files.readAllBytes(destinationFile.toPath()), "UTF-8"));
+        assertEquals("2", result.get(HttpClientService.DOWNLOADED_BYTES));
+        assertEquals("2689367b205c16ce32ed4200942b8b8b1e262dfc70d9bc9fbc77c49699a4f1df", result.get(HttpClientService.CHECKSUM));
+    }
+
+    @Test
+    public void computeChecksumRequiresABinaryDownload() {
+        File destinationFile = new File(temporaryFolder.getRoot(), "download.txt");
+        try {
+            new HttpClientService().execute(newInputs("false", destinationFile.getPath()));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("The 'computeChecksum' input requires 'binaryDownload' to be true and a 'destinationFile'", e.getMessage());
+        }
+        try {
+            new HttpClientService().execute(newInputs("true", ""));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("The 'computeChecksum' input requires 'binaryDownload' to be true and a 'destinationFile'", e.getMessage());
+        }
+        assertFalse(destinationFile.exists());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    private HttpClientInputs newInputs(String binaryDownload, String destinationFile) {
+        HttpClientInputs inputs = new HttpClientInputs();
+        inputs.setUrl(server.getUrl());
+        inputs.setMethod("GET");
+        inputs.setBinaryDownload(binaryDownload);
+        inputs.setDestinationFile(destinationFile);
+        inputs.setComputeChecksum("true");
+        return inputs;
+    }
+}
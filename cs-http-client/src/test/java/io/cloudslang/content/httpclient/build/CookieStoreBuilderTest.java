@@ -28,6 +28,7 @@ import java.io.IOException;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNull;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * User: Adina Tusa
@@ -66,6 +67,20 @@ public class CookieStoreBuilderTest {
         assertEquals(basicCookieStore.getCookies(), cookieStore.getCookies());
     }
 
+    @Test
+    public void buildCookieStoreKeepsLiveStoreInSession() {
+        SerializableSessionObject sessionObjectHolder = new SerializableSessionObject();
+        CookieStore cookieStore = cookieStoreBuilder
+                .setCookieStoreSessionObject(sessionObjectHolder)
+                .buildCookieStore();
+        CookieStore sameCookieStore = new CookieStoreBuilder()
+                .setCookieStoreSessionObject(sessionObjectHolder)
+                .buildCookieStore();
+
+        assertSame(cookieStore, sessionObjectHolder.getValue());
+        assertSame(cookieStore, sameCookieStore);
+    }
+
     @Test
     public void buildCookieStoreWithoutCookies() throws IOException {
         BasicCookieStore basicCookieStore = new BasicCookieStore();
@@ -0,0 +1,73 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.cookie.ClientCookie;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the serialization round trip of the default cookie store with the compact format of {@link SessionCookieStore}.
+ * Not part of the regular build, run it with:
+ * <br>mvn test -Dtest=CookieStoreSerializationBenchmark -Dbenchmark.cookies=50 -Dbenchmark.iterations=20000
+ */
+public class CookieStoreSerializationBenchmark {
+    private static final int COOKIES = Integer.getInteger("benchmark.cookies", 50);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20000);
+
+    @Test
+    public void serializationRoundTrip() throws Exception {
+        BasicCookieStore basicCookieStore = new BasicCookieStore();
+        SessionCookieStore sessionCookieStore = new SessionCookieStore();
+        for (int i = 0; i < COOKIES; i++) {
+            BasicClientCookie cookie = new BasicClientCookie("cookie" + i, "value-" + i + "-0123456789abcdef0123456789abcdef");
+            cookie.setDomain("sso.example.com");
+            cookie.setPath("/");
+            cookie.setExpiryDate(new Date(System.currentTimeMillis() + 3600000));
+            cookie.setAttribute(ClientCookie.DOMAIN_ATTR, "sso.example.com");
+            cookie.setAttribute(ClientCookie.PATH_ATTR, "/");
+            basicCookieStore.addCookie(cookie);
+            sessionCookieStore.addCookie(cookie);
+        }
+
+        run("BasicCookieStore", basicCookieStore);
+        run("SessionCookieStore", sessionCookieStore);
+    }
+
+    private void run(String name, BasicCookieStore cookieStore) throws Exception {
+        //warm up
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            CookieStoreBuilder.deserialize(CookieStoreBuilder.serialize(cookieStore));
+        }
+        int size = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            byte[] bytes = CookieStoreBuilder.serialize(cookieStore);
+            size = bytes.length;
+            BasicCookieStore copy = (BasicCookieStore) CookieStoreBuilder.deserialize(bytes);
+            assertEquals(COOKIES, copy.getCookies().size());
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+        System.out.println(String.format("%s: %d cookies, %d bytes, %d us per round trip",
+                name, COOKIES, size, elapsedMicros / ITERATIONS));
+    }
+}
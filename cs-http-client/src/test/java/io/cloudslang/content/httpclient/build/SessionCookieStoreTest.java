@@ -0,0 +1,82 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build;
+
+import org.apache.http.cookie.ClientCookie;
+import org.apache.http.cookie.Cookie;
+import org.apache.http.impl.cookie.BasicClientCookie;
+import org.apache.http.impl.cookie.BasicClientCookie2;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+
+public class SessionCookieStoreTest {
+
+    @Test
+    public void serializationRoundTrip() throws IOException, ClassNotFoundException {
+        Date expiry = new Date(System.currentTimeMillis() + 3600000);
+        BasicClientCookie cookie = new BasicClientCookie("session", "abc=123");
+        cookie.setDomain("example.com");
+        cookie.setPath("/");
+        cookie.setExpiryDate(expiry);
+        cookie.setSecure(true);
+        cookie.setAttribute(ClientCookie.DOMAIN_ATTR, "example.com");
+        BasicClientCookie2 cookie2 = new BasicClientCookie2("sso", null);
+        cookie2.setDomain("sso.example.com");
+        cookie2.setPath("/auth");
+        cookie2.setVersion(1);
+        cookie2.setPorts(new int[]{80, 443});
+        cookie2.setCommentURL("http://example.com/cookies");
+        SessionCookieStore cookieStore = new SessionCookieStore();
+        cookieStore.addCookie(cookie);
+        cookieStore.addCookie(cookie2);
+
+        SessionCookieStore copy = (SessionCookieStore) CookieStoreBuilder.deserialize(CookieStoreBuilder.serialize(cookieStore));
+
+        List<Cookie> cookies = copy.getCookies();
+        assertEquals(2, cookies.size());
+        Cookie sessionCookie = find(cookies, "session");
+        assertEquals("abc=123", sessionCookie.getValue());
+        assertEquals("example.com", sessionCookie.getDomain());
+        assertEquals("/", sessionCookie.getPath());
+        assertEquals(expiry, sessionCookie.getExpiryDate());
+        assertTrue(sessionCookie.isSecure());
+        assertEquals("example.com", ((ClientCookie) sessionCookie).getAttribute(ClientCookie.DOMAIN_ATTR));
+        Cookie ssoCookie = find(cookies, "sso");
+        assertTrue(ssoCookie instanceof BasicClientCookie2);
+        assertNull(ssoCookie.getValue());
+        assertEquals(1, ssoCookie.getVersion());
+        assertArrayEquals(new int[]{80, 443}, ssoCookie.getPorts());
+        assertEquals("http://example.com/cookies", ssoCookie.getCommentURL());
+    }
+
+    private Cookie find(List<Cookie> cookies, String name) {
+        for (Cookie cookie : cookies) {
+            if (cookie.getName().equals(name)) {
+                return cookie;
+            }
+        }
+        throw new AssertionError("cookie not found: " + name);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SessionResource;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class CloseableHttpAsyncClientBuilderTest {
+
+    @Test
+    public void buildReusesStartedClientForSameKey() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        try {
+            CloseableHttpAsyncClient first = newBuilder(holder, "true").build();
+            CloseableHttpAsyncClient second = newBuilder(holder, "").build();
+            CloseableHttpAsyncClient noKeepAliveClient = newBuilder(holder, "false").build();
+
+            assertSame(first, second);
+            assertNotSame(first, noKeepAliveClient);
+            assertTrue(first.isRunning());
+            assertEquals(2, ((ConnectionPoolSessionResource) holder.getResource()).getHttpAsyncClients().size());
+        } finally {
+            holder.getResource().release();
+        }
+    }
+
+    @Test
+    public void buildRegistersTheNewPoolForEvictionAndStatistics() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        try {
+            newBuilder(holder, "true").setIdleTimeout("30").build();
+
+            ConnectionPoolSessionResource resource = (ConnectionPoolSessionResource) holder.getResource();
+            assertEquals(1, resource.getAsyncConnectionManagers().size());
+            PoolingNHttpClientConnectionManager connManager = resource.getAsyncConnectionManagers().values().iterator().next();
+            assertTrue(ConnectionPoolEvictor.getInstance().isRegistered(connManager));
+        } finally {
+            holder.getResource().release();
+        }
+    }
+
+    @Test
+    public void releaseClosesClients() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        CloseableHttpAsyncClient httpAsyncClient = newBuilder(holder, "true").build();
+
+        holder.getResource().release();
+
+        assertFalse(httpAsyncClient.isRunning());
+        assertTrue(((ConnectionPoolSessionResource) holder.getResource()).getHttpAsyncClients().isEmpty());
+        assertTrue(((ConnectionPoolSessionResource) holder.getResource()).getAsyncConnectionManagers().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildWithoutPoolSessionResource() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        holder.setResource(new SessionResource() {
+            @Override
+            public Object get() {
+                return new HashMap<>();
+            }
+
+            @Override
+            public void release() {
+            }
+        });
+
+        newBuilder(holder, "true").build();
+    }
+
+    private CloseableHttpAsyncClientBuilder newBuilder(GlobalSessionObject holder, String keepAlive) {
+        return new CloseableHttpAsyncClientBuilder()
+                .setConnectionPoolHolder(holder)
+                .setSslConnectionSocketFactoryBuilder(new SSLConnectionSocketFactoryBuilder().setTrustAllRoots("false"))
+                .setConnectionManagerMapKey("key1:key2")
+                .setKeepAlive(keepAlive);
+    }
+}
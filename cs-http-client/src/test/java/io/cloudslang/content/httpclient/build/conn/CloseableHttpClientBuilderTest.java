@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import com.hp.oo.sdk.content.plugin.SessionResource;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+
+public class CloseableHttpClientBuilderTest {
+
+    private final PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager();
+
+    @Test
+    public void buildReusesClientForSameKey() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        holder.setResource(new ConnectionPoolSessionResource());
+
+        CloseableHttpClient first = newBuilder(holder, "true").build();
+        CloseableHttpClient second = newBuilder(holder, "").build();
+
+        assertSame(first, second);
+        assertEquals(1, ((ConnectionPoolSessionResource) holder.getResource()).getHttpClients().size());
+    }
+
+    @Test
+    public void buildSeparatesClientsByKeepAlive() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        holder.setResource(new ConnectionPoolSessionResource());
+
+        CloseableHttpClient keepAliveClient = newBuilder(holder, "true").build();
+        CloseableHttpClient noKeepAliveClient = newBuilder(holder, "false").build();
+
+        assertNotSame(keepAliveClient, noKeepAliveClient);
+    }
+
+    @Test
+    public void buildSeparatesClientsByCacheSettings() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        holder.setResource(new ConnectionPoolSessionResource());
+
+        CloseableHttpClient noCacheClient = newBuilder(holder, "true").build();
+        CloseableHttpClient cacheClient = newBuilder(holder, "true").setUseCache("true").build();
+        CloseableHttpClient sameCacheClient = newBuilder(holder, "true").setUseCache("true").build();
+        CloseableHttpClient smallerCacheClient = newBuilder(holder, "true").setUseCache("true").setCacheMaxEntries("10").build();
+
+        assertNotSame(noCacheClient, cacheClient);
+        assertSame(cacheClient, sameCacheClient);
+        assertNotSame(cacheClient, smallerCacheClient);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildWithInvalidCacheMaxObjectSize() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        holder.setResource(new ConnectionPoolSessionResource());
+
+        newBuilder(holder, "true").setUseCache("true").setCacheMaxObjectSize("-1").build();
+    }
+
+    @Test
+    public void buildWithoutPoolSessionResource() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        final Map<String, PoolingHttpClientConnectionManager> connectionManagerMap = new HashMap<>();
+        holder.setResource(new SessionResource() {
+            @Override
+            public Object get() {
+                return connectionManagerMap;
+            }
+
+            @Override
+            public void release() {
+            }
+        });
+
+        CloseableHttpClient first = newBuilder(holder, "true").build();
+        CloseableHttpClient second = newBuilder(holder, "true").build();
+
+        assertNotNull(first);
+        assertNotSame(first, second);
+    }
+
+    private CloseableHttpClientBuilder newBuilder(GlobalSessionObject holder, String keepAlive) {
+        return new CloseableHttpClientBuilder()
+                .setConnectionPoolHolder(holder)
+                .setConnManager(connManager)
+                .setConnectionManagerMapKey("key1:key2")
+                .setKeepAlive(keepAlive);
+    }
+}
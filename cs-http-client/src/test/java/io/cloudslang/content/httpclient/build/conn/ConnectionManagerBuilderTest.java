@@ -26,8 +26,14 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static junit.framework.Assert.*;
 
@@ -83,4 +89,67 @@ public class ConnectionManagerBuilderTest {
                 .buildConnectionManager();
         assertEquals(connectionManagerMock, connectionManager);
     }
+
+    @Test
+    public void buildConnectionManagerAppliesLimitsAtCreation() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        PoolingHttpClientConnectionManager connectionManager = new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key1", "key2")
+                .setSslsf(sslConnectionSocketFactoryMock)
+                .setConnectionPoolHolder(holder)
+                .setDefaultMaxPerRoute("5")
+                .setTotalMax("50")
+                .buildConnectionManager();
+        PoolingHttpClientConnectionManager sameConnectionManager = new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key1", "key2")
+                .setSslsf(sslConnectionSocketFactoryMock)
+                .setConnectionPoolHolder(holder)
+                .setDefaultMaxPerRoute("1")
+                .setTotalMax("1")
+                .buildConnectionManager();
+
+        assertSame(connectionManager, sameConnectionManager);
+        assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(50, connectionManager.getMaxTotal());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildConnectionManagerWithInvalidLimit() {
+        GlobalSessionObject holder = new GlobalSessionObject();
+        ConnectionManagerBuilder builder = new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("key1", "key2")
+                .setSslsf(sslConnectionSocketFactoryMock)
+                .setConnectionPoolHolder(holder);
+        builder.buildConnectionManager();
+
+        builder.setDefaultMaxPerRoute("two").buildConnectionManager();
+    }
+
+    @Test
+    public void buildConnectionManagerConcurrently() throws Exception {
+        final GlobalSessionObject holder = new GlobalSessionObject();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<PoolingHttpClientConnectionManager>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(new Callable<PoolingHttpClientConnectionManager>() {
+                    @Override
+                    public PoolingHttpClientConnectionManager call() {
+                        return new ConnectionManagerBuilder()
+                                .setConnectionManagerMapKey("key1", "key2")
+                                .setSslsf(sslConnectionSocketFactoryMock)
+                                .setConnectionPoolHolder(holder)
+                                .buildConnectionManager();
+                    }
+                }));
+            }
+            PoolingHttpClientConnectionManager connectionManager = futures.get(0).get();
+            for (Future<PoolingHttpClientConnectionManager> future : futures) {
+                assertSame(connectionManager, future.get());
+            }
+            assertEquals(1, ((Map) holder.get()).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConnectionPoolEvictorTest {
+
+    @Mock
+    private PoolingHttpClientConnectionManager connectionManagerMock;
+
+    @Mock
+    private PoolingNHttpClientConnectionManager asyncConnectionManagerMock;
+
+    @Test
+    public void evictClosesExpiredAndIdleConnections() {
+        ConnectionPoolEvictor evictor = new ConnectionPoolEvictor();
+        evictor.register(connectionManagerMock, 30);
+
+        evictor.evict();
+
+        verify(connectionManagerMock).closeExpiredConnections();
+        verify(connectionManagerMock).closeIdleConnections(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void evictWithoutIdleTimeoutClosesOnlyExpiredConnections() {
+        ConnectionPoolEvictor evictor = new ConnectionPoolEvictor();
+        evictor.register(connectionManagerMock, 0);
+
+        evictor.evict();
+
+        verify(connectionManagerMock).closeExpiredConnections();
+        verify(connectionManagerMock, never()).closeIdleConnections(anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void evictClosesExpiredAndIdleConnectionsOfAsyncPools() {
+        ConnectionPoolEvictor evictor = new ConnectionPoolEvictor();
+        evictor.register(asyncConnectionManagerMock, 30);
+        evictor.register(connectionManagerMock, 0);
+
+        evictor.evict();
+
+        verify(asyncConnectionManagerMock).closeExpiredConnections();
+        verify(asyncConnectionManagerMock).closeIdleConnections(30, TimeUnit.SECONDS);
+        verify(connectionManagerMock).closeExpiredConnections();
+    }
+
+    @Test
+    public void evictClosesRetiredPoolsOnceTheirConnectionsAreReleased() throws IOException {
+        Closeable clientMock = mock(Closeable.class);
+        when(connectionManagerMock.getTotalStats()).thenReturn(new PoolStats(1, 0, 0, 20), new PoolStats(0, 0, 1, 20));
+        ConnectionPoolEvictor evictor = new ConnectionPoolEvictor();
+        evictor.register(connectionManagerMock, 30);
+        evictor.retire(connectionManagerMock, Arrays.asList(clientMock, connectionManagerMock));
+
+        evictor.evict();
+        verify(clientMock, never()).close();
+        assertTrue(evictor.isRetired(connectionManagerMock));
+
+        evictor.evict();
+        InOrder inOrder = inOrder(clientMock, connectionManagerMock);
+        inOrder.verify(clientMock).close();
+        inOrder.verify(connectionManagerMock).close();
+        assertFalse(evictor.isRetired(connectionManagerMock));
+        assertFalse(evictor.isRegistered(connectionManagerMock));
+    }
+
+    @Test
+    public void buildConnectionManagerRegistersNewPools() {
+        PoolingHttpClientConnectionManager connectionManager = new ConnectionManagerBuilder()
+                .setConnectionManagerMapKey("evictor")
+                .setConnectionPoolHolder(new GlobalSessionObject())
+                .setSslsf(SSLConnectionSocketFactory.getSocketFactory())
+                .buildConnectionManager();
+
+        assertTrue(ConnectionPoolEvictor.getInstance().isRegistered(connectionManager));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConnectionPoolSessionResourceTest {
+
+    @Mock
+    private PoolingHttpClientConnectionManager oldConnectionManagerMock;
+
+    @Mock
+    private PoolingHttpClientConnectionManager otherConnectionManagerMock;
+
+    @Mock
+    private CloseableHttpClient oldHttpClientMock;
+
+    @Mock
+    private CloseableHttpClient otherHttpClientMock;
+
+    @Test
+    public void retireSupersededPoolsRemovesThePoolsOfThePreviousStamp() {
+        ConnectionPoolSessionResource resource = new ConnectionPoolSessionResource();
+        resource.get().put("false:strict:keystore:trust:1", oldConnectionManagerMock);
+        resource.getHttpClients().put("false:strict:keystore:trust:1:true:", oldHttpClientMock);
+        resource.get().put("false:strict:other:trust:1", otherConnectionManagerMock);
+        resource.getHttpClients().put("false:strict:other:trust:1:true:", otherHttpClientMock);
+
+        resource.retireSupersededPools("false:strict:keystore:trust", "1");
+        assertEquals(2, resource.get().size());
+        assertFalse(ConnectionPoolEvictor.getInstance().isRetired(oldConnectionManagerMock));
+
+        resource.retireSupersededPools("false:strict:keystore:trust", "2");
+        assertEquals(1, resource.get().size());
+        assertSame(otherConnectionManagerMock, resource.get().get("false:strict:other:trust:1"));
+        assertEquals(1, resource.getHttpClients().size());
+        assertSame(otherHttpClientMock, resource.getHttpClients().get("false:strict:other:trust:1:true:"));
+        assertTrue(ConnectionPoolEvictor.getInstance().isRetired(oldConnectionManagerMock));
+        assertFalse(ConnectionPoolEvictor.getInstance().isRetired(otherConnectionManagerMock));
+    }
+
+    @Test
+    public void cachingHttpClientsEvictsAndClosesTheLeastRecentlyUsed() throws Exception {
+        ConnectionPoolSessionResource resource = new ConnectionPoolSessionResource();
+        Map<String, CloseableHttpClient> cachingHttpClients = resource.getCachingHttpClients();
+        CloseableHttpClient[] httpClients = new CloseableHttpClient[ConnectionPoolSessionResource.MAX_CACHING_HTTP_CLIENTS + 1];
+        for (int i = 0; i < ConnectionPoolSessionResource.MAX_CACHING_HTTP_CLIENTS; i++) {
+            httpClients[i] = mock(CloseableHttpClient.class);
+            cachingHttpClients.put("partition" + i, httpClients[i]);
+        }
+        cachingHttpClients.get("partition0");
+
+        httpClients[ConnectionPoolSessionResource.MAX_CACHING_HTTP_CLIENTS] = mock(CloseableHttpClient.class);
+        cachingHttpClients.put("partitionNew", httpClients[ConnectionPoolSessionResource.MAX_CACHING_HTTP_CLIENTS]);
+
+        assertEquals(ConnectionPoolSessionResource.MAX_CACHING_HTTP_CLIENTS, cachingHttpClients.size());
+        assertSame(httpClients[0], cachingHttpClients.get("partition0"));
+        assertFalse(cachingHttpClients.containsKey("partition1"));
+        verify(httpClients[1]).close();
+        verify(httpClients[0], never()).close();
+
+        resource.release();
+        assertTrue(cachingHttpClients.isEmpty());
+        verify(httpClients[0]).close();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.build.conn;
+
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class SSLConnectionSocketFactoryCacheTest {
+
+    public static final String PASSWORD = "password";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void factoryIsBuiltOnlyOnCacheMiss() throws IOException {
+        SSLConnectionSocketFactoryCache cache = new SSLConnectionSocketFactoryCache(2);
+        String keystore = folder.newFile("keystore.jks").getAbsolutePath();
+        CountingBuilder builder = newBuilder(keystore);
+
+        SSLConnectionSocketFactory first = cache.getSSLConnectionSocketFactory(builder, builder.buildKeystoresStamp());
+        SSLConnectionSocketFactory second = cache.getSSLConnectionSocketFactory(builder, builder.buildKeystoresStamp());
+
+        assertSame(first, second);
+        assertEquals(1, builder.builds);
+    }
+
+    @Test
+    public void changedKeystoreInvalidatesEntry() throws IOException {
+        SSLConnectionSocketFactoryCache cache = new SSLConnectionSocketFactoryCache(2);
+        File keystoreFile = folder.newFile("keystore.jks");
+        CountingBuilder builder = newBuilder(keystoreFile.getAbsolutePath());
+
+        SSLConnectionSocketFactory first = cache.getSSLConnectionSocketFactory(builder, builder.buildKeystoresStamp());
+        try (FileOutputStream fos = new FileOutputStream(keystoreFile)) {
+            fos.write(new byte[]{1, 2, 3});
+        }
+        SSLConnectionSocketFactory second = cache.getSSLConnectionSocketFactory(builder, builder.buildKeystoresStamp());
+
+        assertNotSame(first, second);
+        assertEquals(2, builder.builds);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void cacheIsBounded() throws IOException {
+        SSLConnectionSocketFactoryCache cache = new SSLConnectionSocketFactoryCache(2);
+        for (int i = 0; i < 5; i++) {
+            CountingBuilder builder = newBuilder(folder.newFile("keystore" + i + ".jks").getAbsolutePath());
+            cache.getSSLConnectionSocketFactory(builder, builder.buildKeystoresStamp());
+        }
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void cacheKeyDoesNotContainPasswords() {
+        String key = newBuilder("keystore.jks").buildCacheKey();
+        String otherPasswordKey = newBuilder("keystore.jks").setKeystorePassword("other").buildCacheKey();
+
+        assertFalse(key.contains(PASSWORD));
+        assertNotEquals(key, otherPasswordKey);
+    }
+
+    private CountingBuilder newBuilder(String keystore) {
+        CountingBuilder builder = new CountingBuilder();
+        builder.setKeystore(keystore)
+                .setKeystorePassword(PASSWORD)
+                .setTrustKeystore(keystore)
+                .setTrustPassword(PASSWORD);
+        return builder;
+    }
+
+    private static class CountingBuilder extends SSLConnectionSocketFactoryBuilder {
+        private int builds;
+
+        @Override
+        public SSLConnectionSocketFactory build() {
+            builds++;
+            return mock(SSLConnectionSocketFactory.class);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.httpclient.consume;
+
+import com.hp.oo.sdk.content.plugin.GlobalSessionObject;
+import io.cloudslang.content.httpclient.build.conn.ConnectionPoolSessionResource;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OutputNames.RETURN_RESULT;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConnectionPoolStatsConsumerTest {
+
+    @Mock
+    private PoolingHttpClientConnectionManager connectionManagerMock;
+
+    @Mock
+    private PoolingNHttpClientConnectionManager asyncConnectionManagerMock;
+
+    @Test
+    public void consumeReportsRoutesAndTotals() {
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", 8080, "http"));
+        when(connectionManagerMock.getRoutes()).thenReturn(Collections.singleton(route));
+        when(connectionManagerMock.getStats(route)).thenReturn(new PoolStats(1, 0, 2, 5));
+        when(connectionManagerMock.getTotalStats()).thenReturn(new PoolStats(1, 0, 2, 20));
+        GlobalSessionObject holder = new GlobalSessionObject();
+        ConnectionPoolSessionResource resource = new ConnectionPoolSessionResource();
+        resource.get().put("key", connectionManagerMock);
+        holder.setResource(resource);
+
+        Map<String, String> result = new HashMap<>();
+        new ConnectionPoolStatsConsumer().setConnectionPoolHolder(holder).consume(result);
+
+        assertEquals("http://localhost:8080 leased=1 available=2 pending=0 max=5", result.get(RETURN_RESULT));
+        assertEquals("1", result.get(ConnectionPoolStatsConsumer.LEASED));
+        assertEquals("2", result.get(ConnectionPoolStatsConsumer.AVAILABLE));
+        assertEquals("0", result.get(ConnectionPoolStatsConsumer.PENDING));
+        assertEquals("20", result.get(ConnectionPoolStatsConsumer.MAX));
+    }
+
+    @Test
+    public void consumeReportsAsyncPools() {
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", 8080, "http"));
+        HttpRoute asyncRoute = new HttpRoute(new HttpHost("localhost", 8443, "https"));
+        when(connectionManagerMock.getRoutes()).thenReturn(Collections.singleton(route));
+        when(connectionManagerMock.getStats(route)).thenReturn(new PoolStats(1, 0, 2, 5));
+        when(connectionManagerMock.getTotalStats()).thenReturn(new PoolStats(1, 0, 2, 20));
+        when(asyncConnectionManagerMock.getRoutes()).thenReturn(Collections.singleton(asyncRoute));
+        when(asyncConnectionManagerMock.getStats(asyncRoute)).thenReturn(new PoolStats(3, 1, 0, 2));
+        when(asyncConnectionManagerMock.getTotalStats()).thenReturn(new PoolStats(3, 1, 0, 20));
+        GlobalSessionObject holder = new GlobalSessionObject();
+        ConnectionPoolSessionResource resource = new ConnectionPoolSessionResource();
+        resource.get().put("key", connectionManagerMock);
+        resource.getAsyncConnectionManagers().put("asyncKey", asyncConnectionManagerMock);
+        holder.setResource(resource);
+
+        Map<String, String> result = new HashMap<>();
+        new ConnectionPoolStatsConsumer().setConnectionPoolHolder(holder).consume(result);
+
+        assertEquals("http://localhost:8080 leased=1 available=2 pending=0 max=5\n" +
+                "https://localhost:8443 leased=3 available=0 pending=1 max=2", result.get(RETURN_RESULT));
+        assertEquals("4", result.get(ConnectionPoolStatsConsumer.LEASED));
+        assertEquals("2", result.get(ConnectionPoolStatsConsumer.AVAILABLE));
+        assertEquals("1", result.get(ConnectionPoolStatsConsumer.PENDING));
+        assertEquals("40", result.get(ConnectionPoolStatsConsumer.MAX));
+    }
+
+    @Test
+    public void consumeWithoutPools() {
+        Map<String, String> result = new HashMap<>();
+        new ConnectionPoolStatsConsumer().setConnectionPoolHolder(new GlobalSessionObject()).consume(result);
+
+        assertEquals("", result.get(RETURN_RESULT));
+        assertEquals("0", result.get(ConnectionPoolStatsConsumer.LEASED));
+    }
+}
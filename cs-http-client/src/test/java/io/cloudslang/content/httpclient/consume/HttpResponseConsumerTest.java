@@ -32,11 +32,22 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static io.cloudslang.content.httpclient.services.HttpClientService.CHECKSUM;
+import static io.cloudslang.content.httpclient.services.HttpClientService.DOWNLOADED_BYTES;
+import static io.cloudslang.content.httpclient.services.HttpClientService.RESPONSE_FILE;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.Assert.fail;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
@@ -123,6 +134,129 @@ public class HttpResponseConsumerTest {
         assertNull(result.get(RETURN_RESULT));
     }
 
+    @Test
+    public void consumeWithBinaryDestinationFile() throws Exception {
+        byte[] content = new byte[]{(byte) 0xff, (byte) 0xfe, 0x00, (byte) 0x80, 'a', 'b', 'c'};
+        setHttpResponseEntity(new ByteArrayInputStream(content));
+        File file = File.createTempFile("binary", ".bin");
+
+        try {
+            httpResponseConsumer
+                    .setHttpResponse(httpResponseMock)
+                    .setDestinationFile(file.getAbsolutePath())
+                    .setBinaryDownload("true")
+                    .setComputeChecksum("true")
+                    .consume(result);
+
+            assertTrue(Arrays.equals(content, Files.readAllBytes(file.toPath())));
+            assertEquals(String.valueOf(content.length), result.get(DOWNLOADED_BYTES));
+            assertEquals(sha256Hex(content), result.get(CHECKSUM));
+            assertNull(result.get(RETURN_RESULT));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void consumeWithinMaxInMemoryResponseSize() throws Exception {
+        setHttpResponseEntity(new ByteArrayInputStream("document".getBytes("UTF-8")));
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setMaxInMemoryResponseSize("8")
+                .consume(result);
+
+        assertEquals("document", result.get(RETURN_RESULT));
+        assertNull(result.get(RESPONSE_FILE));
+    }
+
+    @Test
+    public void consumeOverMaxInMemoryResponseSize() throws Exception {
+        byte[] content = "large document".getBytes("UTF-8");
+        setHttpResponseEntity(new ByteArrayInputStream(content));
+
+        httpResponseConsumer
+                .setHttpResponse(httpResponseMock)
+                .setMaxInMemoryResponseSize("8")
+                .consume(result);
+
+        File responseFile = new File(result.get(RESPONSE_FILE));
+        try {
+            assertEquals("", result.get(RETURN_RESULT));
+            assertTrue(Arrays.equals(content, Files.readAllBytes(responseFile.toPath())));
+        } finally {
+            responseFile.delete();
+        }
+    }
+
+    @Test
+    public void consumeOverMaxInMemoryResponseSizeDeletesTheFileOnFailure() throws Exception {
+        InputStream failingContent = new SequenceInputStream(new ByteArrayInputStream("large document".getBytes("UTF-8")),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset");
+                    }
+                });
+        setHttpResponseEntity(failingContent);
+        List<String> responseFilesBefore = listResponseFiles();
+
+        try {
+            httpResponseConsumer
+                    .setHttpResponse(httpResponseMock)
+                    .setMaxInMemoryResponseSize("8")
+                    .consume(result);
+            fail();
+        } catch (IOException e) {
+            assertEquals("Connection reset", e.getMessage());
+        }
+        assertNull(result.get(RESPONSE_FILE));
+        assertEquals(responseFilesBefore, listResponseFiles());
+    }
+
+    @Test
+    public void setNegativeMaxInMemoryResponseSize() {
+        try {
+            httpResponseConsumer.setMaxInMemoryResponseSize("-1");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("the 'maxInMemoryResponseSize' input should be an integer greater than or equal to 0", e.getMessage());
+        }
+        try {
+            httpResponseConsumer.setMaxInMemoryResponseSize("ten");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("the 'maxInMemoryResponseSize' input should be an integer greater than or equal to 0. For input string: \"ten\"",
+                    e.getMessage());
+        }
+    }
+
+    private List<String> listResponseFiles() {
+        List<String> responseFiles = new ArrayList<>();
+        for (String name : new File(System.getProperty("java.io.tmpdir")).list()) {
+            if (name.startsWith("http-response")) {
+                responseFiles.add(name);
+            }
+        }
+        Collections.sort(responseFiles);
+        return responseFiles;
+    }
+
+    private void setHttpResponseEntity(InputStream content) {
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(content);
+        entity.setContentType(new HeaderEntity("Content-Type", CONTENT_TYPE));
+        when(httpResponseMock.getEntity()).thenReturn(entity);
+    }
+
+    private String sha256Hex(byte[] content) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
     private void setHttpResponseEntity(String contentType) {
         BasicHttpEntity entity = new BasicHttpEntity();
         entity.setContent(inputStreamMock);
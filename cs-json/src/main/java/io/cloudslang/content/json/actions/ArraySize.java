@@ -30,6 +30,7 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonMappers;
 import io.cloudslang.content.utils.StringUtilities;
 
 import java.io.IOException;
@@ -79,7 +80,7 @@ public class ArraySize {
         }
         JsonNode jsonNode;
         try {
-            ObjectMapper mapper = new ObjectMapper();
+            ObjectMapper mapper = JsonMappers.getObjectMapper();
             jsonNode = mapper.readTree(array);
         } catch (IOException exception) {
             final String value = "Invalid jsonObject provided! " + exception.getMessage();
@@ -31,6 +31,7 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonMappers;
 import io.cloudslang.content.utils.StringUtilities;
 
 import java.util.HashMap;
@@ -86,7 +87,7 @@ public class GetValueFromObject {
         }
 
         final JsonNode jsonRoot;
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMappers.getObjectMapper();
         try {
             jsonRoot = objectMapper.readTree(object);
         } catch (Exception exception) {
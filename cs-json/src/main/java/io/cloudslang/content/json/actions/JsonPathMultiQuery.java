@@ -0,0 +1,89 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package io.cloudslang.content.json.actions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.services.JsonService;
+import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonUtils;
+import io.cloudslang.content.utils.OutputUtilities;
+
+import java.util.Map;
+
+import static io.cloudslang.content.constants.OtherValues.NULL_STRING;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.RESERVED_OUTPUT_NAME;
+
+public class JsonPathMultiQuery {
+
+    /**
+     * This operation takes a reference to JSON (in the form of a string) and runs several JSON Path queries on it.
+     * The JSON is parsed only once for all the queries. It returns the results as a JSON Object, with the name of
+     * each query, and also as separate outputs named like the queries.
+     *
+     * @param jsonObject The JSON in the form of a string.
+     * @param jsonPaths  A JSON Object with the names of the results as keys and the JSON Path queries to run as values.
+     *                   Example: {"title": "$.store.book[0].title", "expensive": "$.expensive"}
+     * @return           A map which contains the resulted JSON Object and the result of each query by its name.
+     */
+    @Action(name = "JSON Path Multi Query",
+            outputs = {
+                    @Output(OutputNames.RETURN_RESULT),
+                    @Output(OutputNames.RETURN_CODE),
+                    @Output(OutputNames.EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(
+            @Param(value = Constants.InputNames.JSON_OBJECT, required = true) String jsonObject,
+            @Param(value = Constants.InputNames.JSON_PATHS, required = true) String jsonPaths) {
+        try {
+            final Map<String, String> validJsonPaths = JsonUtils.getValidJsonPaths(jsonPaths);
+            for (final String name : validJsonPaths.keySet()) {
+                if (OutputNames.RETURN_RESULT.equals(name) || OutputNames.RETURN_CODE.equals(name) || OutputNames.EXCEPTION.equals(name)) {
+                    throw new IllegalArgumentException(String.format(RESERVED_OUTPUT_NAME, name));
+                }
+            }
+
+            final Map<String, JsonNode> jsonNodes = JsonService.evaluateJsonPathQueries(jsonObject, validJsonPaths);
+            final ObjectNode resultNode = JsonNodeFactory.instance.objectNode();
+            resultNode.setAll(jsonNodes);
+
+            final Map<String, String> resultMap = OutputUtilities.getSuccessResultsMap(resultNode.toString());
+            for (final Map.Entry<String, JsonNode> jsonNode : jsonNodes.entrySet()) {
+                resultMap.put(jsonNode.getKey(), jsonNode.getValue().isNull() ? NULL_STRING : jsonNode.getValue().toString());
+            }
+            return resultMap;
+        } catch (Exception exception) {
+            return OutputUtilities.getFailureResultsMap(exception);
+        }
+    }
+}
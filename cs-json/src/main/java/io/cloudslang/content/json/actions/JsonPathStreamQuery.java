@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+
+package io.cloudslang.content.json.actions;
+
+import com.hp.oo.sdk.content.annotations.Action;
+import com.hp.oo.sdk.content.annotations.Output;
+import com.hp.oo.sdk.content.annotations.Param;
+import com.hp.oo.sdk.content.annotations.Response;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.MatchType;
+import com.hp.oo.sdk.content.plugin.ActionMetadata.ResponseType;
+import io.cloudslang.content.constants.ResponseNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.services.JsonService;
+import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.Constants.OutputNames;
+import io.cloudslang.content.json.utils.StreamingJsonPath;
+import io.cloudslang.content.utils.OutputUtilities;
+import io.cloudslang.content.utils.StringUtilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSON_SOURCE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class JsonPathStreamQuery {
+
+    /**
+     * This operation runs a JSON Path query on a JSON string or file while it is read, without loading the whole
+     * document in memory, so it can query documents too large for JSON Path Query.
+     * Only a subset of the JSON Path syntax is supported: the children ($.name, $['name']), the wildcards ($.*, $[*]),
+     * the array indexes ($[0]) and the filters comparing a child of the array elements with a literal
+     * ($[?(@.name)], $[?(@.price &lt; 10)]). Every root value of the JSON is queried, so a file of JSON lines is
+     * queried line by line.
+     *
+     * @param jsonObject      The JSON in the form of a string. Required if jsonFile is empty.
+     * @param jsonFile        The path of the file of the JSON, read as UTF-8. Required if jsonObject is empty.
+     * @param jsonPath        The JSON Path query to run.
+     * @param destinationFile The optional path of a file to write the matches to, one JSON value per line. The file is
+     *                        overwritten once the whole JSON is queried, it is left untouched if the query fails. If empty, the matches are returned as a JSON array.
+     * @return A map which contains the JSON array of the matches, or the destination file, and the number of matches.
+     */
+    @Action(name = "JSON Path Stream Query",
+            outputs = {
+                    @Output(OutputNames.RETURN_RESULT),
+                    @Output(OutputNames.MATCH_COUNT),
+                    @Output(OutputNames.RETURN_CODE),
+                    @Output(OutputNames.EXCEPTION)
+            },
+            responses = {
+                    @Response(text = ResponseNames.SUCCESS, field = OutputNames.RETURN_CODE, value = ReturnCodes.SUCCESS, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.RESOLVED),
+                    @Response(text = ResponseNames.FAILURE, field = OutputNames.RETURN_CODE, value = ReturnCodes.FAILURE, matchType = MatchType.COMPARE_EQUAL, responseType = ResponseType.ERROR, isOnFail = true)
+            })
+    public Map<String, String> execute(
+            @Param(value = Constants.InputNames.JSON_OBJECT) String jsonObject,
+            @Param(value = Constants.InputNames.JSON_FILE) String jsonFile,
+            @Param(value = Constants.InputNames.JSON_PATH, required = true) String jsonPath,
+            @Param(value = Constants.InputNames.DESTINATION_FILE) String destinationFile) {
+        try {
+            if (StringUtilities.isEmpty(jsonObject) == StringUtilities.isEmpty(jsonFile)) {
+                throw new IllegalArgumentException(INVALID_JSON_SOURCE);
+            }
+            final StreamingJsonPath streamingJsonPath = StreamingJsonPath.compile(jsonPath);
+            final boolean jsonLines = !StringUtilities.isEmpty(destinationFile);
+
+            final long matchCount;
+            final String returnResult;
+            try (final Reader source = StringUtilities.isEmpty(jsonFile) ? new StringReader(jsonObject) :
+                    Files.newBufferedReader(Paths.get(jsonFile), UTF_8)) {
+                if (jsonLines) {
+                    matchCount = writeMatches(source, streamingJsonPath, Paths.get(destinationFile).toAbsolutePath());
+                    returnResult = destinationFile;
+                } else {
+                    final StringWriter destination = new StringWriter();
+                    matchCount = JsonService.evaluateStreamingJsonPathQuery(source, streamingJsonPath, destination, false);
+                    returnResult = destination.toString();
+                }
+            }
+
+            final Map<String, String> resultMap = OutputUtilities.getSuccessResultsMap(returnResult);
+            resultMap.put(OutputNames.MATCH_COUNT, String.valueOf(matchCount));
+            return resultMap;
+        } catch (Exception exception) {
+            return OutputUtilities.getFailureResultsMap(exception);
+        }
+    }
+
+    // the matches are written next to the destination file and moved over it only when the whole JSON was queried
+    private static long writeMatches(final Reader source, final StreamingJsonPath streamingJsonPath, final Path destinationFile)
+            throws IOException {
+        final Path partialFile = destinationFile.resolveSibling("." + destinationFile.getFileName() + "." + UUID.randomUUID() + ".part");
+        try {
+            final long matchCount;
+            try (final Writer destination = Files.newBufferedWriter(partialFile, UTF_8, CREATE_NEW, WRITE)) {
+                matchCount = JsonService.evaluateStreamingJsonPathQuery(source, streamingJsonPath, destination, true);
+            }
+            moveReplacing(partialFile, destinationFile);
+            return matchCount;
+        } finally {
+            Files.deleteIfExists(partialFile);
+        }
+    }
+
+    private static void moveReplacing(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
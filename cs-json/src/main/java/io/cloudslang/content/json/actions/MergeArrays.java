@@ -30,6 +30,7 @@ import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ResponseNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.json.utils.Constants;
+import io.cloudslang.content.json.utils.JsonMappers;
 import io.cloudslang.content.utils.StringUtilities;
 
 import java.io.IOException;
@@ -95,7 +96,7 @@ public class MergeArrays {
 
         JsonNode jsonNode1;
         JsonNode jsonNode2;
-        ObjectMapper mapper = new ObjectMapper();
+        ObjectMapper mapper = JsonMappers.getObjectMapper();
         try {
             jsonNode1 = mapper.readTree(array1);
         } catch (IOException exception) {
@@ -17,68 +17,143 @@
 
 package io.cloudslang.content.json.services;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.internal.JsonContext;
-import com.jayway.jsonpath.spi.json.GsonJsonProvider;
-import com.jayway.jsonpath.spi.json.JsonProvider;
 import io.cloudslang.content.json.exceptions.RemoveEmptyElementException;
+import io.cloudslang.content.json.utils.JsonMappers;
 import io.cloudslang.content.json.utils.JsonUtils;
-import io.cloudslang.content.json.utils.StringUtils;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
-import net.minidev.json.JSONStyle;
+import io.cloudslang.content.json.utils.StreamingJsonPath;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Iterator;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.NOT_A_JSON_OBJECT;
+import static io.cloudslang.content.json.utils.JsonMappers.Option.SINGLE_QUOTES;
+import static io.cloudslang.content.json.utils.JsonMappers.Option.UNQUOTED_NAMES;
 
 /**
  * Created by Folea Ilie Cristian on 2/3/2016.
  */
 public class JsonService {
+    private static final String LINE_SEPARATOR = "\n";
 
+    /**
+     * Removes the members and array elements which are null, empty strings, empty arrays or empty objects.
+     * The json is copied in a single streaming pass, token by token, so only the current path of the document is held
+     * in memory besides the result. An array or object is removed if it is empty in the given json, one which becomes
+     * empty after its empty elements are removed is kept.
+     *
+     * @param json a JSON object, the names and strings can be single quoted
+     * @return the json without its empty elements, quoted like the given json
+     * @throws RemoveEmptyElementException if the json is not a valid JSON object
+     */
     public String removeEmptyElementsJson(String json) throws RemoveEmptyElementException {
         String normalizedJson = json.trim();
 
         char wrappingQuote = retrieveWrappingQuoteTypeOfJsonMemberNames(normalizedJson);
 
-        Map<String, Object> jsonMap;
-
-        try {
-            parseJsonForInconsistencies(normalizedJson);
-            jsonMap = JsonPath.read(normalizedJson, "$");
-        } catch (com.jayway.jsonpath.InvalidJsonException | com.google.gson.JsonSyntaxException ije) {
-            throw new RemoveEmptyElementException(ije);
+        final JsonFactory jsonFactory = JsonMappers.getObjectMapper(SINGLE_QUOTES, UNQUOTED_NAMES).getFactory();
+        final StringWriter newJson = new StringWriter(normalizedJson.length());
+        try (final JsonParser parser = jsonFactory.createParser(normalizedJson);
+             final JsonGenerator generator = jsonFactory.createGenerator(newJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RemoveEmptyElementException(NOT_A_JSON_OBJECT);
+            }
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                parser.nextToken();
+                copyNonEmptyValue(parser, generator, name);
+            }
+            generator.writeEndObject();
+            if (parser.nextToken() != null) {
+                throw new RemoveEmptyElementException(NOT_A_JSON_OBJECT);
+            }
+        } catch (IOException ioe) {
+            throw new RemoveEmptyElementException(ioe);
         }
+        return generateResultingJsonString(wrappingQuote, newJson.toString());
+    }
 
-        removeEmptyElementsFromMap(jsonMap);
-        return generateResultingJsonString(wrappingQuote, jsonMap);
+    /**
+     * Copies the current value of the parser unless it is empty.
+     *
+     * @param fieldName the name of the value in its object, written only if the value is kept, or null for an array element
+     */
+    private void copyNonEmptyValue(JsonParser parser, JsonGenerator generator, String fieldName) throws IOException {
+        switch (parser.getCurrentToken()) {
+            case VALUE_NULL:
+                return;
+            case VALUE_STRING:
+                if (parser.getTextLength() == 0) {
+                    return;
+                }
+                writeFieldName(generator, fieldName);
+                generator.writeString(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                return;
+            case START_OBJECT:
+                if (parser.nextToken() == JsonToken.END_OBJECT) {
+                    return;
+                }
+                writeFieldName(generator, fieldName);
+                generator.writeStartObject();
+                do {
+                    final String name = parser.getCurrentName();
+                    parser.nextToken();
+                    copyNonEmptyValue(parser, generator, name);
+                } while (parser.nextToken() == JsonToken.FIELD_NAME);
+                generator.writeEndObject();
+                return;
+            case START_ARRAY:
+                if (parser.nextToken() == JsonToken.END_ARRAY) {
+                    return;
+                }
+                writeFieldName(generator, fieldName);
+                generator.writeStartArray();
+                do {
+                    copyNonEmptyValue(parser, generator, null);
+                } while (parser.nextToken() != JsonToken.END_ARRAY);
+                generator.writeEndArray();
+                return;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                //the number is copied as written, without conversion
+                writeFieldName(generator, fieldName);
+                generator.writeNumber(parser.getText());
+                return;
+            default:
+                writeFieldName(generator, fieldName);
+                generator.copyCurrentEvent(parser);
+        }
     }
 
-    private String generateResultingJsonString(char wrappingQuote, Map<String, Object> jsonMap) {
-        JSONObject jsonObject = new JSONObject(jsonMap);
-        String newJson = jsonObject.toJSONString(JSONStyle.LT_COMPRESS);
+    private void writeFieldName(JsonGenerator generator, String fieldName) throws IOException {
+        if (fieldName != null) {
+            generator.writeFieldName(fieldName);
+        }
+    }
 
-        if ((!jsonObject.isEmpty()) && (newJson.charAt(1) != wrappingQuote)) {
+    private String generateResultingJsonString(char wrappingQuote, String newJson) {
+        if ((newJson.length() > 2) && (newJson.charAt(1) != wrappingQuote)) {
             return replaceUnescapedOccurrencesOfCharacterInText(newJson, newJson.charAt(1), wrappingQuote);
         }
 
         return newJson;
     }
 
-
-    private void parseJsonForInconsistencies(String normalizedJson) {
-        JsonProvider provider = new GsonJsonProvider();
-        Configuration configuration = Configuration.builder().jsonProvider(provider).build();
-        JsonPath.parse(normalizedJson, configuration);       //throws an exception at runtime if the json is malformed
-    }
-
     /**
      * Returns the quote character used for specifying json member names and String values of json members
      *
@@ -87,7 +162,8 @@ public class JsonService {
      */
     private char retrieveWrappingQuoteTypeOfJsonMemberNames(String jsonString) {
         char quote = '\"';   //  the default quote character used to specify json member names and string value according to the json specification
-        for (char c : jsonString.toCharArray()) {
+        for (int i = 0; i < jsonString.length(); i++) {
+            final char c = jsonString.charAt(i);
             if (c == '\'' || c == '\"') {
                 quote = c;
                 break;
@@ -96,54 +172,6 @@ public class JsonService {
         return quote;
     }
 
-    private void removeEmptyElementsFromMap(Map<String, Object> json) {
-        Set<Map.Entry<String, Object>> jsonElements = json.entrySet();
-        Iterator<Map.Entry<String, Object>> jsonElementsIterator = jsonElements.iterator();
-        while (jsonElementsIterator.hasNext()) {
-            Map.Entry<String, Object> jsonElement = jsonElementsIterator.next();
-            Object jsonElementValue = jsonElement.getValue();
-            if (StringUtils.isEmpty(jsonElementValue)) {
-                jsonElementsIterator.remove();
-            } else if (jsonElementValue instanceof JSONArray) {
-                if (((JSONArray) jsonElementValue).isEmpty()) {
-                    jsonElementsIterator.remove();
-                } else {
-                    removeEmptyElementFromJsonArray((JSONArray) jsonElementValue);
-                }
-            } else if (jsonElementValue instanceof LinkedHashMap) {
-                if (((LinkedHashMap) jsonElementValue).isEmpty()) {
-                    jsonElementsIterator.remove();
-                } else {
-                    removeEmptyElementsFromMap((Map<String, Object>) jsonElementValue);
-                }
-            }
-        }
-    }
-
-    private void removeEmptyElementFromJsonArray(JSONArray jsonArray) {
-
-        Iterator jsonArrayIterator = jsonArray.iterator();
-        while (jsonArrayIterator.hasNext()) {
-            Object jsonArrayElement = jsonArrayIterator.next();
-            if (StringUtils.isEmpty(jsonArrayElement)) {
-                jsonArrayIterator.remove();
-            } else if (jsonArrayElement instanceof JSONArray) {
-                if (((JSONArray) jsonArrayElement).isEmpty()) {
-                    jsonArrayIterator.remove();
-                } else {
-                    removeEmptyElementFromJsonArray((JSONArray) jsonArrayElement);
-                }
-            } else if (jsonArrayElement instanceof LinkedHashMap) {
-                if (((LinkedHashMap) jsonArrayElement).isEmpty()) {
-                    jsonArrayIterator.remove();
-                } else {
-                    removeEmptyElementsFromMap((LinkedHashMap) jsonArrayElement);
-                }
-            }
-        }
-
-    }
-
     @NotNull
     private String replaceUnescapedOccurrencesOfCharacterInText(String text, char toReplace, char newChar) {
         char[] charArrayText = text.toCharArray();
@@ -168,4 +196,57 @@ public class JsonService {
         final JsonPath path = JsonUtils.getValidJsonPath(jsonPath);
         return jsonContext.read(path);
     }
+
+    /**
+     * Evaluates several JSON Path queries on the same json, which is parsed only once.
+     *
+     * @param jsonObject the json to query
+     * @param jsonPaths  the JSON Path queries, by the name of their results
+     * @return the result of each query, by its name, in the order of the given queries
+     */
+    @NotNull
+    public static Map<String, JsonNode> evaluateJsonPathQueries(@Nullable final String jsonObject, @NotNull final Map<String, String> jsonPaths) {
+        final JsonContext jsonContext = JsonUtils.getValidJsonContext(jsonObject);
+        final Map<String, JsonNode> results = new LinkedHashMap<>(jsonPaths.size() * 2);
+        for (final Map.Entry<String, String> jsonPath : jsonPaths.entrySet()) {
+            final JsonPath path = JsonUtils.getValidJsonPath(jsonPath.getValue());
+            results.put(jsonPath.getKey(), jsonContext.<JsonNode>read(path));
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates a JSON Path query while the json is parsed, without building the tree of the whole document.
+     * Every root value of the source is queried, so a file of JSON lines is queried line by line.
+     *
+     * @param source      the json to query
+     * @param jsonPath    the query, with the syntax supported by {@link StreamingJsonPath}
+     * @param destination the writer of the matches, as they are found
+     * @param jsonLines   whether the matches are written one per line instead of as a JSON array
+     * @return the number of matches
+     */
+    public static long evaluateStreamingJsonPathQuery(@NotNull final Reader source, @NotNull final StreamingJsonPath jsonPath,
+                                                      @NotNull final Writer destination, final boolean jsonLines) throws IOException {
+        final JsonFactory jsonFactory = JsonMappers.getObjectMapper(SINGLE_QUOTES).getFactory();
+        long matches = 0;
+        try (final JsonParser parser = jsonFactory.createParser(source);
+             final JsonGenerator generator = jsonFactory.createGenerator(destination)) {
+            if (jsonLines) {
+                generator.setRootValueSeparator(new SerializedString(LINE_SEPARATOR));
+            } else {
+                generator.writeStartArray();
+            }
+            while (parser.nextToken() != null) {
+                matches += jsonPath.evaluate(parser, generator);
+            }
+            if (jsonLines) {
+                if (matches > 0) {
+                    generator.writeRaw(LINE_SEPARATOR);
+                }
+            } else {
+                generator.writeEndArray();
+            }
+        }
+        return matches;
+    }
 }
@@ -32,11 +32,18 @@ public final class Constants {
         public static final String ARRAY = "array";
         public static final String ACTION = "action";
         public static final String JSON_PATH = "jsonPath";
+        public static final String JSON_PATHS = "jsonPaths";
+        public static final String JSON_FILE = "jsonFile";
+        public static final String DESTINATION_FILE = "destinationFile";
         public static final String NAME = "name";
         public static final String VALUE = "value";
         public static final String VALIDATE_VALUE = "validateValue";
     }
 
+    public static final class OutputNames extends io.cloudslang.content.constants.OutputNames {
+        public static final String MATCH_COUNT = "matchCount";
+    }
+
     static final class EditJsonOperations {
         static final String GET_ACTION = "get";
         static final String INSERT_ACTION = "insert";
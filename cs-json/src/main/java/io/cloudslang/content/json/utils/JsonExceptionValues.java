@@ -25,4 +25,10 @@ import io.cloudslang.content.constants.ExceptionValues;
 public final class JsonExceptionValues extends ExceptionValues {
     public static final String INVALID_JSONOBJECT = "Invalid jsonObject provided!";
     public static final String INVALID_JSONPATH = "Invalid jsonPath provided!";
+    public static final String NOT_A_JSON_OBJECT = "The json must be a single JSON object.";
+    public static final String INVALID_JSONPATHS = "Invalid jsonPaths provided! It must be a JSON object of output names to JSON Path queries.";
+    public static final String RESERVED_OUTPUT_NAME = "The output name %s is reserved!";
+    public static final String INVALID_JSON_SOURCE = "Exactly one of jsonObject or jsonFile must be provided!";
+    public static final String UNSUPPORTED_STREAMING_JSONPATH = "Invalid or unsupported jsonPath provided for the streaming query: %s. " +
+            "Only the children, the wildcards, the array indexes and the filters comparing a child with a literal are supported.";
 }
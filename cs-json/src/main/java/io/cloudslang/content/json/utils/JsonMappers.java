@@ -0,0 +1,103 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The ObjectMapper and JsonPath Configuration instances shared by the json actions, one per set of options.
+ * They are configured once, on their first use, and are thread safe. The shared mappers must not be reconfigured
+ * by their users, a mapper with other settings is a new option of this registry.
+ */
+public final class JsonMappers {
+    private static final ConcurrentMap<Set<Option>, ObjectMapper> OBJECT_MAPPERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Set<Option>, Configuration> CONFIGURATIONS = new ConcurrentHashMap<>();
+
+    public enum Option {
+        /** accepts the single quoted names and strings */
+        SINGLE_QUOTES,
+        /** rejects the objects with duplicate keys */
+        DUPLICATE_KEY_CHECK,
+        /** reads the floating point numbers as BigDecimal, without loss of precision */
+        BIG_DECIMALS,
+        /** accepts the object member names without quotes */
+        UNQUOTED_NAMES
+    }
+
+    private JsonMappers() {
+    }
+
+    /**
+     * @param options the parser options of the mapper
+     * @return the shared mapper with the given options
+     */
+    @NotNull
+    public static ObjectMapper getObjectMapper(@NotNull final Option... options) {
+        final Set<Option> key = toKey(options);
+        ObjectMapper objectMapper = OBJECT_MAPPERS.get(key);
+        if (objectMapper == null) {
+            final ObjectMapper newObjectMapper = newObjectMapper(key);
+            objectMapper = OBJECT_MAPPERS.putIfAbsent(key, newObjectMapper);
+            if (objectMapper == null) {
+                objectMapper = newObjectMapper;
+            }
+        }
+        return objectMapper;
+    }
+
+    /**
+     * @param options the parser options of the mapper of the configuration
+     * @return the shared JsonPath configuration reading the documents as Jackson nodes with the shared mapper
+     */
+    @NotNull
+    public static Configuration getJsonPathConfiguration(@NotNull final Option... options) {
+        final Set<Option> key = toKey(options);
+        Configuration configuration = CONFIGURATIONS.get(key);
+        if (configuration == null) {
+            final Configuration newConfiguration = Configuration.defaultConfiguration()
+                    .jsonProvider(new JacksonJsonNodeJsonProvider(getObjectMapper(options)));
+            configuration = CONFIGURATIONS.putIfAbsent(key, newConfiguration);
+            if (configuration == null) {
+                configuration = newConfiguration;
+            }
+        }
+        return configuration;
+    }
+
+    private static Set<Option> toKey(final Option[] options) {
+        return options.length == 0 ? EnumSet.noneOf(Option.class) : EnumSet.copyOf(Arrays.asList(options));
+    }
+
+    private static ObjectMapper newObjectMapper(final Set<Option> options) {
+        return new ObjectMapper()
+                .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, options.contains(Option.SINGLE_QUOTES))
+                .configure(JsonParser.Feature.STRICT_DUPLICATE_DETECTION, options.contains(Option.DUPLICATE_KEY_CHECK))
+                .configure(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, options.contains(Option.BIG_DECIMALS))
+                .configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, options.contains(Option.UNQUOTED_NAMES));
+    }
+}
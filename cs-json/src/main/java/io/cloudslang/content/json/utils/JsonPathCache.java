@@ -0,0 +1,106 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.json.utils;
+
+import com.jayway.jsonpath.JsonPath;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of the compiled JSON paths by expression, shared by the json actions.
+ * A compiled JsonPath holds no document state, so the same instance can be evaluated by concurrent actions.
+ * When the cache is full the least recently used path is evicted.
+ */
+public class JsonPathCache {
+    public static final int DEFAULT_MAX_SIZE = 500;
+
+    private static final JsonPathCache INSTANCE = new JsonPathCache(DEFAULT_MAX_SIZE);
+
+    private final Map<String, JsonPath> paths;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    JsonPathCache(final int maxSize) {
+        //access ordered, the eldest entry is the least recently used
+        this.paths = new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static JsonPathCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param jsonPath the JSON path expression
+     * @return the compiled path, compiled and cached on the first use of the expression
+     * @throws com.jayway.jsonpath.InvalidPathException if the expression is not a valid JSON path, invalid expressions are not cached
+     * @throws IllegalArgumentException if the expression is null or empty
+     */
+    @NotNull
+    public JsonPath compile(final String jsonPath) {
+        synchronized (paths) {
+            final JsonPath path = paths.get(jsonPath);
+            if (path != null) {
+                hits.incrementAndGet();
+                return path;
+            }
+        }
+        misses.incrementAndGet();
+        //compiled outside of the lock, two threads may compile the same new expression at the same time
+        final JsonPath path = JsonPath.compile(jsonPath);
+        synchronized (paths) {
+            paths.put(jsonPath, path);
+        }
+        return path;
+    }
+
+    public int size() {
+        synchronized (paths) {
+            return paths.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public void clear() {
+        synchronized (paths) {
+            paths.clear();
+        }
+    }
+}
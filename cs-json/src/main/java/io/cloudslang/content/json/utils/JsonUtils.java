@@ -17,24 +17,24 @@
 
 package io.cloudslang.content.json.utils;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.jayway.jsonpath.Configuration;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.internal.JsonContext;
-import com.jayway.jsonpath.spi.json.AbstractJsonProvider;
-import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import io.cloudslang.content.constants.OtherValues;
 import io.cloudslang.content.constants.OutputNames;
 import io.cloudslang.content.constants.ReturnCodes;
 import io.cloudslang.content.utils.StringUtilities;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static io.cloudslang.content.json.utils.ActionsEnum.insert;
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONOBJECT;
 import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATH;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATHS;
 
 /**
  * Created by ioanvranauhp
@@ -105,22 +105,52 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * @return the compiled path, from the paths cache shared by the json actions
+     */
     public static JsonPath getValidJsonPath(final String jsonPath) {
         try {
-            return JsonPath.compile(jsonPath);
+            return JsonPathCache.getInstance().compile(jsonPath);
         } catch (IllegalArgumentException iae) {
             throw hammerIllegalArgumentExceptionWithMessage(INVALID_JSONPATH, iae);
         }
     }
 
+    /**
+     * @param jsonPaths a JSON object of result names to JSON Path queries
+     * @return the JSON Path queries by the name of their results, in the given order
+     */
+    @NotNull
+    public static Map<String, String> getValidJsonPaths(final String jsonPaths) {
+        if (StringUtilities.isBlank(jsonPaths)) {
+            throw new IllegalArgumentException(INVALID_JSONPATHS);
+        }
+        final JsonNode jsonPathsNode;
+        try {
+            jsonPathsNode = JsonMappers.getObjectMapper(JsonMappers.Option.SINGLE_QUOTES, JsonMappers.Option.DUPLICATE_KEY_CHECK)
+                    .readTree(jsonPaths);
+        } catch (IOException ioe) {
+            throw hammerIllegalArgumentExceptionWithMessage(INVALID_JSONPATHS, ioe);
+        }
+        if (!jsonPathsNode.isObject() || jsonPathsNode.size() == 0) {
+            throw new IllegalArgumentException(INVALID_JSONPATHS);
+        }
+        final Map<String, String> validJsonPaths = new LinkedHashMap<>(jsonPathsNode.size() * 2);
+        final Iterator<Map.Entry<String, JsonNode>> fields = jsonPathsNode.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if (StringUtilities.isBlank(field.getKey()) || !field.getValue().isTextual()) {
+                throw new IllegalArgumentException(INVALID_JSONPATHS);
+            }
+            validJsonPaths.put(field.getKey(), field.getValue().asText());
+        }
+        return validJsonPaths;
+    }
+
     @NotNull
     public static JsonContext getValidJsonContext(final String jsonObject) {
         try {
-            final ObjectMapper objectMapper = new ObjectMapper().configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
-            final AbstractJsonProvider provider = new JacksonJsonNodeJsonProvider(objectMapper);
-            final Configuration configuration = Configuration.defaultConfiguration()
-                    .jsonProvider(provider);
-            final JsonContext jsonContext = new JsonContext(configuration);
+            final JsonContext jsonContext = new JsonContext(JsonMappers.getJsonPathConfiguration(JsonMappers.Option.SINGLE_QUOTES));
             jsonContext.parse(jsonObject);
             return jsonContext;
         } catch (IllegalArgumentException iae) {
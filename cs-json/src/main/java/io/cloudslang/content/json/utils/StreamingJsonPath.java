@@ -0,0 +1,420 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.UNSUPPORTED_STREAMING_JSONPATH;
+
+/**
+ * A JSON Path query which is evaluated while the json is parsed, without building the tree of the whole document.
+ * Only a subset of the JSON Path syntax is supported:
+ * <ul>
+ * <li>the children, as $.name, $['name'] or $["name"]</li>
+ * <li>the wildcards of the objects and arrays, as $.* or $[*]</li>
+ * <li>the array indexes, as $[0]</li>
+ * <li>the filters of the array elements on a child and a literal, as $[?(@.name)] or $[?(@.price &lt; 10)]</li>
+ * </ul>
+ * Only the array elements which are tested by a filter and the matched values are read as trees.
+ */
+public final class StreamingJsonPath {
+    private final String jsonPath;
+    private final List<Step> steps;
+
+    private StreamingJsonPath(String jsonPath, List<Step> steps) {
+        this.jsonPath = jsonPath;
+        this.steps = steps;
+    }
+
+    /**
+     * @param jsonPath the JSON Path query, with the supported syntax only
+     * @return the compiled query
+     * @throws IllegalArgumentException if the query is not valid or uses an unsupported syntax
+     */
+    @NotNull
+    public static StreamingJsonPath compile(@Nullable final String jsonPath) {
+        if (jsonPath == null) {
+            throw new IllegalArgumentException(String.format(UNSUPPORTED_STREAMING_JSONPATH, jsonPath));
+        }
+        return new StreamingJsonPath(jsonPath, Collections.unmodifiableList(new PathReader(jsonPath.trim()).readPath()));
+    }
+
+    /**
+     * Evaluates the query on the current value of the parser and writes each match to the generator.
+     * The parser must be positioned on the first token of the value and is left on its last token.
+     *
+     * @return the number of matches
+     */
+    public long evaluate(@NotNull final JsonParser parser, @NotNull final JsonGenerator generator) throws IOException {
+        return evaluate(parser, generator, 0);
+    }
+
+    @Override
+    public String toString() {
+        return jsonPath;
+    }
+
+    private long evaluate(JsonParser parser, JsonGenerator generator, int stepIndex) throws IOException {
+        if (stepIndex == steps.size()) {
+            generator.writeTree(parser.<JsonNode>readValueAsTree());
+            return 1;
+        }
+        final Step step = steps.get(stepIndex);
+        final JsonToken token = parser.getCurrentToken();
+        long matches = 0;
+        if (token == JsonToken.START_OBJECT && (step.kind == StepKind.CHILD || step.kind == StepKind.WILDCARD)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final boolean selected = step.kind == StepKind.WILDCARD || step.name.equals(parser.getCurrentName());
+                parser.nextToken();
+                if (selected) {
+                    matches += evaluate(parser, generator, stepIndex + 1);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY && step.kind != StepKind.CHILD) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (step.kind == StepKind.WILDCARD || step.kind == StepKind.INDEX && step.index == index) {
+                    matches += evaluate(parser, generator, stepIndex + 1);
+                } else if (step.kind == StepKind.FILTER) {
+                    final JsonNode element = parser.readValueAsTree();
+                    if (step.filter.test(element)) {
+                        matches += evaluate(element, generator, stepIndex + 1);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                index++;
+            }
+        } else {
+            parser.skipChildren();
+        }
+        return matches;
+    }
+
+    private long evaluate(JsonNode node, JsonGenerator generator, int stepIndex) throws IOException {
+        if (stepIndex == steps.size()) {
+            generator.writeTree(node);
+            return 1;
+        }
+        final Step step = steps.get(stepIndex);
+        long matches = 0;
+        if (step.kind == StepKind.CHILD) {
+            if (node.isObject() && node.has(step.name)) {
+                matches += evaluate(node.get(step.name), generator, stepIndex + 1);
+            }
+        } else if (step.kind == StepKind.WILDCARD) {
+            if (node.isObject() || node.isArray()) {
+                for (final JsonNode child : node) {
+                    matches += evaluate(child, generator, stepIndex + 1);
+                }
+            }
+        } else if (node.isArray()) {
+            if (step.kind == StepKind.INDEX) {
+                if (step.index < node.size()) {
+                    matches += evaluate(node.get(step.index), generator, stepIndex + 1);
+                }
+            } else {
+                for (final JsonNode element : node) {
+                    if (step.filter.test(element)) {
+                        matches += evaluate(element, generator, stepIndex + 1);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private enum StepKind {
+        CHILD, WILDCARD, INDEX, FILTER
+    }
+
+    private static final class Step {
+        private final StepKind kind;
+        private final String name;
+        private final int index;
+        private final Filter filter;
+
+        private Step(StepKind kind, String name, int index, Filter filter) {
+            this.kind = kind;
+            this.name = name;
+            this.index = index;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * A filter on a child of the array element, as @.name, or on the comparison of that child with a literal.
+     */
+    private static final class Filter {
+        private final List<Step> childSteps;
+        private final String operator;
+        private final JsonNode literal;
+
+        private Filter(List<Step> childSteps, String operator, JsonNode literal) {
+            this.childSteps = childSteps;
+            this.operator = operator;
+            this.literal = literal;
+        }
+
+        private boolean test(JsonNode element) {
+            JsonNode child = element;
+            for (final Step step : childSteps) {
+                child = step.kind == StepKind.CHILD ? child.get(step.name) : child.get(step.index);
+                if (child == null) {
+                    return false;
+                }
+            }
+            if (operator == null) {
+                return true;
+            }
+            if ("==".equals(operator)) {
+                return isEqual(child);
+            }
+            if ("!=".equals(operator)) {
+                return !isEqual(child);
+            }
+            final int comparison;
+            if (child.isNumber() && literal.isNumber()) {
+                comparison = child.decimalValue().compareTo(literal.decimalValue());
+            } else if (child.isTextual() && literal.isTextual()) {
+                comparison = child.textValue().compareTo(literal.textValue());
+            } else {
+                return false;
+            }
+            switch (operator) {
+                case "<":
+                    return comparison < 0;
+                case "<=":
+                    return comparison <= 0;
+                case ">":
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        private boolean isEqual(JsonNode child) {
+            if (child.isNumber() && literal.isNumber()) {
+                return child.decimalValue().compareTo(literal.decimalValue()) == 0;
+            }
+            return child.equals(literal);
+        }
+    }
+
+    /**
+     * Reads the steps of a query, character by character.
+     */
+    private static final class PathReader {
+        private final String jsonPath;
+        private int position;
+
+        private PathReader(String jsonPath) {
+            this.jsonPath = jsonPath;
+        }
+
+        private List<Step> readPath() {
+            expect('$');
+            final List<Step> steps = readSteps(false);
+            if (!isAtEnd()) {
+                throw unsupported();
+            }
+            return steps;
+        }
+
+        /**
+         * @param definiteOnly whether only the children and the indexes are accepted, as in the filters
+         */
+        private List<Step> readSteps(boolean definiteOnly) {
+            final List<Step> steps = new ArrayList<>();
+            while (!isAtEnd()) {
+                final Step step;
+                if (peek() == '.') {
+                    position++;
+                    step = readDotStep();
+                } else if (peek() == '[') {
+                    position++;
+                    step = readBracketStep();
+                } else {
+                    break;
+                }
+                if (definiteOnly && step.kind != StepKind.CHILD && step.kind != StepKind.INDEX) {
+                    throw unsupported();
+                }
+                steps.add(step);
+            }
+            return steps;
+        }
+
+        private Step readDotStep() {
+            if (!isAtEnd() && peek() == '*') {
+                position++;
+                return new Step(StepKind.WILDCARD, null, 0, null);
+            }
+            final int start = position;
+            while (!isAtEnd() && (Character.isLetterOrDigit(peek()) || peek() == '_' || peek() == '-' || peek() == '$')) {
+                position++;
+            }
+            if (start == position) {
+                throw unsupported();
+            }
+            return new Step(StepKind.CHILD, jsonPath.substring(start, position), 0, null);
+        }
+
+        private Step readBracketStep() {
+            skipWhitespace();
+            final Step step;
+            if (isAtEnd()) {
+                throw unsupported();
+            } else if (peek() == '*') {
+                position++;
+                step = new Step(StepKind.WILDCARD, null, 0, null);
+            } else if (peek() == '\'' || peek() == '"') {
+                step = new Step(StepKind.CHILD, readQuotedString(), 0, null);
+            } else if (Character.isDigit(peek())) {
+                step = new Step(StepKind.INDEX, null, readIndex(), null);
+            } else if (peek() == '?') {
+                position++;
+                expect('(');
+                step = new Step(StepKind.FILTER, null, 0, readFilter());
+                expect(')');
+            } else {
+                throw unsupported();
+            }
+            skipWhitespace();
+            expect(']');
+            return step;
+        }
+
+        private Filter readFilter() {
+            skipWhitespace();
+            expect('@');
+            final List<Step> childSteps = readSteps(true);
+            if (childSteps.isEmpty()) {
+                throw unsupported();
+            }
+            skipWhitespace();
+            final String operator = readOperator();
+            if (operator == null) {
+                return new Filter(childSteps, null, null);
+            }
+            skipWhitespace();
+            final JsonNode literal = readLiteral();
+            skipWhitespace();
+            return new Filter(childSteps, operator, literal);
+        }
+
+        @Nullable
+        private String readOperator() {
+            for (final String operator : new String[]{"==", "!=", "<=", ">=", "<", ">"}) {
+                if (jsonPath.startsWith(operator, position)) {
+                    position += operator.length();
+                    return operator;
+                }
+            }
+            return null;
+        }
+
+        private JsonNode readLiteral() {
+            if (isAtEnd()) {
+                throw unsupported();
+            }
+            if (peek() == '\'' || peek() == '"') {
+                return JsonMappers.getObjectMapper().getNodeFactory().textNode(readQuotedString());
+            }
+            final int start = position;
+            while (!isAtEnd() && (Character.isLetterOrDigit(peek()) || peek() == '-' || peek() == '+' || peek() == '.')) {
+                position++;
+            }
+            final String literal = jsonPath.substring(start, position);
+            if ("true".equals(literal) || "false".equals(literal)) {
+                return JsonMappers.getObjectMapper().getNodeFactory().booleanNode(Boolean.parseBoolean(literal));
+            }
+            if ("null".equals(literal)) {
+                return JsonMappers.getObjectMapper().getNodeFactory().nullNode();
+            }
+            try {
+                return JsonMappers.getObjectMapper().getNodeFactory().numberNode(new BigDecimal(literal));
+            } catch (NumberFormatException nfe) {
+                throw unsupported();
+            }
+        }
+
+        private String readQuotedString() {
+            final char quote = jsonPath.charAt(position++);
+            final StringBuilder value = new StringBuilder();
+            while (!isAtEnd() && peek() != quote) {
+                if (peek() == '\\' && position + 1 < jsonPath.length()) {
+                    position++;
+                }
+                value.append(jsonPath.charAt(position++));
+            }
+            expect(quote);
+            return value.toString();
+        }
+
+        private int readIndex() {
+            final int start = position;
+            while (!isAtEnd() && Character.isDigit(peek())) {
+                position++;
+            }
+            try {
+                return Integer.parseInt(jsonPath.substring(start, position));
+            } catch (NumberFormatException nfe) {
+                throw unsupported();
+            }
+        }
+
+        private void expect(char expected) {
+            if (isAtEnd() || peek() != expected) {
+                throw unsupported();
+            }
+            position++;
+        }
+
+        private void skipWhitespace() {
+            while (!isAtEnd() && Character.isWhitespace(peek())) {
+                position++;
+            }
+        }
+
+        private char peek() {
+            return jsonPath.charAt(position);
+        }
+
+        private boolean isAtEnd() {
+            return position >= jsonPath.length();
+        }
+
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException(String.format(UNSUPPORTED_STREAMING_JSONPATH, jsonPath));
+        }
+    }
+}
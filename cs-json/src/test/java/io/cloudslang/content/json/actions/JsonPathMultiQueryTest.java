@@ -0,0 +1,96 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.actions;
+
+import io.cloudslang.content.constants.OutputNames;
+import io.cloudslang.content.constants.ReturnCodes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONOBJECT;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATH;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSONPATHS;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.RESERVED_OUTPUT_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class JsonPathMultiQueryTest {
+    private JsonPathMultiQuery jsonPathMultiQuery;
+    private static final String BOOKSTORE_JSON = "{\"store\":{\"book\":[{\"title\":\"Sayings of the Century\",\"price\":8.95}," +
+            "{\"title\":\"Sword of Honour\",\"price\":12.99},{\"title\":\"Moby Dick\",\"price\":8.99}," +
+            "{\"title\":\"The Lord of the Rings\",\"price\":22.99}]}," +
+            "\"expensive\":10,\"owner\":null}";
+
+    @Before
+    public void setUp() {
+        jsonPathMultiQuery = new JsonPathMultiQuery();
+    }
+
+    @After
+    public void tearDown() {
+        jsonPathMultiQuery = null;
+    }
+
+    @Test
+    public void executeValid() {
+        final Map<String, String> resultMap = jsonPathMultiQuery.execute(BOOKSTORE_JSON,
+                "{'title': '$.store.book[0].title', 'expensive': '$.expensive', 'owner': '$.owner', " +
+                        "'cheap': '$..book[?(@.price <= $[\\'expensive\\'])].title'}");
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("{\"title\":\"Sayings of the Century\",\"expensive\":10,\"owner\":null,\"cheap\":[\"Sayings of the Century\",\"Moby Dick\"]}",
+                resultMap.get(OutputNames.RETURN_RESULT));
+        assertEquals("\"Sayings of the Century\"", resultMap.get("title"));
+        assertEquals("10", resultMap.get("expensive"));
+        assertEquals("null", resultMap.get("owner"));
+        assertEquals("[\"Sayings of the Century\",\"Moby Dick\"]", resultMap.get("cheap"));
+    }
+
+    @Test
+    public void executeInvalidJsonObject() {
+        final Map<String, String> resultMap = jsonPathMultiQuery.execute(null, "{'a': '$.a'}");
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(INVALID_JSONOBJECT, resultMap.get(OutputNames.RETURN_RESULT));
+        assertNotNull(resultMap.get(OutputNames.EXCEPTION));
+    }
+
+    @Test
+    public void executeInvalidJsonPath() {
+        final Map<String, String> resultMap = jsonPathMultiQuery.execute(BOOKSTORE_JSON, "{'a': '$.expensive', 'b': ''}");
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(INVALID_JSONPATH, resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeInvalidJsonPaths() {
+        for (final String jsonPaths : new String[]{null, "", "['$.a']", "{}", "{'a': 1}", "{'a': '$.a', 'a': '$.b'}", "{'a': '$.a'"}) {
+            final Map<String, String> resultMap = jsonPathMultiQuery.execute(BOOKSTORE_JSON, jsonPaths);
+            assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+            assertEquals(INVALID_JSONPATHS, resultMap.get(OutputNames.RETURN_RESULT));
+        }
+    }
+
+    @Test
+    public void executeReservedOutputName() {
+        final Map<String, String> resultMap = jsonPathMultiQuery.execute(BOOKSTORE_JSON, "{'returnCode': '$.expensive'}");
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(String.format(RESERVED_OUTPUT_NAME, OutputNames.RETURN_CODE), resultMap.get(OutputNames.RETURN_RESULT));
+    }
+}
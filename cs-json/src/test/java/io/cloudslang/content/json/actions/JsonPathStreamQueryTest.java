@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.actions;
+
+import io.cloudslang.content.constants.ReturnCodes;
+import io.cloudslang.content.json.utils.Constants.OutputNames;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.INVALID_JSON_SOURCE;
+import static io.cloudslang.content.json.utils.JsonExceptionValues.UNSUPPORTED_STREAMING_JSONPATH;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class JsonPathStreamQueryTest {
+    private static final String INVENTORY_JSON = "{'instances':[{'id':'i-1','state':'running','cpus':2}," +
+            "{'id':'i-2','state':'stopped','cpus':4},{'id':'i-3','state':'running','cpus':8}]}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final JsonPathStreamQuery jsonPathStreamQuery = new JsonPathStreamQuery();
+
+    @Test
+    public void executeOnJsonObject() {
+        final Map<String, String> resultMap = jsonPathStreamQuery.execute(INVENTORY_JSON, null, "$.instances[?(@.state == 'running')].id", null);
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("[\"i-1\",\"i-3\"]", resultMap.get(OutputNames.RETURN_RESULT));
+        assertEquals("2", resultMap.get(OutputNames.MATCH_COUNT));
+    }
+
+    @Test
+    public void executeOnJsonFileToDestinationFile() throws Exception {
+        final File jsonFile = temporaryFolder.newFile("inventory.json");
+        Files.write(jsonFile.toPath(), INVENTORY_JSON.getBytes(UTF_8));
+        final File destinationFile = new File(temporaryFolder.getRoot(), "instances.jsonl");
+
+        final Map<String, String> resultMap = jsonPathStreamQuery.execute(null, jsonFile.getPath(), "$.instances[?(@.cpus > 2)]",
+                destinationFile.getPath());
+
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(destinationFile.getPath(), resultMap.get(OutputNames.RETURN_RESULT));
+        assertEquals("2", resultMap.get(OutputNames.MATCH_COUNT));
+        assertEquals("{\"id\":\"i-2\",\"state\":\"stopped\",\"cpus\":4}\n{\"id\":\"i-3\",\"state\":\"running\",\"cpus\":8}\n",
+                new String(Files.readAllBytes(destinationFile.toPath()), UTF_8));
+    }
+
+    @Test
+    public void executeWithoutMatchesToDestinationFile() throws Exception {
+        final File destinationFile = new File(temporaryFolder.getRoot(), "none.jsonl");
+
+        final Map<String, String> resultMap = jsonPathStreamQuery.execute(INVENTORY_JSON, "", "$.instances[5]", destinationFile.getPath());
+
+        assertEquals(ReturnCodes.SUCCESS, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("0", resultMap.get(OutputNames.MATCH_COUNT));
+        assertEquals(0, destinationFile.length());
+    }
+
+    @Test
+    public void executeInvalidJsonKeepsDestinationFile() throws Exception {
+        final File destinationFile = temporaryFolder.newFile("instances.jsonl");
+        Files.write(destinationFile.toPath(), "{\"id\":\"i-0\"}\n".getBytes(UTF_8));
+
+        final Map<String, String> resultMap = jsonPathStreamQuery.execute("{'instances': [{'id': 'i-1'}, {'id': ", null,
+                "$.instances[*].id", destinationFile.getPath());
+
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals("{\"id\":\"i-0\"}\n", new String(Files.readAllBytes(destinationFile.toPath()), UTF_8));
+        assertArrayEquals(new String[]{"instances.jsonl"}, temporaryFolder.getRoot().list());
+    }
+
+    @Test
+    public void executeWithoutOrWithBothSources() {
+        Map<String, String> resultMap = jsonPathStreamQuery.execute(null, "", "$.instances", null);
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(INVALID_JSON_SOURCE, resultMap.get(OutputNames.RETURN_RESULT));
+
+        resultMap = jsonPathStreamQuery.execute(INVENTORY_JSON, "inventory.json", "$.instances", null);
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(INVALID_JSON_SOURCE, resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeUnsupportedJsonPath() {
+        final Map<String, String> resultMap = jsonPathStreamQuery.execute(INVENTORY_JSON, null, "$..id", null);
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+        assertEquals(String.format(UNSUPPORTED_STREAMING_JSONPATH, "$..id"), resultMap.get(OutputNames.RETURN_RESULT));
+    }
+
+    @Test
+    public void executeInvalidJson() {
+        final Map<String, String> resultMap = jsonPathStreamQuery.execute("{'instances': [", null, "$.instances[*]", null);
+        assertEquals(ReturnCodes.FAILURE, resultMap.get(OutputNames.RETURN_CODE));
+    }
+}
@@ -202,6 +202,38 @@ public class JsonServiceTest {
         assertEquals(expectedJsonStringOutput, actualJsonStringOutput);
     }
 
+    @Test
+    public void givenNestedEmptyElementsThenRemoveOnlyTheElementsEmptyInTheGivenJson() throws RemoveEmptyElementException {
+        jsonStringInput = "{\"kept\": {\"removed\": \"\"}, \"array\": [null, \"\", [], {}, 1.50, true, {\"a\": [\" \"]}], \"removed\": {}}";
+        expectedJsonStringOutput = "{\"kept\":{},\"array\":[1.50,true,{\"a\":[\" \"]}]}";
+
+        actualJsonStringOutput = jsonServiceUnderTest.removeEmptyElementsJson(jsonStringInput);
+
+        assertEquals(expectedJsonStringOutput, actualJsonStringOutput);
+    }
+
+    @Test
+    public void givenUnquotedNamesThenSuccessfullyRemoveEmpty() throws RemoveEmptyElementException {
+        jsonStringInput = "{removed: '', expected: 'value'}";
+        expectedJsonStringOutput = "{'expected':'value'}";
+
+        actualJsonStringOutput = jsonServiceUnderTest.removeEmptyElementsJson(jsonStringInput);
+
+        assertEquals(expectedJsonStringOutput, actualJsonStringOutput);
+    }
+
+    @Test
+    public void givenJsonArrayThenThrowException() throws RemoveEmptyElementException {
+        exception.expect(RemoveEmptyElementException.class);
+        jsonServiceUnderTest.removeEmptyElementsJson("[{\"expected\": \"value\"}]");
+    }
+
+    @Test
+    public void givenTrailingContentThenThrowException() throws RemoveEmptyElementException {
+        exception.expect(RemoveEmptyElementException.class);
+        jsonServiceUnderTest.removeEmptyElementsJson("{\"expected\": \"value\"} {}");
+    }
+
     @Test
     public void evaluateSimpleJsonPathQuery() throws Exception {
         JsonNode jsonNode = JsonService.evaluateJsonPathQuery("{'key1': 'value1','key2': 'value2', 'key3': { 'key31': 'value31'}}", "$.key3.key31");
@@ -0,0 +1,59 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import static io.cloudslang.content.json.utils.JsonMappers.Option.BIG_DECIMALS;
+import static io.cloudslang.content.json.utils.JsonMappers.Option.DUPLICATE_KEY_CHECK;
+import static io.cloudslang.content.json.utils.JsonMappers.Option.SINGLE_QUOTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class JsonMappersTest {
+
+    @Test
+    public void getObjectMapperIsSharedPerOptions() {
+        final ObjectMapper objectMapper = JsonMappers.getObjectMapper(SINGLE_QUOTES, BIG_DECIMALS);
+
+        assertSame(objectMapper, JsonMappers.getObjectMapper(BIG_DECIMALS, SINGLE_QUOTES));
+        assertNotSame(objectMapper, JsonMappers.getObjectMapper(SINGLE_QUOTES));
+        assertSame(JsonMappers.getObjectMapper(), JsonMappers.getObjectMapper());
+    }
+
+    @Test
+    public void getObjectMapperWithOptions() throws Exception {
+        assertEquals("a", JsonMappers.getObjectMapper(SINGLE_QUOTES).readTree("{'name': 'a'}").get("name").asText());
+        assertTrue(JsonMappers.getObjectMapper(BIG_DECIMALS).readTree("{\"price\": 0.1}").get("price").isBigDecimal());
+        assertEquals(2, JsonMappers.getObjectMapper().readTree("{\"a\": 1, \"a\": 2}").get("a").asInt());
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void getObjectMapperWithDuplicateKeyCheck() throws Exception {
+        JsonMappers.getObjectMapper(DUPLICATE_KEY_CHECK).readTree("{\"a\": 1, \"a\": 2}");
+    }
+
+    @Test
+    public void getJsonPathConfigurationIsShared() {
+        assertSame(JsonMappers.getJsonPathConfiguration(SINGLE_QUOTES), JsonMappers.getJsonPathConfiguration(SINGLE_QUOTES));
+        assertNotSame(JsonMappers.getJsonPathConfiguration(SINGLE_QUOTES), JsonMappers.getJsonPathConfiguration());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.json.utils;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.internal.JsonContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the time of a JSON path query on a short document with a path compiled for every query and with a path
+ * taken from the cache. The cached path must not be slower. Not part of the regular build, run it with:
+ * <br>mvn test -Dtest=JsonPathCacheBenchmark -Dbenchmark.warmup=50000 -Dbenchmark.iterations=200000
+ */
+public class JsonPathCacheBenchmark {
+    private static final String JSON = "{\"store\": {\"book\": [{\"title\": \"Sayings\", \"price\": 8.95}, {\"title\": \"Moby Dick\", \"price\": 8.99}]}}";
+    private static final String[] PATHS = {"$.store.book[?(@.price < 9)].title", "$.store.book[*].price", "$..title", "$.store.book[1]"};
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("benchmark.warmup", 50000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200000);
+
+    @Test
+    public void compiledVersusCachedPath() {
+        run(false, WARMUP_ITERATIONS);
+        run(true, WARMUP_ITERATIONS);
+        final long compiledNanos = run(false, ITERATIONS);
+        final long cachedNanos = run(true, ITERATIONS);
+
+        System.out.println(String.format("compiled path: %d ns per query, cached path: %d ns per query",
+                compiledNanos / ITERATIONS, cachedNanos / ITERATIONS));
+        assertTrue("the cached path is slower than the compiled path", cachedNanos <= compiledNanos);
+    }
+
+    private long run(boolean cached, int iterations) {
+        final JsonContext jsonContext = JsonUtils.getValidJsonContext(JSON);
+        int results = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            final String jsonPath = PATHS[i % PATHS.length];
+            final JsonPath path = cached ? JsonUtils.getValidJsonPath(jsonPath) : JsonPath.compile(jsonPath);
+            results += jsonContext.read(path).hashCode() & 1;
+        }
+        final long elapsed = System.nanoTime() - start;
+        //keeps the results used, so the queries are not optimized away
+        assertTrue(results >= 0);
+        return elapsed;
+    }
+}
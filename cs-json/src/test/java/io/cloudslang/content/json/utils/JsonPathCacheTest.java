@@ -0,0 +1,78 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.cloudslang.content.json.utils;
+
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class JsonPathCacheTest {
+    private JsonPathCache jsonPathCache;
+
+    @Before
+    public void setUp() {
+        jsonPathCache = new JsonPathCache(2);
+    }
+
+    @Test
+    public void compileReturnsTheCachedPath() {
+        final JsonPath path = jsonPathCache.compile("$.store.book[0]");
+
+        assertSame(path, jsonPathCache.compile("$.store.book[0]"));
+        assertEquals(1, jsonPathCache.getMisses());
+        assertEquals(1, jsonPathCache.getHits());
+        assertEquals(1, jsonPathCache.size());
+    }
+
+    @Test
+    public void compileEvictsTheLeastRecentlyUsedPath() {
+        final JsonPath first = jsonPathCache.compile("$.a");
+        jsonPathCache.compile("$.b");
+        jsonPathCache.compile("$.a");
+        jsonPathCache.compile("$.c");
+
+        assertEquals(1, jsonPathCache.getEvictions());
+        assertEquals(2, jsonPathCache.size());
+        assertSame(first, jsonPathCache.compile("$.a"));
+        assertEquals(4, jsonPathCache.getMisses() + jsonPathCache.getEvictions());
+    }
+
+    @Test
+    public void compileDoesNotCacheInvalidPaths() {
+        try {
+            jsonPathCache.compile("$.a..");
+        } catch (InvalidPathException expected) {
+            assertEquals(0, jsonPathCache.size());
+            return;
+        }
+        throw new AssertionError("the path should be invalid");
+    }
+
+    @Test
+    public void clear() {
+        final JsonPath path = jsonPathCache.compile("$.a");
+        jsonPathCache.clear();
+
+        assertEquals(0, jsonPathCache.size());
+        assertNotSame(path, jsonPathCache.compile("$.a"));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * (c) Copyright 2019 EntIT Software LLC, a Micro Focus company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package io.cloudslang.content.json.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static io.cloudslang.content.json.utils.JsonExceptionValues.UNSUPPORTED_STREAMING_JSONPATH;
+import static org.junit.Assert.assertEquals;
+
+public class StreamingJsonPathTest {
+    private static final String BOOKSTORE_JSON = "{\"store\":{\"book\":[{\"title\":\"Sayings of the Century\",\"price\":8.95,\"tags\":[\"quotes\"]}," +
+            "{\"title\":\"Sword of Honour\",\"price\":12.99,\"isbn\":\"0-553-21311-3\"},{\"title\":\"Moby Dick\",\"price\":8.99}," +
+            "{\"title\":\"The Lord of the Rings\",\"price\":22.99,\"isbn\":\"0-395-19395-8\"}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}," +
+            "\"expensive\":10}";
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void evaluateChildren() throws IOException {
+        assertEquals("[\"red\"]", evaluate("$.store.bicycle.color"));
+        assertEquals("[\"red\"]", evaluate("$['store'][\"bicycle\"]['color']"));
+        assertEquals("[10]", evaluate("$.expensive"));
+        assertEquals("[]", evaluate("$.store.missing"));
+    }
+
+    @Test
+    public void evaluateWildcards() throws IOException {
+        assertEquals("[\"red\",19.95]", evaluate("$.store.bicycle.*"));
+        assertEquals("[\"Sayings of the Century\",\"Sword of Honour\",\"Moby Dick\",\"The Lord of the Rings\"]", evaluate("$.store.book[*].title"));
+        assertEquals("[8.95,12.99,8.99,22.99]", evaluate("$.store.*.*.price"));
+    }
+
+    @Test
+    public void evaluateIndexes() throws IOException {
+        assertEquals("[\"Moby Dick\"]", evaluate("$.store.book[2].title"));
+        assertEquals("[\"quotes\"]", evaluate("$.store.book[0].tags[0]"));
+        assertEquals("[]", evaluate("$.store.book[4]"));
+    }
+
+    @Test
+    public void evaluateFilters() throws IOException {
+        assertEquals("[\"Sayings of the Century\",\"Moby Dick\"]", evaluate("$.store.book[?(@.price < 10)].title"));
+        assertEquals("[\"Sword of Honour\",\"The Lord of the Rings\"]", evaluate("$.store.book[?(@.isbn)].title"));
+        assertEquals("[22.99]", evaluate("$.store.book[?(@.title == 'The Lord of the Rings')].price"));
+        assertEquals("[\"Sayings of the Century\"]", evaluate("$.store.book[?(@.tags[0] == \"quotes\")].title"));
+        assertEquals("[\"0-553-21311-3\",\"0-395-19395-8\"]", evaluate("$.store.book[?(@.price >= 12.99)].isbn"));
+        assertEquals("[\"Sword of Honour\"]", evaluate("$.store.book[?(@.isbn != '0-395-19395-8')].title"));
+    }
+
+    @Test
+    public void evaluateFiltersAfterFilters() throws IOException {
+        assertEquals("[\"quotes\"]", evaluate("$.store.book[?(@.price <= 8.95)].tags[*]"));
+    }
+
+    @Test
+    public void evaluateEveryRootValue() throws IOException {
+        assertEquals("[1,3]", evaluate("{\"a\":1}\n{\"b\":2}\n{\"a\":3}", "$.a"));
+    }
+
+    @Test
+    public void compileDeepScan() {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage(String.format(UNSUPPORTED_STREAMING_JSONPATH, "$..book"));
+        StreamingJsonPath.compile("$..book");
+    }
+
+    @Test
+    public void compileUnsupportedSyntax() {
+        for (final String jsonPath : new String[]{"", "store", "$.", "$[-1]", "$[0:2]", "$['a','b']", "$[?(@.a > $.b)]",
+                "$[?(@.length() > 1)]", "$[?(@.a == 'b')", "$.a.length()"}) {
+            try {
+                StreamingJsonPath.compile(jsonPath);
+            } catch (IllegalArgumentException iae) {
+                assertEquals(String.format(UNSUPPORTED_STREAMING_JSONPATH, jsonPath), iae.getMessage());
+                continue;
+            }
+            throw new AssertionError(jsonPath);
+        }
+    }
+
+    private static String evaluate(String jsonPath) throws IOException {
+        return evaluate(BOOKSTORE_JSON, jsonPath);
+    }
+
+    private static String evaluate(String json, String jsonPath) throws IOException {
+        final StreamingJsonPath streamingJsonPath = StreamingJsonPath.compile(jsonPath);
+        final JsonFactory jsonFactory = JsonMappers.getObjectMapper().getFactory();
+        final StringWriter matches = new StringWriter();
+        try (final JsonParser parser = jsonFactory.createParser(json);
+             final JsonGenerator generator = jsonFactory.createGenerator(matches)) {
+            generator.writeStartArray();
+            while (parser.nextToken() != null) {
+                streamingJsonPath.evaluate(parser, generator);
+            }
+            generator.writeEndArray();
+        }
+        return matches.toString();
+    }
+}